@@ -331,7 +331,8 @@ public final class D8 {
       timing.end(); // post-converter
 
       if (options.isGeneratingClassFiles()) {
-        new CfApplicationWriter(appView, marker).write(options.getClassFileConsumer(), inputApp);
+        new CfApplicationWriter(appView, marker)
+            .write(options.getClassFileConsumer(), executor, inputApp);
       } else {
         ApplicationWriter.create(appView, marker).write(executor, inputApp);
       }
@@ -405,7 +405,7 @@ public class JarSizeCompare {
         return code.asCfCode().getInstructions().size();
       }
       if (code.isDexCode()) {
-        return code.asDexCode().instructions.length;
+        return code.asDexCode().getInstructions().length;
       }
       throw new Unreachable();
     }
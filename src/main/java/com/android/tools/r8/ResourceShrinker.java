@@ -221,7 +221,7 @@ final public class ResourceShrinker {
         // fill-array-data instruction referencing it.
         final List<DexFillArrayDataPayload> payloads = Lists.newArrayList();
 
-        DexInstruction[] instructions = implementation.asDexCode().instructions;
+        DexInstruction[] instructions = implementation.asDexCode().getInstructions();
         int current = 0;
         while (current < instructions.length) {
           DexInstruction instruction = instructions[current];
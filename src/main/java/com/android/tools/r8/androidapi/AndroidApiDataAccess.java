@@ -28,7 +28,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
-import java.util.function.BiPredicate;
 
 /**
  * Implements low-level access methods for seeking on top of the database file defined by {@code
@@ -48,46 +47,6 @@ public abstract class AndroidApiDataAccess {
     return RESOURCE_NAME.equals(entry);
   }
 
-  private static class PositionAndLength {
-
-    private static final PositionAndLength EMPTY = new PositionAndLength(0, 0);
-
-    private final int position;
-    private final int length;
-
-    private PositionAndLength(int position, int length) {
-      this.position = position;
-      this.length = length;
-    }
-
-    public static PositionAndLength create(int position, int length) {
-      if (position == 0 && length == 0) {
-        return EMPTY;
-      }
-      if ((position < 0 && length > 0) || (position > 0 && length == 0)) {
-        assert false : "Unexpected position and length";
-        return EMPTY;
-      }
-      return new PositionAndLength(position, length);
-    }
-
-    public static PositionAndLength create(byte[] data, int offset) {
-      return create(readIntFromOffset(data, offset), readShortFromOffset(data, offset + 4));
-    }
-
-    public int getPosition() {
-      return position;
-    }
-
-    public int getLength() {
-      return length;
-    }
-
-    public boolean isEmpty() {
-      return this == EMPTY;
-    }
-  }
-
   public static AndroidApiDataAccess create(
       InternalOptions options, DiagnosticsHandler diagnosticsHandler) {
     URL resource = AndroidApiDataAccess.class.getClassLoader().getResource(RESOURCE_NAME);
@@ -227,15 +186,22 @@ public abstract class AndroidApiDataAccess {
   }
 
   private int constantPoolSizeCache = -1;
+  private int payloadOffsetCache = -1;
 
   abstract int readConstantPoolSize();
 
-  abstract PositionAndLength readPositionAndLength(int offset);
+  /**
+   * Reads the position of a payload offset with length entry. The position and the length are read
+   * separately, such that lookups do not allocate.
+   */
+  abstract int readPosition(int offset);
+
+  /** Reads the length of a payload offset with length entry. */
+  abstract int readLength(int offset);
 
   abstract boolean payloadHasConstantPoolValue(int offset, int length, byte[] value);
 
-  abstract int payloadContainsConstantPoolValue(
-      int offset, int length, byte[] value, BiPredicate<Integer, byte[]> predicate);
+  abstract int readConstantPoolIndexFromPayload(int offset);
 
   abstract byte readApiLevelForPayloadOffset(int offset, int length, byte[] value);
 
@@ -246,6 +212,24 @@ public abstract class AndroidApiDataAccess {
     return constantPoolSizeCache;
   }
 
+  private int getPayloadOffset() {
+    if (payloadOffsetCache == -1) {
+      payloadOffsetCache = payloadOffset(getConstantPoolSize());
+    }
+    return payloadOffsetCache;
+  }
+
+  private static boolean isEmptyPositionAndLength(int position, int length) {
+    if (position == 0 && length == 0) {
+      return true;
+    }
+    if ((position < 0 && length > 0) || (position > 0 && length == 0)) {
+      assert false : "Unexpected position and length";
+      return true;
+    }
+    return false;
+  }
+
   /** When the first bit is set (position < 0) then there is a single unique result for the hash. */
   public static boolean isUniqueConstantPoolEntry(int position) {
     return position < 0;
@@ -261,13 +245,12 @@ public abstract class AndroidApiDataAccess {
   }
 
   public int getConstantPoolIndex(DexString string) {
-    PositionAndLength constantPoolIndex =
-        readPositionAndLength(constantPoolHashMapIndexOffset(constantPoolHash(string)));
-    if (constantPoolIndex.isEmpty()) {
+    int offset = constantPoolHashMapIndexOffset(constantPoolHash(string));
+    int position = readPosition(offset);
+    int length = readLength(offset);
+    if (isEmptyPositionAndLength(position, length)) {
       return -1;
     }
-    int position = constantPoolIndex.getPosition();
-    int length = constantPoolIndex.getLength();
     if (isUniqueConstantPoolEntry(position)) {
       int nonTaggedPosition = getConstantPoolIndexFromUniqueConstantPoolEntry(position);
       if (isConstantPoolEntry(nonTaggedPosition, string.content)) {
@@ -275,40 +258,38 @@ public abstract class AndroidApiDataAccess {
       }
     } else {
       assert length > 0;
-      return payloadContainsConstantPoolValue(
-          payloadOffset(getConstantPoolSize()) + position,
-          length,
-          string.content,
-          this::isConstantPoolEntry);
+      int payloadOffset = getPayloadOffset() + position;
+      for (int i = payloadOffset; i < payloadOffset + length; i += 2) {
+        int index = readConstantPoolIndexFromPayload(i);
+        if (isConstantPoolEntry(index, string.content)) {
+          return index;
+        }
+      }
     }
     return -1;
   }
 
   public boolean isConstantPoolEntry(int index, byte[] value) {
-    PositionAndLength constantPoolPayloadOffset =
-        readPositionAndLength(constantPoolIndexOffset(index));
-    if (constantPoolPayloadOffset.isEmpty()) {
+    int offset = constantPoolIndexOffset(index);
+    int position = readPosition(offset);
+    int length = readLength(offset);
+    if (isEmptyPositionAndLength(position, length)) {
       return false;
     }
-    if (value.length != constantPoolPayloadOffset.getLength()) {
+    if (value.length != length) {
       return false;
     }
-    return payloadHasConstantPoolValue(
-        payloadOffset(getConstantPoolSize()) + constantPoolPayloadOffset.getPosition(),
-        constantPoolPayloadOffset.getLength(),
-        value);
+    return payloadHasConstantPoolValue(getPayloadOffset() + position, length, value);
   }
 
   public byte getApiLevelForReference(byte[] serialized, DexReference reference) {
-    PositionAndLength apiLevelPayloadOffset =
-        readPositionAndLength(apiLevelHashMapIndexOffset(apiLevelHash(reference)));
-    if (apiLevelPayloadOffset.isEmpty()) {
+    int offset = apiLevelHashMapIndexOffset(apiLevelHash(reference));
+    int position = readPosition(offset);
+    int length = readLength(offset);
+    if (isEmptyPositionAndLength(position, length)) {
       return 0;
     }
-    return readApiLevelForPayloadOffset(
-        payloadOffset(getConstantPoolSize()) + apiLevelPayloadOffset.getPosition(),
-        apiLevelPayloadOffset.getLength(),
-        serialized);
+    return readApiLevelForPayloadOffset(getPayloadOffset() + position, length, serialized);
   }
 
   public boolean isNoBacking() {
@@ -329,17 +310,22 @@ public abstract class AndroidApiDataAccess {
     }
 
     @Override
-    public PositionAndLength readPositionAndLength(int offset) {
-      return PositionAndLength.create(
-          mappedByteBuffer.getInt(offset), mappedByteBuffer.getShort(offset + 4));
+    int readPosition(int offset) {
+      return mappedByteBuffer.getInt(offset);
+    }
+
+    @Override
+    int readLength(int offset) {
+      return mappedByteBuffer.getShort(offset + 4);
     }
 
     @Override
     boolean payloadHasConstantPoolValue(int offset, int length, byte[] value) {
       assert length == value.length;
-      mappedByteBuffer.position(offset);
-      for (byte expected : value) {
-        if (expected != mappedByteBuffer.get()) {
+      // The buffer is shared between threads, so only use absolute reads that do not depend on or
+      // modify the position of the buffer.
+      for (int i = 0; i < length; i++) {
+        if (value[i] != mappedByteBuffer.get(offset + i)) {
           return false;
         }
       }
@@ -347,18 +333,10 @@ public abstract class AndroidApiDataAccess {
     }
 
     @Override
-    int payloadContainsConstantPoolValue(
-        int offset, int length, byte[] value, BiPredicate<Integer, byte[]> predicate) {
-      for (int i = offset; i < offset + length; i += 2) {
-        // Do not use mappedByteBuffer.getShort() since that will add the sign.
-        int index =
-            Ints.fromBytes(
-                ZERO_BYTE, ZERO_BYTE, mappedByteBuffer.get(i), mappedByteBuffer.get(i + 1));
-        if (predicate.test(index, value)) {
-          return index;
-        }
-      }
-      return -1;
+    int readConstantPoolIndexFromPayload(int offset) {
+      // Do not use mappedByteBuffer.getShort() since that will add the sign.
+      return Ints.fromBytes(
+          ZERO_BYTE, ZERO_BYTE, mappedByteBuffer.get(offset), mappedByteBuffer.get(offset + 1));
     }
 
     @Override
@@ -398,8 +376,13 @@ public abstract class AndroidApiDataAccess {
     }
 
     @Override
-    PositionAndLength readPositionAndLength(int offset) {
-      return PositionAndLength.create(data, offset);
+    int readPosition(int offset) {
+      return readIntFromOffset(data, offset);
+    }
+
+    @Override
+    int readLength(int offset) {
+      return readShortFromOffset(data, offset + 4);
     }
 
     @Override
@@ -416,18 +399,8 @@ public abstract class AndroidApiDataAccess {
     }
 
     @Override
-    int payloadContainsConstantPoolValue(
-        int offset, int length, byte[] value, BiPredicate<Integer, byte[]> predicate) {
-      if (data.length < length) {
-        return -1;
-      }
-      for (int i = offset; i < offset + length; i += 2) {
-        int index = Ints.fromBytes(ZERO_BYTE, ZERO_BYTE, data[i], data[i + 1]);
-        if (predicate.test(index, value)) {
-          return index;
-        }
-      }
-      return -1;
+    int readConstantPoolIndexFromPayload(int offset) {
+      return Ints.fromBytes(ZERO_BYTE, ZERO_BYTE, data[offset], data[offset + 1]);
     }
 
     @Override
@@ -455,7 +428,12 @@ public abstract class AndroidApiDataAccess {
     }
 
     @Override
-    PositionAndLength readPositionAndLength(int offset) {
+    int readPosition(int offset) {
+      throw new Unreachable();
+    }
+
+    @Override
+    int readLength(int offset) {
       throw new Unreachable();
     }
 
@@ -465,8 +443,7 @@ public abstract class AndroidApiDataAccess {
     }
 
     @Override
-    int payloadContainsConstantPoolValue(
-        int offset, int length, byte[] value, BiPredicate<Integer, byte[]> predicate) {
+    int readConstantPoolIndexFromPayload(int offset) {
       throw new Unreachable();
     }
 
@@ -16,7 +16,6 @@ import com.android.tools.r8.graph.DexType;
 import com.android.tools.r8.utils.AndroidApiLevel;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.ThrowingFunction;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
@@ -92,27 +91,33 @@ public class AndroidApiLevelHashingDatabaseImpl implements AndroidApiLevelDataba
     if (holderId < 0 || nameId < 0) {
       return NON_EXISTING_DESCRIPTOR;
     }
-    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-    baos.write(METHOD_IDENTIFIER);
-    baos.write(getFirstByteFromShort(holderId));
-    baos.write(getSecondByteFromShort(holderId));
-    baos.write(getFirstByteFromShort(nameId));
-    baos.write(getSecondByteFromShort(nameId));
+    // The descriptor is the identifier, the holder and the name followed by the parameters and the
+    // return type, each encoded using two bytes.
+    byte[] bytes = new byte[1 + 2 * (2 + method.getArity() + 1)];
+    int index = 0;
+    bytes[index++] = METHOD_IDENTIFIER;
+    index = writeShort(bytes, index, holderId);
+    index = writeShort(bytes, index, nameId);
     for (DexType parameter : method.proto.parameters) {
       int parameterId = constantPoolLookup.apply(parameter.getDescriptor());
       if (parameterId < 0) {
         return NON_EXISTING_DESCRIPTOR;
       }
-      baos.write(getFirstByteFromShort(parameterId));
-      baos.write(getSecondByteFromShort(parameterId));
+      index = writeShort(bytes, index, parameterId);
     }
     int returnTypeId = constantPoolLookup.apply(method.getReturnType().getDescriptor());
     if (returnTypeId < 0) {
       return NON_EXISTING_DESCRIPTOR;
     }
-    baos.write(getFirstByteFromShort(returnTypeId));
-    baos.write(getSecondByteFromShort(returnTypeId));
-    return baos.toByteArray();
+    index = writeShort(bytes, index, returnTypeId);
+    assert index == bytes.length;
+    return bytes;
+  }
+
+  private static int writeShort(byte[] bytes, int index, int value) {
+    bytes[index] = getFirstByteFromShort(value);
+    bytes[index + 1] = getSecondByteFromShort(value);
+    return index + 2;
   }
 
   private static byte getFirstByteFromShort(int value) {
@@ -178,38 +183,44 @@ public class AndroidApiLevelHashingDatabaseImpl implements AndroidApiLevelDataba
   private AndroidApiLevel lookupApiLevel(DexReference reference) {
     // We use Android platform to track if an element is unknown since no occurrences of that api
     // level exists in the database.
-    AndroidApiLevel result =
-        lookupCache.computeIfAbsent(
-            reference,
-            ref -> {
-              // Prefetch the data access
-              if (dataAccess == null) {
-                getDataAccess(options, diagnosticsHandler);
-              }
-              if (dataAccess.isNoBacking()) {
-                return ANDROID_PLATFORM;
-              }
-              byte[] uniqueDescriptorForReference;
-              try {
-                uniqueDescriptorForReference =
-                    getUniqueDescriptorForReference(
-                        ref,
-                        string ->
-                            constantPoolCache.computeIfAbsent(
-                                string, key -> dataAccess.getConstantPoolIndex(string)));
-              } catch (Exception e) {
-                uniqueDescriptorForReference = getNonExistingDescriptor();
-              }
-              if (uniqueDescriptorForReference == getNonExistingDescriptor()) {
-                return ANDROID_PLATFORM;
-              } else {
-                byte apiLevelForReference =
-                    dataAccess.getApiLevelForReference(uniqueDescriptorForReference, ref);
-                return (apiLevelForReference <= 0)
-                    ? ANDROID_PLATFORM
-                    : AndroidApiLevel.getAndroidApiLevel(apiLevelForReference);
-              }
-            });
+    AndroidApiLevel result = lookupCache.get(reference);
+    if (result == null) {
+      result = computeApiLevel(reference);
+    }
     return result == ANDROID_PLATFORM ? null : result;
   }
+
+  private AndroidApiLevel computeApiLevel(DexReference reference) {
+    return lookupCache.computeIfAbsent(
+        reference,
+        ref -> {
+          // Prefetch the data access
+          if (dataAccess == null) {
+            getDataAccess(options, diagnosticsHandler);
+          }
+          if (dataAccess.isNoBacking()) {
+            return ANDROID_PLATFORM;
+          }
+          byte[] uniqueDescriptorForReference;
+          try {
+            uniqueDescriptorForReference =
+                getUniqueDescriptorForReference(
+                    ref,
+                    string ->
+                        constantPoolCache.computeIfAbsent(
+                            string, key -> dataAccess.getConstantPoolIndex(string)));
+          } catch (Exception e) {
+            uniqueDescriptorForReference = getNonExistingDescriptor();
+          }
+          if (uniqueDescriptorForReference == getNonExistingDescriptor()) {
+            return ANDROID_PLATFORM;
+          } else {
+            byte apiLevelForReference =
+                dataAccess.getApiLevelForReference(uniqueDescriptorForReference, ref);
+            return (apiLevelForReference <= 0)
+                ? ANDROID_PLATFORM
+                : AndroidApiLevel.getAndroidApiLevel(apiLevelForReference);
+          }
+        });
+  }
 }
@@ -13,7 +13,9 @@ import com.android.tools.r8.graph.DexItemFactory;
 import com.android.tools.r8.graph.DexType;
 import com.android.tools.r8.ir.code.ValueType;
 import com.android.tools.r8.utils.MapUtils;
+import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.Iterator;
@@ -164,6 +166,38 @@ public class CfAssignability {
     return new SuccessfulAssignabilityResult();
   }
 
+  /**
+   * Same as {@link #isLocalsAssignable(Int2ObjectSortedMap, Int2ObjectSortedMap)} for source locals
+   * that are indexed by their local index, where absent locals are null.
+   */
+  public AssignabilityResult isLocalsAssignable(
+      FrameType[] sourceLocals, int sourceLocalsSize, Int2ObjectSortedMap<FrameType> targetLocals) {
+    int otherLocalsLastKey = targetLocals.isEmpty() ? -1 : targetLocals.lastIntKey();
+    int maxKey = Math.max(sourceLocalsSize - 1, otherLocalsLastKey);
+    for (int i = 0; i <= maxKey; i++) {
+      FrameType sourceType =
+          i < sourceLocalsSize && sourceLocals[i] != null ? sourceLocals[i] : FrameType.oneWord();
+      FrameType destinationType =
+          targetLocals.containsKey(i) ? targetLocals.get(i) : FrameType.oneWord();
+      if (sourceType.isWide() && destinationType.isOneWord()) {
+        destinationType = FrameType.twoWord();
+      }
+      if (!isFrameTypeAssignable(sourceType, destinationType)) {
+        // Rerun the check on a map of the source locals to report the failure.
+        Int2ObjectSortedMap<FrameType> sourceLocalsMap = new Int2ObjectAVLTreeMap<>();
+        for (int localIndex = 0; localIndex < sourceLocalsSize; localIndex++) {
+          if (sourceLocals[localIndex] != null) {
+            sourceLocalsMap.put(localIndex, sourceLocals[localIndex]);
+          }
+        }
+        AssignabilityResult result = isLocalsAssignable(sourceLocalsMap, targetLocals);
+        assert result.isFailed();
+        return result;
+      }
+    }
+    return new SuccessfulAssignabilityResult();
+  }
+
   private FailedAssignabilityResult reportFailedAssignabilityResult(
       Int2ObjectSortedMap<FrameType> sourceLocals,
       Int2ObjectSortedMap<FrameType> targetLocals,
@@ -217,6 +251,35 @@ public class CfAssignability {
     return new SuccessfulAssignabilityResult();
   }
 
+  /**
+   * Same as {@link #isStackAssignable(Deque, Deque)} for a source stack that is given by the first
+   * elements of an array, from bottom to top.
+   */
+  public AssignabilityResult isStackAssignable(
+      PreciseFrameType[] sourceStack, int sourceStackSize, Deque<PreciseFrameType> targetStack) {
+    boolean isAssignable = sourceStackSize == targetStack.size();
+    if (isAssignable) {
+      Iterator<PreciseFrameType> otherIterator = targetStack.iterator();
+      for (int stackIndex = 0; stackIndex < sourceStackSize; stackIndex++) {
+        if (!isFrameTypeAssignable(sourceStack[stackIndex], otherIterator.next())) {
+          isAssignable = false;
+          break;
+        }
+      }
+    }
+    if (isAssignable) {
+      return new SuccessfulAssignabilityResult();
+    }
+    // Rerun the check on a deque of the source stack to report the failure.
+    Deque<PreciseFrameType> sourceStackDeque = new ArrayDeque<>(sourceStackSize);
+    for (int stackIndex = 0; stackIndex < sourceStackSize; stackIndex++) {
+      sourceStackDeque.addLast(sourceStack[stackIndex]);
+    }
+    AssignabilityResult result = isStackAssignable(sourceStackDeque, targetStack);
+    assert result.isFailed();
+    return result;
+  }
+
   public abstract static class AssignabilityResult {
 
     public boolean isSuccessful() {
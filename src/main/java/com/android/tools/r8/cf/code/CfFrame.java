@@ -123,12 +123,6 @@ public class CfFrame extends CfInstruction implements Cloneable {
     return new CfFrame(locals, stack);
   }
 
-  public CfFrame mutableCopy() {
-    return new CfFrame(
-        (Int2ObjectSortedMap<FrameType>) new Int2ObjectAVLTreeMap<>(locals),
-        new ArrayDeque<>(stack));
-  }
-
   public void forEachLocal(IntObjConsumer<FrameType> consumer) {
     for (Int2ObjectMap.Entry<FrameType> entry : locals.int2ObjectEntrySet()) {
       consumer.accept(entry.getIntKey(), entry.getValue());
@@ -139,20 +133,10 @@ public class CfFrame extends CfInstruction implements Cloneable {
     return locals;
   }
 
-  public Int2ObjectAVLTreeMap<FrameType> getMutableLocals() {
-    assert locals instanceof Int2ObjectAVLTreeMap<?>;
-    return (Int2ObjectAVLTreeMap<FrameType>) locals;
-  }
-
   public Deque<PreciseFrameType> getStack() {
     return stack;
   }
 
-  public ArrayDeque<PreciseFrameType> getMutableStack() {
-    assert stack instanceof ArrayDeque<?>;
-    return (ArrayDeque<PreciseFrameType>) stack;
-  }
-
   @Override
   public boolean equals(Object obj) {
     if (this == obj) {
@@ -446,12 +430,6 @@ public class CfFrame extends CfInstruction implements Cloneable {
       return new CfFrame(locals, stack);
     }
 
-    public CfFrame buildMutable() {
-      ensureMutableLocals();
-      ensureMutableStack();
-      return build();
-    }
-
     private Int2ObjectAVLTreeMap<FrameType> ensureMutableLocals() {
       if (locals == EMPTY_LOCALS) {
         locals = new Int2ObjectAVLTreeMap<>();
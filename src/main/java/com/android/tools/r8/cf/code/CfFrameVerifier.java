@@ -343,12 +343,8 @@ public class CfFrameVerifier {
       nextFrame = labelToFrameMap.get(nextInstruction.asLabel());
     }
     if (nextFrame != null) {
-      CfFrame currentFrameCopy = nextFrame.mutableCopy();
       return TraversalContinuation.doContinue(
-          new ConcreteCfFrameState(
-              currentFrameCopy.getMutableLocals(),
-              currentFrameCopy.getMutableStack(),
-              currentFrameCopy.computeStackSize()));
+          ConcreteCfFrameState.fromFrame(nextFrame, nextFrame.computeStackSize()));
     }
     return TraversalContinuation.doBreak(
         CfCodeStackMapValidatingException.invalidStackMapForInstruction(
@@ -115,11 +115,10 @@ public class DebugRepresentation {
                   definition, options.dexItemFactory());
         }
         assert debugInfo.getParameterCount() == method.getParameters().size();
-        DexInstruction lastInstruction = getLastExecutableInstruction(code);
-        if (lastInstruction == null) {
+        int lastPc = code.getLastExecutableInstructionOffset();
+        if (lastPc < 0) {
           continue;
         }
-        int lastPc = lastInstruction.getOffset();
         int debugInfoCost = estimatedDebugInfoSize(debugInfo);
         paramCountToCosts
             .computeIfAbsent(debugInfo.getParameterCount(), CostSummary::new)
@@ -151,11 +150,10 @@ public class DebugRepresentation {
       assert conversionInfo != null;
       return NO_PC_ENCODING;
     }
-    DexInstruction lastInstruction = getLastExecutableInstruction(code);
-    if (lastInstruction == null) {
+    int maxPc = code.getLastExecutableInstructionOffset();
+    if (maxPc < 0) {
       return NO_PC_ENCODING;
     }
-    int maxPc = lastInstruction.getOffset();
     return conversionInfo.getConversionPointFor(maxPc);
   }
 
@@ -464,16 +462,11 @@ public class DebugRepresentation {
   }
 
   public static boolean verifyLastExecutableInstructionWithinBound(DexCode code, int maxPc) {
-    DexInstruction lastExecutableInstruction = getLastExecutableInstruction(code);
-    int offset = lastExecutableInstruction.getOffset();
-    assert offset <= maxPc;
+    int offset = code.getLastExecutableInstructionOffset();
+    assert 0 <= offset && offset <= maxPc;
     return true;
   }
 
-  public static DexInstruction getLastExecutableInstruction(DexCode code) {
-    return getLastExecutableInstruction(code.instructions);
-  }
-
   public static DexInstruction getLastExecutableInstruction(DexInstruction[] instructions) {
     DexInstruction lastInstruction = null;
     for (DexInstruction instruction : instructions) {
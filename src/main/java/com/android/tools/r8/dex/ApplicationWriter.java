@@ -79,6 +79,7 @@ import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -324,18 +325,41 @@ public class ApplicationWriter {
       List<DexString> forcedStrings,
       Timing timing)
       throws ExecutionException {
+    writeVirtualFiles(executorService, virtualFiles, forcedStrings, false, timing);
+  }
+
+  /**
+   * Returns true if the object mapping of each file can be computed right before the file is
+   * written, independently of the other files.
+   */
+  protected boolean canComputeOffsetsPerFileWhenWriting() {
+    return !willComputeProguardMap();
+  }
+
+  private void writeVirtualFiles(
+      ExecutorService executorService,
+      List<VirtualFile> virtualFiles,
+      List<DexString> forcedStrings,
+      boolean computeOffsets,
+      Timing timing)
+      throws ExecutionException {
     TimingMerger merger =
         timing.beginMerger("Write files", ThreadUtils.getNumberOfThreads(executorService));
-    Collection<Timing> timings =
-        ThreadUtils.processItemsWithResults(
-            virtualFiles,
-            virtualFile -> {
-              Timing fileTiming = Timing.create("VirtualFile " + virtualFile.getId(), options);
-              writeVirtualFile(virtualFile, fileTiming, forcedStrings);
-              fileTiming.end();
-              return fileTiming;
-            },
-            executorService);
+    Collection<Timing> timings;
+    if (virtualFiles.size() == 1) {
+      // There is no parallelism across files, so instead let the file writer use the executor for
+      // encoding the sections of the single file concurrently.
+      timings =
+          Collections.singletonList(
+              writeVirtualFile(
+                  virtualFiles.get(0), forcedStrings, computeOffsets, executorService));
+    } else {
+      timings =
+          ThreadUtils.processItemsWithResults(
+              virtualFiles,
+              virtualFile -> writeVirtualFile(virtualFile, forcedStrings, computeOffsets, null),
+              executorService);
+    }
     merger.add(timings);
     merger.end();
     if (globalsSyntheticsConsumer != null) {
@@ -392,7 +416,14 @@ public class ApplicationWriter {
       appView.appInfo().classes().forEach((clazz) -> clazz.addDependencies(sortAnnotations));
       timing.end();
 
-      {
+      if (canComputeOffsetsPerFileWhenWriting()) {
+        // Without a mapping file there are no lazy strings and no need for the code offsets of all
+        // files up front. Computing the offsets of each file right before it is written bounds the
+        // number of live object mappings by the number of threads instead of the number of files,
+        // which is significant when writing a dex file per class file.
+        assert lazyDexStrings.isEmpty();
+        writeVirtualFiles(executorService, virtualFiles, Collections.emptyList(), true, timing);
+      } else {
         // Compute offsets and rewrite jumbo strings so that code offsets are fixed.
         TimingMerger merger =
             timing.beginMerger("Pre-write phase", ThreadUtils.getNumberOfThreads(executorService));
@@ -401,28 +432,29 @@ public class ApplicationWriter {
                 executorService, virtualFiles, lazyDexStrings);
         merger.add(timings);
         merger.end();
-      }
 
-      // Now that the instruction offsets in each code object are fixed, compute the mapping file
-      // content.
-      if (willComputeProguardMap()) {
-        // TODO(b/220999985): Refactor line number optimization to be per file and thread it above.
-        DebugRepresentationPredicate representation =
-            DebugRepresentation.fromFiles(virtualFiles, options);
-        delayedProguardMapId.set(
-            runAndWriteMap(inputApp, appView, timing, originalSourceFiles, representation));
-      }
+        // Now that the instruction offsets in each code object are fixed, compute the mapping file
+        // content.
+        if (willComputeProguardMap()) {
+          // TODO(b/220999985): Refactor line number optimization to be per file and thread it
+          //  above.
+          DebugRepresentationPredicate representation =
+              DebugRepresentation.fromFiles(virtualFiles, options);
+          delayedProguardMapId.set(
+              runAndWriteMap(inputApp, appView, timing, originalSourceFiles, representation));
+        }
 
-      // With the mapping id/hash known, it is safe to compute the remaining dex strings.
-      timing.begin("Compute lazy strings");
-      List<DexString> forcedStrings = new ArrayList<>();
-      for (LazyDexString lazyDexString : lazyDexStrings) {
-        forcedStrings.add(lazyDexString.compute());
-      }
-      timing.end();
+        // With the mapping id/hash known, it is safe to compute the remaining dex strings.
+        timing.begin("Compute lazy strings");
+        List<DexString> forcedStrings = new ArrayList<>();
+        for (LazyDexString lazyDexString : lazyDexStrings) {
+          forcedStrings.add(lazyDexString.compute());
+        }
+        timing.end();
 
-      // Write the actual dex code.
-      writeVirtualFiles(executorService, virtualFiles, forcedStrings, timing);
+        // Write the actual dex code.
+        writeVirtualFiles(executorService, virtualFiles, forcedStrings, timing);
+      }
 
       // A consumer can manage the generated keep rules.
       if (options.desugaredLibraryKeepRuleConsumer != null && !desugaredLibraryCodeToKeep.isNop()) {
@@ -572,8 +604,32 @@ public class ApplicationWriter {
     System.out.println("," + many.get());
   }
 
+  private Timing writeVirtualFile(
+      VirtualFile virtualFile,
+      List<DexString> forcedStrings,
+      boolean computeOffsets,
+      ExecutorService executorService)
+      throws ExecutionException {
+    Timing fileTiming = Timing.create("VirtualFile " + virtualFile.getId(), options);
+    if (computeOffsets) {
+      assert forcedStrings.isEmpty();
+      computeOffsetMappingAndRewriteJumboStrings(
+          virtualFile, Collections.emptyList(), fileTiming);
+      DebugRepresentation.computeForFile(appView, virtualFile);
+    }
+    writeVirtualFile(virtualFile, fileTiming, forcedStrings, executorService);
+    // The object mapping is not needed once the file has been passed to the consumer.
+    virtualFile.releaseObjectMapping();
+    fileTiming.end();
+    return fileTiming;
+  }
+
   private void writeVirtualFile(
-      VirtualFile virtualFile, Timing timing, List<DexString> forcedStrings) {
+      VirtualFile virtualFile,
+      Timing timing,
+      List<DexString> forcedStrings,
+      ExecutorService executorService)
+      throws ExecutionException {
     if (virtualFile.isEmpty()) {
       return;
     }
@@ -610,7 +666,8 @@ public class ApplicationWriter {
     timing.end();
 
     timing.begin("Write bytes");
-    ByteBufferResult result = writeDexFile(objectMapping, byteBufferProvider, virtualFile, timing);
+    ByteBufferResult result =
+        writeDexFile(objectMapping, byteBufferProvider, virtualFile, timing, executorService);
     ByteDataView data =
         new ByteDataView(result.buffer.array(), result.buffer.arrayOffset(), result.length);
     timing.end();
@@ -951,13 +1008,21 @@ public class ApplicationWriter {
       ObjectToOffsetMapping objectMapping,
       ByteBufferProvider provider,
       VirtualFile virtualFile,
-      Timing timing) {
+      Timing timing,
+      ExecutorService executorService)
+      throws ExecutionException {
     FileWriter fileWriter =
         new FileWriter(appView, provider, objectMapping, desugaredLibraryCodeToKeep, virtualFile);
     // Collect the non-fixed sections.
     timing.time("collect", fileWriter::collect);
     // Generate and write the bytes.
-    return timing.time("generate", () -> fileWriter.generate());
+    if (executorService == null) {
+      return timing.time("generate", () -> fileWriter.generate());
+    }
+    timing.begin("generate");
+    ByteBufferResult result = fileWriter.generate(executorService);
+    timing.end();
+    return result;
   }
 
   private static String mapMainDexListName(DexType type, NamingLens namingLens) {
@@ -32,6 +32,12 @@ class ApplicationWriterExperimental extends ApplicationWriter {
     super(appView, marker, consumer);
   }
 
+  @Override
+  protected boolean canComputeOffsetsPerFileWhenWriting() {
+    // The string ids of all sections are shared through the mapping of the last section.
+    return false;
+  }
+
   @Override
   protected Collection<Timing> rewriteJumboStringsAndComputeDebugRepresentation(
       ExecutorService executorService,
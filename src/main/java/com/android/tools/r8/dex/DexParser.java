@@ -12,6 +12,7 @@ import com.android.tools.r8.ProgramResource.Kind;
 import com.android.tools.r8.debuginfo.DebugRepresentation;
 import com.android.tools.r8.dex.code.DexInstruction;
 import com.android.tools.r8.dex.code.DexInstructionFactory;
+import com.android.tools.r8.dex.code.UndecodedDexInstructions;
 import com.android.tools.r8.errors.CompilationError;
 import com.android.tools.r8.graph.ApplicationReaderMap;
 import com.android.tools.r8.graph.ClassAccessFlags;
@@ -89,6 +90,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 public class DexParser<T extends DexClass> {
@@ -116,6 +118,11 @@ public class DexParser<T extends DexClass> {
     return dexParser.dexSections;
   }
 
+  // Returns the code items that have been read by addClassDefsTo, keyed by their offset.
+  Int2ReferenceMap<DexCode> getCodeItemsForTesting() {
+    return codes;
+  }
+
   public void close() {
     // This close behavior is needed to reduce peak memory usage of D8/R8.
     indexedItems = null;
@@ -527,7 +534,7 @@ public class DexParser<T extends DexClass> {
         annotationSetAt(classAnnotationsOff), fields, methods, parameters);
   }
 
-  private DexDebugInfo debugInfoAt(int offset, DexInstruction[] instructions) {
+  private DexDebugInfo debugInfoAt(int offset, IntSupplier lastExecutableInstructionOffset) {
     DexDebugInfo debugInfo = (DexDebugInfo) cacheAt(offset, this::parseDebugInfoAllowPc2PcEncoding);
     // If the debug information matches a pc2pc encoding check that the instructions are within
     // the max-pc bound of this method. If not, the info is not an actual pc encoding. Re-read the
@@ -535,8 +542,7 @@ public class DexParser<T extends DexClass> {
     if (debugInfo != null && debugInfo.isPcBasedInfo()) {
       PcBasedDebugInfo pcBasedInfo = debugInfo.asPcBasedInfo();
       int maxPc = pcBasedInfo.getMaxPc();
-      DexInstruction last = DebugRepresentation.getLastExecutableInstruction(instructions);
-      if (last.getOffset() > maxPc) {
+      if (lastExecutableInstructionOffset.getAsInt() > maxPc) {
         return nonPcBasedDebugInfo.computeIfAbsent(
             offset, this::parseDebugInfoDisallowPc2PcEncoding);
       }
@@ -1034,13 +1040,34 @@ public class DexParser<T extends DexClass> {
         }
       }
     }
+    // When the code is passed through, the instructions are only decoded if they are needed for
+    // anything else than writing them.
+    UndecodedDexInstructions undecodedInstructions =
+        options.passthroughDexCode
+                && !options.testing.decodePassthroughDexCodeEagerly
+                && code.length > 0
+            ? UndecodedDexInstructions.create(code, indexedItems)
+            : null;
+    if (undecodedInstructions != null) {
+      // Store and restore offset information around reading debug info.
+      int saved = dexReader.position();
+      DexDebugInfo debugInfo =
+          debugInfoAt(debugInfoOff, undecodedInstructions::getLastExecutableInstructionOffset);
+      dexReader.position(saved);
+      return new DexCode(
+          registerSize, insSize, outsSize, undecodedInstructions, tries, handlers, debugInfo);
+    }
+
     DexInstructionFactory factory = new DexInstructionFactory();
     DexInstruction[] instructions =
         factory.readSequenceFrom(ShortBuffer.wrap(code), 0, code.length, indexedItems);
 
     // Store and restore offset information around reading debug info.
     int saved = dexReader.position();
-    DexDebugInfo debugInfo = debugInfoAt(debugInfoOff, instructions);
+    DexDebugInfo debugInfo =
+        debugInfoAt(
+            debugInfoOff,
+            () -> DebugRepresentation.getLastExecutableInstruction(instructions).getOffset());
     dexReader.position(saved);
 
     return new DexCode(registerSize, insSize, outsSize, instructions, tries, handlers, debugInfo);
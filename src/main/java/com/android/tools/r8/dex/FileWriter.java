@@ -7,6 +7,7 @@ import static com.android.tools.r8.utils.LebUtils.sizeAsUleb128;
 
 import com.android.tools.r8.ByteBufferProvider;
 import com.android.tools.r8.errors.CompilationError;
+import com.android.tools.r8.errors.Unreachable;
 import com.android.tools.r8.errors.UnsupportedDefaultInterfaceMethodDiagnostic;
 import com.android.tools.r8.errors.UnsupportedInvokeCustomDiagnostic;
 import com.android.tools.r8.errors.UnsupportedPrivateInterfaceMethodDiagnostic;
@@ -56,6 +57,7 @@ import com.android.tools.r8.utils.DexVersion;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.IterableUtils;
 import com.android.tools.r8.utils.LebUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
@@ -68,10 +70,15 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.ToIntFunction;
 import java.util.zip.Adler32;
 
@@ -209,7 +216,26 @@ public class FileWriter {
     return new ByteBufferResult(res.getBuffer().stealByteBuffer(), res.getLayout().getEndOfFile());
   }
 
+  /**
+   * Generates the DEX file, encoding the code items and the debug info items concurrently using
+   * the given executor. The resulting bytes are identical to the ones produced by {@link
+   * #generate()}.
+   */
+  public ByteBufferResult generate(ExecutorService executorService) throws ExecutionException {
+    DexContainerSection res = generate(0, executorService);
+    return new ByteBufferResult(res.getBuffer().stealByteBuffer(), res.getLayout().getEndOfFile());
+  }
+
   public DexContainerSection generate(int offset) {
+    try {
+      return generate(offset, null);
+    } catch (ExecutionException e) {
+      throw new Unreachable(e);
+    }
+  }
+
+  private DexContainerSection generate(int offset, ExecutorService executorService)
+      throws ExecutionException {
     // Check restrictions on interface methods.
     checkInterfaceMethods();
 
@@ -232,13 +258,16 @@ public class FileWriter {
       // Ensure deterministic ordering of debug info by sorting consistent with the code objects.
       layout.setDebugInfosOffset(dest.align(1));
       Set<DexDebugInfoForWriting> seen = new HashSet<>(mixedSectionOffsets.getDebugInfos().size());
+      List<DexDebugInfoForWriting> debugInfos =
+          new ArrayList<>(mixedSectionOffsets.getDebugInfos().size());
       for (ProgramMethod method : codes) {
         DexDebugInfoForWriting info =
             method.getDefinition().getCode().asDexWritableCode().getDebugInfoForWriting();
         if (info != null && seen.add(info)) {
-          writeDebugItem(info);
+          debugInfos.add(info);
         }
       }
+      writeEncodedItems(debugInfos, this::encodeDebugItem, this::writeDebugItem, executorService);
     }
 
     // Remember the typelist offset for later.
@@ -247,7 +276,11 @@ public class FileWriter {
     // Now output the code.
     dest.moveTo(layout.getCodesOffset());
     assert dest.isAligned(4);
-    writeItems(codes, layout::alreadySetOffset, this::writeCodeItem, 4);
+    if (executorService == null) {
+      writeItems(codes, layout::alreadySetOffset, this::writeCodeItem, 4);
+    } else {
+      writeEncodedItems(codes, this::encodeCodeItem, this::writeCodeItem, executorService);
+    }
     assert layout.getDebugInfosOffset() == 0 || dest.position() == layout.getDebugInfosOffset();
 
     // Now the type lists and rest.
@@ -435,6 +468,28 @@ public class FileWriter {
     }
   }
 
+  // Writes the items in the given order. If an executor is given, the position independent
+  // encoding of the items is computed concurrently up front, such that only the copying of the
+  // encoded bytes into the output buffer is sequential.
+  private <T> void writeEncodedItems(
+      Collection<T> items,
+      Function<T, byte[]> encoder,
+      BiConsumer<T, byte[]> writer,
+      ExecutorService executorService)
+      throws ExecutionException {
+    if (executorService == null) {
+      items.forEach(item -> writer.accept(item, encoder.apply(item)));
+      return;
+    }
+    Collection<byte[]> encodedItems =
+        ThreadUtils.processItemsWithResults(items, encoder::apply, executorService);
+    Iterator<byte[]> encodedItemIterator = encodedItems.iterator();
+    for (T item : items) {
+      writer.accept(item, encodedItemIterator.next());
+    }
+    assert !encodedItemIterator.hasNext();
+  }
+
   private int sizeOfCodeItems(Iterable<ProgramMethod> methods) {
     int size = 0;
     for (ProgramMethod method : methods) {
@@ -524,17 +579,40 @@ public class FileWriter {
         mixedSectionOffsets.getOffsetFor(mixedSectionOffsets.getStaticFieldValuesForClass(clazz)));
   }
 
-  private void writeDebugItem(DexDebugInfoForWriting debugInfo) {
+  private byte[] encodeDebugItem(DexDebugInfoForWriting debugInfo) {
+    return new DebugBytecodeWriter(debugInfo, mapping, graphLens).generate();
+  }
+
+  private void writeDebugItem(DexDebugInfoForWriting debugInfo, byte[] encodedDebugInfo) {
     mixedSectionOffsets.setOffsetFor(debugInfo, dest.position());
-    dest.putBytes(new DebugBytecodeWriter(debugInfo, mapping, graphLens).generate());
+    dest.putBytes(encodedDebugInfo);
   }
 
   private void writeCodeItem(ProgramMethod method) {
-    writeCodeItem(method, method.getDefinition().getCode().asDexWritableCode());
+    DexWritableCode code = method.getDefinition().getCode().asDexWritableCode();
+    mixedSectionOffsets.setOffsetFor(method.getDefinition(), code, dest.align(4));
+    writeCodeItem(method, code, dest);
   }
 
-  private void writeCodeItem(ProgramMethod method, DexWritableCode code) {
+  private void writeCodeItem(ProgramMethod method, byte[] encodedCode) {
+    DexWritableCode code = method.getDefinition().getCode().asDexWritableCode();
     mixedSectionOffsets.setOffsetFor(method.getDefinition(), code, dest.align(4));
+    dest.putBytes(encodedCode);
+  }
+
+  // Encodes the code item into a buffer of its own. Since code items are 4 byte aligned, the
+  // alignment of the tries within the code item is the same as when writing directly to the
+  // output buffer.
+  private byte[] encodeCodeItem(ProgramMethod method) {
+    DexWritableCode code = method.getDefinition().getCode().asDexWritableCode();
+    DexOutputBuffer buffer = new DexOutputBuffer(new ByteBufferProvider() {}, sizeOfCodeItem(code));
+    writeCodeItem(method, code, buffer);
+    assert buffer.position() == buffer.asArray().length;
+    return buffer.asArray();
+  }
+
+  private void writeCodeItem(ProgramMethod method, DexWritableCode code, DexOutputBuffer dest) {
+    assert dest.isAligned(4);
     // Fixed size header information.
     dest.putShort((short) code.getRegisterSize(method));
     dest.putShort((short) code.getIncomingRegisterSize(method));
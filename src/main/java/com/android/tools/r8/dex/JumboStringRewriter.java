@@ -254,7 +254,7 @@ public class JumboStringRewriter {
 
   private List<DexInstruction> expandCode() {
     LinkedList<DexInstruction> instructions = new LinkedList<>();
-    Collections.addAll(instructions, method.getCode().asDexCode().instructions);
+    Collections.addAll(instructions, method.getCode().asDexCode().getInstructions());
     int offsetDelta;
     do {
       ListIterator<DexInstruction> it = instructions.listIterator();
@@ -434,7 +434,7 @@ public class JumboStringRewriter {
   }
 
   private void recordInstructionTargets(Int2ReferenceMap<DexInstruction> offsetToInstruction) {
-    DexInstruction[] instructions = method.getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getCode().asDexCode().getInstructions();
     for (DexInstruction instruction : instructions) {
       if (instruction instanceof DexFormat22t) { // IfEq, IfGe, IfGt, IfLe, IfLt, IfNe
         DexFormat22t condition = (DexFormat22t) instruction;
@@ -551,7 +551,7 @@ public class JumboStringRewriter {
 
   private void recordTargets() {
     Int2ReferenceMap<DexInstruction> offsetToInstruction = new Int2ReferenceOpenHashMap<>();
-    DexInstruction[] instructions = method.getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getCode().asDexCode().getInstructions();
     boolean containsPayloads = false;
     for (DexInstruction instruction : instructions) {
       offsetToInstruction.put(instruction.getOffset(), instruction);
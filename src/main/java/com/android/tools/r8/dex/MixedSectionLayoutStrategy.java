@@ -34,6 +34,7 @@ public abstract class MixedSectionLayoutStrategy {
     }
     MixedSectionLayoutStrategy mixedSectionLayoutStrategy =
         startupOrderForWriting.isEmpty()
+                && !appView.options().getArtProfileOptions().isLayoutOptimizationsEnabled()
             ? new DefaultMixedSectionLayoutStrategy(appView, mixedSectionOffsets)
             : new StartupMixedSectionLayoutStrategy(
                 appView, mixedSectionOffsets, startupOrderForWriting, virtualFile);
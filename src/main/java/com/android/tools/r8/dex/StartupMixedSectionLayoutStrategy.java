@@ -27,12 +27,22 @@ import com.android.tools.r8.graph.DexWritableCode;
 import com.android.tools.r8.graph.ParameterAnnotationsList;
 import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.conversion.LensCodeRewriterUtils;
+import com.android.tools.r8.profile.art.ArtProfileMethodRuleInfo;
 import com.android.tools.r8.utils.MapUtils;
 import com.android.tools.r8.utils.collections.LinkedProgramMethodSet;
 import com.android.tools.r8.utils.collections.ProgramMethodSet;
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.objects.Reference2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class StartupMixedSectionLayoutStrategy extends DefaultMixedSectionLayoutStrategy {
 
@@ -70,17 +80,23 @@ public class StartupMixedSectionLayoutStrategy extends DefaultMixedSectionLayout
     this.typeListLayout = new LinkedHashSet<>(mixedSectionOffsets.getTypeLists().size());
 
     // Add startup items to startup layouts.
-    collectStartupItems(virtualFile);
-  }
-
-  /** This adds all startup items to the startup layouts (i.e., the fields of this class). */
-  private void collectStartupItems(VirtualFile virtualFile) {
     Map<DexType, DexProgramClass> virtualFileDefinitions =
         MapUtils.newIdentityHashMap(
             builder ->
                 virtualFile.classes().forEach(clazz -> builder.accept(clazz.getType(), clazz)),
             virtualFile.classes().size());
     LensCodeRewriterUtils rewriter = new LensCodeRewriterUtils(appView, true);
+    collectStartupItems(virtualFileDefinitions, rewriter);
+
+    // Add the items of the ART profiles to the startup layouts after the startup items.
+    if (appView.options().getArtProfileOptions().isLayoutOptimizationsEnabled()) {
+      collectArtProfileItems(virtualFileDefinitions, rewriter);
+    }
+  }
+
+  /** This adds all startup items to the startup layouts (i.e., the fields of this class). */
+  private void collectStartupItems(
+      Map<DexType, DexProgramClass> virtualFileDefinitions, LensCodeRewriterUtils rewriter) {
     StartupIndexedItemCollection indexedItemCollection = new StartupIndexedItemCollection();
     for (StartupItem startupItem : startupOrderForWriting.getItems()) {
       startupItem.accept(
@@ -101,7 +117,14 @@ public class StartupMixedSectionLayoutStrategy extends DefaultMixedSectionLayout
       StartupClass startupClass,
       StartupIndexedItemCollection indexedItemCollection,
       Map<DexType, DexProgramClass> virtualFileDefinitions) {
-    DexProgramClass definition = virtualFileDefinitions.get(startupClass.getReference());
+    collectClassItems(startupClass.getReference(), indexedItemCollection, virtualFileDefinitions);
+  }
+
+  private void collectClassItems(
+      DexType type,
+      StartupIndexedItemCollection indexedItemCollection,
+      Map<DexType, DexProgramClass> virtualFileDefinitions) {
+    DexProgramClass definition = virtualFileDefinitions.get(type);
     if (definition != null) {
       // Note that this must not call definition.collectIndexedItems, since that would collect all
       // items from the class, and not only the startup items.
@@ -125,7 +148,15 @@ public class StartupMixedSectionLayoutStrategy extends DefaultMixedSectionLayout
       StartupIndexedItemCollection indexedItemCollection,
       Map<DexType, DexProgramClass> virtualFileDefinitions,
       LensCodeRewriterUtils rewriter) {
-    DexMethod methodReference = startupMethod.getReference();
+    collectMethodItems(
+        startupMethod.getReference(), indexedItemCollection, virtualFileDefinitions, rewriter);
+  }
+
+  private void collectMethodItems(
+      DexMethod methodReference,
+      StartupIndexedItemCollection indexedItemCollection,
+      Map<DexType, DexProgramClass> virtualFileDefinitions,
+      LensCodeRewriterUtils rewriter) {
     DexProgramClass holder = virtualFileDefinitions.get(methodReference.getHolderType());
     ProgramMethod method = methodReference.lookupOnProgramClass(holder);
     if (method != null) {
@@ -137,6 +168,82 @@ public class StartupMixedSectionLayoutStrategy extends DefaultMixedSectionLayout
     }
   }
 
+  /**
+   * This adds the classes and methods of the ART profiles to the startup layouts. The classes are
+   * added first, and the methods are then added in the order of their flags: startup methods,
+   * hot methods, post-startup methods, and finally methods without flags.
+   *
+   * <p>If call graph affinity is enabled, each method is immediately followed by the methods it
+   * references that have the same flags (and have not yet been added), so that the code of callers
+   * and callees is likely to share pages.
+   */
+  private void collectArtProfileItems(
+      Map<DexType, DexProgramClass> virtualFileDefinitions, LensCodeRewriterUtils rewriter) {
+    List<DexType> profileClasses = new ArrayList<>();
+    Reference2IntMap<DexMethod> profileMethodTiers = new Reference2IntLinkedOpenHashMap<>();
+    profileMethodTiers.defaultReturnValue(-1);
+    appView
+        .getArtProfileCollection()
+        .forEachRule(
+            classRule -> profileClasses.add(classRule.getType()),
+            methodRule -> {
+              int tier = getLayoutTier(methodRule.getMethodRuleInfo());
+              int existingTier = profileMethodTiers.getInt(methodRule.getMethod());
+              if (existingTier < 0 || tier < existingTier) {
+                profileMethodTiers.put(methodRule.getMethod(), tier);
+              }
+            });
+
+    ArtProfileIndexedItemCollection indexedItemCollection = new ArtProfileIndexedItemCollection();
+    for (DexType profileClass : profileClasses) {
+      collectClassItems(profileClass, indexedItemCollection, virtualFileDefinitions);
+    }
+
+    // Sort the methods by their tier. The sort is stable, thus methods with the same tier remain
+    // in profile order.
+    List<DexMethod> profileMethods = new ArrayList<>(profileMethodTiers.keySet());
+    profileMethods.sort(Comparator.comparingInt(profileMethodTiers::getInt));
+    boolean enableCallGraphAffinity =
+        appView.options().getArtProfileOptions().isCallGraphAffinityLayoutEnabled();
+    Set<DexMethod> seen = Sets.newIdentityHashSet();
+    Deque<DexMethod> worklist = new ArrayDeque<>();
+    for (DexMethod profileMethod : profileMethods) {
+      if (!seen.add(profileMethod)) {
+        continue;
+      }
+      worklist.push(profileMethod);
+      while (!worklist.isEmpty()) {
+        DexMethod method = worklist.pop();
+        collectMethodItems(method, indexedItemCollection, virtualFileDefinitions, rewriter);
+        List<DexMethod> methodReferences = indexedItemCollection.takeMethodReferences();
+        if (enableCallGraphAffinity) {
+          int tier = profileMethodTiers.getInt(method);
+          // Push in reverse order so that the referenced methods are visited in the order they
+          // are referenced.
+          for (int i = methodReferences.size() - 1; i >= 0; i--) {
+            DexMethod methodReference = methodReferences.get(i);
+            if (profileMethodTiers.getInt(methodReference) == tier && seen.add(methodReference)) {
+              worklist.push(methodReference);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static int getLayoutTier(ArtProfileMethodRuleInfo methodRuleInfo) {
+    if (methodRuleInfo.isStartup()) {
+      return 0;
+    }
+    if (methodRuleInfo.isHot()) {
+      return 1;
+    }
+    if (methodRuleInfo.isPostStartup()) {
+      return 2;
+    }
+    return 3;
+  }
+
   private static <T> Collection<T> amendStartupLayout(
       Collection<T> startupLayout, Collection<T> defaultLayout) {
     startupLayout.addAll(defaultLayout);
@@ -277,4 +384,21 @@ public class StartupMixedSectionLayoutStrategy extends DefaultMixedSectionLayout
       return true;
     }
   }
+
+  private class ArtProfileIndexedItemCollection extends StartupIndexedItemCollection {
+
+    private List<DexMethod> methodReferences = new ArrayList<>();
+
+    @Override
+    public boolean addMethod(DexMethod method) {
+      methodReferences.add(method);
+      return super.addMethod(method);
+    }
+
+    private List<DexMethod> takeMethodReferences() {
+      List<DexMethod> result = methodReferences;
+      methodReferences = new ArrayList<>();
+      return result;
+    }
+  }
 }
@@ -230,6 +230,10 @@ public class VirtualFile {
             timing);
   }
 
+  void releaseObjectMapping() {
+    objectMapping = null;
+  }
+
   void addClass(DexProgramClass clazz) {
     transaction.addClassAndDependencies(clazz);
   }
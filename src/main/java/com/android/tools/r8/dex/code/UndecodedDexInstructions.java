@@ -0,0 +1,309 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.dex.code;
+
+import com.android.tools.r8.dex.CodeToKeep;
+import com.android.tools.r8.dex.IndexedItemCollection;
+import com.android.tools.r8.graph.AppView;
+import com.android.tools.r8.graph.DexField;
+import com.android.tools.r8.graph.DexMethod;
+import com.android.tools.r8.graph.DexReference;
+import com.android.tools.r8.graph.DexString;
+import com.android.tools.r8.graph.DexType;
+import com.android.tools.r8.graph.IndexedDexItem;
+import com.android.tools.r8.graph.ObjectToOffsetMapping;
+import com.android.tools.r8.graph.OffsetToObjectMapping;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The instructions of a code item of a dex input, in their encoded form.
+ *
+ * <p>When dex code is passed through, the instructions are only needed to collect the items that
+ * they reference and to write them with the indices of the output. Instead of decoding each
+ * instruction, the code units are kept together with the offsets and the items of the references,
+ * such that the code units can be copied to the output with the indices replaced. The instructions
+ * are decoded when they are needed for anything else.
+ *
+ * <p>Code that references items that are not identified by a single index, i.e., call sites,
+ * method handles and protos, is not represented, and neither is code with unknown opcodes.
+ */
+public class UndecodedDexInstructions {
+
+  private static final int SIZE_UNSUPPORTED = 0;
+
+  private static final int NO_REFERENCE = 0;
+  private static final int STRING_REFERENCE = 1;
+  private static final int JUMBO_STRING_REFERENCE = 2;
+  private static final int TYPE_REFERENCE = 3;
+  private static final int FIELD_REFERENCE = 4;
+  private static final int METHOD_REFERENCE = 5;
+
+  // The size in code units and the kind of reference of the instruction for each opcode.
+  private static final byte[] SIZES = new byte[256];
+  private static final byte[] REFERENCES = new byte[256];
+
+  static {
+    setOpcodes(0x00, 0x01, 1, NO_REFERENCE); // nop, move
+    setOpcodes(0x02, 0x02, 2, NO_REFERENCE); // move/from16
+    setOpcodes(0x03, 0x03, 3, NO_REFERENCE); // move/16
+    setOpcodes(0x04, 0x04, 1, NO_REFERENCE); // move-wide
+    setOpcodes(0x05, 0x05, 2, NO_REFERENCE); // move-wide/from16
+    setOpcodes(0x06, 0x06, 3, NO_REFERENCE); // move-wide/16
+    setOpcodes(0x07, 0x07, 1, NO_REFERENCE); // move-object
+    setOpcodes(0x08, 0x08, 2, NO_REFERENCE); // move-object/from16
+    setOpcodes(0x09, 0x09, 3, NO_REFERENCE); // move-object/16
+    setOpcodes(0x0a, 0x12, 1, NO_REFERENCE); // move-result .. return-object, const/4
+    setOpcodes(0x13, 0x13, 2, NO_REFERENCE); // const/16
+    setOpcodes(0x14, 0x14, 3, NO_REFERENCE); // const
+    setOpcodes(0x15, 0x16, 2, NO_REFERENCE); // const/high16, const-wide/16
+    setOpcodes(0x17, 0x17, 3, NO_REFERENCE); // const-wide/32
+    setOpcodes(0x18, 0x18, 5, NO_REFERENCE); // const-wide
+    setOpcodes(0x19, 0x19, 2, NO_REFERENCE); // const-wide/high16
+    setOpcodes(0x1a, 0x1a, 2, STRING_REFERENCE); // const-string
+    setOpcodes(0x1b, 0x1b, 3, JUMBO_STRING_REFERENCE); // const-string/jumbo
+    setOpcodes(0x1c, 0x1c, 2, TYPE_REFERENCE); // const-class
+    setOpcodes(0x1d, 0x1e, 1, NO_REFERENCE); // monitor-enter, monitor-exit
+    setOpcodes(0x1f, 0x20, 2, TYPE_REFERENCE); // check-cast, instance-of
+    setOpcodes(0x21, 0x21, 1, NO_REFERENCE); // array-length
+    setOpcodes(0x22, 0x23, 2, TYPE_REFERENCE); // new-instance, new-array
+    setOpcodes(0x24, 0x25, 3, TYPE_REFERENCE); // filled-new-array, filled-new-array/range
+    setOpcodes(0x26, 0x26, 3, NO_REFERENCE); // fill-array-data
+    setOpcodes(0x27, 0x28, 1, NO_REFERENCE); // throw, goto
+    setOpcodes(0x29, 0x29, 2, NO_REFERENCE); // goto/16
+    setOpcodes(0x2a, 0x2c, 3, NO_REFERENCE); // goto/32, packed-switch, sparse-switch
+    setOpcodes(0x2d, 0x3d, 2, NO_REFERENCE); // cmpkind, if-test, if-testz
+    setOpcodes(0x44, 0x51, 2, NO_REFERENCE); // arrayop
+    setOpcodes(0x52, 0x6d, 2, FIELD_REFERENCE); // iinstanceop, sstaticop
+    setOpcodes(0x6e, 0x72, 3, METHOD_REFERENCE); // invoke-kind
+    setOpcodes(0x74, 0x78, 3, METHOD_REFERENCE); // invoke-kind/range
+    setOpcodes(0x7b, 0x8f, 1, NO_REFERENCE); // unop
+    setOpcodes(0x90, 0xaf, 2, NO_REFERENCE); // binop
+    setOpcodes(0xb0, 0xcf, 1, NO_REFERENCE); // binop/2addr
+    setOpcodes(0xd0, 0xe2, 2, NO_REFERENCE); // binop/lit16, binop/lit8
+  }
+
+  private static void setOpcodes(int firstOpcode, int lastOpcode, int size, int reference) {
+    for (int opcode = firstOpcode; opcode <= lastOpcode; opcode++) {
+      SIZES[opcode] = (byte) size;
+      REFERENCES[opcode] = (byte) reference;
+    }
+  }
+
+  private final short[] units;
+  private final int instructionCount;
+  private final int lastExecutableInstructionOffset;
+
+  // The offsets of the instructions that reference an item, and the referenced items.
+  private final int[] referenceOffsets;
+  private final IndexedDexItem[] references;
+
+  // The items of the dex input that the indices of the code units refer to.
+  private final OffsetToObjectMapping mapping;
+
+  private UndecodedDexInstructions(
+      short[] units,
+      int instructionCount,
+      int lastExecutableInstructionOffset,
+      int[] referenceOffsets,
+      IndexedDexItem[] references,
+      OffsetToObjectMapping mapping) {
+    this.units = units;
+    this.instructionCount = instructionCount;
+    this.lastExecutableInstructionOffset = lastExecutableInstructionOffset;
+    this.referenceOffsets = referenceOffsets;
+    this.references = references;
+    this.mapping = mapping;
+  }
+
+  /**
+   * Returns the undecoded instructions of the given code units, or null if the code units can only
+   * be represented by decoded instructions.
+   */
+  public static UndecodedDexInstructions create(short[] units, OffsetToObjectMapping mapping) {
+    int instructionCount = 0;
+    int lastExecutableInstructionOffset = -1;
+    int[] referenceOffsets = new int[8];
+    IndexedDexItem[] references = new IndexedDexItem[8];
+    int referenceCount = 0;
+    int offset = 0;
+    while (offset < units.length) {
+      int opcode = units[offset] & 0xff;
+      int size;
+      if (opcode == DexNop.OPCODE && isPayload(units, offset)) {
+        size = getPayloadSize(units, offset);
+        if (size == SIZE_UNSUPPORTED) {
+          return null;
+        }
+      } else {
+        size = SIZES[opcode];
+        if (size == SIZE_UNSUPPORTED) {
+          return null;
+        }
+        lastExecutableInstructionOffset = offset;
+      }
+      if (size > units.length - offset) {
+        return null;
+      }
+      int reference = REFERENCES[opcode];
+      if (reference != NO_REFERENCE) {
+        if (referenceCount == references.length) {
+          referenceOffsets = Arrays.copyOf(referenceOffsets, referenceCount * 2);
+          references = Arrays.copyOf(references, referenceCount * 2);
+        }
+        referenceOffsets[referenceCount] = offset;
+        references[referenceCount] = getReference(units, offset, reference, mapping);
+        referenceCount++;
+      }
+      instructionCount++;
+      offset += size;
+    }
+    return new UndecodedDexInstructions(
+        units,
+        instructionCount,
+        lastExecutableInstructionOffset,
+        Arrays.copyOf(referenceOffsets, referenceCount),
+        Arrays.copyOf(references, referenceCount),
+        mapping);
+  }
+
+  // Returns true if the nop at the given offset is the start of a payload, see DexNop#create.
+  private static boolean isPayload(short[] units, int offset) {
+    int high = (units[offset] >> 8) & 0xff;
+    return high == 0x01 || high == 0x02 || high == 0x03;
+  }
+
+  private static int getPayloadSize(short[] units, int offset) {
+    int high = (units[offset] >> 8) & 0xff;
+    if (units.length - offset < 2) {
+      return SIZE_UNSUPPORTED;
+    }
+    int payloadSize = read16BitValue(units, offset + 1);
+    switch (high) {
+      case 0x01:
+        // The packed-switch-payload has a first key and a target for each key.
+        return 4 + 2 * payloadSize;
+      case 0x02:
+        // The sparse-switch-payload has a key and a target for each key.
+        return 2 + 4 * payloadSize;
+      default:
+        {
+          // The fill-array-data-payload has an element count and elements of the given width.
+          assert high == 0x03;
+          if (units.length - offset < 4) {
+            return SIZE_UNSUPPORTED;
+          }
+          long elementCount = read32BitValue(units, offset + 2);
+          long dataSize = (elementCount * payloadSize + 1) / 2;
+          return dataSize < units.length ? 4 + (int) dataSize : SIZE_UNSUPPORTED;
+        }
+    }
+  }
+
+  private static IndexedDexItem getReference(
+      short[] units, int offset, int reference, OffsetToObjectMapping mapping) {
+    switch (reference) {
+      case STRING_REFERENCE:
+        return mapping.getString(read16BitValue(units, offset + 1));
+      case JUMBO_STRING_REFERENCE:
+        return mapping.getString((int) read32BitValue(units, offset + 1));
+      case TYPE_REFERENCE:
+        return mapping.getType(read16BitValue(units, offset + 1));
+      case FIELD_REFERENCE:
+        return mapping.getField(read16BitValue(units, offset + 1));
+      default:
+        assert reference == METHOD_REFERENCE;
+        return mapping.getMethod(read16BitValue(units, offset + 1));
+    }
+  }
+
+  private static int read16BitValue(short[] units, int offset) {
+    return units[offset] & 0xffff;
+  }
+
+  private static long read32BitValue(short[] units, int offset) {
+    return ((long) read16BitValue(units, offset + 1) << 16) | read16BitValue(units, offset);
+  }
+
+  private int getOpcode(int offset) {
+    return units[offset] & 0xff;
+  }
+
+  public int getCodeSize() {
+    return units.length;
+  }
+
+  public int getInstructionCount() {
+    return instructionCount;
+  }
+
+  public int getLastExecutableInstructionOffset() {
+    return lastExecutableInstructionOffset;
+  }
+
+  public DexInstruction[] decode() {
+    return new DexInstructionFactory()
+        .readSequenceFrom(ShortBuffer.wrap(units), 0, units.length, mapping);
+  }
+
+  /**
+   * Collects the referenced items as the corresponding instructions do when the graph lens is the
+   * identity, and passes the strings of the const-string instructions to the given consumer.
+   */
+  public void collectIndexedItems(
+      AppView<?> appView, IndexedItemCollection indexedItems, Consumer<DexString> constStrings) {
+    assert appView.graphLens().isIdentityLens();
+    for (IndexedDexItem reference : references) {
+      if (reference instanceof DexString) {
+        DexString string = (DexString) reference;
+        string.collectIndexedItems(indexedItems);
+        constStrings.accept(string);
+      } else {
+        ((DexReference) reference).collectIndexedItems(appView, indexedItems);
+      }
+    }
+  }
+
+  /**
+   * Writes the code units with the indices of the given mapping, as the corresponding
+   * instructions do when the graph lens is the identity.
+   */
+  public void write(ShortBuffer dest, ObjectToOffsetMapping mapping) {
+    assert mapping.getGraphLens().isIdentityLens();
+    int start = dest.position();
+    dest.put(units);
+    for (int i = 0; i < references.length; i++) {
+      int indexOffset = start + referenceOffsets[i] + 1;
+      int index = references[i].getOffset(mapping);
+      if (REFERENCES[getOpcode(referenceOffsets[i])] == JUMBO_STRING_REFERENCE) {
+        dest.put(indexOffset, (short) (index & 0xffff));
+        dest.put(indexOffset + 1, (short) ((index >> 16) & 0xffff));
+      } else {
+        // Const-string instructions that reference a jumbo string are rewritten before writing.
+        assert index == (index & 0xffff);
+        dest.put(indexOffset, (short) index);
+      }
+    }
+  }
+
+  public void writeKeepRulesForDesugaredLibrary(CodeToKeep desugaredLibraryCodeToKeep) {
+    for (int i = 0; i < references.length; i++) {
+      IndexedDexItem reference = references[i];
+      if (reference instanceof DexField) {
+        desugaredLibraryCodeToKeep.recordField((DexField) reference);
+      } else if (reference instanceof DexMethod) {
+        desugaredLibraryCodeToKeep.recordMethod((DexMethod) reference);
+      } else if (reference instanceof DexType) {
+        int opcode = getOpcode(referenceOffsets[i]);
+        if (opcode == DexConstClass.OPCODE
+            || opcode == DexInstanceOf.OPCODE
+            || opcode == DexCheckCast.OPCODE) {
+          desugaredLibraryCodeToKeep.recordClass((DexType) reference);
+        }
+      }
+    }
+  }
+}
@@ -5,12 +5,14 @@
 package com.android.tools.r8.experimental.startup.instrumentation;
 
 import static com.android.tools.r8.graph.DexProgramClass.asProgramClassOrNull;
+import static com.android.tools.r8.ir.analysis.type.Nullability.definitelyNotNull;
 import static com.android.tools.r8.utils.PredicateUtils.not;
 
 import com.android.tools.r8.androidapi.ComputedApiLevel;
 import com.android.tools.r8.cf.CfVersion;
 import com.android.tools.r8.dex.code.DexInstruction;
 import com.android.tools.r8.dex.code.DexReturnVoid;
+import com.android.tools.r8.errors.Unreachable;
 import com.android.tools.r8.graph.AppInfo;
 import com.android.tools.r8.graph.AppView;
 import com.android.tools.r8.graph.DexApplication;
@@ -21,26 +23,40 @@ import com.android.tools.r8.graph.DexProgramClass;
 import com.android.tools.r8.graph.DexReference;
 import com.android.tools.r8.graph.DexType;
 import com.android.tools.r8.graph.DexValue.DexValueBoolean;
+import com.android.tools.r8.graph.DexValue.DexValueInt;
 import com.android.tools.r8.graph.DexValue.DexValueString;
 import com.android.tools.r8.graph.MethodAccessFlags;
 import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.graph.bytecodemetadata.BytecodeMetadataProvider;
+import com.android.tools.r8.ir.analysis.type.TypeElement;
+import com.android.tools.r8.ir.code.ArrayPut;
 import com.android.tools.r8.ir.code.IRCode;
 import com.android.tools.r8.ir.code.Instruction;
 import com.android.tools.r8.ir.code.InstructionListIterator;
 import com.android.tools.r8.ir.code.InvokeStatic;
+import com.android.tools.r8.ir.code.MemberType;
 import com.android.tools.r8.ir.code.Position;
+import com.android.tools.r8.ir.code.StaticGet;
 import com.android.tools.r8.ir.code.Value;
 import com.android.tools.r8.ir.conversion.IRConverter;
 import com.android.tools.r8.ir.conversion.IRToDexFinalizer;
 import com.android.tools.r8.ir.conversion.MethodConversionOptions.MutableMethodConversionOptions;
+import com.android.tools.r8.startup.generated.BitmapInstrumentationServerImplFactory;
 import com.android.tools.r8.startup.generated.InstrumentationServerFactory;
 import com.android.tools.r8.startup.generated.InstrumentationServerImplFactory;
 import com.android.tools.r8.utils.DescriptorUtils;
+import com.android.tools.r8.utils.ExceptionDiagnostic;
+import com.android.tools.r8.utils.FileUtils;
 import com.android.tools.r8.utils.InternalOptions;
+import com.android.tools.r8.utils.ListUtils;
+import com.android.tools.r8.utils.StringDiagnostic;
 import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.Timing;
 import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -54,8 +70,13 @@ public class StartupInstrumentation {
   private final StartupInstrumentationReferences references;
   private final StartupInstrumentationOptions startupInstrumentationOptions;
 
+  // The startup items in the order of their index, when bitmap instrumentation is enabled.
+  private final List<DexReference> bitmapItems = new ArrayList<>();
+  private final Reference2IntMap<DexReference> bitmapIndices = new Reference2IntOpenHashMap<>();
+
   private StartupInstrumentation(AppView<AppInfo> appView) {
     this.appView = appView;
+    this.bitmapIndices.defaultReturnValue(-1);
     this.converter = new IRConverter(appView, Timing.empty());
     this.dexItemFactory = appView.dexItemFactory();
     this.options = appView.options();
@@ -67,8 +88,58 @@ public class StartupInstrumentation {
       throws ExecutionException {
     if (appView.options().getStartupInstrumentationOptions().isStartupInstrumentationEnabled()) {
       StartupInstrumentation startupInstrumentation = new StartupInstrumentation(appView);
+      if (startupInstrumentation.startupInstrumentationOptions.isBitmapInstrumentationEnabled()) {
+        startupInstrumentation.assignBitmapIndices();
+      }
       startupInstrumentation.instrumentAllClasses(executorService);
       startupInstrumentation.injectStartupRuntimeLibrary(executorService);
+      if (startupInstrumentation.startupInstrumentationOptions.isBitmapInstrumentationEnabled()) {
+        startupInstrumentation.writeBitmapIndex();
+      }
+    }
+  }
+
+  private void assignBitmapIndices() {
+    // The index is only meaningful for the code of a single compilation, and the logcat output is
+    // produced by the default InstrumentationServerImpl.
+    if (startupInstrumentationOptions.hasStartupInstrumentationServerSyntheticContext()
+        || startupInstrumentationOptions.hasStartupInstrumentationTag()) {
+      throw options.reporter.fatalError(
+          new StringDiagnostic(
+              "Bitmap startup instrumentation is not supported in combination with a startup"
+                  + " instrumentation server synthetic context or instrumentation tag"));
+    }
+    // The injected code writes to the executed array of the InstrumentationServerImpl that is
+    // injected by bitmap instrumentation, thus it cannot use an InstrumentationServerImpl that is
+    // already in the app.
+    if (appView.definitionFor(references.instrumentationServerImplType) != null) {
+      throw options.reporter.fatalError(
+          new StringDiagnostic(
+              "Bitmap startup instrumentation is not supported when the app already contains "
+                  + references.instrumentationServerImplType.toSourceString()));
+    }
+    for (DexProgramClass clazz : appView.appInfo().classesWithDeterministicOrder()) {
+      if (isInstrumentationServerClass(clazz)) {
+        continue;
+      }
+      addBitmapItem(clazz.getType());
+      clazz.forEachProgramMethodMatching(
+          DexEncodedMethod::hasCode, method -> addBitmapItem(method.getReference()));
+    }
+  }
+
+  private void addBitmapItem(DexReference reference) {
+    bitmapIndices.put(reference, bitmapItems.size());
+    bitmapItems.add(reference);
+  }
+
+  private void writeBitmapIndex() {
+    try {
+      FileUtils.writeTextFile(
+          startupInstrumentationOptions.getStartupInstrumentationBitmapIndex(),
+          ListUtils.map(bitmapItems, DexReference::toSmaliString));
+    } catch (IOException e) {
+      throw options.reporter.fatalError(new ExceptionDiagnostic(e));
     }
   }
 
@@ -108,6 +179,15 @@ public class StartupInstrumentation {
   }
 
   private List<DexProgramClass> createStartupRuntimeLibraryClasses() {
+    if (startupInstrumentationOptions.isBitmapInstrumentationEnabled()) {
+      DexProgramClass instrumentationServerImplClass =
+          BitmapInstrumentationServerImplFactory.createClass(dexItemFactory);
+      instrumentationServerImplClass
+          .lookupUniqueStaticFieldWithName(dexItemFactory.createString("size"))
+          .setStaticValue(DexValueInt.create(bitmapItems.size()));
+      return ImmutableList.of(
+          InstrumentationServerFactory.createClass(dexItemFactory), instrumentationServerImplClass);
+    }
     DexProgramClass instrumentationServerImplClass =
         InstrumentationServerImplFactory.createClass(dexItemFactory);
     if (startupInstrumentationOptions.hasStartupInstrumentationTag()) {
@@ -128,8 +208,7 @@ public class StartupInstrumentation {
 
   private void instrumentClass(DexProgramClass clazz) {
     // Do not instrument the instrumentation server if it is already in the app.
-    if (clazz.getType() == references.instrumentationServerType
-        || clazz.getType() == references.instrumentationServerImplType) {
+    if (isInstrumentationServerClass(clazz)) {
       return;
     }
 
@@ -141,6 +220,11 @@ public class StartupInstrumentation {
                 method, method.getDefinition().isClassInitializer() && addedClassInitializer));
   }
 
+  private boolean isInstrumentationServerClass(DexProgramClass clazz) {
+    return clazz.getType() == references.instrumentationServerType
+        || clazz.getType() == references.instrumentationServerImplType;
+  }
+
   private boolean ensureClassInitializer(DexProgramClass clazz) {
     if (clazz.hasClassInitializer()) {
       return false;
@@ -170,32 +254,14 @@ public class StartupInstrumentation {
     InstructionListIterator instructionIterator = code.entryBlock().listIterator(code);
     instructionIterator.positionBeforeNextInstructionThatMatches(not(Instruction::isArgument));
 
-    // Insert invoke to record that the enclosing class is a startup class.
+    // Record that the enclosing class is a startup class.
     if (method.getDefinition().isClassInitializer()) {
-      DexType classToPrint = method.getHolderType();
-      Value descriptorValue =
-          instructionIterator.insertConstStringInstruction(
-              appView, code, dexItemFactory.createString(classToPrint.toSmaliString()));
-      instructionIterator.add(
-          InvokeStatic.builder()
-              .setMethod(references.addMethod)
-              .setSingleArgument(descriptorValue)
-              .setPosition(Position.syntheticNone())
-              .build());
+      recordExecution(code, instructionIterator, method.getHolderType());
     }
 
-    // Insert invoke to record the execution of the current method.
+    // Record the execution of the current method.
     if (!skipMethodLogging) {
-      DexReference referenceToPrint = method.getReference();
-      Value descriptorValue =
-          instructionIterator.insertConstStringInstruction(
-              appView, code, dexItemFactory.createString(referenceToPrint.toSmaliString()));
-      instructionIterator.add(
-          InvokeStatic.builder()
-              .setMethod(references.addMethod)
-              .setSingleArgument(descriptorValue)
-              .setPosition(Position.syntheticNone())
-              .build());
+      recordExecution(code, instructionIterator, method.getReference());
     }
 
     converter.deadCodeRemover.run(code, Timing.empty());
@@ -205,4 +271,42 @@ public class StartupInstrumentation {
             .finalizeCode(code, BytecodeMetadataProvider.empty(), Timing.empty());
     method.setCode(instrumentedCode, appView);
   }
+
+  private void recordExecution(
+      IRCode code, InstructionListIterator instructionIterator, DexReference reference) {
+    if (startupInstrumentationOptions.isBitmapInstrumentationEnabled()) {
+      // Insert InstrumentationServerImpl.executed[index] = 1.
+      StaticGet executedArray =
+          StaticGet.builder()
+              .setField(references.executedField)
+              .setFreshOutValue(
+                  code,
+                  TypeElement.fromDexType(
+                      dexItemFactory.byteArrayType, definitelyNotNull(), appView))
+              .setPosition(Position.syntheticNone())
+              .build();
+      instructionIterator.add(executedArray);
+      int index = bitmapIndices.getInt(reference);
+      if (index < 0) {
+        throw new Unreachable("Missing bitmap index for " + reference.toSmaliString());
+      }
+      Value indexValue = instructionIterator.insertConstIntInstruction(code, options, index);
+      Value executedValue = instructionIterator.insertConstIntInstruction(code, options, 1);
+      ArrayPut arrayPut =
+          new ArrayPut(
+              MemberType.BOOLEAN_OR_BYTE, executedArray.outValue(), indexValue, executedValue);
+      arrayPut.setPosition(Position.syntheticNone());
+      instructionIterator.add(arrayPut);
+      return;
+    }
+    Value descriptorValue =
+        instructionIterator.insertConstStringInstruction(
+            appView, code, dexItemFactory.createString(reference.toSmaliString()));
+    instructionIterator.add(
+        InvokeStatic.builder()
+            .setMethod(references.addMethod)
+            .setSingleArgument(descriptorValue)
+            .setPosition(Position.syntheticNone())
+            .build());
+  }
 }
@@ -0,0 +1,73 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.experimental.startup.instrumentation;
+
+import com.android.tools.r8.origin.Origin;
+import com.android.tools.r8.origin.PathOrigin;
+import com.android.tools.r8.startup.StartupProfileBuilder;
+import com.android.tools.r8.startup.StartupProfileProvider;
+import com.android.tools.r8.utils.ConsumerUtils;
+import com.android.tools.r8.utils.FileUtils;
+import com.android.tools.r8.utils.StringUtils;
+import com.android.tools.r8.utils.UTF8TextInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the array written by the bitmap startup instrumentation into the startup classes and
+ * methods, using the index written by the compiler.
+ */
+public class StartupInstrumentationBitmapDecoder {
+
+  public static List<String> decode(List<String> index, byte[] executed) {
+    if (index.size() != executed.length) {
+      throw new IllegalArgumentException(
+          "Expected startup instrumentation bitmap of length "
+              + index.size()
+              + ", but was "
+              + executed.length);
+    }
+    List<String> startupItems = new ArrayList<>();
+    for (int i = 0; i < executed.length; i++) {
+      if (executed[i] != 0) {
+        startupItems.add(index.get(i));
+      }
+    }
+    return startupItems;
+  }
+
+  public static List<String> decode(Path index, Path executed) throws IOException {
+    return decode(FileUtils.readAllLines(index), Files.readAllBytes(executed));
+  }
+
+  public static StartupProfileProvider createStartupProfileProvider(Path index, Path executed) {
+    return new StartupProfileProvider() {
+
+      @Override
+      public void getStartupProfile(StartupProfileBuilder startupProfileBuilder) {
+        try {
+          byte[] startupProfile =
+              StringUtils.lines(decode(index, executed)).getBytes(StandardCharsets.UTF_8);
+          startupProfileBuilder.addHumanReadableArtProfile(
+              new UTF8TextInputStream(new ByteArrayInputStream(startupProfile)),
+              ConsumerUtils.emptyConsumer());
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+
+      @Override
+      public Origin getOrigin() {
+        return new PathOrigin(executed);
+      }
+    };
+  }
+}
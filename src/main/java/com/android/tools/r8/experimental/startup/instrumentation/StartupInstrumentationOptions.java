@@ -7,6 +7,9 @@ package com.android.tools.r8.experimental.startup.instrumentation;
 import static com.android.tools.r8.utils.SystemPropertyUtils.getSystemPropertyForDevelopment;
 import static com.android.tools.r8.utils.SystemPropertyUtils.parseSystemPropertyForDevelopmentOrDefault;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class StartupInstrumentationOptions {
 
   /**
@@ -45,6 +48,22 @@ public class StartupInstrumentationOptions {
       getSystemPropertyForDevelopment(
           "com.android.tools.r8.startup.instrumentation.instrumentationtag");
 
+  /**
+   * Specifies the path where the index of the instrumented classes and methods should be written.
+   *
+   * <p>When this is set, each class and method is assigned a dense index and the instrumentation
+   * records the first execution of a class or method by a single store into a static byte array,
+   * instead of an invocation of the InstrumentationServer. InstrumentationServer#writeToFile
+   * writes the array as is, and {@link StartupInstrumentationBitmapDecoder} turns the index and the
+   * written array back into a startup profile. The recorded startup items are ordered by their
+   * index, not by their first execution.
+   *
+   * <p>This is not supported in combination with {@link
+   * #startupInstrumentationServerSyntheticContext} or {@link #startupInstrumentationTag}.
+   */
+  private String startupInstrumentationBitmapIndex =
+      getSystemPropertyForDevelopment("com.android.tools.r8.startup.instrumentation.bitmapindex");
+
   public boolean hasStartupInstrumentationServerSyntheticContext() {
     return startupInstrumentationServerSyntheticContext != null;
   }
@@ -74,6 +93,20 @@ public class StartupInstrumentationOptions {
     return this;
   }
 
+  public boolean isBitmapInstrumentationEnabled() {
+    return startupInstrumentationBitmapIndex != null;
+  }
+
+  public Path getStartupInstrumentationBitmapIndex() {
+    return Paths.get(startupInstrumentationBitmapIndex);
+  }
+
+  public StartupInstrumentationOptions setStartupInstrumentationBitmapIndex(
+      Path startupInstrumentationBitmapIndex) {
+    this.startupInstrumentationBitmapIndex = startupInstrumentationBitmapIndex.toString();
+    return this;
+  }
+
   public boolean isStartupInstrumentationEnabled() {
     return enableStartupInstrumentation;
   }
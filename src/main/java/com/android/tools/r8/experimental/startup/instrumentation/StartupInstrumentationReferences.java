@@ -4,6 +4,7 @@
 
 package com.android.tools.r8.experimental.startup.instrumentation;
 
+import com.android.tools.r8.graph.DexField;
 import com.android.tools.r8.graph.DexItemFactory;
 import com.android.tools.r8.graph.DexMethod;
 import com.android.tools.r8.graph.DexType;
@@ -13,6 +14,7 @@ class StartupInstrumentationReferences {
   final DexType instrumentationServerType;
   final DexType instrumentationServerImplType;
   final DexMethod addMethod;
+  final DexField executedField;
 
   StartupInstrumentationReferences(DexItemFactory dexItemFactory) {
     instrumentationServerType =
@@ -24,5 +26,8 @@ class StartupInstrumentationReferences {
             instrumentationServerImplType,
             dexItemFactory.createProto(dexItemFactory.voidType, dexItemFactory.stringType),
             "addMethod");
+    executedField =
+        dexItemFactory.createField(
+            instrumentationServerImplType, dexItemFactory.byteArrayType, "executed");
   }
 }
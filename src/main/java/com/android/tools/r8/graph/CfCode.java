@@ -37,6 +37,7 @@ import com.android.tools.r8.ir.conversion.IRBuilder;
 import com.android.tools.r8.ir.conversion.LensCodeRewriterUtils;
 import com.android.tools.r8.ir.conversion.MethodConversionOptions.MutableMethodConversionOptions;
 import com.android.tools.r8.ir.conversion.MethodConversionOptions.ThrowingMethodConversionOptions;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.optimize.Inliner.ConstraintWithTarget;
 import com.android.tools.r8.ir.optimize.InliningConstraints;
 import com.android.tools.r8.naming.NamingLens;
@@ -137,6 +138,11 @@ public class CfCode extends Code implements CfWritableCode, StructuralItem<CfCod
   private final com.android.tools.r8.position.Position diagnosticPosition;
   private final BytecodeMetadata<CfInstruction> metadata;
 
+  // The kinds of the instructions of this code, as a set of CfInstructionKind, or ALL_KINDS if
+  // unknown. This is recorded when the code is read from a class file, such that methods that do
+  // not need desugaring can be identified without visiting their instructions.
+  private int instructionKinds = CfInstructionKind.ALL_KINDS;
+
   public CfCode(
       DexType originalHolder, int maxStack, int maxLocals, List<CfInstruction> instructions) {
     this(
@@ -288,6 +294,22 @@ public class CfCode extends Code implements CfWritableCode, StructuralItem<CfCod
 
   public void setInstructions(List<CfInstruction> instructions) {
     this.instructions = instructions;
+    this.instructionKinds = CfInstructionKind.ALL_KINDS;
+  }
+
+  /**
+   * Returns a superset of the kinds of the instructions of this code, as a bit set over the
+   * ordinals of {@link CfInstructionKind}.
+   */
+  public int getInstructionKinds() {
+    assert instructionKinds == CfInstructionKind.ALL_KINDS
+        || instructionKinds == CfInstructionKind.setOf(instructions);
+    return instructionKinds;
+  }
+
+  public void setInstructionKinds(int instructionKinds) {
+    assert instructionKinds == CfInstructionKind.setOf(instructions);
+    this.instructionKinds = instructionKinds;
   }
 
   public List<LocalVariableInfo> getLocalVariables() {
@@ -84,7 +84,10 @@ public abstract class DexClass extends DexDefinition
   private List<PermittedSubclassAttribute> permittedSubclasses;
 
   /** Generic signature information if the attribute is present in the input */
-  protected ClassSignature classSignature;
+  protected volatile ClassSignature classSignature;
+  // The unparsed signature of a classpath or library class, which is parsed on first access. When
+  // present it takes precedence over classSignature.
+  private volatile LazyGenericSignature lazyClassSignature = null;
 
   public DexClass(
       DexString sourceFile,
@@ -957,7 +960,7 @@ public abstract class DexClass extends DexDefinition
   public void forEachImmediateSupertypeWithSignature(
       BiConsumer<DexType, ClassTypeSignature> consumer) {
     if (superType != null) {
-      consumer.accept(superType, classSignature.superClassSignature);
+      consumer.accept(superType, getClassSignature().superClassSignature);
     }
     forEachImmediateInterfaceWithSignature(consumer);
   }
@@ -1090,7 +1093,7 @@ public abstract class DexClass extends DexDefinition
   }
 
   public void clearClassSignature() {
-    classSignature = ClassSignature.noSignature();
+    setClassSignature(ClassSignature.noSignature());
   }
 
   public void removeInnerClasses(Predicate<InnerClassAttribute> predicate) {
@@ -1119,11 +1122,22 @@ public abstract class DexClass extends DexDefinition
   }
 
   public ClassSignature getClassSignature() {
-    return classSignature;
+    // The lazy signature is read first. It is only cleared after classSignature has been
+    // published, so once it is observed as null classSignature holds the current signature.
+    LazyGenericSignature lazySignature = lazyClassSignature;
+    return lazySignature != null ? lazySignature.getClassSignature() : classSignature;
   }
 
   public void setClassSignature(ClassSignature classSignature) {
+    assert classSignature != null;
     this.classSignature = classSignature;
+    this.lazyClassSignature = null;
+  }
+
+  public void setLazyClassSignature(LazyGenericSignature lazyClassSignature) {
+    assert !isProgramClass();
+    assert lazyClassSignature != null;
+    this.lazyClassSignature = lazyClassSignature;
   }
 
   public void clearPermittedSubclasses() {
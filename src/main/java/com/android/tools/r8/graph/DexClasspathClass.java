@@ -160,7 +160,7 @@ public class DexClasspathClass extends DexClass
         .withItemCollection(DexClass::getNestMembersClassAttributes)
         .withItem(DexDefinition::annotations)
         // TODO(b/158159959): Make signatures structural.
-        .withAssert(c -> c.classSignature == ClassSignature.noSignature())
+        .withAssert(c -> c.getClassSignature() == ClassSignature.noSignature())
         .withItemArray(c -> c.staticFields)
         .withItemArray(c -> c.instanceFields)
         .withItemCollection(DexClass::allMethodsSorted);
@@ -3,6 +3,7 @@
 // BSD-style license that can be found in the LICENSE file.
 package com.android.tools.r8.graph;
 
+import com.android.tools.r8.debuginfo.DebugRepresentation;
 import com.android.tools.r8.dex.CodeToKeep;
 import com.android.tools.r8.dex.IndexedItemCollection;
 import com.android.tools.r8.dex.JumboStringRewriter;
@@ -12,6 +13,7 @@ import com.android.tools.r8.dex.code.DexInstruction;
 import com.android.tools.r8.dex.code.DexMonitorEnter;
 import com.android.tools.r8.dex.code.DexReturnVoid;
 import com.android.tools.r8.dex.code.DexSwitchPayload;
+import com.android.tools.r8.dex.code.UndecodedDexInstructions;
 import com.android.tools.r8.graph.DexCode.TryHandler.TypeAddrPair;
 import com.android.tools.r8.graph.DexDebugEvent.Default;
 import com.android.tools.r8.graph.DexDebugEvent.SetPositionFrame;
@@ -64,7 +66,11 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
   public final int outgoingRegisterSize;
   public final Try[] tries;
   public final TryHandler[] handlers;
-  public final DexInstruction[] instructions;
+  // The instructions, which are decoded from the undecoded instructions when they are first used.
+  // This is null until the instructions have been decoded, so it must only be read through
+  // getInstructions().
+  private volatile DexInstruction[] instructions;
+  private volatile UndecodedDexInstructions undecodedInstructions;
 
   public DexString highestSortingString;
   private DexDebugInfo debugInfo;
@@ -79,7 +85,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
         .withItemArray(c -> c.tries)
         .withItemArray(c -> c.handlers)
         .withNullableItem(c -> c.debugInfo)
-        .withItemArray(c -> c.instructions);
+        .withItemArray(DexCode::getInstructions);
   }
 
   public DexCode(int registerSize, int insSize, int outsSize, DexInstruction[] instructions) {
@@ -135,11 +141,62 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
     hashCode();  // Cache the hash code eagerly.
   }
 
+  public DexCode(
+      int registerSize,
+      int insSize,
+      int outsSize,
+      UndecodedDexInstructions undecodedInstructions,
+      Try[] tries,
+      TryHandler[] handlers,
+      DexDebugInfo debugInfo) {
+    this.incomingRegisterSize = insSize;
+    this.registerSize = registerSize;
+    this.outgoingRegisterSize = outsSize;
+    this.undecodedInstructions = undecodedInstructions;
+    this.tries = tries;
+    this.handlers = handlers;
+    this.debugInfo = debugInfo;
+    this.metadata = BytecodeMetadata.empty();
+    assert tries != null;
+    assert handlers != null;
+    assert undecodedInstructions != null;
+    // The hash code is not cached eagerly, since it requires the instructions to be decoded.
+  }
+
   @Override
   public DexCode self() {
     return this;
   }
 
+  public DexInstruction[] getInstructions() {
+    DexInstruction[] result = instructions;
+    return result != null ? result : decodeInstructions();
+  }
+
+  private synchronized DexInstruction[] decodeInstructions() {
+    if (instructions == null) {
+      instructions = undecodedInstructions.decode();
+      undecodedInstructions = null;
+    }
+    return instructions;
+  }
+
+  public int getInstructionCount() {
+    UndecodedDexInstructions undecoded = undecodedInstructions;
+    return undecoded != null ? undecoded.getInstructionCount() : getInstructions().length;
+  }
+
+  /** Returns the offset of the last instruction that is not a payload, or -1 if there is none. */
+  public int getLastExecutableInstructionOffset() {
+    UndecodedDexInstructions undecoded = undecodedInstructions;
+    if (undecoded != null) {
+      return undecoded.getLastExecutableInstructionOffset();
+    }
+    DexInstruction lastInstruction =
+        DebugRepresentation.getLastExecutableInstruction(getInstructions());
+    return lastInstruction != null ? lastInstruction.getOffset() : -1;
+  }
+
   @Override
   public BytecodeMetadata<DexInstruction> getMetadata() {
     return metadata;
@@ -171,9 +228,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
     if (force) {
       firstJumboString = mapping.getFirstString();
     } else {
-      assert highestSortingString != null
-          || Arrays.stream(instructions).noneMatch(DexInstruction::isConstString);
-      assert Arrays.stream(instructions).noneMatch(DexInstruction::isDexItemBasedConstString);
+      assert verifyHighestSortingString();
       if (highestSortingString != null
           && highestSortingString.isGreaterThanOrEqualTo(mapping.getFirstJumboString())) {
         firstJumboString = mapping.getFirstJumboString();
@@ -184,9 +239,25 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
         : this;
   }
 
+  private boolean verifyHighestSortingString() {
+    // The highest sorting string of undecoded instructions is computed from their references.
+    DexInstruction[] decodedInstructions = instructions;
+    if (decodedInstructions != null) {
+      assert highestSortingString != null
+          || Arrays.stream(decodedInstructions).noneMatch(DexInstruction::isConstString);
+      assert Arrays.stream(decodedInstructions)
+          .noneMatch(DexInstruction::isDexItemBasedConstString);
+    }
+    return true;
+  }
+
   @Override
   public void setCallSiteContexts(ProgramMethod method) {
-    for (DexInstruction instruction : instructions) {
+    if (undecodedInstructions != null) {
+      // The undecoded instructions do not contain any call sites.
+      return;
+    }
+    for (DexInstruction instruction : getInstructions()) {
       DexCallSite callSite = instruction.getCallSite();
       if (callSite != null) {
         callSite.setContext(method.getReference(), instruction.getOffset());
@@ -205,7 +276,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
         registerSize,
         incomingRegisterSize - 1,
         outgoingRegisterSize,
-        instructions,
+        getInstructions(),
         tries,
         handlers,
         debugInfoWithoutFirstParameter(factory));
@@ -285,7 +356,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
         registerSize,
         incomingRegisterSize,
         outgoingRegisterSize,
-        instructions,
+        getInstructions(),
         tries,
         handlers,
         debugInfoAsInlining(caller, callee, isCalleeD8R8Synthesized, factory));
@@ -399,7 +470,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
     return incomingRegisterSize * 2
         + registerSize * 3
         + outgoingRegisterSize * 5
-        + Arrays.hashCode(instructions) * 7
+        + Arrays.hashCode(getInstructions()) * 7
         + ((debugInfo == null) ? 0 : debugInfo.hashCode()) * 11
         + Arrays.hashCode(tries) * 13
         + Arrays.hashCode(handlers) * 17;
@@ -412,12 +483,13 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
 
   @Override
   public boolean isEmptyVoidMethod() {
+    DexInstruction[] instructions = getInstructions();
     return instructions.length == 1 && instructions[0] instanceof DexReturnVoid;
   }
 
   @Override
   public boolean hasMonitorInstructions() {
-    for (DexInstruction instruction : instructions) {
+    for (DexInstruction instruction : getInstructions()) {
       if (instruction instanceof DexMonitorEnter) {
         return true;
       }
@@ -480,7 +552,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
 
   private void internalRegisterCodeReferences(DexClassAndMethod method, UseRegistry registry) {
     assert registry.getTraversalContinuation().shouldContinue();
-    for (DexInstruction insn : instructions) {
+    for (DexInstruction insn : getInstructions()) {
       insn.registerUse(registry);
       if (registry.getTraversalContinuation().shouldBreak()) {
         return;
@@ -516,7 +588,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
 
     // Collect payload users.
     Map<Integer, DexInstruction> payloadUsers = new HashMap<>();
-    for (DexInstruction dex : instructions) {
+    for (DexInstruction dex : getInstructions()) {
       if (dex.hasPayload()) {
         payloadUsers.put(dex.getOffset() + dex.getPayloadOffset(), dex);
       }
@@ -531,7 +603,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
     }
     int instructionNumber = 0;
     Map<Integer, DebugLocalInfo> locals = Collections.emptyMap();
-    for (DexInstruction insn : instructions) {
+    for (DexInstruction insn : getInstructions()) {
       debugInfo = advanceToOffset(insn.getOffset() - 1, debugInfo, debugInfoIterator);
       while (debugInfo != null && debugInfo.address == insn.getOffset()) {
         if (debugInfo.lineEntry || !locals.equals(debugInfo.locals)) {
@@ -553,7 +625,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
     if (isPcBasedInfo) {
       builder.append(getDebugInfo()).append("\n");
     } else if (debugInfoIterator.hasNext()) {
-      DexInstruction lastInstruction = ArrayUtils.last(instructions);
+      DexInstruction lastInstruction = ArrayUtils.last(getInstructions());
       debugInfo = advanceToOffset(lastInstruction.getOffset(), debugInfo, debugInfoIterator);
       if (debugInfo != null) {
         builder
@@ -597,7 +669,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
     Map<Integer, DexInstruction> payloadUsers = new HashMap<>();
     Set<Integer> labledTargets = new HashSet<>();
     // Collect payload users and labeled targets for non-payload instructions.
-    for (DexInstruction dex : instructions) {
+    for (DexInstruction dex : getInstructions()) {
       int[] targets = dex.getTargets();
       if (targets != DexInstruction.NO_TARGETS && targets != DexInstruction.EXIT_TARGET) {
         assert targets.length <= 2;
@@ -609,7 +681,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
       }
     }
     // Collect labeled targets for payload instructions.
-    for (DexInstruction dex : instructions) {
+    for (DexInstruction dex : getInstructions()) {
       if (dex.isSwitchPayload()) {
         DexInstruction payloadUser = payloadUsers.get(dex.getOffset());
         if (dex instanceof DexSwitchPayload) {
@@ -621,7 +693,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
       }
     }
     // Generate smali for all instructions.
-    for (DexInstruction dex : instructions) {
+    for (DexInstruction dex : getInstructions()) {
       if (labledTargets.contains(dex.getOffset())) {
         builder.append("  :label_");
         builder.append(dex.getOffset());
@@ -657,13 +729,18 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
       ProgramMethod context,
       LensCodeRewriterUtils rewriter) {
     highestSortingString = null;
-    for (DexInstruction insn : instructions) {
-      assert !insn.isDexItemBasedConstString();
-      insn.collectIndexedItems(appView, indexedItems, context, rewriter);
-      if (insn.isConstString()) {
-        updateHighestSortingString(insn.asConstString().getString());
-      } else if (insn.isConstStringJumbo()) {
-        updateHighestSortingString(insn.asConstStringJumbo().getString());
+    UndecodedDexInstructions undecoded = undecodedInstructions;
+    if (undecoded != null && appView.graphLens().isIdentityLens()) {
+      undecoded.collectIndexedItems(appView, indexedItems, this::updateHighestSortingString);
+    } else {
+      for (DexInstruction insn : getInstructions()) {
+        assert !insn.isDexItemBasedConstString();
+        insn.collectIndexedItems(appView, indexedItems, context, rewriter);
+        if (insn.isConstString()) {
+          updateHighestSortingString(insn.asConstString().getString());
+        } else if (insn.isConstStringJumbo()) {
+          updateHighestSortingString(insn.asConstStringJumbo().getString());
+        }
       }
     }
     if (debugInfo != null) {
@@ -728,6 +805,11 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
 
   @Override
   public int codeSizeInBytes() {
+    UndecodedDexInstructions undecoded = undecodedInstructions;
+    if (undecoded != null) {
+      return undecoded.getCodeSize();
+    }
+    DexInstruction[] instructions = getInstructions();
     DexInstruction last = instructions[instructions.length - 1];
     assert last.hasOffset();
     int result = last.getOffset() + last.getSize();
@@ -737,7 +819,7 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
 
   private int computeCodeSizeInBytes() {
     int size = 0;
-    for (DexInstruction insn : instructions) {
+    for (DexInstruction insn : getInstructions()) {
       size += insn.getSize();
     }
     return size;
@@ -745,7 +827,12 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
 
   @Override
   public void writeKeepRulesForDesugaredLibrary(CodeToKeep desugaredLibraryCodeToKeep) {
-    for (DexInstruction instruction : instructions) {
+    UndecodedDexInstructions undecoded = undecodedInstructions;
+    if (undecoded != null) {
+      undecoded.writeKeepRulesForDesugaredLibrary(desugaredLibraryCodeToKeep);
+      return;
+    }
+    for (DexInstruction instruction : getInstructions()) {
       DexMethod method = instruction.getMethod();
       DexField field = instruction.getField();
       if (field != null) {
@@ -770,7 +857,12 @@ public class DexCode extends Code implements DexWritableCode, StructuralItem<Dex
       GraphLens graphLens,
       LensCodeRewriterUtils lensCodeRewriter,
       ObjectToOffsetMapping mapping) {
-    for (DexInstruction instruction : instructions) {
+    UndecodedDexInstructions undecoded = undecodedInstructions;
+    if (undecoded != null && graphLens.isIdentityLens()) {
+      undecoded.write(shortBuffer, mapping);
+      return;
+    }
+    for (DexInstruction instruction : getInstructions()) {
       instruction.write(shortBuffer, context, graphLens, mapping, lensCodeRewriter);
     }
   }
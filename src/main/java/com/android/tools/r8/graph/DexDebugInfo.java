@@ -310,7 +310,7 @@ public abstract class DexDebugInfo extends CachedHashValueDexItem
     assert DebugRepresentation.verifyLastExecutableInstructionWithinBound(
         code, pcBasedDebugInfo.maxPc);
     // Generate a line event at each throwing instruction.
-    DexInstruction[] instructions = code.instructions;
+    DexInstruction[] instructions = code.getInstructions();
     return forceConvertToEventBasedDebugInfo(pcBasedDebugInfo, instructions, factory);
   }
 
@@ -39,7 +39,10 @@ public class DexEncodedField extends DexEncodedMember<DexEncodedField, DexField>
   private DexValue staticValue;
   private final boolean deprecated;
   /** Generic signature information if the attribute is present in the input */
-  private FieldTypeSignature genericSignature;
+  private volatile FieldTypeSignature genericSignature;
+  // The unparsed signature of a classpath or library field, which is parsed on first access. When
+  // present it takes precedence over genericSignature.
+  private volatile LazyGenericSignature lazyGenericSignature = null;
 
   private FieldOptimizationInfo optimizationInfo = DefaultFieldOptimizationInfo.getInstance();
   private KotlinFieldLevelInfo kotlinMemberInfo = getNoKotlinInfo();
@@ -55,7 +58,7 @@ public class DexEncodedField extends DexEncodedMember<DexEncodedField, DexField>
         .withNullableItem(f -> f.staticValue)
         .withBool(DexEncodedField::isDeprecated)
         // TODO(b/171867022): The generic signature should be part of the definition.
-        .withAssert(f -> f.genericSignature.hasNoSignature());
+        .withAssert(f -> f.getGenericSignature().hasNoSignature());
     // TODO(b/171867022): Should the optimization info and member info be part of the definition?
   }
 
@@ -336,17 +339,26 @@ public class DexEncodedField extends DexEncodedMember<DexEncodedField, DexField>
   }
 
   public FieldTypeSignature getGenericSignature() {
-    return genericSignature;
+    // The lazy signature is read first. It is only cleared after genericSignature has been
+    // published, so once it is observed as null genericSignature holds the current signature.
+    LazyGenericSignature lazySignature = lazyGenericSignature;
+    return lazySignature != null ? lazySignature.getFieldTypeSignature() : genericSignature;
   }
 
   public void setGenericSignature(FieldTypeSignature genericSignature) {
     assert genericSignature != null;
     this.genericSignature = genericSignature;
+    this.lazyGenericSignature = null;
+  }
+
+  public void setLazyGenericSignature(LazyGenericSignature lazyGenericSignature) {
+    assert lazyGenericSignature != null;
+    this.lazyGenericSignature = lazyGenericSignature;
   }
 
   @Override
   public void clearGenericSignature() {
-    this.genericSignature = FieldTypeSignature.noSignature();
+    setGenericSignature(FieldTypeSignature.noSignature());
   }
 
   public static Builder builder() {
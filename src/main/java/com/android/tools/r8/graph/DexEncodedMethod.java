@@ -156,7 +156,10 @@ public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMeth
 
   private KotlinMethodLevelInfo kotlinMemberInfo = getNoKotlinInfo();
   /** Generic signature information if the attribute is present in the input */
-  private MethodTypeSignature genericSignature;
+  private volatile MethodTypeSignature genericSignature;
+  // The unparsed signature of a classpath or library method, which is parsed on first access. When
+  // present it takes precedence over genericSignature.
+  private volatile LazyGenericSignature lazyGenericSignature = null;
 
   private OptionalBool isLibraryMethodOverride = OptionalBool.unknown();
 
@@ -279,7 +282,7 @@ public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMeth
         .withNullableItem(m -> m.classFileVersion)
         .withBool(DexEncodedMember::isD8R8Synthesized)
         // TODO(b/171867022): Make signatures structural and include it in the definition.
-        .withAssert(m -> m.genericSignature.hasNoSignature())
+        .withAssert(m -> m.getGenericSignature().hasNoSignature())
         .withCustomItem(
             DexEncodedMethod::getCode,
             DexEncodedMethod::compareCodeObject,
@@ -1279,7 +1282,9 @@ public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMeth
 
   public void setOptimizationInfo(MutableMethodOptimizationInfo info) {
     checkIfObsolete();
-    optimizationInfo = info;
+    // Share the default instance when the info carries no information to avoid retaining an
+    // optimization info object per method.
+    optimizationInfo = info.isDefault() ? DefaultMethodOptimizationInfo.getInstance() : info;
   }
 
   public void copyMetadata(AppView<?> appView, DexEncodedMethod from) {
@@ -1294,17 +1299,26 @@ public class DexEncodedMethod extends DexEncodedMember<DexEncodedMethod, DexMeth
   }
 
   public MethodTypeSignature getGenericSignature() {
-    return genericSignature;
+    // The lazy signature is read first. It is only cleared after genericSignature has been
+    // published, so once it is observed as null genericSignature holds the current signature.
+    LazyGenericSignature lazySignature = lazyGenericSignature;
+    return lazySignature != null ? lazySignature.getMethodSignature() : genericSignature;
   }
 
   public void setGenericSignature(MethodTypeSignature genericSignature) {
     assert genericSignature != null;
     this.genericSignature = genericSignature;
+    this.lazyGenericSignature = null;
+  }
+
+  public void setLazyGenericSignature(LazyGenericSignature lazyGenericSignature) {
+    assert lazyGenericSignature != null;
+    this.lazyGenericSignature = lazyGenericSignature;
   }
 
   @Override
   public void clearGenericSignature() {
-    this.genericSignature = MethodTypeSignature.noSignature();
+    setGenericSignature(MethodTypeSignature.noSignature());
   }
 
   public DexWritableCode getDexWritableCodeOrNull() {
@@ -424,7 +424,7 @@ public class GenericSignatureCorrectnessHelper {
         // When type arguments are empty we are using the raw type.
         return VALID;
       }
-      if (typeArguments.size() != clazz.classSignature.getFormalTypeParameters().size()) {
+      if (typeArguments.size() != clazz.getClassSignature().getFormalTypeParameters().size()) {
         assert mode.doNotVerify();
         return INVALID_APPLICATION_COUNT;
       }
@@ -231,6 +231,8 @@ public class JarClassFileReader<T extends DexClass> {
     private EnclosingMethodAttribute enclosingMember = null;
     private final List<InnerClassAttribute> innerClasses = new ArrayList<>();
     private ClassSignature classSignature = ClassSignature.noSignature();
+    private LazyGenericSignature lazyClassSignature = null;
+    private LazyGenericSignature.ParsingContext lazySignatureParsingContext = null;
     private List<DexAnnotation> annotations = null;
     private List<DexAnnotationElement> defaultAnnotations = null;
     private final List<DexEncodedField> staticFields = new ArrayList<>();
@@ -399,10 +401,29 @@ public class JarClassFileReader<T extends DexClass> {
       superType = superName == null ? null : application.getTypeFromName(superName);
       this.interfaces = application.getTypeListFromNames(interfaces);
       if (application.options.parseSignatureAttribute()) {
-        classSignature =
-            GenericSignature.parseClassSignature(
-                name, signature, origin, application.getFactory(), application.options.reporter);
+        if (isLazySignature(signature)) {
+          lazyClassSignature = createLazySignature(name, signature);
+        } else {
+          classSignature =
+              GenericSignature.parseClassSignature(
+                  name, signature, origin, application.getFactory(), application.options.reporter);
+        }
+      }
+    }
+
+    // The signatures of classpath and library definitions are only parsed when they are used.
+    private boolean isLazySignature(String signature) {
+      return classKind != ClassKind.PROGRAM && signature != null && !signature.isEmpty();
+    }
+
+    private LazyGenericSignature createLazySignature(String name, String signature) {
+      assert isLazySignature(signature);
+      if (lazySignatureParsingContext == null) {
+        lazySignatureParsingContext =
+            new LazyGenericSignature.ParsingContext(
+                origin, application.getFactory(), application.options.reporter);
       }
+      return new LazyGenericSignature(name, signature, lazySignatureParsingContext);
     }
 
     @Override
@@ -487,6 +508,9 @@ public class JarClassFileReader<T extends DexClass> {
               application.getFactory().getSkipNameValidationForTesting(),
               getChecksumSupplier(classKind),
               syntheticMarker);
+      if (lazyClassSignature != null) {
+        clazz.setLazyClassSignature(lazyClassSignature);
+      }
       InnerClassAttribute innerClassAttribute = clazz.getInnerClassAttributeForThisClass();
       // A member class should not be a local or anonymous class.
       if (innerClassAttribute != null && innerClassAttribute.getOuter() != null) {
@@ -645,6 +669,7 @@ public class JarClassFileReader<T extends DexClass> {
     private final String desc;
     private final Object value;
     private final FieldTypeSignature fieldSignature;
+    private final LazyGenericSignature lazyFieldSignature;
     private List<DexAnnotation> annotations = null;
 
     public CreateFieldVisitor(
@@ -660,15 +685,22 @@ public class JarClassFileReader<T extends DexClass> {
       this.name = name;
       this.desc = desc;
       this.value = value;
-      this.fieldSignature =
-          parent.application.options.parseSignatureAttribute()
-              ? GenericSignature.parseFieldTypeSignature(
-                  name,
-                  signature,
-                  parent.origin,
-                  parent.application.getFactory(),
-                  parent.application.options.reporter)
-              : FieldTypeSignature.noSignature();
+      if (parent.application.options.parseSignatureAttribute()
+          && parent.isLazySignature(signature)) {
+        this.fieldSignature = FieldTypeSignature.noSignature();
+        this.lazyFieldSignature = parent.createLazySignature(name, signature);
+      } else {
+        this.fieldSignature =
+            parent.application.options.parseSignatureAttribute()
+                ? GenericSignature.parseFieldTypeSignature(
+                    name,
+                    signature,
+                    parent.origin,
+                    parent.application.getFactory(),
+                    parent.application.options.reporter)
+                : FieldTypeSignature.noSignature();
+        this.lazyFieldSignature = null;
+      }
     }
 
     @Override
@@ -705,6 +737,9 @@ public class JarClassFileReader<T extends DexClass> {
                 .setDeprecated(AsmUtils.isDeprecated(access))
                 .disableAndroidApiLevelCheck()
                 .build();
+        if (lazyFieldSignature != null) {
+          field.setLazyGenericSignature(lazyFieldSignature);
+        }
         if (flags.isStatic()) {
           parent.staticFields.add(field);
         } else {
@@ -774,6 +809,7 @@ public class JarClassFileReader<T extends DexClass> {
     private List<DexValue> parameterNames = null;
     private List<DexValue> parameterFlags = null;
     private final MethodTypeSignature genericSignature;
+    private final LazyGenericSignature lazyGenericSignature;
     final DexMethod method;
     final MethodAccessFlags flags;
     final boolean deprecated;
@@ -801,15 +837,22 @@ public class JarClassFileReader<T extends DexClass> {
         addAnnotation(DexAnnotation.createThrowsAnnotation(
             values, parent.application.getFactory()));
       }
-      genericSignature =
-          parent.application.options.parseSignatureAttribute()
-              ? GenericSignature.parseMethodSignature(
-                  name,
-                  signature,
-                  parent.origin,
-                  parent.application.getFactory(),
-                  parent.application.options.reporter)
-              : MethodTypeSignature.noSignature();
+      if (parent.application.options.parseSignatureAttribute()
+          && parent.isLazySignature(signature)) {
+        genericSignature = MethodTypeSignature.noSignature();
+        lazyGenericSignature = parent.createLazySignature(name, signature);
+      } else {
+        genericSignature =
+            parent.application.options.parseSignatureAttribute()
+                ? GenericSignature.parseMethodSignature(
+                    name,
+                    signature,
+                    parent.origin,
+                    parent.application.getFactory(),
+                    parent.application.options.reporter)
+                : MethodTypeSignature.noSignature();
+        lazyGenericSignature = null;
+      }
     }
 
     @Override
@@ -947,6 +990,9 @@ public class JarClassFileReader<T extends DexClass> {
               .disableParameterAnnotationListCheck()
               .disableAndroidApiLevelCheck()
               .build();
+      if (lazyGenericSignature != null) {
+        dexMethod.setLazyGenericSignature(lazyGenericSignature);
+      }
       Wrapper<DexMethod> signature = MethodSignatureEquivalence.get().wrap(method);
       if (parent.methodSignatures.add(signature)) {
         parent.hasReachabilitySensitiveMethod |= isReachabilitySensitive();
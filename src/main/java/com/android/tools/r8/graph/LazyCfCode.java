@@ -63,6 +63,7 @@ import com.android.tools.r8.ir.code.Position;
 import com.android.tools.r8.ir.code.Position.SourcePosition;
 import com.android.tools.r8.ir.code.ValueType;
 import com.android.tools.r8.ir.conversion.MethodConversionOptions.MutableMethodConversionOptions;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.origin.Origin;
 import com.android.tools.r8.position.MethodPosition;
 import com.android.tools.r8.position.TextPosition;
@@ -377,6 +378,7 @@ public class LazyCfCode extends Code {
     private int maxLocals;
     private boolean desugaredVisitMultiANewArrayInstruction;
     private List<CfInstruction> instructions;
+    private int instructionKinds;
     private List<CfTryCatch> tryCatchRanges;
     private List<LocalVariableInfo> localVariables;
     private final Map<DebugLocalInfo, DebugLocalInfo> canonicalDebugLocalInfo = new HashMap<>();
@@ -408,6 +410,7 @@ public class LazyCfCode extends Code {
 
     private void addInstruction(CfInstruction instruction) {
       instructions.add(instruction);
+      instructionKinds |= CfInstructionKind.of(instruction).asSet();
       if (!instruction.isFrame() && !instruction.isPosition()) {
         currentLabel = null;
       }
@@ -418,6 +421,7 @@ public class LazyCfCode extends Code {
       maxStack = 0;
       maxLocals = 0;
       instructions = new ArrayList<>();
+      instructionKinds = 0;
       tryCatchRanges = new ArrayList<>();
       localVariables = new ArrayList<>();
       currentLabel = null;
@@ -440,7 +444,7 @@ public class LazyCfCode extends Code {
             MethodPosition.create(method.asMethodReference(), getDiagnosticPosition()));
       }
       finalizeFramesWithIncompleteUninitializedNew();
-      code.setCode(
+      CfCode cfCode =
           new CfCode(
               method.holder,
               desugaredVisitMultiANewArrayInstruction ? Integer.MAX_VALUE : maxStack,
@@ -448,7 +452,9 @@ public class LazyCfCode extends Code {
               instructions,
               tryCatchRanges,
               localVariables,
-              getDiagnosticPosition()));
+              getDiagnosticPosition());
+      cfCode.setInstructionKinds(instructionKinds);
+      code.setCode(cfCode);
     }
 
     private void finalizeFramesWithIncompleteUninitializedNew() {
@@ -470,7 +476,7 @@ public class LazyCfCode extends Code {
             builder.push(frameType);
           }
         }
-        instructions.add(builder.build());
+        addInstruction(builder.build());
       }
     }
 
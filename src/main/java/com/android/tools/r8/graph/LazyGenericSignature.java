@@ -0,0 +1,85 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.graph;
+
+import com.android.tools.r8.DiagnosticsHandler;
+import com.android.tools.r8.graph.GenericSignature.ClassSignature;
+import com.android.tools.r8.graph.GenericSignature.DexDefinitionSignature;
+import com.android.tools.r8.graph.GenericSignature.FieldTypeSignature;
+import com.android.tools.r8.graph.GenericSignature.MethodTypeSignature;
+import com.android.tools.r8.origin.Origin;
+
+/**
+ * The unparsed generic signature attribute of a classpath or library definition.
+ *
+ * <p>Most signatures of classpath and library definitions are never inspected, so they are
+ * retained as strings and only parsed on first access. The parsed signature is cached in this
+ * object rather than in the definition, so that a concurrent update of the definition's signature
+ * is never overwritten by a stale parse. Concurrent first accesses may parse the same signature
+ * twice, but the parsed signatures are immutable and equal.
+ */
+public class LazyGenericSignature {
+
+  private final String name;
+  private final String signature;
+  private final ParsingContext context;
+
+  private volatile DexDefinitionSignature<?> parsedSignature = null;
+
+  public LazyGenericSignature(String name, String signature, ParsingContext context) {
+    assert signature != null && !signature.isEmpty();
+    this.name = name;
+    this.signature = signature;
+    this.context = context;
+  }
+
+  public ClassSignature getClassSignature() {
+    ClassSignature classSignature = (ClassSignature) parsedSignature;
+    if (classSignature == null) {
+      classSignature =
+          GenericSignature.parseClassSignature(
+              name, signature, context.origin, context.factory, context.diagnosticsHandler);
+      parsedSignature = classSignature;
+    }
+    return classSignature;
+  }
+
+  public FieldTypeSignature getFieldTypeSignature() {
+    FieldTypeSignature fieldTypeSignature = (FieldTypeSignature) parsedSignature;
+    if (fieldTypeSignature == null) {
+      fieldTypeSignature =
+          GenericSignature.parseFieldTypeSignature(
+              name, signature, context.origin, context.factory, context.diagnosticsHandler);
+      parsedSignature = fieldTypeSignature;
+    }
+    return fieldTypeSignature;
+  }
+
+  public MethodTypeSignature getMethodSignature() {
+    MethodTypeSignature methodSignature = (MethodTypeSignature) parsedSignature;
+    if (methodSignature == null) {
+      methodSignature =
+          GenericSignature.parseMethodSignature(
+              name, signature, context.origin, context.factory, context.diagnosticsHandler);
+      parsedSignature = methodSignature;
+    }
+    return methodSignature;
+  }
+
+  /** State shared between the lazy signatures of the definitions in a single class. */
+  public static class ParsingContext {
+
+    private final Origin origin;
+    private final DexItemFactory factory;
+    private final DiagnosticsHandler diagnosticsHandler;
+
+    public ParsingContext(
+        Origin origin, DexItemFactory factory, DiagnosticsHandler diagnosticsHandler) {
+      this.origin = origin;
+      this.factory = factory;
+      this.diagnosticsHandler = diagnosticsHandler;
+    }
+  }
+}
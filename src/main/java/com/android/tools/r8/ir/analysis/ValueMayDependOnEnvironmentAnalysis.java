@@ -377,7 +377,6 @@ public class ValueMayDependOnEnvironmentAnalysis {
     while (!worklist.isEmpty()) {
       BasicBlock block = worklist.removeFirst();
       TrackedValuesState state = computeBlockEntryState(block, blockExitStates);
-      boolean changed = false;
       for (Instruction instruction : block.getInstructions()) {
         if (whitelist.contains(instruction)) {
           continue;
@@ -385,7 +384,7 @@ public class ValueMayDependOnEnvironmentAnalysis {
         if (instruction.isStaticPut()) {
           StaticPut staticPut = instruction.asStaticPut();
           if (state.isTrackingValue(staticPut.value())) {
-            changed |= state.recordTrackedValueHasEscaped();
+            state.recordTrackedValueHasEscaped();
           }
           if (state.hasTrackedValueEscaped()) {
             DexType holder = staticPut.getField().holder;
@@ -397,7 +396,7 @@ public class ValueMayDependOnEnvironmentAnalysis {
         }
         if (instruction.instructionMayTriggerMethodInvocation(appView, context)) {
           if (instruction.hasInValueThatMatches(state::isTrackingValue)) {
-            changed |= state.recordTrackedValueHasEscaped();
+            state.recordTrackedValueHasEscaped();
           }
           if (state.hasTrackedValueEscaped()
               && instruction.instructionMayHaveSideEffects(appView, context)) {
@@ -405,11 +404,13 @@ public class ValueMayDependOnEnvironmentAnalysis {
           }
         }
         if (instruction.hasOutValue() && values.contains(instruction.outValue())) {
-          changed |= state.startTrackingValue(instruction.outValue());
+          state.startTrackingValue(instruction.outValue());
         }
       }
-      blockExitStates.put(block, state);
-      if (changed) {
+      // The successors must be revisited whenever the exit state of the block changes, also when
+      // the change is due to a change in the entry state of the block.
+      TrackedValuesState previousExitState = blockExitStates.put(block, state);
+      if (previousExitState == null || !previousExitState.isEqualTo(state)) {
         worklist.addAll(block.getSuccessors());
       }
     }
@@ -445,20 +446,21 @@ public class ValueMayDependOnEnvironmentAnalysis {
       return hasTrackedValueEscaped;
     }
 
+    public boolean isEqualTo(TrackedValuesState state) {
+      return hasTrackedValueEscaped == state.hasTrackedValueEscaped
+          && trackedValues.equals(state.trackedValues);
+    }
+
     public boolean isTrackingValue(Value value) {
       return trackedValues.contains(value);
     }
 
-    public boolean recordTrackedValueHasEscaped() {
-      if (hasTrackedValueEscaped) {
-        return false;
-      }
+    public void recordTrackedValueHasEscaped() {
       hasTrackedValueEscaped = true;
-      return true;
     }
 
-    public boolean startTrackingValue(Value value) {
-      return trackedValues.add(value);
+    public void startTrackingValue(Value value) {
+      trackedValues.add(value);
     }
   }
 }
@@ -152,7 +152,9 @@ public abstract class ClassConverter {
       methodProcessor.newWave();
       checkWaveDeterminism(wave);
       ThreadUtils.processItems(
-          wave, clazz -> convertClass(clazz, instructionDesugaringEventConsumer), executorService);
+          sortByDecreasingNumberOfMethods(wave),
+          clazz -> convertClass(clazz, instructionDesugaringEventConsumer),
+          executorService);
       methodProcessor.awaitMethodProcessing();
 
       // Finalize the desugaring of the processed classes. This may require processing (and
@@ -192,6 +194,17 @@ public abstract class ClassConverter {
     }
   }
 
+  // Start the processing of a wave with the largest classes, such that the method chunks of large
+  // classes are not left for the end of the wave.
+  private static List<DexProgramClass> sortByDecreasingNumberOfMethods(
+      Collection<DexProgramClass> wave) {
+    List<DexProgramClass> sorted = new ArrayList<>(wave);
+    sorted.sort(
+        Comparator.comparingInt((DexProgramClass clazz) -> clazz.getMethodCollection().size())
+            .reversed());
+    return sorted;
+  }
+
   private void checkWaveDeterminism(Collection<DexProgramClass> wave) {
     appView
         .options()
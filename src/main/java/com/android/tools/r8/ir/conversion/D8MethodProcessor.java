@@ -3,9 +3,13 @@
 // BSD-style license that can be found in the LICENSE file.
 package com.android.tools.r8.ir.conversion;
 
+import com.android.tools.r8.cf.code.CfInstruction;
+import com.android.tools.r8.cf.code.CfInvoke;
 import com.android.tools.r8.contexts.CompilationContext.MethodProcessingContext;
 import com.android.tools.r8.contexts.CompilationContext.ProcessorContext;
 import com.android.tools.r8.errors.Unreachable;
+import com.android.tools.r8.graph.Code;
+import com.android.tools.r8.graph.DexItemFactory;
 import com.android.tools.r8.graph.DexProgramClass;
 import com.android.tools.r8.graph.DexType;
 import com.android.tools.r8.graph.ProgramMethod;
@@ -13,20 +17,31 @@ import com.android.tools.r8.ir.conversion.callgraph.CallSiteInformation;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer.D8CfInstructionDesugaringEventConsumer;
 import com.android.tools.r8.ir.optimize.info.OptimizationFeedbackIgnore;
+import com.android.tools.r8.utils.Action;
 import com.android.tools.r8.utils.ThreadUtils;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class D8MethodProcessor extends MethodProcessor {
 
+  // Classes with more methods than this are processed in chunks of this many methods, such that a
+  // few large classes, such as generated resource or protobuf classes, can be processed by several
+  // threads instead of a single thread at the end of a wave.
+  private static final int METHOD_CHUNK_SIZE = 32;
+
   private final IRConverter converter;
   private final ExecutorService executorService;
+  private final boolean isSingleThreaded;
   private final Set<DexType> scheduled = Sets.newIdentityHashSet();
 
   // Asynchronous method processing actions. These are "terminal" method processing actions in the
@@ -44,6 +59,7 @@ public class D8MethodProcessor extends MethodProcessor {
   public D8MethodProcessor(IRConverter converter, ExecutorService executorService) {
     this.converter = converter;
     this.executorService = executorService;
+    this.isSingleThreaded = ThreadUtils.getNumberOfThreads(executorService) == 1;
     this.processorContext = converter.appView.createProcessorContext();
   }
 
@@ -116,6 +132,90 @@ public class D8MethodProcessor extends MethodProcessor {
             executorService));
   }
 
+  /**
+   * Returns true if the methods of the given class should be processed using {@link
+   * #scheduleMethodChunksForProcessing}.
+   *
+   * <p>The methods of interfaces and nest members are always processed by a single thread, since
+   * processing them may move or add methods in the same interface or nest. The same holds for
+   * classes with an invoke-special to a method of the class itself, since desugaring such an
+   * invoke may add a bridge to the class.
+   */
+  public boolean shouldProcessMethodsInChunks(DexProgramClass clazz, List<ProgramMethod> methods) {
+    return methods.size() > METHOD_CHUNK_SIZE
+        && !isSingleThreaded
+        && !clazz.isInterface()
+        && !clazz.isInANest()
+        && !mayAddInvokeSpecialBridges(clazz, methods);
+  }
+
+  private boolean mayAddInvokeSpecialBridges(DexProgramClass clazz, List<ProgramMethod> methods) {
+    DexItemFactory dexItemFactory = converter.appView.dexItemFactory();
+    for (ProgramMethod method : methods) {
+      Code code = method.getDefinition().getCode();
+      if (code == null || !code.isCfCode()) {
+        continue;
+      }
+      for (CfInstruction instruction : code.asCfCode().getInstructions()) {
+        if (instruction.isInvokeSpecial()) {
+          CfInvoke invoke = instruction.asInvoke();
+          if (invoke.getMethod().getHolderType() == clazz.getType()
+              && !invoke.isInvokeConstructor(dexItemFactory)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Splits the given methods of a single class into chunks that are processed asynchronously,
+   * largest methods first. When all chunks have been processed, the given action is run.
+   *
+   * <p>This desugars methods of the same class concurrently. This is only safe because no method
+   * is added to or removed from the class while its chunks are processed. Instruction desugarings
+   * that add methods to the holder of the method being desugared either defer the change to {@link
+   * D8CfInstructionDesugaringEventConsumer#finalizeDesugaring} (for example, the accessibility
+   * bridges of lambda targets), or only apply to classes that are excluded by {@link
+   * #shouldProcessMethodsInChunks} (for example, the bridges of invoke-special to the holder). A
+   * new desugaring that adds methods to the holder must follow the same rules.
+   */
+  public void scheduleMethodChunksForProcessing(
+      List<ProgramMethod> methods, Consumer<ProgramMethod> consumer, Action onAllMethodsProcessed) {
+    // Computing the size of the methods also parses their code if it is lazy. This must happen
+    // before the methods are processed concurrently, since lazy code is parsed for all methods of a
+    // class at once.
+    methods.sort(Comparator.comparingInt(D8MethodProcessor::estimatedProcessingCost).reversed());
+    List<List<ProgramMethod>> chunks = Lists.partition(methods, METHOD_CHUNK_SIZE);
+    AtomicInteger remainingChunks = new AtomicInteger(chunks.size());
+    for (List<ProgramMethod> chunk : chunks) {
+      nonTerminalFutures.add(
+          ThreadUtils.processAsynchronously(
+              () -> {
+                chunk.forEach(consumer);
+                if (remainingChunks.decrementAndGet() == 0) {
+                  onAllMethodsProcessed.execute();
+                }
+              },
+              executorService));
+    }
+  }
+
+  private static int estimatedProcessingCost(ProgramMethod method) {
+    Code code = method.getDefinition().getCode();
+    if (code == null) {
+      return 0;
+    }
+    if (code.isCfCode()) {
+      return code.asCfCode().getInstructions().size();
+    }
+    if (code.isDexCode()) {
+      return code.asDexCode().codeSizeInBytes();
+    }
+    return 0;
+  }
+
   public D8MethodProcessor scheduleDesugaredMethodsForProcessing(Iterable<ProgramMethod> methods) {
     methods.forEach(this::scheduleDesugaredMethodForProcessing);
     return this;
@@ -55,6 +55,8 @@ import java.util.function.BiConsumer;
 public class DexSourceCode implements SourceCode {
 
   private final DexCode code;
+  // The decoded instructions of the code.
+  private final DexInstruction[] instructions;
   private final ProgramMethod method;
 
   // Mapping from instruction offset to instruction index in the DexCode instruction array.
@@ -83,6 +85,7 @@ public class DexSourceCode implements SourceCode {
       Position callerPosition,
       DexItemFactory factory) {
     this.code = code;
+    this.instructions = code.getInstructions();
     this.method = method;
     this.originalMethod = originalMethod;
     EventBasedDebugInfo info = DexDebugInfo.convertToEventBased(code, factory);
@@ -104,7 +107,7 @@ public class DexSourceCode implements SourceCode {
 
   @Override
   public int instructionCount() {
-    return code.instructions.length;
+    return instructions.length;
   }
 
   @Override
@@ -125,8 +128,8 @@ public class DexSourceCode implements SourceCode {
   @Override
   public void setUp() {
     // Collect all payloads in the instruction stream.
-    for (int index = 0; index < code.instructions.length; index++) {
-      DexInstruction insn = code.instructions[index];
+    for (int index = 0; index < instructions.length; index++) {
+      DexInstruction insn = instructions[index];
       offsetToInstructionIndex.put(insn.getOffset(), index);
       if (insn.isPayload()) {
         if (insn.isSwitchPayload()) {
@@ -172,7 +175,7 @@ public class DexSourceCode implements SourceCode {
       IRBuilder builder, int instructionIndex, boolean firstBlockInstruction) {
     updateCurrentCatchHandlers(instructionIndex, builder.appView.dexItemFactory());
     updateDebugPosition(instructionIndex, builder);
-    currentDexInstruction = code.instructions[instructionIndex];
+    currentDexInstruction = instructions[instructionIndex];
     currentDexInstruction.buildIR(builder);
   }
 
@@ -183,7 +186,7 @@ public class DexSourceCode implements SourceCode {
 
   @Override
   public int getMoveExceptionRegister(int instructionIndex) {
-    DexInstruction instruction = code.instructions[instructionIndex];
+    DexInstruction instruction = instructions[instructionIndex];
     if (instruction instanceof DexMoveException) {
       DexMoveException moveException = (DexMoveException) instruction;
       return moveException.AA;
@@ -283,7 +286,7 @@ public class DexSourceCode implements SourceCode {
 
   @Override
   public int instructionOffset(int instructionIndex) {
-    return code.instructions[instructionIndex].getOffset();
+    return instructions[instructionIndex].getOffset();
   }
 
   @Override
@@ -329,7 +332,7 @@ public class DexSourceCode implements SourceCode {
 
   @Override
   public int traceInstruction(int index, IRBuilder builder) {
-    DexInstruction dex = code.instructions[index];
+    DexInstruction dex = instructions[index];
     int offset = dex.getOffset();
     assert !dex.isPayload();
     int[] targets = dex.getTargets();
@@ -351,7 +354,7 @@ public class DexSourceCode implements SourceCode {
       if (tryRange != null) {
         // Ensure the block starts at the start of the try-range (don't enqueue, not a target).
         int tryRangeStartAddress = tryRange.startAddress;
-        if (isMoveResult(code.instructions[offsetToInstructionIndex.get(tryRangeStartAddress)])) {
+        if (isMoveResult(instructions[offsetToInstructionIndex.get(tryRangeStartAddress)])) {
           // If a handler range starts at a move result instruction it is safe to start it at
           // the following instruction since the move-result cannot throw an exception. Doing so
           // makes sure that we do not split an invoke and its move result instruction across
@@ -365,10 +368,10 @@ public class DexSourceCode implements SourceCode {
           builder.ensureExceptionalSuccessorBlock(offset, handlerOffset);
         }
         // If the following instruction is a move-result include it in this (the invokes) block.
-        if (index + 1 < code.instructions.length && isMoveResult(code.instructions[index + 1])) {
+        if (index + 1 < instructions.length && isMoveResult(instructions[index + 1])) {
           assert isInvoke(dex);
           ++index;
-          dex = code.instructions[index];
+          dex = instructions[index];
         }
         // Edge to normal successor if any (fallthrough).
         if (!(dex instanceof DexThrow)) {
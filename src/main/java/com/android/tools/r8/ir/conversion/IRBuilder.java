@@ -127,17 +127,19 @@ import it.unimi.dsi.fastutil.ints.Int2ReferenceAVLTreeMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceSortedMap;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -374,16 +376,16 @@ public class IRBuilder {
   private final Reference2IntMap<BasicBlock> offsets = new Reference2IntOpenHashMap<>();
 
   // Worklist of reachable blocks.
-  private final Queue<Integer> traceBlocksWorklist = new LinkedList<>();
+  private final IntArrayFIFOQueue traceBlocksWorklist = new IntArrayFIFOQueue();
 
   // Bitmap to ensure we don't process an instruction more than once.
   private boolean[] processedInstructions = null;
 
   // Bitmap of processed subroutine instructions. Lazily allocated off the fast-path.
-  private Set<Integer> processedSubroutineInstructions = null;
+  private IntSet processedSubroutineInstructions = null;
 
   // Worklist for SSA construction.
-  private final Queue<WorklistItem> ssaWorklist = new LinkedList<>();
+  private final Queue<WorklistItem> ssaWorklist = new ArrayDeque<>();
 
   // Basic blocks. Added after processing from the worklist.
   private final LinkedList<BasicBlock> blocks = new LinkedList<>();
@@ -628,9 +630,9 @@ public class IRBuilder {
     // Process reachable code paths starting from instruction 0.
     int instCount = source.instructionCount();
     processedInstructions = new boolean[instCount];
-    traceBlocksWorklist.add(0);
+    traceBlocksWorklist.enqueue(0);
     while (!traceBlocksWorklist.isEmpty()) {
-      int startOfBlockOffset = traceBlocksWorklist.remove();
+      int startOfBlockOffset = traceBlocksWorklist.dequeueInt();
       int startOfBlockIndex = source.instructionIndex(startOfBlockOffset);
       // Check that the block has not been processed after being added.
       if (isIndexProcessed(startOfBlockIndex)) {
@@ -2458,7 +2460,7 @@ public class IRBuilder {
   private BlockInfo ensureBlock(int offset) {
     // We don't enqueue negative targets (these are special blocks, eg, an argument prelude).
     if (offset >= 0 && !isOffsetProcessed(offset)) {
-      traceBlocksWorklist.add(offset);
+      traceBlocksWorklist.enqueue(offset);
     }
     return ensureBlockWithoutEnqueuing(offset);
   }
@@ -2487,7 +2489,7 @@ public class IRBuilder {
 
   private void ensureSubroutineProcessedInstructions() {
     if (processedSubroutineInstructions == null) {
-      processedSubroutineInstructions = new HashSet<>();
+      processedSubroutineInstructions = new IntOpenHashSet();
     }
   }
 
@@ -102,7 +102,6 @@ import com.android.tools.r8.utils.ExceptionUtils;
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.InternalOptions.NeverMergeGroup;
 import com.android.tools.r8.utils.LazyBox;
-import com.android.tools.r8.utils.ListUtils;
 import com.android.tools.r8.utils.StringDiagnostic;
 import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.Timing;
@@ -116,6 +115,7 @@ import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public class IRConverter {
 
@@ -499,20 +499,30 @@ public class IRConverter {
     //  desugaring. By building up waves of methods in the class converter, we would not need to
     //  iterate the methods of a class during while its methods are being processed, which avoids
     //  the need to copy the method list.
-    List<ProgramMethod> methods = ListUtils.newArrayList(clazz::forEachProgramMethod);
+    List<ProgramMethod> methods = new ArrayList<>();
+    clazz.forEachProgramMethodMatching(
+        definition -> !definition.isClassInitializer(), methods::add);
     if (classInitializer != null) {
       methodProcessor.processMethod(classInitializer, desugaringEventConsumer);
     }
 
-    for (ProgramMethod method : methods) {
-      if (!method.getDefinition().isClassInitializer()) {
-        methodProcessor.processMethod(method, desugaringEventConsumer);
-        if (interfaceProcessor != null) {
-          interfaceProcessor.processMethod(method, desugaringEventConsumer);
-        }
-      }
+    Consumer<ProgramMethod> methodConverter =
+        method -> {
+          methodProcessor.processMethod(method, desugaringEventConsumer);
+          if (interfaceProcessor != null) {
+            interfaceProcessor.processMethod(method, desugaringEventConsumer);
+          }
+        };
+    if (methodProcessor.shouldProcessMethodsInChunks(clazz, methods)) {
+      methodProcessor.scheduleMethodChunksForProcessing(
+          methods, methodConverter, () -> downgradeInitialClassFileVersion(clazz));
+    } else {
+      methods.forEach(methodConverter);
+      downgradeInitialClassFileVersion(clazz);
     }
+  }
 
+  private void downgradeInitialClassFileVersion(DexProgramClass clazz) {
     // The class file version is downgraded after compilation. Some of the desugaring might need
     // the initial class file version to determine how far a method can be downgraded.
     if (options.isGeneratingClassFiles() && clazz.hasClassFileVersion()) {
@@ -118,6 +118,11 @@ public final class BackportedMethodRewriter implements CfInstructionDesugaring {
             .isSyntheticOfKind(context.getContextType(), kinds -> kinds.BACKPORT_WITH_FORWARDING);
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE;
+  }
+
   public static List<DexMethod> generateListOfBackportedMethods(
       AndroidApp androidApp, InternalOptions options, ExecutorService executor) throws IOException {
     List<DexMethod> methods = new ArrayList<>();
@@ -93,4 +93,9 @@ public class BufferCovariantReturnTypeRewriter implements CfInstructionDesugarin
     DexMethod invokedMethod = instruction.asInvoke().getMethod();
     return matchingBufferCovariantMethod(invokedMethod) != null;
   }
+
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE;
+  }
 }
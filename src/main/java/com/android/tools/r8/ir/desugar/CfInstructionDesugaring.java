@@ -50,6 +50,16 @@ public interface CfInstructionDesugaring {
    */
   boolean needsDesugaring(CfInstruction instruction, ProgramMethod context);
 
+  /**
+   * Returns true if this desugaring may need to desugar instructions of the given kind.
+   *
+   * <p>Instructions are only offered to the desugarings that may need to desugar them, so this must
+   * return true if {@link #needsDesugaring} can return true for some instruction of the given kind.
+   */
+  default boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return true;
+  }
+
   /**
    * Returns true if and only if needsDesugaring() answering true implies a desugaring is needed.
    * Some optimizations may have some heuristics, so that needsDesugaring() answers true in rare
@@ -0,0 +1,66 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.ir.desugar;
+
+import com.android.tools.r8.cf.code.CfConstMethodHandle;
+import com.android.tools.r8.cf.code.CfConstMethodType;
+import com.android.tools.r8.cf.code.CfInstruction;
+
+/**
+ * Coarse classification of class-file instructions, used for dispatching each instruction only to
+ * the instruction desugarings that may apply to it.
+ */
+public enum CfInstructionKind {
+  INVOKE,
+  INVOKE_DYNAMIC,
+  FIELD_INSTRUCTION,
+  CONST_DYNAMIC,
+  TYPE_INSTRUCTION,
+  CONST_METHOD_HANDLE,
+  CONST_METHOD_TYPE,
+  OTHER;
+
+  /** The set of all kinds, used when the kinds of the instructions of a code are unknown. */
+  public static final int ALL_KINDS = -1;
+
+  /** Returns the set containing only this kind, as a bit set over the ordinals of the kinds. */
+  public int asSet() {
+    return 1 << ordinal();
+  }
+
+  public static int setOf(Iterable<CfInstruction> instructions) {
+    int kinds = 0;
+    for (CfInstruction instruction : instructions) {
+      kinds |= of(instruction).asSet();
+    }
+    return kinds;
+  }
+
+  public static CfInstructionKind of(CfInstruction instruction) {
+    if (instruction.isInvoke()) {
+      return INVOKE;
+    }
+    if (instruction.isInvokeDynamic()) {
+      return INVOKE_DYNAMIC;
+    }
+    if (instruction.isFieldInstruction()) {
+      return FIELD_INSTRUCTION;
+    }
+    // Const-dynamic is also a type instruction, so it must be classified first.
+    if (instruction.isConstDynamic()) {
+      return CONST_DYNAMIC;
+    }
+    if (instruction.isTypeInstruction()) {
+      return TYPE_INSTRUCTION;
+    }
+    if (instruction instanceof CfConstMethodHandle) {
+      return CONST_METHOD_HANDLE;
+    }
+    if (instruction instanceof CfConstMethodType) {
+      return CONST_METHOD_TYPE;
+    }
+    return OTHER;
+  }
+}
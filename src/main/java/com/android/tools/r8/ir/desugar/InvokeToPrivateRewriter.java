@@ -57,6 +57,11 @@ public class InvokeToPrivateRewriter implements CfInstructionDesugaring {
     return isInvokingPrivateMethodOnSelf(instruction.asInvoke(), context);
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE;
+  }
+
   private DexEncodedMethod privateMethodInvokedOnSelf(CfInvoke invoke, ProgramMethod context) {
     DexMethod method = invoke.getMethod();
     if (method.getHolderType() != context.getHolderType()) {
@@ -42,8 +42,10 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -54,6 +56,13 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
   // A special collection of desugarings that yield to all other desugarings.
   private final List<CfInstructionDesugaring> yieldingDesugarings = new ArrayList<>();
 
+  // Index from instruction kind to the desugarings that may need to desugar instructions of that
+  // kind. Computed on first use, since desugarings are also registered by the factory methods.
+  private volatile Map<CfInstructionKind, List<CfInstructionDesugaring>> desugaringsByKind;
+  private volatile Map<CfInstructionKind, List<CfInstructionDesugaring>> yieldingDesugaringsByKind;
+  // The set of instruction kinds that some desugaring may need to desugar, or -1 if not computed.
+  private volatile int desugaredInstructionKinds = -1;
+
   private final NestBasedAccessDesugaring nestBasedAccessDesugaring;
   private final RecordDesugaring recordRewriter;
   private final DesugaredLibraryRetargeter desugaredLibraryRetargeter;
@@ -282,6 +291,7 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
       ProgramMethod context,
       MethodProcessingContext methodProcessingContext) {
     // TODO(b/177810578): Migrate other cf-to-cf based desugaring here.
+    CfInstructionKind kind = CfInstructionKind.of(instruction);
     Collection<CfInstruction> replacement =
         applyDesugaring(
             instruction,
@@ -290,7 +300,7 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
             eventConsumer,
             context,
             methodProcessingContext,
-            desugarings.iterator());
+            getDesugaringsByKind().get(kind).iterator());
     if (replacement != null) {
       return replacement;
     }
@@ -303,7 +313,7 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
         eventConsumer,
         context,
         methodProcessingContext,
-        yieldingDesugarings.iterator());
+        getYieldingDesugaringsByKind().get(kind).iterator());
   }
 
   private Collection<CfInstruction> applyDesugaring(
@@ -350,15 +360,83 @@ public class NonEmptyCfInstructionDesugaringCollection extends CfInstructionDesu
       throw new Unreachable("Unexpected attempt to determine if non-CF code needs desugaring");
     }
 
+    // The instruction kinds of code read from class files are known without visiting the code.
+    CfCode cfCode = code.asCfCode();
+    if ((cfCode.getInstructionKinds() & getDesugaredInstructionKinds()) == 0) {
+      return false;
+    }
+
     return Iterables.any(
-        code.asCfCode().getInstructions(), instruction -> needsDesugaring(instruction, method));
+        cfCode.getInstructions(), instruction -> needsDesugaring(instruction, method));
   }
 
   private boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
+    CfInstructionKind kind = CfInstructionKind.of(instruction);
+    assert verifyNoDesugaringOfOtherKindsNeeded(instruction, kind, context);
     return Iterables.any(
-            desugarings, desugaring -> desugaring.needsDesugaring(instruction, context))
+            getDesugaringsByKind().get(kind),
+            desugaring -> desugaring.needsDesugaring(instruction, context))
         || Iterables.any(
-            yieldingDesugarings, desugaring -> desugaring.needsDesugaring(instruction, context));
+            getYieldingDesugaringsByKind().get(kind),
+            desugaring -> desugaring.needsDesugaring(instruction, context));
+  }
+
+  private Map<CfInstructionKind, List<CfInstructionDesugaring>> getDesugaringsByKind() {
+    if (desugaringsByKind == null) {
+      desugaringsByKind = indexByKind(desugarings);
+    }
+    return desugaringsByKind;
+  }
+
+  private Map<CfInstructionKind, List<CfInstructionDesugaring>> getYieldingDesugaringsByKind() {
+    if (yieldingDesugaringsByKind == null) {
+      yieldingDesugaringsByKind = indexByKind(yieldingDesugarings);
+    }
+    return yieldingDesugaringsByKind;
+  }
+
+  private int getDesugaredInstructionKinds() {
+    if (desugaredInstructionKinds < 0) {
+      int kinds = 0;
+      for (CfInstructionKind kind : CfInstructionKind.values()) {
+        if (!getDesugaringsByKind().get(kind).isEmpty()
+            || !getYieldingDesugaringsByKind().get(kind).isEmpty()) {
+          kinds |= kind.asSet();
+        }
+      }
+      desugaredInstructionKinds = kinds;
+    }
+    return desugaredInstructionKinds;
+  }
+
+  private static Map<CfInstructionKind, List<CfInstructionDesugaring>> indexByKind(
+      List<CfInstructionDesugaring> desugarings) {
+    // The desugarings for each kind are kept in registration order.
+    Map<CfInstructionKind, List<CfInstructionDesugaring>> index =
+        new EnumMap<>(CfInstructionKind.class);
+    for (CfInstructionKind kind : CfInstructionKind.values()) {
+      index.put(
+          kind, ListUtils.filter(desugarings, desugaring -> desugaring.mayNeedDesugaring(kind)));
+    }
+    return index;
+  }
+
+  // The kinds declared by CfInstructionDesugaring#mayNeedDesugaring are not derived from the
+  // instructions that each desugaring actually rewrites, so check that the desugarings that are
+  // never offered an instruction of the given kind would not have desugared it.
+  private boolean verifyNoDesugaringOfOtherKindsNeeded(
+      CfInstruction instruction, CfInstructionKind kind, ProgramMethod context) {
+    for (CfInstructionDesugaring desugaring : Iterables.concat(desugarings, yieldingDesugarings)) {
+      assert desugaring.mayNeedDesugaring(kind) || !desugaring.needsDesugaring(instruction, context)
+          : "Desugaring of "
+              + instruction
+              + " in method "
+              + context.toSourceString()
+              + " by "
+              + desugaring.getClass().getName()
+              + " is excluded by its instruction kinds";
+    }
+    return true;
   }
 
   private boolean verifyNoOtherDesugaringNeeded(
@@ -40,6 +40,7 @@ import com.android.tools.r8.utils.AndroidApiLevel;
 import com.android.tools.r8.utils.InternalOptions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import java.util.Collection;
 import java.util.List;
@@ -67,6 +68,9 @@ public class UnrepresentableInDexInstructionRemover implements CfInstructionDesu
       this.supportedApiLevel = supportedApiLevel;
     }
 
+    // The kind of the instructions that this matcher may rewrite.
+    abstract CfInstructionKind getKind();
+
     // Rewrite implementation for each instruction case.
     abstract DesugarDescription compute(CfInstruction instruction);
 
@@ -149,6 +153,11 @@ public class UnrepresentableInDexInstructionRemover implements CfInstructionDesu
       super(appView, "invoke-dynamic", InternalOptions.invokeCustomApiLevel());
     }
 
+    @Override
+    CfInstructionKind getKind() {
+      return CfInstructionKind.INVOKE_DYNAMIC;
+    }
+
     @Override
     UnsupportedFeatureDiagnostic makeDiagnostic(Origin origin, Position position) {
       return new UnsupportedInvokeCustomDiagnostic(origin, position);
@@ -198,6 +207,11 @@ public class UnrepresentableInDexInstructionRemover implements CfInstructionDesu
       return appView.dexItemFactory().polymorphicMethods.isPolymorphicInvoke(invoke.getMethod());
     }
 
+    @Override
+    CfInstructionKind getKind() {
+      return CfInstructionKind.INVOKE;
+    }
+
     @Override
     UnsupportedFeatureDiagnostic makeDiagnostic(Origin origin, Position position) {
       return new UnsupportedInvokePolymorphicMethodHandleDiagnostic(origin, position);
@@ -244,6 +258,11 @@ public class UnrepresentableInDexInstructionRemover implements CfInstructionDesu
       super(appView, "const-method-handle", InternalOptions.constantMethodHandleApiLevel());
     }
 
+    @Override
+    CfInstructionKind getKind() {
+      return CfInstructionKind.CONST_METHOD_HANDLE;
+    }
+
     @Override
     UnsupportedFeatureDiagnostic makeDiagnostic(Origin origin, Position position) {
       return new UnsupportedConstMethodHandleDiagnostic(origin, position);
@@ -283,6 +302,11 @@ public class UnrepresentableInDexInstructionRemover implements CfInstructionDesu
       super(appView, "const-method-type", InternalOptions.constantMethodTypeApiLevel());
     }
 
+    @Override
+    CfInstructionKind getKind() {
+      return CfInstructionKind.CONST_METHOD_TYPE;
+    }
+
     @Override
     UnsupportedFeatureDiagnostic makeDiagnostic(Origin origin, Position position) {
       return new UnsupportedConstMethodTypeDiagnostic(origin, position);
@@ -322,6 +346,11 @@ public class UnrepresentableInDexInstructionRemover implements CfInstructionDesu
       super(appView, "const-dynamic", InternalOptions.constantDynamicApiLevel());
     }
 
+    @Override
+    CfInstructionKind getKind() {
+      return CfInstructionKind.CONST_DYNAMIC;
+    }
+
     @Override
     UnsupportedFeatureDiagnostic makeDiagnostic(Origin origin, Position position) {
       return new UnsupportedConstDynamicDiagnostic(origin, position);
@@ -396,4 +425,9 @@ public class UnrepresentableInDexInstructionRemover implements CfInstructionDesu
   public boolean needsDesugaring(CfInstruction instruction, ProgramMethod context) {
     return compute(instruction).needsDesugaring();
   }
+
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return Iterables.any(matchers, matcher -> matcher.getKind() == kind);
+  }
 }
@@ -33,6 +33,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
 import com.android.tools.r8.ir.synthetic.CheckCastSourceCode;
@@ -98,6 +99,13 @@ public class ApiInvokeOutlinerDesugaring implements CfInstructionDesugaring {
         .isGreaterThan(appView.computedMinApiLevel());
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE
+        || kind == CfInstructionKind.FIELD_INSTRUCTION
+        || kind == CfInstructionKind.TYPE_INSTRUCTION;
+  }
+
   private ComputedApiLevel getComputedApiLevelInstructionOnHolderWithMinApi(
       CfInstruction instruction, ProgramMethod context) {
     if (context.getDefinition().isD8R8Synthesized()) {
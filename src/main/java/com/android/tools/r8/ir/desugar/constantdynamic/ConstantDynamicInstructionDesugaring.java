@@ -17,6 +17,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.DesugarDescription;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
@@ -123,6 +124,11 @@ public class ConstantDynamicInstructionDesugaring implements CfInstructionDesuga
     return computeDesugaring(instruction, context).needsDesugaring();
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.CONST_DYNAMIC;
+  }
+
   @Override
   public Collection<CfInstruction> desugarInstruction(
       CfInstruction instruction,
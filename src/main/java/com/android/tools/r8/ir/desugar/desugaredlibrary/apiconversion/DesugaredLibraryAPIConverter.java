@@ -19,6 +19,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
 import com.android.tools.r8.utils.DescriptorUtils;
@@ -109,6 +110,11 @@ public class DesugaredLibraryAPIConverter implements CfInstructionDesugaring {
     return shouldRewriteInvoke(instruction.asInvoke(), context);
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE;
+  }
+
   static boolean isAPIConversionSyntheticType(
       DexType type, DesugaredLibraryWrapperSynthesizer wrapperSynthesizor, AppView<?> appView) {
     return wrapperSynthesizor.isSyntheticWrapper(type)
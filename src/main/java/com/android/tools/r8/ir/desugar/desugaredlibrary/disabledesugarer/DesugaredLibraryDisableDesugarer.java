@@ -18,6 +18,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
 import java.util.Collection;
@@ -62,6 +63,14 @@ public class DesugaredLibraryDisableDesugarer implements CfInstructionDesugaring
     return rewriteInstruction(instruction, context) != null;
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE
+        || kind == CfInstructionKind.FIELD_INSTRUCTION
+        || kind == CfInstructionKind.CONST_DYNAMIC
+        || kind == CfInstructionKind.TYPE_INSTRUCTION;
+  }
+
   // TODO(b/261024278): Share this code.
   private CfInstruction rewriteInstruction(CfInstruction instruction, ProgramMethod context) {
     if (!appView.dexItemFactory().multiDexTypes.contains(context.getHolderType())) {
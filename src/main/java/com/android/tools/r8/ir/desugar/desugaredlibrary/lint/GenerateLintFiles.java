@@ -377,7 +377,12 @@ public class GenerateLintFiles {
     ClassFileConsumer consumer =
         new ClassFileConsumer.ArchiveConsumer(
             lintFile(compilationApiLevel, minApiLevel, FileUtils.JAR_EXTENSION));
-    writer.write(consumer);
+    ExecutorService executorService = ThreadUtils.getExecutorService(options);
+    try {
+      writer.write(consumer, executorService);
+    } finally {
+      executorService.shutdown();
+    }
     consumer.finished(options.reporter);
   }
 
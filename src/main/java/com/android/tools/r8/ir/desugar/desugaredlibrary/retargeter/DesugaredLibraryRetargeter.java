@@ -22,6 +22,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
 import com.android.tools.r8.ir.desugar.desugaredlibrary.machinespecification.EmulatedDispatchMethodDescriptor;
@@ -115,6 +116,11 @@ public class DesugaredLibraryRetargeter implements CfInstructionDesugaring {
     return false;
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE || kind == CfInstructionKind.FIELD_INSTRUCTION;
+  }
+
   private DexField fieldRetarget(CfFieldInstruction fieldInstruction, ProgramMethod context) {
     DexEncodedField resolvedField =
         appView
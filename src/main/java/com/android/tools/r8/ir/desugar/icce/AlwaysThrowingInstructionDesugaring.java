@@ -23,6 +23,7 @@ import com.android.tools.r8.ir.code.ValueType;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.DesugarDescription;
 import com.android.tools.r8.ir.desugar.DesugarDescription.ScanCallback;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
@@ -66,6 +67,11 @@ public class AlwaysThrowingInstructionDesugaring implements CfInstructionDesugar
     return computeDesugarDescription(instruction).needsDesugaring();
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE;
+  }
+
   private DesugarDescription computeDesugarDescription(CfInstruction instruction) {
     if (instruction.isInvoke()) {
       CfInvoke invoke = instruction.asInvoke();
@@ -17,6 +17,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
 import com.android.tools.r8.ir.synthetic.ForwardMethodBuilder;
@@ -44,6 +45,11 @@ public class InvokeSpecialToSelfDesugaring implements CfInstructionDesugaring {
     return false;
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE;
+  }
+
   /** @return the resolved method if desugaring is needed, otherwise null. */
   private ProgramMethod needsDesugaring(CfInvoke invoke, ProgramMethod context) {
     if (!invoke.isInvokeSpecial() || invoke.isInvokeConstructor(dexItemFactory)) {
@@ -233,7 +233,7 @@ public final class InterfaceProcessor {
     Code code = method.getDefinition().getCode();
     assert code != null;
     if (code.isDexCode()) {
-      for (DexInstruction insn : code.asDexCode().instructions) {
+      for (DexInstruction insn : code.asDexCode().getInstructions()) {
         if (insn instanceof DexInvokeSuper) {
           return false;
         }
@@ -34,6 +34,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LambdaDescriptor;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
@@ -275,6 +276,11 @@ public class NestBasedAccessDesugaring implements CfInstructionDesugaring {
     return false;
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE || kind == CfInstructionKind.FIELD_INSTRUCTION;
+  }
+
   public boolean needsDesugaring(DexMember<?, ?> memberReference, ProgramMethod context) {
     if (!context.getHolder().isInANest() || !memberReference.getHolderType().isClassType()) {
       return false;
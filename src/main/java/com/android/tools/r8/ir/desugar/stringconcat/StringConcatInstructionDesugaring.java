@@ -31,6 +31,7 @@ import com.android.tools.r8.ir.code.ValueType;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
 import com.android.tools.r8.utils.BooleanUtils;
@@ -221,6 +222,11 @@ public class StringConcatInstructionDesugaring implements CfInstructionDesugarin
     return isStringConcatInvoke(instruction, factory);
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE_DYNAMIC;
+  }
+
   public static boolean isStringConcatInvoke(CfInstruction instruction, DexItemFactory factory) {
     CfInvokeDynamic invoke = instruction.asInvokeDynamic();
     if (invoke == null) {
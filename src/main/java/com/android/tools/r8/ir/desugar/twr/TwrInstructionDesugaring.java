@@ -19,6 +19,7 @@ import com.android.tools.r8.graph.ProgramMethod;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaring;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringCollection;
 import com.android.tools.r8.ir.desugar.CfInstructionDesugaringEventConsumer;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
 import com.android.tools.r8.ir.desugar.FreshLocalProvider;
 import com.android.tools.r8.ir.desugar.LocalStackAllocator;
 import com.android.tools.r8.ir.desugar.backports.BackportedMethods;
@@ -154,6 +155,11 @@ public class TwrInstructionDesugaring implements CfInstructionDesugaring {
         || isTwrSuppressedInvoke(instruction, getSuppressed);
   }
 
+  @Override
+  public boolean mayNeedDesugaring(CfInstructionKind kind) {
+    return kind == CfInstructionKind.INVOKE;
+  }
+
   private boolean isTwrSuppressedInvoke(CfInstruction instruction, DexMethod suppressed) {
     return instruction.isInvoke()
         && matchesMethodOfThrowable(instruction.asInvoke().getMethod(), suppressed);
@@ -22,12 +22,6 @@ import java.util.Set;
 public abstract class MethodOptimizationInfo
     implements MemberOptimizationInfo<MutableMethodOptimizationInfo> {
 
-  enum InlinePreference {
-    MultiCallerInline,
-    ForceInline,
-    Default
-  }
-
   public abstract boolean cannotBeKept();
 
   public abstract boolean classInitializerMayBePostponed();
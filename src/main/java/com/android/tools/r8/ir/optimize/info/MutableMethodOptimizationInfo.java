@@ -44,12 +44,9 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
       DefaultMethodOptimizationInfo.UNKNOWN_ABSTRACT_RETURN_VALUE;
   private ClassInlinerMethodConstraint classInlinerConstraint =
       ClassInlinerMethodConstraint.alwaysFalse();
-  private boolean convertCheckNotNull = false;
   private EnumUnboxerMethodClassification enumUnboxerMethodClassification =
       EnumUnboxerMethodClassification.unknown();
   private DynamicType dynamicType = DynamicType.unknown();
-  private InlinePreference inlining = InlinePreference.Default;
-  private OptionalBool isReturnValueUsed = OptionalBool.unknown();
   // Stores information about instance methods and constructors for
   // class inliner, null value indicates that the method is not eligible.
   private BridgeInfo bridgeInfo = null;
@@ -84,14 +81,22 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
   // used by each boolean. DEFAULT_FLAGS encodes the default value for efficient instantiation and
   // is computed during class initialization from the default method optimization info. The
   // methods setFlag, clearFlag and isFlagSet are used to access the booleans.
+  //
+  // The small enum-like fields (the inline preference and whether the return value is used) are
+  // also encoded in the flags, using two bits each, where both bits cleared denotes the default.
   private static final int CANNOT_BE_KEPT_FLAG = 0x1;
   private static final int CLASS_INITIALIZER_MAY_BE_POSTPONED_FLAG = 0x2;
   private static final int HAS_BEEN_INLINED_INTO_SINGLE_CALL_SITE_FLAG = 0x4;
   private static final int MAY_HAVE_SIDE_EFFECT_FLAG = 0x8;
   private static final int RETURN_VALUE_ONLY_DEPENDS_ON_ARGUMENTS_FLAG = 0x10;
   private static final int NEVER_RETURNS_NORMALLY_FLAG = 0x20;
+  private static final int CONVERT_CHECK_NOT_NULL_FLAG = 0x40;
   private static final int INITIALIZER_ENABLING_JAVA_ASSERTIONS_FLAG = 0x80;
   private static final int RETURN_VALUE_HAS_BEEN_PROPAGATED_FLAG = 0x100;
+  private static final int FORCE_INLINE_FLAG = 0x200;
+  private static final int MULTI_CALLER_INLINE_FLAG = 0x400;
+  private static final int RETURN_VALUE_IS_USED_FLAG = 0x800;
+  private static final int RETURN_VALUE_IS_UNUSED_FLAG = 0x1000;
 
   private static final int DEFAULT_FLAGS;
 
@@ -118,6 +123,12 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
     defaultFlags |=
         BooleanUtils.intValue(defaultOptInfo.returnValueHasBeenPropagated())
             * RETURN_VALUE_HAS_BEEN_PROPAGATED_FLAG;
+    defaultFlags |=
+        BooleanUtils.intValue(defaultOptInfo.isConvertCheckNotNull())
+            * CONVERT_CHECK_NOT_NULL_FLAG;
+    assert !defaultOptInfo.forceInline();
+    assert !defaultOptInfo.isMultiCallerMethod();
+    assert defaultOptInfo.isReturnValueUsed().isUnknown();
     DEFAULT_FLAGS = defaultFlags;
   }
 
@@ -136,7 +147,6 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
     returnedArgument = template.returnedArgument;
     abstractReturnValue = template.abstractReturnValue;
     dynamicType = template.dynamicType;
-    inlining = template.inlining;
     simpleInliningConstraint = template.simpleInliningConstraint;
     bridgeInfo = template.bridgeInfo;
     instanceInitializerInfoCollection = template.instanceInitializerInfoCollection;
@@ -268,7 +278,7 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
   }
 
   void setConvertCheckNotNull() {
-    this.convertCheckNotNull = true;
+    setFlag(CONVERT_CHECK_NOT_NULL_FLAG);
   }
 
   @Override
@@ -459,7 +469,7 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
 
   @Override
   public boolean isConvertCheckNotNull() {
-    return convertCheckNotNull;
+    return isFlagSet(CONVERT_CHECK_NOT_NULL_FLAG);
   }
 
   @Override
@@ -469,21 +479,28 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
 
   @Override
   public boolean isMultiCallerMethod() {
-    return inlining == InlinePreference.MultiCallerInline;
+    return isFlagSet(MULTI_CALLER_INLINE_FLAG);
   }
 
   @Override
   public OptionalBool isReturnValueUsed() {
-    return isReturnValueUsed;
+    if (isFlagSet(RETURN_VALUE_IS_USED_FLAG)) {
+      return OptionalBool.TRUE;
+    }
+    if (isFlagSet(RETURN_VALUE_IS_UNUSED_FLAG)) {
+      return OptionalBool.FALSE;
+    }
+    return OptionalBool.unknown();
   }
 
   void setIsReturnValueUsed(OptionalBool isReturnValueUsed) {
-    this.isReturnValueUsed = isReturnValueUsed;
+    setFlag(RETURN_VALUE_IS_USED_FLAG, isReturnValueUsed.isTrue());
+    setFlag(RETURN_VALUE_IS_UNUSED_FLAG, isReturnValueUsed.isFalse());
   }
 
   @Override
   public boolean forceInline() {
-    return inlining == InlinePreference.ForceInline;
+    return isFlagSet(FORCE_INLINE_FLAG);
   }
 
   @Override
@@ -636,19 +653,20 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
   // TODO(b/140214568): Should be package-private.
   public void markForceInline() {
     // For concurrent scenarios we should allow the flag to be already set
-    assert inlining == InlinePreference.Default || inlining == InlinePreference.ForceInline;
-    inlining = InlinePreference.ForceInline;
+    assert !isFlagSet(MULTI_CALLER_INLINE_FLAG);
+    setFlag(FORCE_INLINE_FLAG);
   }
 
   void unsetForceInline() {
-    inlining = InlinePreference.Default;
+    clearFlag(FORCE_INLINE_FLAG);
+    clearFlag(MULTI_CALLER_INLINE_FLAG);
   }
 
   void setMultiCallerMethod() {
-    if (inlining == InlinePreference.Default) {
-      inlining = InlinePreference.MultiCallerInline;
+    if (!isFlagSet(FORCE_INLINE_FLAG) && !isFlagSet(MULTI_CALLER_INLINE_FLAG)) {
+      setFlag(MULTI_CALLER_INLINE_FLAG);
     } else {
-      assert inlining == InlinePreference.ForceInline;
+      assert isFlagSet(FORCE_INLINE_FLAG);
     }
   }
 
@@ -662,6 +680,29 @@ public class MutableMethodOptimizationInfo extends MethodOptimizationInfo
     return isFlagSet(RETURN_VALUE_HAS_BEEN_PROPAGATED_FLAG);
   }
 
+  /**
+   * Returns true if this optimization info holds no information beyond what is provided by {@link
+   * DefaultMethodOptimizationInfo}, in which case it can be replaced by the shared default
+   * instance.
+   */
+  public boolean isDefault() {
+    return flags == DEFAULT_FLAGS
+        && argumentInfos == CallSiteOptimizationInfo.top()
+        && initializedClassesOnNormalExit.isEmpty()
+        && returnedArgument == DefaultMethodOptimizationInfo.UNKNOWN_RETURNED_ARGUMENT
+        && abstractReturnValue.isUnknown()
+        && classInlinerConstraint == ClassInlinerMethodConstraint.alwaysFalse()
+        && enumUnboxerMethodClassification.isUnknownClassification()
+        && dynamicType.isUnknown()
+        && bridgeInfo == null
+        && instanceInitializerInfoCollection.isEmpty()
+        && nonNullParamOrThrow == DefaultMethodOptimizationInfo.NO_NULL_PARAMETER_OR_THROW_FACTS
+        && nonNullParamOnNormalExits
+            == DefaultMethodOptimizationInfo.NO_NULL_PARAMETER_ON_NORMAL_EXITS_FACTS
+        && simpleInliningConstraint.isNever()
+        && unusedArguments == null;
+  }
+
   @Override
   public boolean isMutableOptimizationInfo() {
     return true;
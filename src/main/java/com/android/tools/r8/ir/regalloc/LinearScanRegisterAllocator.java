@@ -47,6 +47,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Multisets;
 import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.ints.AbstractIntComparator;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap.Entry;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
@@ -54,7 +55,9 @@ import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntArraySet;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
 import it.unimi.dsi.fastutil.objects.Reference2IntArrayMap;
 import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import java.util.ArrayList;
@@ -69,7 +72,6 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -145,7 +147,7 @@ public class LinearScanRegisterAllocator implements RegisterAllocator {
   // The current register allocation mode.
   private ArgumentReuseMode mode = ArgumentReuseMode.ALLOW_ARGUMENT_REUSE_U4BIT;
   // The set of registers that are free for allocation.
-  private TreeSet<Integer> freeRegisters = new TreeSet<>();
+  private IntSortedSet freeRegisters = new IntRBTreeSet();
   // The max register number used.
   private int maxRegisterNumber = -1;
 
@@ -998,7 +1000,7 @@ public class LinearScanRegisterAllocator implements RegisterAllocator {
   }
 
   private boolean invariantsHold(ArgumentReuseMode mode) {
-    TreeSet<Integer> computedFreeRegisters = new TreeSet<>();
+    IntSortedSet computedFreeRegisters = new IntRBTreeSet();
     for (int register = 0; register <= maxRegisterNumber; ++register) {
       computedFreeRegisters.add(register);
     }
@@ -1128,7 +1130,7 @@ public class LinearScanRegisterAllocator implements RegisterAllocator {
         LiveIntervals destIntervals = dest.getLiveIntervals();
         if (destIntervals.getRegister() == NO_REGISTER) {
           // Save the current register allocation state so we can restore it at the end.
-          TreeSet<Integer> savedFreeRegisters = new TreeSet<>(freeRegisters);
+          IntSortedSet savedFreeRegisters = new IntRBTreeSet(freeRegisters);
           int savedMaxRegisterNumber = maxRegisterNumber;
           List<LiveIntervals> savedInactive = new LinkedList<>(inactive);
 
@@ -1289,7 +1291,7 @@ public class LinearScanRegisterAllocator implements RegisterAllocator {
       return intervals.getSplitParent().getRegister();
     }
 
-    TreeSet<Integer> previousFreeRegisters = new TreeSet<>(freeRegisters);
+    IntSortedSet previousFreeRegisters = new IntRBTreeSet(freeRegisters);
     int previousMaxRegisterNumber = maxRegisterNumber;
     freeRegisters.removeAll(expiredHere);
     if (excludedRegisters != null) {
@@ -3055,28 +3057,31 @@ public class LinearScanRegisterAllocator implements RegisterAllocator {
 
   private int getFreeConsecutiveRegisters(int numberOfRegisters, boolean prioritizeSmallRegisters) {
     int oldMaxRegisterNumber = maxRegisterNumber;
-    TreeSet<Integer> freeRegistersWithDesiredOrdering = this.freeRegisters;
+    IntSortedSet freeRegistersWithDesiredOrdering = this.freeRegisters;
     if (prioritizeSmallRegisters) {
       freeRegistersWithDesiredOrdering =
-          new TreeSet<>(
-              (Integer x, Integer y) -> {
-                boolean xIsArgument = x < numberOfArgumentRegisters;
-                boolean yIsArgument = y < numberOfArgumentRegisters;
-                // If x is an argument and y is not, then prioritize y.
-                if (xIsArgument && !yIsArgument) {
-                  return 1;
+          new IntRBTreeSet(
+              new AbstractIntComparator() {
+                @Override
+                public int compare(int x, int y) {
+                  boolean xIsArgument = x < numberOfArgumentRegisters;
+                  boolean yIsArgument = y < numberOfArgumentRegisters;
+                  // If x is an argument and y is not, then prioritize y.
+                  if (xIsArgument && !yIsArgument) {
+                    return 1;
+                  }
+                  // If x is not an argument and y is, then prioritize x.
+                  if (!xIsArgument && yIsArgument) {
+                    return -1;
+                  }
+                  // Otherwise use their normal ordering.
+                  return x - y;
                 }
-                // If x is not an argument and y is, then prioritize x.
-                if (!xIsArgument && yIsArgument) {
-                  return -1;
-                }
-                // Otherwise use their normal ordering.
-                return x - y;
               });
       freeRegistersWithDesiredOrdering.addAll(this.freeRegisters);
     }
 
-    Iterator<Integer> freeRegistersIterator = freeRegistersWithDesiredOrdering.iterator();
+    IntIterator freeRegistersIterator = freeRegistersWithDesiredOrdering.iterator();
     int first = getNextFreeRegister(freeRegistersIterator);
     int current = first;
     while (current - first + 1 != numberOfRegisters) {
@@ -3121,9 +3126,9 @@ public class LinearScanRegisterAllocator implements RegisterAllocator {
     return true;
   }
 
-  private int getNextFreeRegister(Iterator<Integer> freeRegistersIterator) {
+  private int getNextFreeRegister(IntIterator freeRegistersIterator) {
     if (freeRegistersIterator.hasNext()) {
-      return freeRegistersIterator.next();
+      return freeRegistersIterator.nextInt();
     }
     return ++maxRegisterNumber;
   }
@@ -53,16 +53,23 @@ import com.android.tools.r8.utils.InternalGlobalSyntheticsProgramConsumer.Intern
 import com.android.tools.r8.utils.InternalOptions;
 import com.android.tools.r8.utils.OriginalSourceFiles;
 import com.android.tools.r8.utils.PredicateUtils;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.android.tools.r8.utils.structural.Ordered;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
@@ -87,6 +94,10 @@ public class CfApplicationWriter {
   // pool index #1 and a String entry to #2, referencing #1.
   public static final int MARKER_STRING_CONSTANT_POOL_INDEX = 2;
 
+  // The number of classes per thread that may be serialized ahead of the next class to be passed
+  // to the class file consumer.
+  private static final int MAX_SCHEDULED_CLASSES_PER_THREAD = 4;
+
   private final DexApplication application;
   private final AppView<?> appView;
   private final InternalOptions options;
@@ -108,15 +119,18 @@ public class CfApplicationWriter {
     return appView.getNamingLens();
   }
 
-  public void write(ClassFileConsumer consumer) {
+  public void write(ClassFileConsumer consumer, ExecutorService executorService)
+      throws ExecutionException {
     assert options.proguardMapConsumer == null;
-    write(consumer, null);
+    write(consumer, executorService, null);
   }
 
-  public void write(ClassFileConsumer consumer, AndroidApp inputApp) {
+  public void write(
+      ClassFileConsumer consumer, ExecutorService executorService, AndroidApp inputApp)
+      throws ExecutionException {
     application.timing.begin("CfApplicationWriter.write");
     try {
-      writeApplication(inputApp, consumer);
+      writeApplication(inputApp, consumer, executorService);
     } finally {
       application.timing.end();
     }
@@ -133,7 +147,9 @@ public class CfApplicationWriter {
     return true;
   }
 
-  private void writeApplication(AndroidApp inputApp, ClassFileConsumer consumer) {
+  private void writeApplication(
+      AndroidApp inputApp, ClassFileConsumer consumer, ExecutorService executorService)
+      throws ExecutionException {
     ProguardMapId proguardMapId = null;
     if (options.proguardMapConsumer != null) {
       assert marker.isPresent();
@@ -165,30 +181,98 @@ public class CfApplicationWriter {
         }
       }
     }
-    for (DexProgramClass clazz : classes) {
-      writeClassCatchingErrors(clazz, consumer, rewriter, markerString, sourceFileEnvironment);
-    }
+    writeClasses(
+        classes, consumer, rewriter, markerString, sourceFileEnvironment, executorService);
     if (!globalSyntheticClasses.isEmpty()) {
       InternalGlobalSyntheticsCfConsumer globalsConsumer =
           new InternalGlobalSyntheticsCfConsumer(options.getGlobalSyntheticsConsumer(), appView);
-      for (DexProgramClass clazz : globalSyntheticClasses) {
-        writeClassCatchingErrors(
-            clazz, globalsConsumer, rewriter, markerString, sourceFileEnvironment);
-      }
+      writeClasses(
+          globalSyntheticClasses,
+          globalsConsumer,
+          rewriter,
+          markerString,
+          sourceFileEnvironment,
+          executorService);
       globalsConsumer.finished(appView);
     }
     ApplicationWriter.supplyAdditionalConsumers(appView);
   }
 
-  private void writeClassCatchingErrors(
-      DexProgramClass clazz,
+  private void writeClasses(
+      Collection<DexProgramClass> classes,
       ClassFileConsumer consumer,
       LensCodeRewriterUtils rewriter,
       Optional<String> markerString,
-      SourceFileEnvironment sourceFileEnvironment) {
+      SourceFileEnvironment sourceFileEnvironment,
+      ExecutorService executorService)
+      throws ExecutionException {
+    // The classes are serialized concurrently, but passed to the consumer one by one in the order
+    // of the application, such that the output is deterministic. Each class is passed to the
+    // consumer as soon as it and all classes before it have been serialized. To bound the number of
+    // serialized classes that wait for an earlier class, only a few classes per thread are
+    // scheduled ahead of the next class to be passed to the consumer.
+    int maxScheduledClasses =
+        MAX_SCHEDULED_CLASSES_PER_THREAD * ThreadUtils.getNumberOfThreads(executorService);
+    Deque<Future<byte[]>> scheduledClasses = new ArrayDeque<>(maxScheduledClasses);
+    Iterator<DexProgramClass> classesToConsume = classes.iterator();
+    try {
+      for (DexProgramClass clazz : classes) {
+        if (scheduledClasses.size() == maxScheduledClasses) {
+          consumeClass(classesToConsume.next(), scheduledClasses.removeFirst(), consumer);
+        }
+        // The source file provider is called on this thread, in the order of the application.
+        String sourceFile = getSourceFile(clazz, sourceFileEnvironment);
+        scheduledClasses.addLast(
+            ThreadUtils.processAsynchronously(
+                () -> writeClassCatchingErrors(clazz, rewriter, markerString, sourceFile),
+                executorService));
+      }
+      while (!scheduledClasses.isEmpty()) {
+        consumeClass(classesToConsume.next(), scheduledClasses.removeFirst(), consumer);
+      }
+    } finally {
+      // In case of an error, still wait for the scheduled classes to make sure that no class is
+      // being serialized when this returns.
+      for (Future<byte[]> scheduledClass : scheduledClasses) {
+        try {
+          scheduledClass.get();
+        } catch (Throwable t) {
+          // Ignore any new Exception.
+        }
+      }
+    }
+    assert !classesToConsume.hasNext();
+  }
+
+  private void consumeClass(
+      DexProgramClass clazz, Future<byte[]> serializedClass, ClassFileConsumer consumer)
+      throws ExecutionException {
+    byte[] result;
+    try {
+      result = serializedClass.get();
+    } catch (InterruptedException e) {
+      throw new RuntimeException("Interrupted while waiting for future.", e);
+    }
+    String desc = getNamingLens().lookupDescriptor(clazz.type).toString();
+    ExceptionUtils.withConsumeResourceHandler(
+        options.reporter, handler -> consumer.accept(ByteDataView.of(result), desc, handler));
+  }
+
+  private String getSourceFile(DexProgramClass clazz, SourceFileEnvironment sourceFileEnvironment) {
+    if (options.sourceFileProvider == null) {
+      return clazz.sourceFile != null ? clazz.sourceFile.toString() : null;
+    }
+    return options.sourceFileProvider.get(sourceFileEnvironment);
+  }
+
+  private byte[] writeClassCatchingErrors(
+      DexProgramClass clazz,
+      LensCodeRewriterUtils rewriter,
+      Optional<String> markerString,
+      String sourceFile) {
     assert SyntheticNaming.verifyNotInternalSynthetic(clazz.getType());
     try {
-      writeClass(clazz, consumer, rewriter, markerString, sourceFileEnvironment);
+      return writeClass(clazz, rewriter, markerString, sourceFile);
     } catch (ClassTooLargeException e) {
       throw appView
           .options()
@@ -213,23 +297,16 @@ public class CfApplicationWriter {
     }
   }
 
-  private void writeClass(
+  private byte[] writeClass(
       DexProgramClass clazz,
-      ClassFileConsumer consumer,
       LensCodeRewriterUtils rewriter,
       Optional<String> markerString,
-      SourceFileEnvironment sourceFileEnvironment) {
+      String sourceFile) {
     ClassWriter writer = new ClassWriter(0);
     if (markerString.isPresent()) {
       int markerStringPoolIndex = writer.newConst(markerString.get());
       assert markerStringPoolIndex == MARKER_STRING_CONSTANT_POOL_INDEX;
     }
-    String sourceFile;
-    if (options.sourceFileProvider == null) {
-      sourceFile = clazz.sourceFile != null ? clazz.sourceFile.toString() : null;
-    } else {
-      sourceFile = options.sourceFileProvider.get(sourceFileEnvironment);
-    }
     String sourceDebug = getSourceDebugExtension(clazz.annotations());
     writer.visitSource(sourceFile, sourceDebug);
     CfVersion version = getClassFileVersion(clazz);
@@ -256,7 +333,6 @@ public class CfApplicationWriter {
     if (clazz.isDeprecated()) {
       access = AsmUtils.withDeprecated(access);
     }
-    String desc = getNamingLens().lookupDescriptor(clazz.type).toString();
     String name = getNamingLens().lookupInternalName(clazz.type);
     String signature = clazz.getClassSignature().toRenamedString(getNamingLens(), isTypeMissing);
     String superName =
@@ -333,8 +409,7 @@ public class CfApplicationWriter {
       // so don't assert that verifyCf() returns true.
       verifyCf(result);
     }
-    ExceptionUtils.withConsumeResourceHandler(
-        options.reporter, handler -> consumer.accept(ByteDataView.of(result), desc, handler));
+    return result;
   }
 
   private int compareTypesThroughLens(DexType a, DexType b) {
@@ -113,9 +113,9 @@ public class KotlinClassInfo implements KotlinClassLevelInfo {
       int[] metadataVersion,
       DexClass hostClass,
       AppView<?> appView,
+      Reporter reporter,
       Consumer<DexEncodedMethod> keepByteCode) {
     DexItemFactory factory = appView.dexItemFactory();
-    Reporter reporter = appView.reporter();
     KmClass kmClass = metadata.toKmClass();
     KotlinJvmSignatureExtensionInformation extensionInformation =
         KotlinJvmSignatureExtensionInformation.readInformationFromMessage(
@@ -18,6 +18,7 @@ import com.android.tools.r8.graph.DexString;
 import com.android.tools.r8.graph.DexValue;
 import com.android.tools.r8.graph.DexValue.DexValueArray;
 import com.android.tools.r8.kotlin.KotlinSyntheticClassInfo.Flavour;
+import com.android.tools.r8.utils.Reporter;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -34,16 +35,22 @@ public final class KotlinClassMetadataReader {
   private static final int SYNTHETIC_CLASS_KIND = 3;
 
   public static KotlinClassLevelInfo getKotlinInfo(
-      DexClass clazz, AppView<?> appView, Consumer<DexEncodedMethod> keepByteCode)
+      DexClass clazz,
+      AppView<?> appView,
+      Reporter reporter,
+      Consumer<DexEncodedMethod> keepByteCode)
       throws KotlinMetadataException {
     DexAnnotation meta =
         clazz.annotations().getFirstMatching(appView.dexItemFactory().kotlinMetadataType);
-    return meta != null ? getKotlinInfo(clazz, appView, keepByteCode, meta) : getNoKotlinInfo();
+    return meta != null
+        ? getKotlinInfo(clazz, appView, reporter, keepByteCode, meta)
+        : getNoKotlinInfo();
   }
 
   public static KotlinClassLevelInfo getKotlinInfo(
       DexClass clazz,
       AppView<?> appView,
+      Reporter reporter,
       Consumer<DexEncodedMethod> keepByteCode,
       DexAnnotation annotation)
       throws KotlinMetadataException {
@@ -52,7 +59,7 @@ public final class KotlinClassMetadataReader {
     if (kMetadata == null) {
       throw new KotlinMetadataException();
     }
-    return createKotlinInfo(kotlin, clazz, kMetadata, appView, keepByteCode);
+    return createKotlinInfo(kotlin, clazz, kMetadata, appView, reporter, keepByteCode);
   }
 
   public static boolean isLambda(AppView<?> appView, DexClass clazz)
@@ -141,6 +148,7 @@ public final class KotlinClassMetadataReader {
       DexClass clazz,
       KotlinClassMetadata kMetadata,
       AppView<?> appView,
+      Reporter reporter,
       Consumer<DexEncodedMethod> keepByteCode) {
     String packageName = kMetadata.getHeader().getPackageName();
     int[] metadataVersion = kMetadata.getHeader().getMetadataVersion();
@@ -151,11 +159,18 @@ public final class KotlinClassMetadataReader {
           metadataVersion,
           clazz,
           appView,
+          reporter,
           keepByteCode);
     } else if (kMetadata instanceof KotlinClassMetadata.FileFacade) {
       // e.g., B.kt becomes class `BKt`
       return KotlinFileFacadeInfo.create(
-          (FileFacade) kMetadata, packageName, metadataVersion, clazz, appView, keepByteCode);
+          (FileFacade) kMetadata,
+          packageName,
+          metadataVersion,
+          clazz,
+          appView,
+          reporter,
+          keepByteCode);
     } else if (kMetadata instanceof KotlinClassMetadata.MultiFileClassFacade) {
       // multi-file class with the same @JvmName.
       return KotlinMultiFileClassFacadeInfo.create(
@@ -168,6 +183,7 @@ public final class KotlinClassMetadataReader {
           metadataVersion,
           clazz,
           appView,
+          reporter,
           keepByteCode);
     } else if (kMetadata instanceof KotlinClassMetadata.SyntheticClass) {
       return KotlinSyntheticClassInfo.create(
@@ -176,7 +192,8 @@ public final class KotlinClassMetadataReader {
           metadataVersion,
           clazz,
           kotlin,
-          appView);
+          appView,
+          reporter);
     } else {
       throw new MetadataError("unsupported 'k' value: " + kMetadata.getHeader().getKind());
     }
@@ -9,6 +9,7 @@ import com.android.tools.r8.graph.DexClass;
 import com.android.tools.r8.graph.DexDefinitionSupplier;
 import com.android.tools.r8.graph.DexEncodedMethod;
 import com.android.tools.r8.utils.Pair;
+import com.android.tools.r8.utils.Reporter;
 import java.util.function.Consumer;
 import kotlinx.metadata.KmPackage;
 import kotlinx.metadata.jvm.KotlinClassHeader;
@@ -35,13 +36,15 @@ public class KotlinFileFacadeInfo implements KotlinClassLevelInfo {
       int[] metadataVersion,
       DexClass clazz,
       AppView<?> appView,
+      Reporter reporter,
       Consumer<DexEncodedMethod> keepByteCode) {
     KmPackage kmPackage = kmFileFacade.toKmPackage();
     KotlinJvmSignatureExtensionInformation extensionInformation =
         KotlinJvmSignatureExtensionInformation.readInformationFromMessage(
             kmFileFacade, appView.options());
     return new KotlinFileFacadeInfo(
-        KotlinPackageInfo.create(kmPackage, clazz, appView, keepByteCode, extensionInformation),
+        KotlinPackageInfo.create(
+            kmPackage, clazz, appView, reporter, keepByteCode, extensionInformation),
         packageName,
         metadataVersion);
   }
@@ -7,7 +7,10 @@ package com.android.tools.r8.kotlin;
 import static com.android.tools.r8.kotlin.KotlinClassMetadataReader.hasKotlinClassMetadataAnnotation;
 import static com.android.tools.r8.kotlin.KotlinMetadataUtils.getInvalidKotlinInfo;
 import static com.android.tools.r8.kotlin.KotlinMetadataUtils.getNoKotlinInfo;
+import static com.android.tools.r8.utils.ExceptionUtils.unwrapExecutionException;
 
+import com.android.tools.r8.Diagnostic;
+import com.android.tools.r8.DiagnosticsHandler;
 import com.android.tools.r8.errors.Unreachable;
 import com.android.tools.r8.graph.AppView;
 import com.android.tools.r8.graph.ClassResolutionResult;
@@ -27,9 +30,18 @@ import com.android.tools.r8.ir.optimize.info.OptimizationFeedbackSimple;
 import com.android.tools.r8.shaking.Enqueuer;
 import com.android.tools.r8.shaking.Enqueuer.EnqueuerDefinitionSupplier;
 import com.android.tools.r8.shaking.KeepClassInfo;
+import com.android.tools.r8.utils.Reporter;
 import com.android.tools.r8.utils.StringDiagnostic;
+import com.android.tools.r8.utils.ThreadUtils;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
 
@@ -38,15 +50,17 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
   private final AppView<?> appView;
   private final EnqueuerDefinitionSupplier enqueuerDefinitionSupplier;
   private final Set<DexType> prunedTypes;
-  private boolean reportedUnknownMetadataVersion;
+  private final ExecutorService executorService;
 
   public KotlinMetadataEnqueuerExtension(
       AppView<?> appView,
       EnqueuerDefinitionSupplier enqueuerDefinitionSupplier,
-      Set<DexType> prunedTypes) {
+      Set<DexType> prunedTypes,
+      ExecutorService executorService) {
     this.appView = appView;
     this.enqueuerDefinitionSupplier = enqueuerDefinitionSupplier;
     this.prunedTypes = prunedTypes;
+    this.executorService = executorService;
   }
 
   private KotlinMetadataDefinitionSupplier definitionsForContext(ProgramDefinition context) {
@@ -64,11 +78,19 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
             enqueuer::getKeepInfo);
     // In the first round of tree shaking build up all metadata such that it can be traced later.
     if (enqueuer.getMode().isInitialTreeShaking()) {
-      Set<DexMethod> keepByteCodeFunctions = Sets.newIdentityHashSet();
-      Set<DexProgramClass> localOrAnonymousClasses = Sets.newIdentityHashSet();
-      enqueuer.forAllLiveClasses(
+      // The metadata of each class is decoded independently of the other classes, and the decoded
+      // info is only stored on the class and its members, so the classes are processed in
+      // parallel. The diagnostics of each class are reported once all classes have been processed,
+      // sorted by the class type, such that they do not depend on the scheduling.
+      Set<DexMethod> keepByteCodeFunctions = Sets.newConcurrentHashSet();
+      Set<DexProgramClass> localOrAnonymousClasses = Sets.newConcurrentHashSet();
+      List<KotlinMetadataDiagnostics> diagnosticsPerClass =
+          Collections.synchronizedList(new ArrayList<>());
+      processLiveClasses(
+          enqueuer,
           clazz -> {
             assert clazz.getKotlinInfo().isNoKotlinInformation();
+            KotlinMetadataDiagnostics diagnostics = new KotlinMetadataDiagnostics(clazz);
             try {
               if (enqueuer
                   .getKeepInfo(clazz)
@@ -87,6 +109,7 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
                     KotlinClassMetadataReader.getKotlinInfo(
                         clazz,
                         appView,
+                        new Reporter(diagnostics),
                         method -> keepByteCodeFunctions.add(method.getReference())));
                 if (clazz.getEnclosingMethodAttribute() != null
                     && clazz.getEnclosingMethodAttribute().getEnclosingMethod() != null) {
@@ -94,29 +117,35 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
                 }
               }
             } catch (KotlinMetadataException e) {
-              appView
-                  .reporter()
-                  .info(
-                      new StringDiagnostic(
-                          "Class "
-                              + clazz.type.toSourceString()
-                              + " has malformed kotlin.Metadata: "
-                              + e.getMessage()));
+              diagnostics.readError(
+                  new StringDiagnostic(
+                      "Class "
+                          + clazz.type.toSourceString()
+                          + " has malformed kotlin.Metadata: "
+                          + e.getMessage()));
               clazz.setKotlinInfo(getInvalidKotlinInfo());
-              reportUnknownMetadataVersion();
             } catch (Throwable e) {
-              appView
-                  .reporter()
-                  .info(
-                      new StringDiagnostic(
-                          "Unexpected error while reading "
-                              + clazz.type.toSourceString()
-                              + "'s kotlin.Metadata: "
-                              + e.getMessage()));
+              diagnostics.readError(
+                  new StringDiagnostic(
+                      "Unexpected error while reading "
+                          + clazz.type.toSourceString()
+                          + "'s kotlin.Metadata: "
+                          + e.getMessage()));
               clazz.setKotlinInfo(getNoKotlinInfo());
-              reportUnknownMetadataVersion();
+            }
+            if (diagnostics.hasDiagnostics()) {
+              diagnosticsPerClass.add(diagnostics);
             }
           });
+      diagnosticsPerClass.sort(Comparator.comparing(KotlinMetadataDiagnostics::getType));
+      boolean reportedUnknownMetadataVersion = false;
+      for (KotlinMetadataDiagnostics diagnostics : diagnosticsPerClass) {
+        diagnostics.reportTo(appView.reporter());
+        if (diagnostics.hasReadError() && !reportedUnknownMetadataVersion) {
+          appView.reporter().warning(KotlinMetadataDiagnostic.unknownMetadataVersion());
+          reportedUnknownMetadataVersion = true;
+        }
+      }
       for (DexProgramClass localOrAnonymousClass : localOrAnonymousClasses) {
         EnclosingMethodAttribute enclosingAttribute =
             localOrAnonymousClass.getEnclosingMethodAttribute();
@@ -167,10 +196,62 @@ public class KotlinMetadataEnqueuerExtension extends EnqueuerAnalysis {
         });
   }
 
-  private void reportUnknownMetadataVersion() {
-    if (!reportedUnknownMetadataVersion) {
-      reportedUnknownMetadataVersion = true;
-      appView.reporter().warning(KotlinMetadataDiagnostic.unknownMetadataVersion());
+  private void processLiveClasses(Enqueuer enqueuer, Consumer<DexProgramClass> consumer) {
+    try {
+      ThreadUtils.processItems(enqueuer::forAllLiveClasses, consumer::accept, executorService);
+    } catch (ExecutionException e) {
+      throw unwrapExecutionException(e);
+    }
+  }
+
+  /**
+   * Records the diagnostics reported while reading the kotlin.Metadata of a single class, such that
+   * they can be reported in a deterministic order.
+   */
+  private static class KotlinMetadataDiagnostics implements DiagnosticsHandler {
+
+    private final DexProgramClass clazz;
+    private final List<Consumer<Reporter>> diagnostics = new ArrayList<>();
+    private boolean hasReadError;
+
+    KotlinMetadataDiagnostics(DexProgramClass clazz) {
+      this.clazz = clazz;
+    }
+
+    DexType getType() {
+      return clazz.getType();
+    }
+
+    boolean hasDiagnostics() {
+      return !diagnostics.isEmpty();
+    }
+
+    boolean hasReadError() {
+      return hasReadError;
+    }
+
+    void readError(Diagnostic diagnostic) {
+      info(diagnostic);
+      hasReadError = true;
+    }
+
+    void reportTo(Reporter reporter) {
+      diagnostics.forEach(diagnostic -> diagnostic.accept(reporter));
+    }
+
+    @Override
+    public void error(Diagnostic error) {
+      diagnostics.add(reporter -> reporter.error(error));
+    }
+
+    @Override
+    public void warning(Diagnostic warning) {
+      diagnostics.add(reporter -> reporter.warning(warning));
+    }
+
+    @Override
+    public void info(Diagnostic info) {
+      diagnostics.add(reporter -> reporter.info(info));
     }
   }
 
@@ -140,7 +140,7 @@ public class KotlinMetadataRewriter {
           }
           KotlinClassLevelInfo kotlinInfo =
               KotlinClassMetadataReader.getKotlinInfo(
-                  clazz, appView, ConsumerUtils.emptyConsumer(), metadata);
+                  clazz, appView, appView.reporter(), ConsumerUtils.emptyConsumer(), metadata);
           if (kotlinInfo == getNoKotlinInfo()) {
             return;
           }
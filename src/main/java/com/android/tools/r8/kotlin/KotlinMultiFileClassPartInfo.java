@@ -9,6 +9,7 @@ import com.android.tools.r8.graph.DexClass;
 import com.android.tools.r8.graph.DexDefinitionSupplier;
 import com.android.tools.r8.graph.DexEncodedMethod;
 import com.android.tools.r8.utils.Pair;
+import com.android.tools.r8.utils.Reporter;
 import java.util.function.Consumer;
 import kotlinx.metadata.KmPackage;
 import kotlinx.metadata.jvm.KotlinClassHeader;
@@ -40,6 +41,7 @@ public class KotlinMultiFileClassPartInfo implements KotlinClassLevelInfo {
       int[] metadataVersion,
       DexClass clazz,
       AppView<?> appView,
+      Reporter reporter,
       Consumer<DexEncodedMethod> keepByteCode) {
     KmPackage kmPackage = classPart.toKmPackage();
     KotlinJvmSignatureExtensionInformation extensionInformation =
@@ -47,7 +49,8 @@ public class KotlinMultiFileClassPartInfo implements KotlinClassLevelInfo {
             classPart, appView.options());
     return new KotlinMultiFileClassPartInfo(
         classPart.getFacadeClassName(),
-        KotlinPackageInfo.create(kmPackage, clazz, appView, keepByteCode, extensionInformation),
+        KotlinPackageInfo.create(
+            kmPackage, clazz, appView, reporter, keepByteCode, extensionInformation),
         packageName,
         metadataVersion);
   }
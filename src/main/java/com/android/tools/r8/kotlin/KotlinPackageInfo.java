@@ -13,6 +13,7 @@ import com.android.tools.r8.graph.DexDefinitionSupplier;
 import com.android.tools.r8.graph.DexEncodedField;
 import com.android.tools.r8.graph.DexEncodedMethod;
 import com.android.tools.r8.shaking.EnqueuerMetadataTraceable;
+import com.android.tools.r8.utils.Reporter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -43,6 +44,7 @@ public class KotlinPackageInfo implements EnqueuerMetadataTraceable {
       KmPackage kmPackage,
       DexClass clazz,
       AppView<?> appView,
+      Reporter reporter,
       Consumer<DexEncodedMethod> keepByteCode,
       KotlinJvmSignatureExtensionInformation extensionInformation) {
     Map<String, DexEncodedField> fieldMap = new HashMap<>();
@@ -62,14 +64,14 @@ public class KotlinPackageInfo implements EnqueuerMetadataTraceable {
             methodMap,
             fieldMap,
             appView.dexItemFactory(),
-            appView.reporter(),
+            reporter,
             keepByteCode,
             extensionInformation,
             originalMembersWithKotlinInfo),
         KotlinLocalDelegatedPropertyInfo.create(
             JvmExtensionsKt.getLocalDelegatedProperties(kmPackage),
             appView.dexItemFactory(),
-            appView.reporter()),
+            reporter),
         originalMembersWithKotlinInfo);
   }
 
@@ -8,6 +8,7 @@ import com.android.tools.r8.graph.AppView;
 import com.android.tools.r8.graph.DexClass;
 import com.android.tools.r8.graph.DexDefinitionSupplier;
 import com.android.tools.r8.utils.Pair;
+import com.android.tools.r8.utils.Reporter;
 import kotlinx.metadata.KmLambda;
 import kotlinx.metadata.jvm.KotlinClassHeader;
 import kotlinx.metadata.jvm.KotlinClassMetadata.SyntheticClass;
@@ -42,7 +43,8 @@ public class KotlinSyntheticClassInfo implements KotlinClassLevelInfo {
       int[] metadataVersion,
       DexClass clazz,
       Kotlin kotlin,
-      AppView<?> appView) {
+      AppView<?> appView,
+      Reporter reporter) {
     KmLambda lambda = syntheticClass.toKmLambda();
     assert lambda == null || syntheticClass.isLambda();
     KotlinJvmSignatureExtensionInformation extensionInformation =
@@ -51,7 +53,7 @@ public class KotlinSyntheticClassInfo implements KotlinClassLevelInfo {
     return new KotlinSyntheticClassInfo(
         lambda != null
             ? KotlinLambdaInfo.create(
-                clazz, lambda, appView.dexItemFactory(), appView.reporter(), extensionInformation)
+                clazz, lambda, appView.dexItemFactory(), reporter, extensionInformation)
             : null,
         getFlavour(clazz, kotlin),
         packageName,
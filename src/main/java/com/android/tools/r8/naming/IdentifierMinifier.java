@@ -91,7 +91,7 @@ class IdentifierMinifier {
       return;
     }
     if (code.isDexCode()) {
-      for (DexInstruction instruction : code.asDexCode().instructions) {
+      for (DexInstruction instruction : code.asDexCode().getInstructions()) {
         if (instruction.isConstString()) {
           DexConstString cnst = instruction.asConstString();
           cnst.BBBB = getRenamedStringLiteral(cnst.getString());
@@ -162,7 +162,7 @@ class IdentifierMinifier {
     Code code = programMethod.getDefinition().getCode();
     assert code != null;
     if (code.isDexCode()) {
-      DexInstruction[] instructions = code.asDexCode().instructions;
+      DexInstruction[] instructions = code.asDexCode().getInstructions();
       for (int i = 0; i < instructions.length; ++i) {
         DexInstruction instruction = instructions[i];
         if (instruction.isDexItemBasedConstString()) {
@@ -101,7 +101,7 @@ public class ArgumentPropagatorOptimizationInfoPopulator {
 
     // Solve the parameter flow constraints.
     timing.begin("Solve flow constraints");
-    new InParameterFlowPropagator(appView, converter, methodStates).run(executorService);
+    new InParameterFlowPropagator(appView, converter, methodStates).run(executorService, timing);
     timing.end();
 
     // The information stored on each method is now sound, and can be used as optimization info.
@@ -26,13 +26,21 @@ import com.android.tools.r8.optimize.argumentpropagation.utils.BidirectedGraph;
 import com.android.tools.r8.shaking.AppInfoWithLiveness;
 import com.android.tools.r8.utils.Action;
 import com.android.tools.r8.utils.ThreadUtils;
+import com.android.tools.r8.utils.Timing;
+import com.android.tools.r8.utils.Timing.TimingMerger;
 import com.google.common.collect.Sets;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
 import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,67 +63,241 @@ public class InParameterFlowPropagator {
     this.methodStates = methodStates;
   }
 
-  public void run(ExecutorService executorService) throws ExecutionException {
+  public void run(ExecutorService executorService, Timing timing) throws ExecutionException {
     // Build a graph with an edge from parameter p -> parameter p' if all argument information for p
     // must be included in the argument information for p'.
+    timing.begin("Build flow graph");
     FlowGraph flowGraph = new FlowGraph(appView.appInfo().classes());
 
-    List<Set<ParameterNode>> stronglyConnectedComponents =
-        flowGraph.computeStronglyConnectedComponents();
-    ThreadUtils.processItems(stronglyConnectedComponents, this::process, executorService);
+    // The connected components of the (undirected) flow graph do not share any parameters, and can
+    // therefore be solved independently.
+    List<Set<ParameterNode>> connectedComponents = flowGraph.computeStronglyConnectedComponents();
+    timing.end();
+
+    // Solve each connected component on a single thread, except for the components that are so
+    // large that they would dominate the running time.
+    int minComponentSizeForConcurrentPropagation =
+        appView
+            .options()
+            .callSiteOptimizationOptions()
+            .getMinComponentSizeForConcurrentFlowPropagation();
+    List<Set<ParameterNode>> largeConnectedComponents = new ArrayList<>();
+    List<Set<ParameterNode>> smallConnectedComponents = new ArrayList<>();
+    for (Set<ParameterNode> connectedComponent : connectedComponents) {
+      if (connectedComponent.size() >= minComponentSizeForConcurrentPropagation) {
+        largeConnectedComponents.add(connectedComponent);
+      } else {
+        smallConnectedComponents.add(connectedComponent);
+      }
+    }
+    TimingMerger merger =
+        timing.beginMerger("Propagate", ThreadUtils.getNumberOfThreads(executorService));
+    merger.add(
+        ThreadUtils.processItemsWithResults(
+            smallConnectedComponents, this::process, executorService));
+    for (Set<ParameterNode> largeConnectedComponent : largeConnectedComponents) {
+      merger.add(processConcurrently(largeConnectedComponent, executorService));
+    }
+    merger.end();
 
     // The algorithm only changes the parameter states of each monomorphic method state. In case any
     // of these method states have effectively become unknown, we replace them by the canonicalized
     // unknown method state.
+    timing.begin("Post-process method states");
     postProcessMethodStates(executorService);
+    timing.end();
   }
 
-  private void process(Set<ParameterNode> stronglyConnectedComponent) {
-    // Build a worklist containing all the parameter nodes.
-    Deque<ParameterNode> worklist = new ArrayDeque<>(stronglyConnectedComponent);
-
-    // Repeatedly propagate argument information through edges in the flow graph until there are no
-    // more changes.
-    // TODO(b/190154391): Consider a path p1 -> p2 -> p3 in the graph. If we process p2 first, then
-    //  p3, and then p1, then the processing of p1 could cause p2 to change, which means that we
-    //  need to reprocess p2 and then p3. If we always process leaves in the graph first, we would
-    //  process p1, then p2, then p3, and then be done.
-    while (!worklist.isEmpty()) {
-      ParameterNode parameterNode = worklist.removeLast();
-      parameterNode.unsetPending();
-      propagate(
-          parameterNode,
-          affectedNode -> {
-            // No need to enqueue the affected node if it is already in the worklist or if it does
-            // not have any successors (i.e., the successor is a leaf).
-            if (!affectedNode.isPending() && affectedNode.hasSuccessors()) {
-              worklist.add(affectedNode);
-              affectedNode.setPending();
-            }
-          });
+  private Timing process(Set<ParameterNode> connectedComponent) {
+    Timing timing = Timing.create("Propagate", appView.options());
+    timing.begin("Compute strongly connected components");
+    List<StronglyConnectedComponent> stronglyConnectedComponents =
+        computeStronglyConnectedComponents(connectedComponent);
+    timing.end();
+    for (StronglyConnectedComponent stronglyConnectedComponent : stronglyConnectedComponents) {
+      solve(stronglyConnectedComponent, timing);
     }
+    timing.end();
+    return timing;
   }
 
-  private void propagate(
-      ParameterNode parameterNode, Consumer<ParameterNode> affectedNodeConsumer) {
-    ParameterState parameterState = parameterNode.getState();
-    if (parameterState.isBottom()) {
-      return;
+  private Collection<Timing> processConcurrently(
+      Set<ParameterNode> connectedComponent, ExecutorService executorService)
+      throws ExecutionException {
+    List<Timing> timings = new ArrayList<>();
+    Timing timing = Timing.create("Propagate", appView.options());
+    timing.begin("Compute strongly connected components");
+    List<List<StronglyConnectedComponent>> levels =
+        computeLevels(computeStronglyConnectedComponents(connectedComponent));
+    timing.end();
+    timing.end();
+    timings.add(timing);
+
+    // The strongly connected components of a level only depend on the components of the previous
+    // levels, and only update the states of their own parameters. They can therefore be solved
+    // concurrently.
+    for (List<StronglyConnectedComponent> level : levels) {
+      timings.addAll(
+          ThreadUtils.processItemsWithResults(
+              level,
+              stronglyConnectedComponent -> {
+                Timing componentTiming = Timing.create("Propagate", appView.options());
+                solve(stronglyConnectedComponent, componentTiming);
+                componentTiming.end();
+                return componentTiming;
+              },
+              executorService));
     }
-    List<ParameterNode> newlyUnknownParameterNodes = new ArrayList<>();
-    for (ParameterNode successorNode : parameterNode.getSuccessors()) {
-      ParameterState newParameterState =
-          successorNode.addState(
-              appView,
-              parameterState.asNonEmpty(),
-              () -> affectedNodeConsumer.accept(successorNode));
-      if (newParameterState.isUnknown()) {
-        newlyUnknownParameterNodes.add(successorNode);
+    return timings;
+  }
+
+  /**
+   * Computes the strongly connected components of the given connected component using Tarjan's
+   * algorithm. The components are returned in topological order, i.e., all predecessors of the
+   * parameters in a component are in the same component or in one of the previous components.
+   */
+  private static List<StronglyConnectedComponent> computeStronglyConnectedComponents(
+      Set<ParameterNode> connectedComponent) {
+    List<StronglyConnectedComponent> stronglyConnectedComponents = new ArrayList<>();
+    Reference2IntMap<ParameterNode> indices =
+        new Reference2IntOpenHashMap<>(connectedComponent.size());
+    Reference2IntMap<ParameterNode> lowLinks =
+        new Reference2IntOpenHashMap<>(connectedComponent.size());
+    // The nodes that have been visited but not yet assigned to a strongly connected component.
+    Deque<ParameterNode> stack = new ArrayDeque<>();
+    // The nodes on the current path of the depth first search, along with their unvisited
+    // successors.
+    Deque<ParameterNode> path = new ArrayDeque<>();
+    Deque<Iterator<ParameterNode>> successorIterators = new ArrayDeque<>();
+    for (ParameterNode root : connectedComponent) {
+      if (indices.containsKey(root)) {
+        continue;
+      }
+      indices.put(root, indices.size());
+      lowLinks.put(root, indices.getInt(root));
+      stack.push(root);
+      path.push(root);
+      successorIterators.push(root.getSuccessors().iterator());
+      while (!path.isEmpty()) {
+        ParameterNode node = path.peek();
+        Iterator<ParameterNode> successorIterator = successorIterators.peek();
+        if (successorIterator.hasNext()) {
+          ParameterNode successor = successorIterator.next();
+          if (!indices.containsKey(successor)) {
+            indices.put(successor, indices.size());
+            lowLinks.put(successor, indices.getInt(successor));
+            stack.push(successor);
+            path.push(successor);
+            successorIterators.push(successor.getSuccessors().iterator());
+          } else if (successor.getStronglyConnectedComponent() == null) {
+            // The successor is on the stack.
+            lowLinks.put(node, Math.min(lowLinks.getInt(node), indices.getInt(successor)));
+          }
+          continue;
+        }
+        path.pop();
+        successorIterators.pop();
+        if (!path.isEmpty()) {
+          ParameterNode parent = path.peek();
+          lowLinks.put(parent, Math.min(lowLinks.getInt(parent), lowLinks.getInt(node)));
+        }
+        if (lowLinks.getInt(node) == indices.getInt(node)) {
+          List<ParameterNode> nodes = new ArrayList<>();
+          ParameterNode member;
+          do {
+            member = stack.pop();
+            nodes.add(member);
+          } while (member != node);
+          // Order the parameters of the component by the order in which they were discovered, such
+          // that a parameter is generally processed after the parameters that flow into it.
+          Collections.reverse(nodes);
+          stronglyConnectedComponents.add(new StronglyConnectedComponent(nodes));
+        }
       }
     }
-    for (ParameterNode newlyUnknownParameterNode : newlyUnknownParameterNodes) {
-      newlyUnknownParameterNode.clearPredecessors();
+    // Tarjan's algorithm finds the components in reverse topological order.
+    Collections.reverse(stronglyConnectedComponents);
+    return stronglyConnectedComponents;
+  }
+
+  /**
+   * Partitions the given strongly connected components, which must be in topological order, into
+   * levels, such that all predecessors of a component are in the component itself or in one of the
+   * previous levels.
+   */
+  private static List<List<StronglyConnectedComponent>> computeLevels(
+      List<StronglyConnectedComponent> stronglyConnectedComponents) {
+    List<List<StronglyConnectedComponent>> levels = new ArrayList<>();
+    for (StronglyConnectedComponent stronglyConnectedComponent : stronglyConnectedComponents) {
+      int level = stronglyConnectedComponent.getLevel();
+      if (level == levels.size()) {
+        levels.add(new ArrayList<>());
+      }
+      levels.get(level).add(stronglyConnectedComponent);
+      for (ParameterNode node : stronglyConnectedComponent.getNodes()) {
+        for (ParameterNode successor : node.getSuccessors()) {
+          StronglyConnectedComponent successorComponent = successor.getStronglyConnectedComponent();
+          if (successorComponent != stronglyConnectedComponent) {
+            successorComponent.setLevelAtLeast(level + 1);
+          }
+        }
+      }
     }
+    return levels;
+  }
+
+  private void solve(StronglyConnectedComponent stronglyConnectedComponent, Timing timing) {
+    timing.begin(
+        stronglyConnectedComponent.isCyclic()
+            ? "Solve cyclic components"
+            : "Solve acyclic components");
+    List<ParameterNode> nodes = stronglyConnectedComponent.getNodes();
+
+    // All predecessors outside this component are in a previous component, and thus have reached
+    // their final state. Join their states into the parameters of this component.
+    for (ParameterNode node : nodes) {
+      for (ParameterNode predecessor : node.getPredecessors()) {
+        if (node.getState().isUnknown()) {
+          break;
+        }
+        ParameterState predecessorState = predecessor.getState();
+        if (predecessor.getStronglyConnectedComponent() != stronglyConnectedComponent
+            && !predecessorState.isBottom()) {
+          node.addState(appView, predecessorState.asNonEmpty(), Action.empty());
+        }
+      }
+    }
+
+    // Repeatedly propagate argument information through the edges inside the component until there
+    // are no more changes. The parameters are processed in rounds in the order of the component,
+    // such that a parameter that is affected by a change is processed again in the same round if it
+    // comes after the changed parameter.
+    if (stronglyConnectedComponent.isCyclic()) {
+      BitSet pending = new BitSet(nodes.size());
+      pending.set(0, nodes.size());
+      int index = 0;
+      while (!pending.isEmpty()) {
+        index = pending.nextSetBit(index);
+        if (index < 0) {
+          index = pending.nextSetBit(0);
+        }
+        pending.clear(index);
+        ParameterNode node = nodes.get(index);
+        ParameterState parameterState = node.getState();
+        if (!parameterState.isBottom()) {
+          for (ParameterNode successor : node.getSuccessors()) {
+            if (successor.getStronglyConnectedComponent() == stronglyConnectedComponent) {
+              successor.addState(
+                  appView,
+                  parameterState.asNonEmpty(),
+                  () -> pending.set(successor.getIndexInStronglyConnectedComponent()));
+            }
+          }
+        }
+        index++;
+      }
+    }
+    timing.end();
   }
 
   private void postProcessMethodStates(ExecutorService executorService) throws ExecutionException {
@@ -282,7 +464,8 @@ public class InParameterFlowPropagator {
     private final Set<ParameterNode> predecessors = Sets.newIdentityHashSet();
     private final Set<ParameterNode> successors = Sets.newIdentityHashSet();
 
-    private boolean pending = true;
+    private StronglyConnectedComponent stronglyConnectedComponent;
+    private int indexInStronglyConnectedComponent;
 
     ParameterNode(
         ConcreteMonomorphicMethodState methodState, int parameterIndex, DexType parameterType) {
@@ -307,20 +490,20 @@ public class InParameterFlowPropagator {
       return predecessors;
     }
 
-    ParameterState getState() {
-      return methodState.getParameterState(parameterIndex);
+    int getIndexInStronglyConnectedComponent() {
+      return indexInStronglyConnectedComponent;
     }
 
-    Set<ParameterNode> getSuccessors() {
-      return successors;
+    ParameterState getState() {
+      return methodState.getParameterState(parameterIndex);
     }
 
-    boolean hasSuccessors() {
-      return !successors.isEmpty();
+    StronglyConnectedComponent getStronglyConnectedComponent() {
+      return stronglyConnectedComponent;
     }
 
-    boolean isPending() {
-      return pending;
+    Set<ParameterNode> getSuccessors() {
+      return successors;
     }
 
     ParameterState addState(
@@ -342,18 +525,48 @@ public class InParameterFlowPropagator {
       return newParameterState;
     }
 
-    void setPending() {
-      assert !isPending();
-      pending = true;
-    }
-
     void setState(ParameterState parameterState) {
       methodState.setParameterState(parameterIndex, parameterState);
     }
 
-    void unsetPending() {
-      assert pending;
-      pending = false;
+    void setStronglyConnectedComponent(
+        StronglyConnectedComponent stronglyConnectedComponent, int index) {
+      assert this.stronglyConnectedComponent == null;
+      this.stronglyConnectedComponent = stronglyConnectedComponent;
+      this.indexInStronglyConnectedComponent = index;
+    }
+  }
+
+  static class StronglyConnectedComponent {
+
+    private final List<ParameterNode> nodes;
+    private final boolean isCyclic;
+
+    // The length of the longest path of components that lead to this component.
+    private int level = 0;
+
+    StronglyConnectedComponent(List<ParameterNode> nodes) {
+      this.nodes = nodes;
+      for (int i = 0; i < nodes.size(); i++) {
+        nodes.get(i).setStronglyConnectedComponent(this, i);
+      }
+      this.isCyclic = nodes.size() > 1 || nodes.get(0).getSuccessors().contains(nodes.get(0));
+    }
+
+    int getLevel() {
+      return level;
+    }
+
+    List<ParameterNode> getNodes() {
+      return nodes;
+    }
+
+    boolean isCyclic() {
+      return isCyclic;
+    }
+
+    void setLevelAtLeast(int level) {
+      this.level = Math.max(this.level, level);
     }
   }
 }
@@ -367,10 +367,10 @@ public class BridgeHoisting {
   }
 
   private DexCode createDexCodeForVirtualBridge(DexCode code, DexMethod methodToInvoke) {
-    DexInstruction[] newInstructions = new DexInstruction[code.instructions.length];
+    DexInstruction[] newInstructions = new DexInstruction[code.getInstructions().length];
     boolean modified = false;
-    for (int i = 0; i < code.instructions.length; i++) {
-      DexInstruction instruction = code.instructions[i];
+    for (int i = 0; i < code.getInstructions().length; i++) {
+      DexInstruction instruction = code.getInstructions()[i];
       if (instruction.isInvokeVirtual()
           && instruction.asInvokeVirtual().getMethod() != methodToInvoke) {
         DexInvokeVirtual invoke = instruction.asInvokeVirtual();
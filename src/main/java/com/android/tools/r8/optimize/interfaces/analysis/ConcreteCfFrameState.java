@@ -10,8 +10,6 @@ import static com.android.tools.r8.optimize.interfaces.analysis.ErroneousCfFrame
 import com.android.tools.r8.cf.code.CfAssignability;
 import com.android.tools.r8.cf.code.CfAssignability.AssignabilityResult;
 import com.android.tools.r8.cf.code.CfFrame;
-import com.android.tools.r8.cf.code.CfFrame.Builder;
-import com.android.tools.r8.cf.code.CfFrameUtils;
 import com.android.tools.r8.cf.code.frame.FrameType;
 import com.android.tools.r8.cf.code.frame.PreciseFrameType;
 import com.android.tools.r8.cf.code.frame.SingleFrameType;
@@ -27,15 +25,10 @@ import com.android.tools.r8.ir.code.ValueType;
 import com.android.tools.r8.utils.BooleanUtils;
 import com.android.tools.r8.utils.FunctionUtils;
 import com.android.tools.r8.utils.InternalOptions;
-import com.google.common.collect.Iterables;
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap.Entry;
 import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
-import it.unimi.dsi.fastutil.objects.ObjectBidirectionalIterator;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.Iterator;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -43,25 +36,81 @@ import java.util.function.UnaryOperator;
 
 public class ConcreteCfFrameState extends CfFrameState {
 
-  private final Int2ObjectAVLTreeMap<FrameType> locals;
-  private final ArrayDeque<PreciseFrameType> stack;
+  private static final FrameType[] EMPTY_LOCALS = new FrameType[0];
+  private static final PreciseFrameType[] EMPTY_STACK = new PreciseFrameType[0];
+
+  // The locals indexed by their local index, where absent locals are null. Only the first
+  // localsSize elements are in use. The array is shared with the clones of this state until it is
+  // written, since the locals of a method are often not changed between its frames.
+  private FrameType[] locals;
+  private int localsSize;
+  private boolean isLocalsShared;
+
+  // The stack from bottom to top. Only the first stackSize elements are in use, and as for the
+  // locals, the array is shared with the clones of this state until it is written.
+  private PreciseFrameType[] stack;
+  private int stackSize;
+  private boolean isStackShared;
+
   private int stackHeight;
 
   public ConcreteCfFrameState() {
-    this(new Int2ObjectAVLTreeMap<>(), new ArrayDeque<>(), 0);
+    this(EMPTY_LOCALS, 0, EMPTY_STACK, 0, 0);
   }
 
-  public ConcreteCfFrameState(
-      Int2ObjectAVLTreeMap<FrameType> locals, ArrayDeque<PreciseFrameType> stack, int stackHeight) {
-    assert CfFrameUtils.verifyLocals(locals);
+  private ConcreteCfFrameState(
+      FrameType[] locals,
+      int localsSize,
+      PreciseFrameType[] stack,
+      int stackSize,
+      int stackHeight) {
+    assert verifyLocals(locals, localsSize);
     this.locals = locals;
+    this.localsSize = localsSize;
     this.stack = stack;
+    this.stackSize = stackSize;
     this.stackHeight = stackHeight;
   }
 
+  public static ConcreteCfFrameState fromFrame(CfFrame frame, int stackHeight) {
+    Int2ObjectSortedMap<FrameType> frameLocals = frame.getLocals();
+    int localsSize = frameLocals.isEmpty() ? 0 : frameLocals.lastIntKey() + 1;
+    FrameType[] locals = localsSize == 0 ? EMPTY_LOCALS : new FrameType[localsSize];
+    frame.forEachLocal((localIndex, frameType) -> locals[localIndex] = frameType);
+    Deque<PreciseFrameType> frameStack = frame.getStack();
+    PreciseFrameType[] stack =
+        frameStack.isEmpty() ? EMPTY_STACK : frameStack.toArray(EMPTY_STACK);
+    return new ConcreteCfFrameState(locals, localsSize, stack, stack.length, stackHeight);
+  }
+
+  private static boolean verifyLocals(FrameType[] locals, int localsSize) {
+    assert localsSize == 0 || locals[localsSize - 1] != null;
+    for (int localIndex = 0; localIndex < locals.length; localIndex++) {
+      FrameType frameType = locals[localIndex];
+      if (frameType == null) {
+        continue;
+      }
+      assert localIndex < localsSize;
+      if (frameType.isWidePrimitiveLow()) {
+        assert locals[localIndex + 1] == frameType.asWidePrimitive().getHighType();
+      } else if (frameType.isWidePrimitiveHigh()) {
+        assert locals[localIndex - 1] == frameType.asWidePrimitive().getLowType();
+      } else {
+        assert !frameType.isTwoWord();
+      }
+    }
+    return true;
+  }
+
   @Override
   public CfFrameState clone() {
-    return new ConcreteCfFrameState(locals.clone(), stack.clone(), stackHeight);
+    isLocalsShared = true;
+    isStackShared = true;
+    ConcreteCfFrameState clone =
+        new ConcreteCfFrameState(locals, localsSize, stack, stackSize, stackHeight);
+    clone.isLocalsShared = true;
+    clone.isStackShared = true;
+    return clone;
   }
 
   @Override
@@ -76,24 +125,25 @@ public class ConcreteCfFrameState extends CfFrameState {
 
   @Override
   public CfFrameState check(CfAnalysisConfig config, CfFrame frame) {
-    CfFrame currentFrame = CfFrame.builder().setLocals(locals).setStack(stack).build();
+    CfAssignability assignability = config.getAssignability();
     AssignabilityResult assignabilityResult =
-        config.getAssignability().isFrameAssignable(currentFrame, frame);
+        assignability.isLocalsAssignable(locals, localsSize, frame.getLocals());
+    if (assignabilityResult.isSuccessful()) {
+      assignabilityResult = assignability.isStackAssignable(stack, stackSize, frame.getStack());
+    }
     if (assignabilityResult.isFailed()) {
       return error(assignabilityResult.asFailed().getMessage());
     }
     if (config.isStrengthenFramesEnabled()) {
       return this;
     }
-    CfFrame frameCopy = frame.mutableCopy();
-    return new ConcreteCfFrameState(
-        frameCopy.getMutableLocals(), frameCopy.getMutableStack(), stackHeight);
+    return fromFrame(frame, stackHeight);
   }
 
   @Override
   public CfFrameState checkLocals(CfAnalysisConfig config, CfFrame frame) {
     AssignabilityResult assignabilityResult =
-        config.getAssignability().isLocalsAssignable(locals, frame.getLocals());
+        config.getAssignability().isLocalsAssignable(locals, localsSize, frame.getLocals());
     if (assignabilityResult.isFailed()) {
       return error(assignabilityResult.asFailed().getMessage());
     }
@@ -103,13 +153,33 @@ public class ConcreteCfFrameState extends CfFrameState {
   @Override
   public CfFrameState checkStack(CfAnalysisConfig config, CfFrame frame) {
     AssignabilityResult assignabilityResult =
-        config.getAssignability().isStackAssignable(stack, frame.getStack());
+        config.getAssignability().isStackAssignable(stack, stackSize, frame.getStack());
     if (assignabilityResult.isFailed()) {
       return error(assignabilityResult.asFailed().getMessage());
     }
     return this;
   }
 
+  private void ensureLocalsWritable(int minCapacity) {
+    if (locals.length < minCapacity) {
+      locals = Arrays.copyOf(locals, Math.max(minCapacity, locals.length * 2));
+      isLocalsShared = false;
+    } else if (isLocalsShared) {
+      locals = locals.clone();
+      isLocalsShared = false;
+    }
+  }
+
+  private void ensureStackWritable(int minCapacity) {
+    if (stack.length < minCapacity) {
+      stack = Arrays.copyOf(stack, Math.max(minCapacity, stack.length * 2));
+      isStackShared = false;
+    } else if (isStackShared) {
+      stack = stack.clone();
+      isStackShared = false;
+    }
+  }
+
   @Override
   public CfFrameState clear() {
     return bottom();
@@ -121,30 +191,30 @@ public class ConcreteCfFrameState extends CfFrameState {
     if (uninitializedType.isInitialized()) {
       return error("Unexpected attempt to initialize already initialized type");
     }
-    for (Int2ObjectMap.Entry<FrameType> entry : locals.int2ObjectEntrySet()) {
-      FrameType frameType = entry.getValue();
-      if (frameType.isUninitialized()) {
-        entry.setValue(
+    for (int localIndex = 0; localIndex < localsSize; localIndex++) {
+      FrameType frameType = locals[localIndex];
+      if (frameType != null && frameType.isUninitialized()) {
+        ensureLocalsWritable(localsSize);
+        locals[localIndex] =
             getInitializedFrameType(
-                uninitializedType, frameType.asUninitialized(), initializedType));
+                uninitializedType, frameType.asUninitialized(), initializedType);
       }
     }
-    // TODO(b/214496607): By using a collection that supports element replacement this could mutate
-    //  the existing stack instead of building a new one.
-    ArrayDeque<PreciseFrameType> newStack = new ArrayDeque<>();
-    for (PreciseFrameType frameType : stack) {
-      newStack.addLast(
-          frameType.isUninitialized()
-              ? getInitializedFrameType(
-                  uninitializedType, frameType.asUninitialized(), initializedType)
-              : frameType);
+    for (int stackIndex = 0; stackIndex < stackSize; stackIndex++) {
+      PreciseFrameType frameType = stack[stackIndex];
+      if (frameType.isUninitialized()) {
+        ensureStackWritable(stackSize);
+        stack[stackIndex] =
+            getInitializedFrameType(
+                uninitializedType, frameType.asUninitialized(), initializedType);
+      }
     }
-    return new ConcreteCfFrameState(locals, newStack, stackHeight);
+    return this;
   }
 
   public void peekStackElement(Consumer<PreciseFrameType> consumer, InternalOptions options) {
-    if (!stack.isEmpty()) {
-      consumer.accept(stack.peekLast());
+    if (stackSize > 0) {
+      consumer.accept(stack[stackSize - 1]);
     } else {
       assert options.getTestingOptions().allowTypeErrors;
     }
@@ -152,12 +222,10 @@ public class ConcreteCfFrameState extends CfFrameState {
 
   public void peekStackElements(
       int number, Consumer<Deque<PreciseFrameType>> consumer, InternalOptions options) {
-    if (stack.size() >= number) {
+    if (stackSize >= number) {
       Deque<PreciseFrameType> result = new ArrayDeque<>(number);
-      Iterator<PreciseFrameType> iterator = stack.descendingIterator();
-      while (iterator.hasNext() && number > 0) {
-        result.addFirst(iterator.next());
-        number--;
+      for (int stackIndex = stackSize - number; stackIndex < stackSize; stackIndex++) {
+        result.addLast(stack[stackIndex]);
       }
       consumer.accept(result);
     } else {
@@ -172,10 +240,11 @@ public class ConcreteCfFrameState extends CfFrameState {
 
   @Override
   public CfFrameState pop(BiFunction<CfFrameState, PreciseFrameType, CfFrameState> fn) {
-    if (stack.isEmpty()) {
+    if (stackSize == 0) {
       return error("Unexpected pop from empty stack");
     }
-    PreciseFrameType frameType = stack.removeLast();
+    // Popping does not write the stack, thus it does not require a copy if the stack is shared.
+    PreciseFrameType frameType = stack[--stackSize];
     stackHeight -= frameType.getWidth();
     return fn.apply(this, frameType);
   }
@@ -296,7 +365,8 @@ public class ConcreteCfFrameState extends CfFrameState {
     if (newStackHeight > config.getMaxStack()) {
       return pushError(config, frameType);
     }
-    stack.addLast(frameType);
+    ensureStackWritable(stackSize + 1);
+    stack[stackSize++] = frameType;
     stackHeight = newStackHeight;
     return this;
   }
@@ -313,11 +383,10 @@ public class ConcreteCfFrameState extends CfFrameState {
 
   @Override
   public CfFrameState pushException(CfAnalysisConfig config, DexType guard) {
-    Int2ObjectAVLTreeMap<FrameType> newLocals = new Int2ObjectAVLTreeMap<>(locals);
-    ArrayDeque<PreciseFrameType> newStack = new ArrayDeque<>();
-    int newStackHeight = 0;
-    return new ConcreteCfFrameState(newLocals, newStack, newStackHeight)
-        .push(config, FrameType.initializedNonNullReference(guard));
+    isLocalsShared = true;
+    ConcreteCfFrameState state = new ConcreteCfFrameState(locals, localsSize, EMPTY_STACK, 0, 0);
+    state.isLocalsShared = true;
+    return state.push(config, FrameType.initializedNonNullReference(guard));
   }
 
   @Override
@@ -327,7 +396,7 @@ public class ConcreteCfFrameState extends CfFrameState {
       int localIndex,
       ValueType expectedType,
       BiFunction<CfFrameState, FrameType, CfFrameState> fn) {
-    FrameType frameType = locals.get(localIndex);
+    FrameType frameType = localIndex < localsSize ? locals[localIndex] : null;
     if (frameType == null) {
       return error("Unexpected read of missing local at index " + localIndex);
     }
@@ -349,10 +418,53 @@ public class ConcreteCfFrameState extends CfFrameState {
     if (maxLocalIndex >= config.getMaxLocals()) {
       return storeLocalError(localIndex, frameType, config);
     }
-    CfFrameUtils.storeLocal(localIndex, frameType, locals);
+    internalStoreLocal(localIndex, frameType);
     return this;
   }
 
+  // Stores the local as CfFrameUtils#storeLocal, such that a partially overwritten wide local is
+  // replaced by top.
+  private void internalStoreLocal(int localIndex, FrameType frameType) {
+    assert !frameType.isTwoWord();
+    ensureLocalsWritable(localIndex + frameType.getWidth());
+    // Write low register.
+    FrameType previousType = setLocal(localIndex, frameType);
+    // Set low register -1 to top if it is the start of a wide primitive.
+    if (previousType != null && previousType.isWidePrimitiveHigh()) {
+      FrameType previousLowType = setLocal(localIndex - 1, FrameType.oneWord());
+      assert previousLowType == previousType.asWidePrimitive().getLowType();
+    }
+    // Write high register.
+    if (frameType.isWidePrimitive()) {
+      assert frameType.isWidePrimitiveLow();
+      previousType = setLocal(localIndex + 1, frameType.asWidePrimitive().getHighType());
+    }
+    // Set high register + 1 to top if it is the end of a wide primitive.
+    if (previousType != null && previousType.isWidePrimitiveLow()) {
+      FrameType previousHighType = setLocal(localIndex + frameType.getWidth(), FrameType.oneWord());
+      assert previousHighType == previousType.asWidePrimitive().getHighType();
+    }
+  }
+
+  private FrameType setLocal(int localIndex, FrameType frameType) {
+    FrameType previousType = locals[localIndex];
+    locals[localIndex] = frameType;
+    localsSize = Math.max(localsSize, localIndex + 1);
+    return previousType;
+  }
+
+  private boolean hasLocal(int localIndex) {
+    return localIndex < localsSize && locals[localIndex] != null;
+  }
+
+  private int nextLocalIndex(int fromIndex) {
+    int localIndex = fromIndex;
+    while (localIndex < localsSize && locals[localIndex] == null) {
+      localIndex++;
+    }
+    return localIndex;
+  }
+
   private ErroneousCfFrameState storeLocalError(
       int localIndex, FrameType frameType, CfAnalysisConfig config) {
     StringBuilder message =
@@ -372,83 +484,68 @@ public class ConcreteCfFrameState extends CfFrameState {
       AppView<? extends AppInfoWithClassHierarchy> appView,
       ConcreteCfFrameState state,
       UnaryOperator<FrameType> joinWithMissingLocal) {
-    CfFrame.Builder builder = CfFrame.builder();
-    joinLocals(appView, state.locals, builder, joinWithMissingLocal);
-    ErroneousCfFrameState error = joinStack(appView, state.stack, builder);
+    ConcreteCfFrameState result =
+        new ConcreteCfFrameState(
+            new FrameType[Math.max(localsSize, state.localsSize)], 0, EMPTY_STACK, 0, stackHeight);
+    joinLocals(appView, state, result, joinWithMissingLocal);
+    ErroneousCfFrameState error = joinStack(appView, state, result);
     if (error != null) {
       return error;
     }
-    CfFrame frame = builder.buildMutable();
-    return new ConcreteCfFrameState(frame.getMutableLocals(), frame.getMutableStack(), stackHeight);
+    return result;
   }
 
+  // Joins the locals by visiting the present locals of the two states in the order of their local
+  // index, as if iterating the entries of two sorted maps.
   private void joinLocals(
       AppView<? extends AppInfoWithClassHierarchy> appView,
-      Int2ObjectSortedMap<FrameType> locals,
-      Builder builder,
+      ConcreteCfFrameState state,
+      ConcreteCfFrameState result,
       UnaryOperator<FrameType> joinWithMissingLocal) {
-    ObjectBidirectionalIterator<Entry<FrameType>> iterator =
-        this.locals.int2ObjectEntrySet().iterator();
-    ObjectBidirectionalIterator<Entry<FrameType>> otherIterator =
-        locals.int2ObjectEntrySet().iterator();
-    while (iterator.hasNext() && otherIterator.hasNext()) {
-      Entry<FrameType> entry = iterator.next();
-      int localIndex = entry.getIntKey();
-      FrameType frameType = entry.getValue();
-
-      Entry<FrameType> otherEntry = otherIterator.next();
-      int otherLocalIndex = otherEntry.getIntKey();
-      FrameType otherFrameType = otherEntry.getValue();
-
+    int localIndex = nextLocalIndex(0);
+    int otherLocalIndex = state.nextLocalIndex(0);
+    while (localIndex < localsSize && otherLocalIndex < state.localsSize) {
       if (localIndex < otherLocalIndex) {
-        joinLocalsWithDifferentIndices(localIndex, otherLocalIndex, otherIterator, builder);
+        setSingleLocalToTop(localIndex, result);
+        localIndex = nextLocalIndex(localIndex + 1);
       } else if (otherLocalIndex < localIndex) {
-        joinLocalsWithDifferentIndices(otherLocalIndex, localIndex, iterator, builder);
+        setSingleLocalToTop(otherLocalIndex, result);
+        otherLocalIndex = state.nextLocalIndex(otherLocalIndex + 1);
       } else {
-        joinLocalsWithSameIndex(
-            localIndex, frameType, otherFrameType, iterator, otherIterator, appView, builder);
+        int width =
+            joinLocalsWithSameIndex(
+                localIndex, locals[localIndex], state.locals[localIndex], appView, result);
+        localIndex = nextLocalIndex(localIndex + width);
+        otherLocalIndex = state.nextLocalIndex(otherLocalIndex + width);
       }
     }
-    joinLocalsOnlyPresentInOne(iterator, builder, joinWithMissingLocal);
-    joinLocalsOnlyPresentInOne(otherIterator, builder, joinWithMissingLocal);
+    joinLocalsOnlyPresentInOne(localIndex, result, joinWithMissingLocal);
+    state.joinLocalsOnlyPresentInOne(otherLocalIndex, result, joinWithMissingLocal);
   }
 
-  private void joinLocalsWithDifferentIndices(
-      int localIndex,
-      int otherLocalIndex,
-      ObjectBidirectionalIterator<Entry<FrameType>> otherIterator,
-      CfFrame.Builder builder) {
-    assert localIndex < otherLocalIndex;
-    setSingleLocalToTop(localIndex, builder);
-    otherIterator.previous();
-  }
-
-  private void joinLocalsWithSameIndex(
+  // Returns the number of locals that have been joined, which is two if the locals at the given
+  // index are the low halves of two wide locals, and one otherwise.
+  private int joinLocalsWithSameIndex(
       int localIndex,
       FrameType frameType,
       FrameType otherFrameType,
-      ObjectBidirectionalIterator<Entry<FrameType>> iterator,
-      ObjectBidirectionalIterator<Entry<FrameType>> otherIterator,
       AppView<? extends AppInfoWithClassHierarchy> appView,
-      CfFrame.Builder builder) {
+      ConcreteCfFrameState result) {
     if (frameType.isSingle()) {
       if (otherFrameType.isSingle()) {
         joinSingleLocalsWithSameIndex(
-            localIndex, frameType.asSingle(), otherFrameType.asSingle(), appView, builder);
+            localIndex, frameType.asSingle(), otherFrameType.asSingle(), appView, result);
       } else {
-        joinSingleAndWideLocalsWithSameIndex(localIndex, builder);
+        joinSingleAndWideLocalsWithSameIndex(localIndex, result);
       }
+      return 1;
     } else {
       if (otherFrameType.isWide()) {
-        joinWideLocalsWithSameIndex(
-            localIndex,
-            frameType.asWidePrimitive(),
-            otherFrameType.asWidePrimitive(),
-            iterator,
-            otherIterator,
-            builder);
+        return joinWideLocalsWithSameIndex(
+            localIndex, frameType.asWidePrimitive(), otherFrameType.asWidePrimitive(), result);
       } else {
-        joinSingleAndWideLocalsWithSameIndex(localIndex, builder);
+        joinSingleAndWideLocalsWithSameIndex(localIndex, result);
+        return 1;
       }
     }
   }
@@ -458,115 +555,104 @@ public class ConcreteCfFrameState extends CfFrameState {
       SingleFrameType frameType,
       SingleFrameType otherFrameType,
       AppView<? extends AppInfoWithClassHierarchy> appView,
-      CfFrame.Builder builder) {
-    builder.store(localIndex, frameType.join(appView, otherFrameType));
+      ConcreteCfFrameState result) {
+    result.internalStoreLocal(localIndex, frameType.join(appView, otherFrameType));
   }
 
-  private void joinSingleAndWideLocalsWithSameIndex(int localIndex, CfFrame.Builder builder) {
-    setSingleLocalToTop(localIndex, builder);
+  private void joinSingleAndWideLocalsWithSameIndex(
+      int localIndex, ConcreteCfFrameState result) {
+    setSingleLocalToTop(localIndex, result);
   }
 
-  private void joinWideLocalsWithSameIndex(
+  private int joinWideLocalsWithSameIndex(
       int localIndex,
       WidePrimitiveFrameType frameType,
       WidePrimitiveFrameType otherFrameType,
-      ObjectBidirectionalIterator<Entry<FrameType>> iterator,
-      ObjectBidirectionalIterator<Entry<FrameType>> otherIterator,
-      CfFrame.Builder builder) {
+      ConcreteCfFrameState result) {
     if (frameType.isWidePrimitiveLow() != otherFrameType.isWidePrimitiveLow()) {
-      setSingleLocalToTop(localIndex, builder);
-      return;
+      setSingleLocalToTop(localIndex, result);
+      return 1;
     }
     if (frameType == otherFrameType) {
-      builder.store(localIndex, frameType);
+      result.internalStoreLocal(localIndex, frameType);
     } else {
-      setWideLocalToTop(localIndex, builder);
+      setWideLocalToTop(localIndex, result);
     }
-    acceptWidePrimitiveHigh(localIndex, frameType, iterator);
-    acceptWidePrimitiveHigh(localIndex, otherFrameType, otherIterator);
+    assert verifyWidePrimitiveHigh(localIndex, frameType);
+    assert verifyWidePrimitiveHigh(localIndex, otherFrameType);
+    return 2;
   }
 
-  private void acceptWidePrimitiveHigh(
-      int localIndex,
-      WidePrimitiveFrameType frameType,
-      ObjectBidirectionalIterator<Entry<FrameType>> iterator) {
-    assert iterator.hasNext();
-    Entry<FrameType> entry = iterator.next();
-    int nextLocalIndex = entry.getIntKey();
-    assert nextLocalIndex == localIndex + 1;
-    FrameType nextFrameType = entry.getValue();
-    assert nextFrameType == frameType.getHighType();
+  private boolean verifyWidePrimitiveHigh(int localIndex, WidePrimitiveFrameType frameType) {
+    assert frameType.isWidePrimitiveLow();
+    assert hasLocal(localIndex + 1);
+    assert locals[localIndex + 1] == frameType.getHighType();
+    return true;
   }
 
   private void joinLocalsOnlyPresentInOne(
-      ObjectBidirectionalIterator<Entry<FrameType>> iterator,
-      CfFrame.Builder builder,
-      UnaryOperator<FrameType> joinWithMissingLocal) {
-    if (!iterator.hasNext()) {
+      int fromIndex, ConcreteCfFrameState result, UnaryOperator<FrameType> joinWithMissingLocal) {
+    if (fromIndex >= localsSize) {
       return;
     }
-    Entry<FrameType> firstEntry = iterator.next();
-    if (firstEntry.getValue().isWidePrimitiveHigh()) {
-      setSingleLocalToTop(firstEntry.getIntKey(), builder);
-    } else {
-      joinLocalOnlyPresentInOne(iterator, firstEntry, builder, joinWithMissingLocal);
+    int localIndex = fromIndex;
+    if (locals[localIndex].isWidePrimitiveHigh()) {
+      setSingleLocalToTop(localIndex, result);
+      localIndex = nextLocalIndex(localIndex + 1);
     }
-    while (iterator.hasNext()) {
-      Entry<FrameType> entry = iterator.next();
-      joinLocalOnlyPresentInOne(iterator, entry, builder, joinWithMissingLocal);
+    while (localIndex < localsSize) {
+      FrameType frameType = locals[localIndex];
+      joinLocalOnlyPresentInOne(localIndex, frameType, result, joinWithMissingLocal);
+      localIndex = nextLocalIndex(localIndex + frameType.getWidth());
     }
   }
 
   private void joinLocalOnlyPresentInOne(
-      ObjectBidirectionalIterator<Entry<FrameType>> iterator,
-      Entry<FrameType> entry,
-      CfFrame.Builder builder,
+      int localIndex,
+      FrameType frameType,
+      ConcreteCfFrameState result,
       UnaryOperator<FrameType> joinWithMissingLocal) {
-    int localIndex = entry.getIntKey();
-    FrameType frameType = entry.getValue();
     assert !frameType.isWidePrimitiveHigh();
-    if (frameType.isWidePrimitiveLow()) {
-      acceptWidePrimitiveHigh(localIndex, frameType.asWidePrimitive(), iterator);
-    }
+    assert !frameType.isWidePrimitiveLow()
+        || verifyWidePrimitiveHigh(localIndex, frameType.asWidePrimitive());
     FrameType joinFrameType = joinWithMissingLocal.apply(frameType);
     assert joinFrameType.isSingle() == frameType.isSingle();
     if (joinFrameType.isOneWord() || joinFrameType.isTwoWord()) {
-      setLocalToTop(localIndex, joinFrameType, builder);
+      setLocalToTop(localIndex, joinFrameType, result);
     } else {
-      builder.store(localIndex, joinFrameType);
+      result.internalStoreLocal(localIndex, joinFrameType);
     }
   }
 
-  private void setLocalToTop(int localIndex, FrameType frameType, CfFrame.Builder builder) {
+  private void setLocalToTop(int localIndex, FrameType frameType, ConcreteCfFrameState result) {
     if (frameType.isSingle()) {
-      setSingleLocalToTop(localIndex, builder);
+      setSingleLocalToTop(localIndex, result);
     } else {
-      setWideLocalToTop(localIndex, builder);
+      setWideLocalToTop(localIndex, result);
     }
   }
 
-  private void setSingleLocalToTop(int localIndex, CfFrame.Builder builder) {
-    assert !builder.hasLocal(localIndex);
-    builder.store(localIndex, FrameType.oneWord());
+  private void setSingleLocalToTop(int localIndex, ConcreteCfFrameState result) {
+    assert !result.hasLocal(localIndex);
+    result.internalStoreLocal(localIndex, FrameType.oneWord());
   }
 
-  private void setWideLocalToTop(int localIndex, CfFrame.Builder builder) {
-    assert !builder.hasLocal(localIndex);
-    assert !builder.hasLocal(localIndex + 1);
-    setSingleLocalToTop(localIndex, builder);
-    setSingleLocalToTop(localIndex + 1, builder);
+  private void setWideLocalToTop(int localIndex, ConcreteCfFrameState result) {
+    assert !result.hasLocal(localIndex);
+    assert !result.hasLocal(localIndex + 1);
+    setSingleLocalToTop(localIndex, result);
+    setSingleLocalToTop(localIndex + 1, result);
   }
 
   private ErroneousCfFrameState joinStack(
       AppView<? extends AppInfoWithClassHierarchy> appView,
-      Deque<PreciseFrameType> stack,
-      CfFrame.Builder builder) {
-    Iterator<PreciseFrameType> iterator = this.stack.iterator();
-    Iterator<PreciseFrameType> otherIterator = stack.iterator();
-    int stackIndex = 0;
-    while (iterator.hasNext() && otherIterator.hasNext()) {
-      PreciseFrameType frameType = iterator.next();
-      PreciseFrameType otherFrameType = otherIterator.next();
+      ConcreteCfFrameState state,
+      ConcreteCfFrameState result) {
+    int joinSize = Math.min(stackSize, state.stackSize);
+    PreciseFrameType[] joinStack = joinSize == 0 ? EMPTY_STACK : new PreciseFrameType[joinSize];
+    for (int stackIndex = 0; stackIndex < joinSize; stackIndex++) {
+      PreciseFrameType frameType = stack[stackIndex];
+      PreciseFrameType otherFrameType = state.stack[stackIndex];
       if (frameType.isSingle() != otherFrameType.isSingle()) {
         return error(
             "Cannot join stacks, expected frame types at stack index "
@@ -592,12 +678,13 @@ public class ConcreteCfFrameState extends CfFrameState {
         assert join.isPrecise();
         preciseJoin = join.asPrecise();
       }
-      builder.push(preciseJoin);
-      stackIndex++;
+      joinStack[stackIndex] = preciseJoin;
     }
-    if (iterator.hasNext() || otherIterator.hasNext()) {
+    if (stackSize != state.stackSize) {
       return error("Cannot join stacks of different size");
     }
+    result.stack = joinStack;
+    result.stackSize = joinSize;
     return null;
   }
 
@@ -622,11 +709,31 @@ public class ConcreteCfFrameState extends CfFrameState {
       return false;
     }
     ConcreteCfFrameState that = (ConcreteCfFrameState) o;
-    return locals.equals(that.locals) && Iterables.elementsEqual(stack, that.stack);
+    if (localsSize != that.localsSize || stackSize != that.stackSize) {
+      return false;
+    }
+    for (int localIndex = 0; localIndex < localsSize; localIndex++) {
+      if (!Objects.equals(locals[localIndex], that.locals[localIndex])) {
+        return false;
+      }
+    }
+    for (int stackIndex = 0; stackIndex < stackSize; stackIndex++) {
+      if (!stack[stackIndex].equals(that.stack[stackIndex])) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(locals, stack);
+    int hash = 1;
+    for (int localIndex = 0; localIndex < localsSize; localIndex++) {
+      hash = 31 * hash + Objects.hashCode(locals[localIndex]);
+    }
+    for (int stackIndex = 0; stackIndex < stackSize; stackIndex++) {
+      hash = 31 * hash + stack[stackIndex].hashCode();
+    }
+    return hash;
   }
 }
@@ -4,8 +4,6 @@
 
 package com.android.tools.r8.profile.art;
 
-import static com.android.tools.r8.utils.MapUtils.ignoreKey;
-
 import com.android.tools.r8.TextInputStream;
 import com.android.tools.r8.TextOutputStream;
 import com.android.tools.r8.graph.DexItemFactory;
@@ -22,10 +20,10 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -33,93 +31,100 @@ public class ArtProfile {
 
   private final List<ArtProfileRule> rules;
 
-  ArtProfile(List<ArtProfileRule> rules) {
+  // Whether the rules are known to contain no duplicates. This is false for profiles that are
+  // built from the input, which may contain the same rule more than once.
+  private final boolean isDeduplicated;
+
+  ArtProfile(List<ArtProfileRule> rules, boolean isDeduplicated) {
     assert !rules.isEmpty();
     this.rules = rules;
+    this.isDeduplicated = isDeduplicated;
   }
 
   public static Builder builder(ArtProfileProvider artProfileProvider, InternalOptions options) {
     return new Builder(artProfileProvider, options);
   }
 
+  public void forEachRule(
+      Consumer<ArtProfileClassRule> classRuleConsumer,
+      Consumer<ArtProfileMethodRule> methodRuleConsumer) {
+    for (ArtProfileRule rule : rules) {
+      rule.accept(classRuleConsumer, methodRuleConsumer);
+    }
+  }
+
   public ArtProfile rewrittenWithLens(GraphLens lens) {
-    return transform(
-        (classRule, builderFactory) -> builderFactory.accept(lens.lookupType(classRule.getType())),
-        (methodRule, builderFactory) ->
-            builderFactory
-                .apply(lens.getRenamedMethodSignature(methodRule.getMethod()))
-                .acceptMethodRuleInfoBuilder(
-                    methodRuleInfoBuilder ->
-                        methodRuleInfoBuilder.merge(methodRule.getMethodRuleInfo())));
+    return transform(lens::lookupType, lens::getRenamedMethodSignature);
   }
 
   public ArtProfile rewrittenWithLens(NamingLens lens, DexItemFactory dexItemFactory) {
     assert !lens.isIdentityLens();
     return transform(
-        (classRule, builderFactory) ->
-            builderFactory.accept(lens.lookupType(classRule.getType(), dexItemFactory)),
-        (methodRule, builderFactory) ->
-            builderFactory
-                .apply(lens.lookupMethod(methodRule.getMethod(), dexItemFactory))
-                .acceptMethodRuleInfoBuilder(
-                    methodRuleInfoBuilder ->
-                        methodRuleInfoBuilder.merge(methodRule.getMethodRuleInfo())));
+        type -> lens.lookupType(type, dexItemFactory),
+        method -> lens.lookupMethod(method, dexItemFactory));
   }
 
   public ArtProfile withoutPrunedItems(PrunedItems prunedItems) {
     return transform(
-        (classRule, builderFactory) -> {
-          if (!prunedItems.isRemoved(classRule.getType())) {
-            builderFactory.accept(classRule.getType());
-          }
-        },
-        (methodRule, builderFactory) -> {
-          if (!prunedItems.isRemoved(methodRule.getMethod())) {
-            builderFactory
-                .apply(methodRule.getMethod())
-                .acceptMethodRuleInfoBuilder(
-                    methodRuleInfoBuilder ->
-                        methodRuleInfoBuilder.merge(methodRule.getMethodRuleInfo()));
-          }
-        });
+        type -> prunedItems.isRemoved(type) ? null : type,
+        method -> prunedItems.isRemoved(method) ? null : method);
   }
 
+  /**
+   * Rewrites the references of the rules using the given functions, where a null result means that
+   * the rule is removed. The rewritten profile is deduplicated. Rules that are unaffected are
+   * reused, and the profile itself is reused if no rules are affected and it is already
+   * deduplicated, which is the common case for lenses that only affect a few classes.
+   */
   private ArtProfile transform(
-      BiConsumer<ArtProfileClassRule, Consumer<DexType>> classTransformation,
-      BiConsumer<ArtProfileMethodRule, Function<DexMethod, ArtProfileMethodRule.Builder>>
-          methodTransformation) {
-    Map<DexReference, ArtProfileRule.Builder> ruleBuilders = new LinkedHashMap<>();
+      Function<DexType, DexType> classTransformation,
+      Function<DexMethod, DexMethod> methodTransformation) {
+    ArtProfileRule[] newRules = new ArtProfileRule[rules.size()];
+    boolean changed = false;
+    for (int i = 0; i < newRules.length; i++) {
+      ArtProfileRule rule = rules.get(i);
+      ArtProfileRule newRule;
+      if (rule.isClassRule()) {
+        ArtProfileClassRule classRule = rule.asClassRule();
+        DexType newType = classTransformation.apply(classRule.getType());
+        newRule = newType != null ? classRule.withType(newType) : null;
+      } else {
+        assert rule.isMethodRule();
+        ArtProfileMethodRule methodRule = rule.asMethodRule();
+        DexMethod newMethod = methodTransformation.apply(methodRule.getMethod());
+        newRule = newMethod != null ? methodRule.withMethod(newMethod) : null;
+      }
+      newRules[i] = newRule;
+      changed |= newRule != rule;
+    }
+    if (!changed && isDeduplicated) {
+      return this;
+    }
+    return new ArtProfile(deduplicate(Arrays.asList(newRules)), true);
+  }
+
+  /**
+   * Removes null and duplicate rules. If two rules have the same reference, they are merged into a
+   * single rule (with their flags merged).
+   */
+  private static List<ArtProfileRule> deduplicate(List<ArtProfileRule> rules) {
+    Map<DexReference, ArtProfileRule> newRules = new LinkedHashMap<>();
     for (ArtProfileRule rule : rules) {
+      if (rule == null) {
+        continue;
+      }
       if (rule.isClassRule()) {
-        // Supply a factory method for creating a builder. If the current rule should be included in
-        // the rewritten profile, the caller should call the provided builder factory method to
-        // create a class rule builder. If two rules are mapped to the same reference, the same rule
-        // builder is reused so that the two rules are merged into a single rule (with their flags
-        // merged).
-        classTransformation.accept(
-            rule.asClassRule(),
-            newType ->
-                ruleBuilders
-                    .computeIfAbsent(
-                        newType, ignoreKey(() -> ArtProfileClassRule.builder().setType(newType)))
-                    .asClassRuleBuilder());
+        newRules.putIfAbsent(rule.asClassRule().getType(), rule);
       } else {
-        // As above.
         assert rule.isMethodRule();
-        methodTransformation.accept(
-            rule.asMethodRule(),
-            newMethod ->
-                ruleBuilders
-                    .computeIfAbsent(
-                        newMethod,
-                        ignoreKey(() -> ArtProfileMethodRule.builder().setMethod(newMethod)))
-                    .asMethodRuleBuilder());
+        ArtProfileMethodRule methodRule = rule.asMethodRule();
+        newRules.merge(
+            methodRule.getMethod(),
+            methodRule,
+            (existing, ignore) -> existing.asMethodRule().join(methodRule));
       }
     }
-    ImmutableList.Builder<ArtProfileRule> newRules =
-        ImmutableList.builderWithExpectedSize(ruleBuilders.size());
-    ruleBuilders.values().forEach(ruleBuilder -> newRules.add(ruleBuilder.build()));
-    return new ArtProfile(newRules.build());
+    return ImmutableList.copyOf(newRules.values());
   }
 
   public void supplyConsumer(ArtProfileConsumer consumer, Reporter reporter) {
@@ -207,7 +212,8 @@ public class ArtProfile {
     }
 
     public ArtProfile build() {
-      return new ArtProfile(rules);
+      // Duplicate rules in the input are merged when the profile is first rewritten.
+      return new ArtProfile(rules, false);
     }
   }
 }
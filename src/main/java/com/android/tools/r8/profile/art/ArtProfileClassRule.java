@@ -47,6 +47,10 @@ public class ArtProfileClassRule extends ArtProfileRule {
     return type;
   }
 
+  ArtProfileClassRule withType(DexType newType) {
+    return newType == type ? this : new ArtProfileClassRule(newType);
+  }
+
   @Override
   public boolean isClassRule() {
     return true;
@@ -13,6 +13,7 @@ import com.android.tools.r8.utils.InternalOptions;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class ArtProfileCollection {
 
@@ -23,7 +24,9 @@ public abstract class ArtProfileCollection {
     if (artProfilesForRewriting.isEmpty()) {
       return empty();
     }
-    if (artProfileOptions.isPassthrough()) {
+    // The ART profile layout needs the rules of the ART profiles when writing, so these are read
+    // up front even when the profiles would otherwise be passed through.
+    if (artProfileOptions.isPassthrough() && !artProfileOptions.isLayoutOptimizationsEnabled()) {
       return passthrough();
     }
     List<ArtProfile> artProfiles = new ArrayList<>(artProfilesForRewriting.size());
@@ -45,6 +48,11 @@ public abstract class ArtProfileCollection {
     return PassthroughArtProfileCollection.getInstance();
   }
 
+  /** Applies the given consumers to the rules of each ART profile in this collection. */
+  public abstract void forEachRule(
+      Consumer<ArtProfileClassRule> classRuleConsumer,
+      Consumer<ArtProfileMethodRule> methodRuleConsumer);
+
   public abstract ArtProfileCollection rewrittenWithLens(GraphLens lens);
 
   public abstract ArtProfileCollection rewrittenWithLens(
@@ -41,6 +41,16 @@ public class ArtProfileMethodRule extends ArtProfileRule {
     return method;
   }
 
+  ArtProfileMethodRule withMethod(DexMethod newMethod) {
+    return newMethod == method ? this : new ArtProfileMethodRule(newMethod, info);
+  }
+
+  ArtProfileMethodRule join(ArtProfileMethodRule methodRule) {
+    assert method == methodRule.method;
+    ArtProfileMethodRuleInfoImpl newInfo = info.join(methodRule.info);
+    return newInfo == info ? this : new ArtProfileMethodRule(method, newInfo);
+  }
+
   public MethodReference getMethodReference() {
     return method.asMethodReference();
   }
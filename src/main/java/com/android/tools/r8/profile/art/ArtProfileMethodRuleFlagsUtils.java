@@ -10,6 +10,10 @@ public class ArtProfileMethodRuleFlagsUtils {
   private static final int FLAG_STARTUP = 2;
   private static final int FLAG_POST_STARTUP = 4;
 
+  public static int getNumberOfFlagCombinations() {
+    return (FLAG_HOT | FLAG_STARTUP | FLAG_POST_STARTUP) + 1;
+  }
+
   // Getters.
 
   public static boolean isHot(int flags) {
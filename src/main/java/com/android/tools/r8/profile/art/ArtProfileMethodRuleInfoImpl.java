@@ -9,14 +9,32 @@ import java.io.OutputStreamWriter;
 
 public class ArtProfileMethodRuleInfoImpl implements ArtProfileMethodRuleInfo {
 
-  private static final ArtProfileMethodRuleInfoImpl EMPTY = new ArtProfileMethodRuleInfoImpl(0);
+  // The method rule infos are canonicalized, such that the rules of large profiles share the same
+  // few instances.
+  private static final ArtProfileMethodRuleInfoImpl[] INSTANCES = createInstances();
+
+  private static final ArtProfileMethodRuleInfoImpl EMPTY = INSTANCES[0];
 
   private final int flags;
 
-  ArtProfileMethodRuleInfoImpl(int flags) {
+  private ArtProfileMethodRuleInfoImpl(int flags) {
     this.flags = flags;
   }
 
+  private static ArtProfileMethodRuleInfoImpl[] createInstances() {
+    int numberOfFlagCombinations = ArtProfileMethodRuleFlagsUtils.getNumberOfFlagCombinations();
+    ArtProfileMethodRuleInfoImpl[] instances =
+        new ArtProfileMethodRuleInfoImpl[numberOfFlagCombinations];
+    for (int flags = 0; flags < numberOfFlagCombinations; flags++) {
+      instances[flags] = new ArtProfileMethodRuleInfoImpl(flags);
+    }
+    return instances;
+  }
+
+  static ArtProfileMethodRuleInfoImpl create(int flags) {
+    return INSTANCES[flags];
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -29,6 +47,10 @@ public class ArtProfileMethodRuleInfoImpl implements ArtProfileMethodRuleInfo {
     return flags == 0;
   }
 
+  public ArtProfileMethodRuleInfoImpl join(ArtProfileMethodRuleInfoImpl methodRuleInfo) {
+    return create(flags | methodRuleInfo.flags);
+  }
+
   @Override
   public boolean isHot() {
     return ArtProfileMethodRuleFlagsUtils.isHot(flags);
@@ -141,7 +163,7 @@ public class ArtProfileMethodRuleInfoImpl implements ArtProfileMethodRuleInfo {
     }
 
     public ArtProfileMethodRuleInfoImpl build() {
-      return new ArtProfileMethodRuleInfoImpl(flags);
+      return create(flags);
     }
   }
 }
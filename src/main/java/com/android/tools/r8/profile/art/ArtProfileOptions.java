@@ -4,6 +4,8 @@
 
 package com.android.tools.r8.profile.art;
 
+import static com.android.tools.r8.utils.SystemPropertyUtils.parseSystemPropertyForDevelopmentOrDefault;
+
 import java.util.Collection;
 import java.util.Collections;
 
@@ -12,6 +14,23 @@ public class ArtProfileOptions {
   private Collection<ArtProfileForRewriting> artProfilesForRewriting = Collections.emptyList();
   private boolean passthrough;
 
+  /**
+   * When enabled, the code items of the methods in the ART profiles are placed before all other
+   * code items in each dex file, together with the strings, type lists and other data items they
+   * reference. Startup methods come first, then hot methods, then post-startup methods.
+   */
+  private boolean enableLayoutOptimizations =
+      parseSystemPropertyForDevelopmentOrDefault("com.android.tools.r8.artprofile.layout", false);
+
+  /**
+   * When enabled together with {@link #enableLayoutOptimizations}, each profile method is
+   * immediately followed by the profile methods with the same flags that it references, so that
+   * callers and callees share pages.
+   */
+  private boolean enableCallGraphAffinityLayout =
+      parseSystemPropertyForDevelopmentOrDefault(
+          "com.android.tools.r8.artprofile.layout.callgraphaffinity", true);
+
   public ArtProfileOptions() {}
 
   public Collection<ArtProfileForRewriting> getArtProfilesForRewriting() {
@@ -23,6 +42,24 @@ public class ArtProfileOptions {
     return this;
   }
 
+  public boolean isLayoutOptimizationsEnabled() {
+    return enableLayoutOptimizations;
+  }
+
+  public ArtProfileOptions setEnableLayoutOptimizations(boolean enableLayoutOptimizations) {
+    this.enableLayoutOptimizations = enableLayoutOptimizations;
+    return this;
+  }
+
+  public boolean isCallGraphAffinityLayoutEnabled() {
+    return enableCallGraphAffinityLayout;
+  }
+
+  public ArtProfileOptions setEnableCallGraphAffinityLayout(boolean enableCallGraphAffinityLayout) {
+    this.enableCallGraphAffinityLayout = enableCallGraphAffinityLayout;
+    return this;
+  }
+
   public boolean isPassthrough() {
     return passthrough;
   }
@@ -9,6 +9,7 @@ import com.android.tools.r8.graph.DexItemFactory;
 import com.android.tools.r8.graph.GraphLens;
 import com.android.tools.r8.graph.PrunedItems;
 import com.android.tools.r8.naming.NamingLens;
+import java.util.function.Consumer;
 
 public class EmptyArtProfileCollection extends ArtProfileCollection {
 
@@ -20,6 +21,13 @@ public class EmptyArtProfileCollection extends ArtProfileCollection {
     return INSTANCE;
   }
 
+  @Override
+  public void forEachRule(
+      Consumer<ArtProfileClassRule> classRuleConsumer,
+      Consumer<ArtProfileMethodRule> methodRuleConsumer) {
+    // Intentionally empty.
+  }
+
   @Override
   public ArtProfileCollection rewrittenWithLens(GraphLens lens) {
     return this;
@@ -13,6 +13,7 @@ import com.android.tools.r8.utils.InternalOptions;
 import com.google.common.collect.ImmutableList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class NonEmptyArtProfileCollection extends ArtProfileCollection {
@@ -23,6 +24,15 @@ public class NonEmptyArtProfileCollection extends ArtProfileCollection {
     this.artProfiles = artProfiles;
   }
 
+  @Override
+  public void forEachRule(
+      Consumer<ArtProfileClassRule> classRuleConsumer,
+      Consumer<ArtProfileMethodRule> methodRuleConsumer) {
+    for (ArtProfile artProfile : artProfiles) {
+      artProfile.forEachRule(classRuleConsumer, methodRuleConsumer);
+    }
+  }
+
   @Override
   public NonEmptyArtProfileCollection rewrittenWithLens(GraphLens lens) {
     return map(artProfile -> artProfile.rewrittenWithLens(lens));
@@ -61,9 +71,12 @@ public class NonEmptyArtProfileCollection extends ArtProfileCollection {
   private NonEmptyArtProfileCollection map(Function<ArtProfile, ArtProfile> fn) {
     ImmutableList.Builder<ArtProfile> newArtProfiles =
         ImmutableList.builderWithExpectedSize(artProfiles.size());
+    boolean changed = false;
     for (ArtProfile artProfile : artProfiles) {
-      newArtProfiles.add(fn.apply(artProfile));
+      ArtProfile newArtProfile = fn.apply(artProfile);
+      newArtProfiles.add(newArtProfile);
+      changed |= newArtProfile != artProfile;
     }
-    return new NonEmptyArtProfileCollection(newArtProfiles.build());
+    return changed ? new NonEmptyArtProfileCollection(newArtProfiles.build()) : this;
   }
 }
@@ -29,6 +29,13 @@ public class PassthroughArtProfileCollection extends ArtProfileCollection {
     return INSTANCE;
   }
 
+  @Override
+  public void forEachRule(
+      Consumer<ArtProfileClassRule> classRuleConsumer,
+      Consumer<ArtProfileMethodRule> methodRuleConsumer) {
+    // The rules of the ART profiles are not retained when passing them through.
+  }
+
   @Override
   public ArtProfileCollection rewrittenWithLens(GraphLens lens) {
     return this;
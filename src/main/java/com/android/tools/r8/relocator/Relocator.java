@@ -26,6 +26,7 @@ import com.android.tools.r8.utils.Timing;
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 @Keep
 public class Relocator {
@@ -38,8 +39,19 @@ public class Relocator {
    * @param command Relocator command.
    */
   public static void run(RelocatorCommand command) throws CompilationFailedException {
-    AndroidApp app = command.getApp();
+    run(command, command.getInternalOptions());
+  }
+
+  static void runForTesting(RelocatorCommand command, Consumer<InternalOptions> optionsConsumer)
+      throws CompilationFailedException {
     InternalOptions options = command.getInternalOptions();
+    optionsConsumer.accept(options);
+    run(command, options);
+  }
+
+  private static void run(RelocatorCommand command, InternalOptions options)
+      throws CompilationFailedException {
+    AndroidApp app = command.getApp();
     ExecutorService executor = ThreadUtils.getExecutorService(options);
     ExceptionUtils.withCompilationHandler(
         command.getReporter(),
@@ -77,18 +89,27 @@ public class Relocator {
       throws IOException {
     Timing timing = Timing.create("Relocator", options);
     try {
-      DexApplication app = new ApplicationReader(inputApp, options, timing).read(executor);
+      DexApplication app =
+          options.streamingRelocation
+              ? StreamingRelocator.readDataResources(inputApp, options, timing)
+              : new ApplicationReader(inputApp, options, timing).read(executor);
       AppInfo appInfo =
           AppInfo.createInitialAppInfo(app, GlobalSyntheticsStrategy.forNonSynthesizing());
       AppView<?> appView = AppView.createForRelocator(appInfo);
       appView.setAppServices(AppServices.builder(appView).build());
 
       SimplePackagesRewritingMapper packageRemapper = new SimplePackagesRewritingMapper(appView);
-      appView.setNamingLens(packageRemapper.compute(command.getMapping()));
+      if (options.streamingRelocation) {
+        appView.setNamingLens(packageRemapper.computeLazily(command.getMapping()));
+        new StreamingRelocator(appView).run(inputApp, command.getConsumer(), executor);
+      } else {
+        appView.setNamingLens(packageRemapper.compute(command.getMapping()));
 
-      new GenericSignatureRewriter(appView).run(appInfo.classes(), executor);
+        new GenericSignatureRewriter(appView).run(appInfo.classes(), executor);
 
-      new CfApplicationWriter(appView, new Marker(Tool.Relocator)).write(command.getConsumer());
+        new CfApplicationWriter(appView, new Marker(Tool.Relocator))
+            .write(command.getConsumer(), executor);
+      }
       options.printWarnings();
     } catch (ExecutionException e) {
       throw unwrapExecutionException(e);
@@ -19,8 +19,12 @@ import com.android.tools.r8.references.PackageReference;
 import com.android.tools.r8.utils.DescriptorUtils;
 import com.android.tools.r8.utils.InternalOptions;
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 class SimplePackagesRewritingMapper {
 
@@ -42,6 +46,62 @@ class SimplePackagesRewritingMapper {
       }
     }
     ImmutableMap.Builder<String, String> packingMappings = ImmutableMap.builder();
+    for (PrefixRelocation relocation : computeRelocations(mapping, packingMappings)) {
+      // TODO(b/129925954): Change to a lazy implementation in the naming lens.
+      appView
+          .dexItemFactory()
+          .forAllTypes(
+              type -> {
+                if (!relocation.matches(type.descriptor)) {
+                  return;
+                }
+                // This type should be mapped.
+                if (typeMappings.containsKey(type)) {
+                  reportAmbiguousRelocation(type);
+                }
+                typeMappings.put(type, relocation.relocate(type.descriptor));
+              });
+    }
+
+    return new RelocatorNamingLens(
+        type -> typeMappings.getOrDefault(type, type.descriptor),
+        packingMappings.build(),
+        appView.dexItemFactory());
+  }
+
+  /**
+   * Computes a naming lens that relocates each type when it is first looked up. Unlike {@link
+   * #compute}, this does not require that all types of the input have been created upfront, which
+   * allows relocating classes without reading them into the application.
+   */
+  public NamingLens computeLazily(Map<PackageReference, PackageReference> mapping) {
+    ImmutableMap.Builder<String, String> packingMappings = ImmutableMap.builder();
+    List<PrefixRelocation> relocations = computeRelocations(mapping, packingMappings);
+    Map<DexType, DexString> lazyTypeMappings = new ConcurrentHashMap<>();
+    return new RelocatorNamingLens(
+        type ->
+            lazyTypeMappings.computeIfAbsent(
+                type,
+                key -> {
+                  DexString relocatedDescriptor = null;
+                  for (PrefixRelocation relocation : relocations) {
+                    if (relocation.matches(key.descriptor)) {
+                      if (relocatedDescriptor != null) {
+                        reportAmbiguousRelocation(key);
+                      }
+                      relocatedDescriptor = relocation.relocate(key.descriptor);
+                    }
+                  }
+                  return relocatedDescriptor != null ? relocatedDescriptor : key.descriptor;
+                }),
+        packingMappings.build(),
+        appView.dexItemFactory());
+  }
+
+  private List<PrefixRelocation> computeRelocations(
+      Map<PackageReference, PackageReference> mapping,
+      ImmutableMap.Builder<String, String> packingMappings) {
+    List<PrefixRelocation> relocations = new ArrayList<>();
     for (PackageReference key : mapping.keySet()) {
       String source = key.getPackageName();
       String target = mapping.get(key).getPackageName();
@@ -56,50 +116,60 @@ class SimplePackagesRewritingMapper {
       String sourceBinary = DescriptorUtils.getBinaryNameFromJavaType(source);
       String targetBinary = DescriptorUtils.getBinaryNameFromJavaType(target);
       packingMappings.put(sourceBinary, targetBinary);
-      DexString sourceDescriptor = appView.dexItemFactory().createString("L" + sourceBinary);
-      DexString targetDescriptor = appView.dexItemFactory().createString("L" + targetBinary);
-      // TODO(b/129925954): Change to a lazy implementation in the naming lens.
-      appView
-          .dexItemFactory()
-          .forAllTypes(
-              type -> {
-                DexString descriptor = type.descriptor;
-                // Check if descriptor can be a prefix.
-                if (descriptor.size <= sourceDescriptor.size) {
-                  return;
-                }
-                // Check if it is either the empty prefix or a fully qualified package.
-                if (sourceDescriptor.size != 1
-                    && descriptor.content[sourceDescriptor.size]
-                        != DescriptorUtils.DESCRIPTOR_PACKAGE_SEPARATOR) {
-                  return;
-                }
-                // Do a char-by-char comparison of the prefix.
-                if (!descriptor.startsWith(sourceDescriptor)) {
-                  return;
-                }
-                // This type should be mapped.
-                if (typeMappings.containsKey(type)) {
-                  appView.options().reporter.error(RelocatorDiagnostic.typeRelocateAmbiguous(type));
-                  appView.options().reporter.failIfPendingErrors();
-                }
-                DexString relocatedDescriptor =
-                    type.descriptor.withNewPrefix(
-                        sourceDescriptor, targetDescriptor, appView.dexItemFactory());
-                typeMappings.put(type, relocatedDescriptor);
-              });
+      relocations.add(
+          new PrefixRelocation(
+              appView.dexItemFactory().createString("L" + sourceBinary),
+              appView.dexItemFactory().createString("L" + targetBinary),
+              appView.dexItemFactory()));
+    }
+    return relocations;
+  }
+
+  private void reportAmbiguousRelocation(DexType type) {
+    appView.options().reporter.error(RelocatorDiagnostic.typeRelocateAmbiguous(type));
+    appView.options().reporter.failIfPendingErrors();
+  }
+
+  private static class PrefixRelocation {
+
+    private final DexString sourceDescriptor;
+    private final DexString targetDescriptor;
+    private final DexItemFactory factory;
+
+    private PrefixRelocation(
+        DexString sourceDescriptor, DexString targetDescriptor, DexItemFactory factory) {
+      this.sourceDescriptor = sourceDescriptor;
+      this.targetDescriptor = targetDescriptor;
+      this.factory = factory;
     }
 
-    return new RelocatorNamingLens(typeMappings, packingMappings.build(), appView.dexItemFactory());
+    private boolean matches(DexString descriptor) {
+      // Check if descriptor can be a prefix.
+      if (descriptor.size <= sourceDescriptor.size) {
+        return false;
+      }
+      // Check if it is either the empty prefix or a fully qualified package.
+      if (sourceDescriptor.size != 1
+          && descriptor.content[sourceDescriptor.size]
+              != DescriptorUtils.DESCRIPTOR_PACKAGE_SEPARATOR) {
+        return false;
+      }
+      // Do a char-by-char comparison of the prefix.
+      return descriptor.startsWith(sourceDescriptor);
+    }
+
+    private DexString relocate(DexString descriptor) {
+      return descriptor.withNewPrefix(sourceDescriptor, targetDescriptor, factory);
+    }
   }
 
   private static class RelocatorNamingLens extends NonIdentityNamingLens {
 
-    private final Map<DexType, DexString> typeMappings;
+    private final Function<DexType, DexString> typeMappings;
     private final Map<String, String> packageMappings;
 
     private RelocatorNamingLens(
-        Map<DexType, DexString> typeMappings,
+        Function<DexType, DexString> typeMappings,
         Map<String, String> packageMappings,
         DexItemFactory factory) {
       super(factory);
@@ -114,7 +184,7 @@ class SimplePackagesRewritingMapper {
 
     @Override
     protected DexString internalLookupClassDescriptor(DexType type) {
-      return typeMappings.getOrDefault(type, type.descriptor);
+      return typeMappings.apply(type);
     }
 
     @Override
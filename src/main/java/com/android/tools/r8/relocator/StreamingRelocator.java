@@ -0,0 +1,157 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.relocator;
+
+import com.android.tools.r8.ByteDataView;
+import com.android.tools.r8.ClassFileConsumer;
+import com.android.tools.r8.DataResourceProvider;
+import com.android.tools.r8.ProgramResource;
+import com.android.tools.r8.ProgramResource.Kind;
+import com.android.tools.r8.ProgramResourceProvider;
+import com.android.tools.r8.ResourceException;
+import com.android.tools.r8.dex.ApplicationWriter;
+import com.android.tools.r8.graph.AppView;
+import com.android.tools.r8.graph.DexApplication;
+import com.android.tools.r8.graph.DexItemFactory;
+import com.android.tools.r8.graph.DexString;
+import com.android.tools.r8.graph.DexType;
+import com.android.tools.r8.graph.LazyLoadedDexApplication;
+import com.android.tools.r8.naming.NamingLens;
+import com.android.tools.r8.utils.AndroidApp;
+import com.android.tools.r8.utils.DescriptorUtils;
+import com.android.tools.r8.utils.ExceptionUtils;
+import com.android.tools.r8.utils.InternalOptions;
+import com.android.tools.r8.utils.StringDiagnostic;
+import com.android.tools.r8.utils.ThreadUtils;
+import com.android.tools.r8.utils.Timing;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.commons.ClassRemapper;
+import org.objectweb.asm.commons.Remapper;
+
+/**
+ * Relocates the program classes by rewriting the names in their class files, without reading the
+ * classes into the application.
+ *
+ * <p>Since relocating packages only changes type names, each class file is passed through a
+ * remapping visitor that rewrites the names in the constant pool, the signatures and the
+ * annotations, leaving the code as is. The application only contains the data resources, which
+ * are adapted using the same naming lens as the classes.
+ */
+class StreamingRelocator {
+
+  private final AppView<?> appView;
+  private final DexItemFactory factory;
+  private final NamingLens namingLens;
+  private final InternalOptions options;
+
+  StreamingRelocator(AppView<?> appView) {
+    this.appView = appView;
+    this.factory = appView.dexItemFactory();
+    this.namingLens = appView.getNamingLens();
+    this.options = appView.options();
+  }
+
+  static DexApplication readDataResources(
+      AndroidApp inputApp, InternalOptions options, Timing timing) {
+    LazyLoadedDexApplication.Builder builder = DexApplication.builder(options, timing);
+    for (ProgramResourceProvider provider : inputApp.getProgramResourceProviders()) {
+      DataResourceProvider dataResourceProvider = provider.getDataResourceProvider();
+      if (dataResourceProvider != null) {
+        builder.addDataResourceProvider(dataResourceProvider);
+      }
+    }
+    return builder.build();
+  }
+
+  void run(AndroidApp inputApp, ClassFileConsumer consumer, ExecutorService executorService)
+      throws ExecutionException {
+    Timing timing = appView.appInfo().app().timing;
+    timing.begin("Relocate classes");
+    Collection<RelocatedClass> relocatedClasses;
+    try {
+      relocatedClasses =
+          ThreadUtils.processItemsWithResults(
+              inputApp.computeAllProgramResources(), this::relocate, executorService);
+    } catch (ResourceException e) {
+      throw reportResourceException(e);
+    } finally {
+      timing.end();
+    }
+    // Pass the classes to the consumer in the order of the input.
+    for (RelocatedClass relocatedClass : relocatedClasses) {
+      consumer.accept(
+          ByteDataView.of(relocatedClass.bytes), relocatedClass.descriptor, options.reporter);
+    }
+    ApplicationWriter.supplyAdditionalConsumers(appView);
+  }
+
+  private RelocatedClass relocate(ProgramResource resource) {
+    if (resource.getKind() != Kind.CF) {
+      throw options.reporter.fatalError(
+          new StringDiagnostic(
+              "Relocation of " + resource.getKind() + " resources is not supported.",
+              resource.getOrigin()));
+    }
+    byte[] bytes;
+    try {
+      bytes = resource.getBytes();
+    } catch (ResourceException e) {
+      throw reportResourceException(e);
+    }
+    return ExceptionUtils.withOriginAttachmentHandler(
+        resource.getOrigin(),
+        () -> {
+          ClassReader reader = new ClassReader(bytes);
+          // The constant pool of the input is not copied, such that it does not retain the names
+          // that are relocated.
+          ClassWriter writer = new ClassWriter(0);
+          RelocatingRemapper remapper = new RelocatingRemapper();
+          reader.accept(new ClassRemapper(writer, remapper), 0);
+          return new RelocatedClass(
+              writer.toByteArray(),
+              DescriptorUtils.getDescriptorFromClassBinaryName(
+                  remapper.map(reader.getClassName())));
+        });
+  }
+
+  private RuntimeException reportResourceException(ResourceException e) {
+    return options.reporter.fatalError(new StringDiagnostic(e.getMessage(), e.getOrigin()));
+  }
+
+  private class RelocatingRemapper extends Remapper {
+
+    @Override
+    public String map(String internalName) {
+      DexType type =
+          factory.createType(DescriptorUtils.getDescriptorFromClassBinaryName(internalName));
+      DexString relocatedDescriptor = namingLens.lookupDescriptor(type);
+      if (relocatedDescriptor == type.descriptor) {
+        return internalName;
+      }
+      return DescriptorUtils.getBinaryNameFromDescriptor(relocatedDescriptor.toString());
+    }
+
+    @Override
+    public String mapInnerClassName(String name, String ownerName, String innerName) {
+      // Relocation does not change the simple names, see RelocatorNamingLens.lookupInnerName.
+      return innerName;
+    }
+  }
+
+  private static class RelocatedClass {
+
+    private final byte[] bytes;
+    private final String descriptor;
+
+    private RelocatedClass(byte[] bytes, String descriptor) {
+      this.bytes = bytes;
+      this.descriptor = descriptor;
+    }
+  }
+}
@@ -3611,7 +3611,7 @@ public class Enqueuer {
         && !options.kotlinOptimizationOptions().disableKotlinSpecificOptimizations) {
       registerAnalysis(
           new KotlinMetadataEnqueuerExtension(
-              appView, enqueuerDefinitionSupplier, initialPrunedTypes));
+              appView, enqueuerDefinitionSupplier, initialPrunedTypes, executorService));
     }
     if (appView.options().getProguardConfiguration() != null
         && appView.options().getProguardConfiguration().getKeepAttributes().signature) {
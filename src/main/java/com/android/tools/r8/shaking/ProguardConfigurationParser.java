@@ -39,7 +39,10 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.IntPredicate;
@@ -53,6 +56,10 @@ public class ProguardConfigurationParser {
   private final Reporter reporter;
   private final InputDependencyGraphConsumer inputDependencyConsumer;
 
+  // The contents of the files included using -include or @, such that a file that is included from
+  // many configuration files is only read once.
+  private final Map<Path, String> includedFileContents = new HashMap<>();
+
   public static final String FLATTEN_PACKAGE_HIERARCHY = "flattenpackagehierarchy";
   public static final String REPACKAGE_CLASSES = "repackageclasses";
 
@@ -224,7 +231,16 @@ public class ProguardConfigurationParser {
   public void parse(List<ProguardConfigurationSource> sources) {
     for (ProguardConfigurationSource source : sources) {
       try {
+        long start = System.nanoTime();
         new ProguardConfigurationSourceParser(source).parse();
+        if (options.isPrintParseTimesEnabled()) {
+          reporter.info(
+              new StringDiagnostic(
+                  "Parsed configuration in "
+                      + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                      + "ms",
+                  source.getOrigin()));
+        }
       } catch (IOException e) {
         reporter.error(new StringDiagnostic("Failed to read file: " + e.getMessage(),
             source.getOrigin()));
@@ -252,8 +268,12 @@ public class ProguardConfigurationParser {
     private final Origin origin;
 
     ProguardConfigurationSourceParser(ProguardConfigurationSource source) throws IOException {
+      this(source, source.get());
+    }
+
+    ProguardConfigurationSourceParser(ProguardConfigurationSource source, String contents) {
       // Strip any leading BOM here so it is not included in the text position.
-      contents = StringUtils.stripLeadingBOM(source.get());
+      this.contents = StringUtils.stripLeadingBOM(contents);
       baseDirectory = source.getBaseDirectory();
       name = source.getName();
       this.origin = source.getOrigin();
@@ -700,8 +720,14 @@ public class ProguardConfigurationParser {
       TextPosition start = getPosition();
       Path included = parseFileInputDependency(inputDependencyConsumer::acceptProguardInclude);
       try {
-        new ProguardConfigurationSourceParser(new ProguardConfigurationSourceFile(included))
-            .parse();
+        ProguardConfigurationSource source = new ProguardConfigurationSourceFile(included);
+        Path key = included.toAbsolutePath().normalize();
+        String contents = includedFileContents.get(key);
+        if (contents == null) {
+          contents = source.get();
+          includedFileContents.put(key, contents);
+        }
+        new ProguardConfigurationSourceParser(source, contents).parse();
       } catch (FileNotFoundException | NoSuchFileException e) {
         throw parseError("Included file '" + included.toString() + "' not found",
             start, e);
@@ -12,16 +12,19 @@ public class ProguardConfigurationParserOptions {
   private final boolean enableExperimentalConvertCheckNotNull;
   private final boolean enableExperimentalWhyAreYouNotInlining;
   private final boolean enableTestingOptions;
+  private final boolean enablePrintParseTimes;
 
   ProguardConfigurationParserOptions(
       boolean enableExperimentalCheckEnumUnboxed,
       boolean enableExperimentalConvertCheckNotNull,
       boolean enableExperimentalWhyAreYouNotInlining,
-      boolean enableTestingOptions) {
+      boolean enableTestingOptions,
+      boolean enablePrintParseTimes) {
     this.enableExperimentalCheckEnumUnboxed = enableExperimentalCheckEnumUnboxed;
     this.enableExperimentalConvertCheckNotNull = enableExperimentalConvertCheckNotNull;
     this.enableExperimentalWhyAreYouNotInlining = enableExperimentalWhyAreYouNotInlining;
     this.enableTestingOptions = enableTestingOptions;
+    this.enablePrintParseTimes = enablePrintParseTimes;
   }
 
   public static Builder builder() {
@@ -44,12 +47,17 @@ public class ProguardConfigurationParserOptions {
     return enableTestingOptions;
   }
 
+  public boolean isPrintParseTimesEnabled() {
+    return enablePrintParseTimes;
+  }
+
   public static class Builder {
 
     private boolean enableExperimentalCheckEnumUnboxed;
     private boolean enableExperimentalConvertCheckNotNull;
     private boolean enableExperimentalWhyAreYouNotInlining;
     private boolean enableTestingOptions;
+    private boolean enablePrintParseTimes;
 
     public Builder readEnvironment() {
       enableExperimentalCheckEnumUnboxed =
@@ -63,6 +71,8 @@ public class ProguardConfigurationParserOptions {
               "com.android.tools.r8.experimental.enablewhyareyounotinlining", false);
       enableTestingOptions =
           parseSystemPropertyOrDefault("com.android.tools.r8.allowTestProguardOptions", false);
+      enablePrintParseTimes =
+          parseSystemPropertyOrDefault("com.android.tools.r8.printProguardParseTimes", false);
       return this;
     }
 
@@ -89,12 +99,18 @@ public class ProguardConfigurationParserOptions {
       return this;
     }
 
+    public Builder setEnablePrintParseTimes(boolean enablePrintParseTimes) {
+      this.enablePrintParseTimes = enablePrintParseTimes;
+      return this;
+    }
+
     public ProguardConfigurationParserOptions build() {
       return new ProguardConfigurationParserOptions(
           enableExperimentalCheckEnumUnboxed,
           enableExperimentalConvertCheckNotNull,
           enableExperimentalWhyAreYouNotInlining,
-          enableTestingOptions);
+          enableTestingOptions,
+          enablePrintParseTimes);
     }
   }
 }
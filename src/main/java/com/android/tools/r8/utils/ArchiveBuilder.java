@@ -12,6 +12,7 @@ import com.android.tools.r8.ResourceException;
 import com.android.tools.r8.androidapi.AndroidApiDataAccess;
 import com.android.tools.r8.origin.Origin;
 import com.android.tools.r8.origin.PathOrigin;
+import com.android.tools.r8.utils.PrecompressedZipOutput.Entry;
 import com.google.common.io.ByteStreams;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -25,12 +26,19 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
-import java.util.zip.ZipOutputStream;
 
+/**
+ * Builds a zip archive from the output of a compilation.
+ *
+ * <p>The entries are compressed by the threads that add them, outside of the lock of the builder,
+ * such that only appending the compressed bytes to the archive is serialized. Except for the
+ * indexed class files and the api database, the entries are written in the order of their names
+ * when the builder is closed.
+ */
 public class ArchiveBuilder implements OutputBuilder {
   private final Path archive;
   private final Origin origin;
-  private ZipOutputStream stream = null;
+  private PrecompressedZipOutput stream = null;
   private boolean closed = false;
   private int openCount = 0;
   private int classesFileIndex = 0;
@@ -73,17 +81,17 @@ public class ArchiveBuilder implements OutputBuilder {
         writeDirectoryNow(data.name, handler);
       } else {
         assert data.content != null;
-        writeFileNow(data.name, data.content, handler);
+        writeFileNow(data.content, handler);
       }
     }
   }
 
-  private ZipOutputStream getStreamRaw() throws IOException {
+  private PrecompressedZipOutput getStreamRaw() throws IOException {
     if (stream != null) {
       return stream;
     }
     stream =
-        new ZipOutputStream(
+        new PrecompressedZipOutput(
             new BufferedOutputStream(
                 Files.newOutputStream(
                     archive, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)));
@@ -91,7 +99,7 @@ public class ArchiveBuilder implements OutputBuilder {
   }
 
   /** Get or open the zip output stream. */
-  private synchronized ZipOutputStream getStream() throws IOException {
+  private synchronized PrecompressedZipOutput getStream() throws IOException {
     assert !closed;
     return getStreamRaw();
   }
@@ -116,28 +124,32 @@ public class ArchiveBuilder implements OutputBuilder {
     if (name.charAt(name.length() - 1) != DataResource.SEPARATOR) {
       name += DataResource.SEPARATOR;
     }
-    ZipEntry entry = new ZipEntry(name);
-    entry.setTime(0);
+    Entry entry = Entry.createDirectory(name);
     synchronized (this) {
       try {
-        ZipOutputStream zip = getStream();
-        zip.putNextEntry(entry);
-        zip.closeEntry();
+        getStream().write(entry);
       } catch (IOException e) {
         handleIOException(e, handler);
       }
     }
   }
 
+  private static Entry createFileEntry(String name, ByteDataView content) {
+    return Entry.createFile(
+        name,
+        content,
+        AndroidApiDataAccess.isApiDatabaseEntry(name) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+  }
+
   @Override
   public void addFile(String name, DataEntryResource content, DiagnosticsHandler handler) {
     try (InputStream in = content.getByteStream()) {
-      ByteDataView view = ByteDataView.of(ByteStreams.toByteArray(in));
+      Entry entry = createFileEntry(name, ByteDataView.of(ByteStreams.toByteArray(in)));
       synchronized (this) {
         if (AndroidApiDataAccess.isApiDatabaseEntry(name)) {
-          writeFileNow(name, view, handler);
+          writeFileNow(entry, handler);
         } else {
-          delayedWrites.add(DelayedData.createFile(name, view));
+          delayedWrites.add(DelayedData.createFile(name, entry));
         }
       }
     } catch (IOException e) {
@@ -149,17 +161,17 @@ public class ArchiveBuilder implements OutputBuilder {
   }
 
   @Override
-  public synchronized void addFile(String name, ByteDataView content, DiagnosticsHandler handler) {
-    delayedWrites.add(DelayedData.createFile(name,  ByteDataView.of(content.copyByteData())));
+  public void addFile(String name, ByteDataView content, DiagnosticsHandler handler) {
+    // The entry holds a compressed copy of the data, which is released in the application writer.
+    Entry entry = createFileEntry(name, content);
+    synchronized (this) {
+      delayedWrites.add(DelayedData.createFile(name, entry));
+    }
   }
 
-  private void writeFileNow(String name, ByteDataView content, DiagnosticsHandler handler) {
+  private void writeFileNow(Entry entry, DiagnosticsHandler handler) {
     try {
-      ZipUtils.writeToZipStream(
-          getStream(),
-          name,
-          content,
-          AndroidApiDataAccess.isApiDatabaseEntry(name) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+      getStream().write(entry);
     } catch (IOException e) {
       handleIOException(e, handler);
     }
@@ -168,24 +180,25 @@ public class ArchiveBuilder implements OutputBuilder {
   private void writeNextIfAvailable(DiagnosticsHandler handler) {
     DelayedData data = delayedClassesDexFiles.remove(classesFileIndex);
     while (data != null) {
-      writeFileNow(data.name, data.content, handler);
+      writeFileNow(data.content, handler);
       classesFileIndex++;
       data = delayedClassesDexFiles.remove(classesFileIndex);
     }
   }
 
   @Override
-  public synchronized void addIndexedClassFile(
+  public void addIndexedClassFile(
       int index, String name, ByteDataView content, DiagnosticsHandler handler) {
-    if (index == classesFileIndex) {
-      // Fast case, we got the file in order (or we only had one).
-      writeFileNow(name, content, handler);
-      classesFileIndex++;
-      writeNextIfAvailable(handler);
-    } else {
-      // Data is released in the application writer, take a copy.
-      delayedClassesDexFiles.put(index,
-          new DelayedData(name, ByteDataView.of(content.copyByteData()), false));
+    Entry entry = createFileEntry(name, content);
+    synchronized (this) {
+      if (index == classesFileIndex) {
+        // Fast case, we got the file in order (or we only had one).
+        writeFileNow(entry, handler);
+        classesFileIndex++;
+        writeNextIfAvailable(handler);
+      } else {
+        delayedClassesDexFiles.put(index, DelayedData.createFile(name, entry));
+      }
     }
   }
 
@@ -201,10 +214,10 @@ public class ArchiveBuilder implements OutputBuilder {
 
   private static class DelayedData implements Comparable<DelayedData> {
     public final String name;
-    public final ByteDataView content;
+    public final Entry content;
     public final boolean isDirectory;
 
-    public static DelayedData createFile(String name, ByteDataView content) {
+    public static DelayedData createFile(String name, Entry content) {
       return new DelayedData(name, content, false);
     }
 
@@ -212,7 +225,7 @@ public class ArchiveBuilder implements OutputBuilder {
       return new DelayedData(name, null, true);
     }
 
-    private DelayedData(String name, ByteDataView content, boolean isDirectory) {
+    private DelayedData(String name, Entry content, boolean isDirectory) {
       this.name = name;
       this.content = content;
       this.isDirectory = isDirectory;
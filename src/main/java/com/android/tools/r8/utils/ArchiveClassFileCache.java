@@ -0,0 +1,190 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.utils;
+
+import static com.android.tools.r8.utils.SystemPropertyUtils.parseSystemPropertyOrDefault;
+import static org.objectweb.asm.ClassReader.SKIP_CODE;
+import static org.objectweb.asm.ClassReader.SKIP_DEBUG;
+import static org.objectweb.asm.ClassReader.SKIP_FRAMES;
+
+import com.android.tools.r8.jar.CfApplicationWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+/**
+ * Cache of the class files in library and classpath archives that outlives a single compilation.
+ *
+ * <p>When the compiler runs in a long-lived process, such as a build daemon, the same library
+ * archives (e.g., android.jar) are passed to each compilation. With the cache, the descriptor index
+ * of an archive and the bytes of the class files that have been read from it are retained between
+ * compilations for as long as the archive is unchanged on disk.
+ *
+ * <p>Class files from library and classpath archives are only read for their structure, so the
+ * cached class files are compacted by removing code and debug attributes. This bounds the memory
+ * retained by the cache and lets all compilations in the JVM share a single read-only copy of the
+ * parts of the library that are actually used.
+ *
+ * <p>The cache is bounded. It retains at most {@code maxArchives} archives, evicting the least
+ * recently used archive first, and at most {@code maxBytesPerArchive} bytes of class files for each
+ * archive. Class files read after an archive has reached its limit are not retained.
+ *
+ * <p>The JVM wide cache is enabled by setting the system property
+ * com.android.tools.r8.cacheLibraryArchives. Its bounds can be changed with the system properties
+ * com.android.tools.r8.cacheLibraryArchives.maxArchives and
+ * com.android.tools.r8.cacheLibraryArchives.maxMegabytesPerArchive.
+ */
+class ArchiveClassFileCache {
+
+  private static final int DEFAULT_MAX_ARCHIVES = 8;
+  private static final int DEFAULT_MAX_MEGABYTES_PER_ARCHIVE = 32;
+
+  private static final ArchiveClassFileCache GLOBAL_CACHE = createGlobalCacheIfEnabled();
+
+  private static final int CONSTANT_STRING_TAG = 8;
+
+  private final int maxArchives;
+  private final long maxBytesPerArchive;
+
+  // Access ordered, such that the least recently used archive is the first to be evicted.
+  private final LinkedHashMap<Path, CachedArchive> archives = new LinkedHashMap<>(16, 0.75f, true);
+
+  ArchiveClassFileCache() {
+    this(DEFAULT_MAX_ARCHIVES, megabytesToBytes(DEFAULT_MAX_MEGABYTES_PER_ARCHIVE));
+  }
+
+  ArchiveClassFileCache(int maxArchives, long maxBytesPerArchive) {
+    assert maxArchives > 0;
+    assert maxBytesPerArchive >= 0;
+    this.maxArchives = maxArchives;
+    this.maxBytesPerArchive = maxBytesPerArchive;
+  }
+
+  private static ArchiveClassFileCache createGlobalCacheIfEnabled() {
+    if (!parseSystemPropertyOrDefault("com.android.tools.r8.cacheLibraryArchives", false)) {
+      return null;
+    }
+    int maxArchives =
+        parseSystemPropertyOrDefault(
+            "com.android.tools.r8.cacheLibraryArchives.maxArchives", DEFAULT_MAX_ARCHIVES);
+    int maxMegabytesPerArchive =
+        parseSystemPropertyOrDefault(
+            "com.android.tools.r8.cacheLibraryArchives.maxMegabytesPerArchive",
+            DEFAULT_MAX_MEGABYTES_PER_ARCHIVE);
+    return new ArchiveClassFileCache(maxArchives, megabytesToBytes(maxMegabytesPerArchive));
+  }
+
+  private static long megabytesToBytes(int megabytes) {
+    return (long) megabytes << 20;
+  }
+
+  static ArchiveClassFileCache getGlobalCacheIfEnabled() {
+    return GLOBAL_CACHE;
+  }
+
+  CachedArchive getCachedArchive(Path archive) throws IOException {
+    Path key = archive.toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+    synchronized (archives) {
+      CachedArchive cachedArchive = archives.get(key);
+      if (cachedArchive == null || !cachedArchive.isUpToDate(attributes)) {
+        cachedArchive = new CachedArchive(attributes, maxBytesPerArchive);
+        archives.put(key, cachedArchive);
+        Iterator<CachedArchive> iterator = archives.values().iterator();
+        while (archives.size() > maxArchives) {
+          iterator.next();
+          iterator.remove();
+        }
+      }
+      return cachedArchive;
+    }
+  }
+
+  /**
+   * Returns the class file without code and debug attributes, or the input if the class file cannot
+   * be compacted without losing information that is read from non-program classes.
+   */
+  static byte[] compactClassFile(byte[] bytes) {
+    ClassWriter writer = new ClassWriter(0);
+    try {
+      ClassReader reader = new ClassReader(bytes);
+      if (hasMarker(reader, bytes)) {
+        // The marker is read from a fixed constant pool index, which is not preserved.
+        return bytes;
+      }
+      reader.accept(writer, SKIP_CODE | SKIP_DEBUG | SKIP_FRAMES);
+    } catch (RuntimeException e) {
+      // Leave the reporting of invalid class files to the class file reader.
+      return bytes;
+    }
+    byte[] compacted = writer.toByteArray();
+    return compacted.length < bytes.length ? compacted : bytes;
+  }
+
+  private static boolean hasMarker(ClassReader reader, byte[] bytes) {
+    if (reader.getItemCount() <= CfApplicationWriter.MARKER_STRING_CONSTANT_POOL_INDEX) {
+      return false;
+    }
+    int offset = reader.getItem(CfApplicationWriter.MARKER_STRING_CONSTANT_POOL_INDEX);
+    return offset > 0 && bytes[offset - 1] == CONSTANT_STRING_TAG;
+  }
+
+  static class CachedArchive {
+
+    private final long size;
+    private final FileTime lastModifiedTime;
+    private final long maxBytes;
+
+    private volatile Set<String> descriptors;
+    private final Map<String, byte[]> classFiles = new ConcurrentHashMap<>();
+    private final AtomicLong bytesRetained = new AtomicLong();
+
+    private CachedArchive(BasicFileAttributes attributes, long maxBytes) {
+      this.size = attributes.size();
+      this.lastModifiedTime = attributes.lastModifiedTime();
+      this.maxBytes = maxBytes;
+    }
+
+    private boolean isUpToDate(BasicFileAttributes attributes) {
+      return size == attributes.size() && lastModifiedTime.equals(attributes.lastModifiedTime());
+    }
+
+    Set<String> getDescriptors() {
+      return descriptors;
+    }
+
+    void setDescriptors(Set<String> descriptors) {
+      this.descriptors = descriptors;
+    }
+
+    boolean hasClassFile(String descriptor) {
+      return classFiles.containsKey(descriptor);
+    }
+
+    byte[] getOrComputeClassFile(String descriptor, Supplier<byte[]> fn) {
+      byte[] bytes = classFiles.get(descriptor);
+      if (bytes == null) {
+        // Reading the same entry twice is harmless, so there is no need to block other readers.
+        bytes = fn.get();
+        if (bytesRetained.addAndGet(bytes.length) > maxBytes
+            || classFiles.putIfAbsent(descriptor, bytes) != null) {
+          bytesRetained.addAndGet(-bytes.length);
+        }
+      }
+      return bytes;
+    }
+  }
+}
@@ -14,6 +14,7 @@ import com.android.tools.r8.errors.CompilationError;
 import com.android.tools.r8.origin.ArchiveEntryOrigin;
 import com.android.tools.r8.origin.Origin;
 import com.android.tools.r8.origin.PathOrigin;
+import com.android.tools.r8.utils.ArchiveClassFileCache.CachedArchive;
 import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
@@ -40,7 +41,8 @@ import java.util.zip.ZipFile;
 class InternalArchiveClassFileProvider implements ClassFileResourceProvider, AutoCloseable {
   private final Path path;
   private final Origin origin;
-  private final Set<String> descriptors = new HashSet<>();
+  private final Set<String> descriptors;
+  private final CachedArchive cachedArchive;
 
   private ZipFile openedZipFile = null;
 
@@ -50,7 +52,32 @@ class InternalArchiveClassFileProvider implements ClassFileResourceProvider, Aut
    * @param archive Zip archive to provide resources from.
    */
   public InternalArchiveClassFileProvider(Path archive) throws IOException {
-    this(archive, entry -> true);
+    this(archive, ArchiveClassFileCache.getGlobalCacheIfEnabled());
+  }
+
+  /**
+   * Creates a lazy class-file program-resource provider that reuses the descriptor index and the
+   * class file contents from the given cache, if non-null.
+   *
+   * @param archive Zip archive to provide resources from.
+   * @param cache Cache of archive contents that outlives this provider.
+   */
+  InternalArchiveClassFileProvider(Path archive, ArchiveClassFileCache cache) throws IOException {
+    assert isArchive(archive);
+    path = archive;
+    origin = new PathOrigin(archive);
+    if (cache == null) {
+      cachedArchive = null;
+      descriptors = readDescriptors(entry -> true);
+    } else {
+      cachedArchive = cache.getCachedArchive(archive);
+      Set<String> cachedDescriptors = cachedArchive.getDescriptors();
+      if (cachedDescriptors == null) {
+        cachedDescriptors = readDescriptors(entry -> true);
+        cachedArchive.setDescriptors(cachedDescriptors);
+      }
+      descriptors = cachedDescriptors;
+    }
   }
 
   /**
@@ -64,14 +91,21 @@ class InternalArchiveClassFileProvider implements ClassFileResourceProvider, Aut
     assert isArchive(archive);
     path = archive;
     origin = new PathOrigin(archive);
+    cachedArchive = null;
+    descriptors = readDescriptors(include);
+  }
+
+  private Set<String> readDescriptors(Predicate<String> include) throws IOException {
+    Set<String> result = new HashSet<>();
     final Enumeration<? extends ZipEntry> entries = getOpenZipFile().entries();
     while (entries.hasMoreElements()) {
       ZipEntry entry = entries.nextElement();
       String name = entry.getName();
       if (ZipUtils.isClassFile(name) && include.test(name)) {
-        descriptors.add(DescriptorUtils.guessTypeDescriptor(name));
+        result.add(DescriptorUtils.guessTypeDescriptor(name));
       }
     }
+    return result;
   }
 
   @Override
@@ -84,14 +118,25 @@ class InternalArchiveClassFileProvider implements ClassFileResourceProvider, Aut
     if (!descriptors.contains(descriptor)) {
       return null;
     }
+    String entryName = getZipEntryNameFromDescriptor(descriptor);
+    byte[] bytes =
+        cachedArchive != null
+            ? cachedArchive.getOrComputeClassFile(
+                descriptor,
+                () -> ArchiveClassFileCache.compactClassFile(readClassFile(descriptor)))
+            : readClassFile(descriptor);
+    return ProgramResource.fromBytes(
+        new ArchiveEntryOrigin(entryName, origin),
+        Kind.CF,
+        bytes,
+        Collections.singleton(descriptor));
+  }
+
+  private byte[] readClassFile(String descriptor) {
     try {
-      ZipEntry zipEntry = getZipEntryFromDescriptor(descriptor);
+      ZipEntry zipEntry = getOpenZipFile().getEntry(getZipEntryNameFromDescriptor(descriptor));
       try (InputStream inputStream = getOpenZipFile().getInputStream(zipEntry)) {
-        return ProgramResource.fromBytes(
-            new ArchiveEntryOrigin(zipEntry.getName(), origin),
-            Kind.CF,
-            ByteStreams.toByteArray(inputStream),
-            Collections.singleton(descriptor));
+        return ByteStreams.toByteArray(inputStream);
       }
     } catch (IOException e) {
       throw new CompilationError("Failed to read '" + descriptor, origin);
@@ -126,8 +171,7 @@ class InternalArchiveClassFileProvider implements ClassFileResourceProvider, Aut
     }
   }
 
-  private ZipEntry getZipEntryFromDescriptor(String descriptor) throws IOException {
-    return getOpenZipFile()
-        .getEntry(descriptor.substring(1, descriptor.length() - 1) + CLASS_EXTENSION);
+  private static String getZipEntryNameFromDescriptor(String descriptor) {
+    return descriptor.substring(1, descriptor.length() - 1) + CLASS_EXTENSION;
   }
 }
@@ -1045,6 +1045,10 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
   }
 
   public boolean relocatorCompilation = false;
+  // Relocate by rewriting the names in the input class files, instead of reading the classes into
+  // the application and writing them using the CfApplicationWriter.
+  public boolean streamingRelocation =
+      System.getProperty("com.android.tools.r8.streamingRelocation") != null;
 
   // If null, no keep rules are recorded.
   // If non null it records desugared library APIs used by the program.
@@ -1446,6 +1450,10 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
 
     private boolean forceSyntheticsForInstanceInitializers = false;
 
+    // Connected components of the parameter flow graph of at least this size are solved by
+    // scheduling their strongly connected components on multiple threads.
+    private int minComponentSizeForConcurrentFlowPropagation = 10000;
+
     public void disableOptimization() {
       enabled = false;
     }
@@ -1454,6 +1462,10 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
       return 10;
     }
 
+    public int getMinComponentSizeForConcurrentFlowPropagation() {
+      return minComponentSizeForConcurrentFlowPropagation;
+    }
+
     public boolean isEnabled() {
       if (!isOptimizing() || !isShrinking()) {
         return false;
@@ -1488,6 +1500,13 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
       this.enableMethodStaticizing = enableMethodStaticizing;
       return this;
     }
+
+    public CallSiteOptimizationOptions setMinComponentSizeForConcurrentFlowPropagation(
+        int minComponentSizeForConcurrentFlowPropagation) {
+      this.minComponentSizeForConcurrentFlowPropagation =
+          minComponentSizeForConcurrentFlowPropagation;
+      return this;
+    }
   }
 
   public static class CfCodeAnalysisOptions {
@@ -2101,6 +2120,7 @@ public class InternalOptions implements GlobalKeepInfoConfiguration {
     public boolean invertConditionals = false;
     public boolean placeExceptionalBlocksLast = false;
     public boolean forceJumboStringProcessing = false;
+    public boolean decodePassthroughDexCodeEagerly = false;
     public boolean forcePcBasedEncoding = false;
     public int pcBasedDebugEncodingOverheadThreshold =
         System.getProperty("com.android.tools.r8.pc2pcOverheadThreshold") != null
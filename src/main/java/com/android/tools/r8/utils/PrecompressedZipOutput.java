@@ -0,0 +1,299 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.utils;
+
+import com.android.tools.r8.ByteDataView;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a zip archive of entries that have been compressed before they are written.
+ *
+ * <p>Unlike {@link java.util.zip.ZipOutputStream}, which compresses each entry while it is being
+ * written, this allows the threads that produce the entries to compress them concurrently, such
+ * that writing an entry only appends its bytes. All entries have a modification time of 0, and the
+ * zip64 end records are added if there are too many entries or the archive is too large.
+ */
+class PrecompressedZipOutput implements Closeable {
+
+  private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+  private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+  private static final int END_SIGNATURE = 0x06054b50;
+  private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+  private static final int ZIP64_END_LOCATOR_SIGNATURE = 0x07064b50;
+
+  private static final int LOCAL_HEADER_SIZE = 30;
+  private static final int CENTRAL_HEADER_SIZE = 46;
+  private static final int END_SIZE = 22;
+  private static final int ZIP64_END_SIZE = 56;
+  private static final int ZIP64_END_LOCATOR_SIZE = 20;
+
+  private static final int VERSION_STORED = 10;
+  private static final int VERSION_DEFLATED = 20;
+  private static final int VERSION_ZIP64 = 45;
+
+  // Names are encoded using UTF-8.
+  private static final int FLAG_UTF8 = 0x0800;
+
+  // The time 0 is before 1980 and thus cannot be represented as a DOS time. As ZipOutputStream,
+  // use the DOS time of 1980-01-01 and an extended timestamp with the modification time 0.
+  private static final int DOS_TIME_BEFORE_1980 = (1 << 21) | (1 << 16);
+  private static final int EXTENDED_TIMESTAMP_ID = 0x5455;
+  private static final int EXTENDED_TIMESTAMP_SIZE = 9;
+  private static final int ZIP64_EXTRA_ID = 0x0001;
+
+  private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+  private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+  private final OutputStream out;
+  private final List<WrittenEntry> writtenEntries = new ArrayList<>();
+  private final Set<String> names = new HashSet<>();
+  private final byte[] header = new byte[ZIP64_END_SIZE + ZIP64_END_LOCATOR_SIZE];
+  private long position = 0;
+
+  PrecompressedZipOutput(OutputStream out) {
+    this.out = out;
+  }
+
+  void write(Entry entry) throws IOException {
+    if (!names.add(entry.name)) {
+      throw new ZipException("duplicate entry: " + entry.name);
+    }
+    byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+    WrittenEntry writtenEntry = new WrittenEntry(entry, name, position);
+    writtenEntries.add(writtenEntry);
+    int index = 0;
+    index = putInt(header, index, LOCAL_HEADER_SIGNATURE);
+    index = putShort(header, index, writtenEntry.getVersion());
+    index = putEntryFields(header, index, writtenEntry);
+    index = putShort(header, index, EXTENDED_TIMESTAMP_SIZE);
+    assert index == LOCAL_HEADER_SIZE;
+    writeHeader(index);
+    writeBytes(name, name.length);
+    writeHeader(putExtendedTimestamp(header, 0));
+    writeBytes(entry.data, entry.compressedSize);
+  }
+
+  @Override
+  public void close() throws IOException {
+    long centralDirectoryOffset = position;
+    for (WrittenEntry writtenEntry : writtenEntries) {
+      boolean needsZip64Offset = writtenEntry.offset >= ZIP64_MAGIC_VALUE;
+      int index = 0;
+      index = putInt(header, index, CENTRAL_HEADER_SIGNATURE);
+      int version = needsZip64Offset ? VERSION_ZIP64 : writtenEntry.getVersion();
+      // The version made by, followed by the version needed to extract.
+      index = putShort(header, index, version);
+      index = putShort(header, index, version);
+      index = putEntryFields(header, index, writtenEntry);
+      index = putShort(header, index, EXTENDED_TIMESTAMP_SIZE + (needsZip64Offset ? 4 + 8 : 0));
+      // The comment length, disk number start, internal and external file attributes.
+      index = putShort(header, index, 0);
+      index = putShort(header, index, 0);
+      index = putShort(header, index, 0);
+      index = putInt(header, index, 0);
+      index =
+          putInt(
+              header,
+              index,
+              (int) (needsZip64Offset ? ZIP64_MAGIC_VALUE : writtenEntry.offset));
+      assert index == CENTRAL_HEADER_SIZE;
+      writeHeader(index);
+      writeBytes(writtenEntry.name, writtenEntry.name.length);
+      index = putExtendedTimestamp(header, 0);
+      if (needsZip64Offset) {
+        index = putShort(header, index, ZIP64_EXTRA_ID);
+        index = putShort(header, index, 8);
+        index = putLong(header, index, writtenEntry.offset);
+      }
+      writeHeader(index);
+    }
+    long centralDirectorySize = position - centralDirectoryOffset;
+    int count = writtenEntries.size();
+    boolean needsZip64 =
+        count >= ZIP64_MAGIC_COUNT
+            || centralDirectoryOffset >= ZIP64_MAGIC_VALUE
+            || centralDirectorySize >= ZIP64_MAGIC_VALUE;
+    if (needsZip64) {
+      long zip64EndOffset = position;
+      int index = 0;
+      index = putInt(header, index, ZIP64_END_SIGNATURE);
+      // The size of the remaining record.
+      index = putLong(header, index, ZIP64_END_SIZE - 12);
+      index = putShort(header, index, VERSION_ZIP64);
+      index = putShort(header, index, VERSION_ZIP64);
+      // The number of this disk, and the disk with the start of the central directory.
+      index = putInt(header, index, 0);
+      index = putInt(header, index, 0);
+      index = putLong(header, index, count);
+      index = putLong(header, index, count);
+      index = putLong(header, index, centralDirectorySize);
+      index = putLong(header, index, centralDirectoryOffset);
+      assert index == ZIP64_END_SIZE;
+      index = putInt(header, index, ZIP64_END_LOCATOR_SIGNATURE);
+      index = putInt(header, index, 0);
+      index = putLong(header, index, zip64EndOffset);
+      // The total number of disks.
+      index = putInt(header, index, 1);
+      assert index == ZIP64_END_SIZE + ZIP64_END_LOCATOR_SIZE;
+      writeHeader(index);
+    }
+    int index = 0;
+    index = putInt(header, index, END_SIGNATURE);
+    index = putShort(header, index, 0);
+    index = putShort(header, index, 0);
+    index = putShort(header, index, Math.min(count, ZIP64_MAGIC_COUNT));
+    index = putShort(header, index, Math.min(count, ZIP64_MAGIC_COUNT));
+    index = putInt(header, index, (int) Math.min(centralDirectorySize, ZIP64_MAGIC_VALUE));
+    index = putInt(header, index, (int) Math.min(centralDirectoryOffset, ZIP64_MAGIC_VALUE));
+    // The comment length.
+    index = putShort(header, index, 0);
+    assert index == END_SIZE;
+    writeHeader(index);
+    out.close();
+  }
+
+  // Puts the fields that are shared by the local and the central header, up to the name length.
+  private static int putEntryFields(byte[] buffer, int index, WrittenEntry entry) {
+    index = putShort(buffer, index, FLAG_UTF8);
+    index = putShort(buffer, index, entry.method);
+    index = putInt(buffer, index, DOS_TIME_BEFORE_1980);
+    index = putInt(buffer, index, entry.crc);
+    index = putInt(buffer, index, entry.compressedSize);
+    index = putInt(buffer, index, entry.size);
+    return putShort(buffer, index, entry.name.length);
+  }
+
+  private static int putExtendedTimestamp(byte[] buffer, int index) {
+    index = putShort(buffer, index, EXTENDED_TIMESTAMP_ID);
+    index = putShort(buffer, index, EXTENDED_TIMESTAMP_SIZE - 4);
+    // Only the modification time is present.
+    buffer[index++] = 1;
+    return putInt(buffer, index, 0);
+  }
+
+  private static int putShort(byte[] buffer, int index, int value) {
+    buffer[index] = (byte) value;
+    buffer[index + 1] = (byte) (value >>> 8);
+    return index + 2;
+  }
+
+  private static int putInt(byte[] buffer, int index, int value) {
+    index = putShort(buffer, index, value);
+    return putShort(buffer, index, value >>> 16);
+  }
+
+  private static int putLong(byte[] buffer, int index, long value) {
+    index = putInt(buffer, index, (int) value);
+    return putInt(buffer, index, (int) (value >>> 32));
+  }
+
+  private void writeHeader(int length) throws IOException {
+    writeBytes(header, length);
+  }
+
+  private void writeBytes(byte[] bytes, int length) throws IOException {
+    out.write(bytes, 0, length);
+    position += length;
+  }
+
+  /** An entry of the archive, with its content compressed according to its method. */
+  static class Entry {
+
+    private final String name;
+    private final int method;
+    private final int crc;
+    private final int size;
+    private final byte[] data;
+    private final int compressedSize;
+
+    private Entry(String name, int method, int crc, int size, byte[] data, int compressedSize) {
+      this.name = name;
+      this.method = method;
+      this.crc = crc;
+      this.size = size;
+      this.data = data;
+      this.compressedSize = compressedSize;
+    }
+
+    static Entry createDirectory(String name) {
+      return new Entry(name, ZipEntry.STORED, 0, 0, new byte[0], 0);
+    }
+
+    /**
+     * Creates an entry for the given content. The content is copied, thus the view can be released
+     * when this returns.
+     */
+    static Entry createFile(String name, ByteDataView content, int method) {
+      byte[] buffer = content.getBuffer();
+      int offset = content.getOffset();
+      int length = content.getLength();
+      CRC32 crc = new CRC32();
+      crc.update(buffer, offset, length);
+      if (method == ZipEntry.STORED) {
+        return new Entry(
+            name,
+            method,
+            (int) crc.getValue(),
+            length,
+            Arrays.copyOfRange(buffer, offset, offset + length),
+            length);
+      }
+      assert method == ZipEntry.DEFLATED;
+      Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+      try {
+        deflater.setInput(buffer, offset, length);
+        deflater.finish();
+        byte[] data = new byte[length / 2 + 64];
+        int compressedSize = 0;
+        while (!deflater.finished()) {
+          if (compressedSize == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+          }
+          compressedSize += deflater.deflate(data, compressedSize, data.length - compressedSize);
+        }
+        return new Entry(name, method, (int) crc.getValue(), length, data, compressedSize);
+      } finally {
+        deflater.end();
+      }
+    }
+  }
+
+  // The header fields of a written entry, which are repeated in the central directory. The
+  // content is not retained.
+  private static class WrittenEntry {
+
+    private final byte[] name;
+    private final int method;
+    private final int crc;
+    private final int size;
+    private final int compressedSize;
+    private final long offset;
+
+    private WrittenEntry(Entry entry, byte[] name, long offset) {
+      this.name = name;
+      this.method = entry.method;
+      this.crc = entry.crc;
+      this.size = entry.size;
+      this.compressedSize = entry.compressedSize;
+      this.offset = offset;
+    }
+
+    private int getVersion() {
+      return method == ZipEntry.DEFLATED ? VERSION_DEFLATED : VERSION_STORED;
+    }
+  }
+}
@@ -4,7 +4,6 @@
 
 package com.android.tools.r8.utils.positions;
 
-import com.android.tools.r8.debuginfo.DebugRepresentation;
 import com.android.tools.r8.graph.AppView;
 import com.android.tools.r8.graph.DexCode;
 import com.android.tools.r8.graph.DexDebugEvent;
@@ -72,7 +71,7 @@ public class DexPositionToPcMappedRangeMapper {
       event.accept(visitor);
     }
 
-    int lastInstructionPc = DebugRepresentation.getLastExecutableInstruction(dexCode).getOffset();
+    int lastInstructionPc = dexCode.getLastExecutableInstructionOffset();
     if (lastPosition.getSecond() != null) {
       remapAndAddForPc(
           pcBasedDebugInfo,
@@ -83,7 +82,7 @@ public class DexPositionToPcMappedRangeMapper {
           mappedPositions);
     }
 
-    assert !mappedPositions.isEmpty() || dexCode.instructions.length == 1;
+    assert !mappedPositions.isEmpty() || dexCode.getInstructionCount() == 1;
     pcBasedDebugInfo.recordPcMappingFor(method, pcEncodingCutoff);
     return mappedPositions;
   }
@@ -457,7 +457,7 @@ public class MappedPositionToClassNameMapperBuilder {
       Code code = definition.getCode();
       // If the dex code is a single PC code then that also qualifies as having at most one
       // position.
-      return code.isDexCode() && code.asDexCode().instructions.length == 1;
+      return code.isDexCode() && code.asDexCode().getInstructionCount() == 1;
     }
 
     private ClassNaming.Builder getBuilder() {
@@ -1556,16 +1556,16 @@ public class TestBase {
 
   protected static void checkInstructions(
       DexCode code, List<Class<? extends DexInstruction>> instructions) {
-    assertEquals(instructions.size(), code.instructions.length);
+    assertEquals(instructions.size(), code.getInstructions().length);
     for (int i = 0; i < instructions.size(); ++i) {
       assertEquals("Unexpected instruction at index " + i,
-          instructions.get(i), code.instructions[i].getClass());
+          instructions.get(i), code.getInstructions()[i].getClass());
     }
   }
 
   protected Stream<DexInstruction> filterInstructionKind(
       DexCode dexCode, Class<? extends DexInstruction> kind) {
-    return Arrays.stream(dexCode.instructions)
+    return Arrays.stream(dexCode.getInstructions())
         .filter(kind::isInstance)
         .map(kind::cast);
   }
@@ -121,7 +121,7 @@ public class InvokeTypeConversionTest extends SmaliTestBase {
           assertNotNull(method);
           DexCode code = method.getCode().asDexCode();
           // The given invoke line is remained as-is.
-          assertTrue(code.instructions[2] instanceof DexInvokeDirect);
+          assertTrue(code.getInstructions()[2] instanceof DexInvokeDirect);
         });
   }
 
@@ -152,7 +152,7 @@ public class InvokeTypeConversionTest extends SmaliTestBase {
           assertNotNull(method);
           DexCode code = method.getCode().asDexCode();
           // The given invoke line is changed to invoke-virtual
-          assertTrue(code.instructions[2] instanceof DexInvokeVirtual);
+          assertTrue(code.getInstructions()[2] instanceof DexInvokeVirtual);
         });
   }
 
@@ -5,6 +5,7 @@ package com.android.tools.r8.benchmarks;
 
 import static java.util.Collections.emptyList;
 
+import com.android.tools.r8.benchmarks.androidapi.AndroidApiDatabaseLookupBenchmark;
 import com.android.tools.r8.benchmarks.appdumps.TiviBenchmarks;
 import com.android.tools.r8.benchmarks.desugaredlib.L8Benchmark;
 import com.android.tools.r8.benchmarks.desugaredlib.LegacyDesugaredLibraryBenchmark;
@@ -51,6 +52,7 @@ public class BenchmarkCollection {
     L8Benchmark.configs().forEach(collection::addBenchmark);
     TiviBenchmarks.configs().forEach(collection::addBenchmark);
     RetraceStackTraceBenchmark.configs().forEach(collection::addBenchmark);
+    AndroidApiDatabaseLookupBenchmark.configs().forEach(collection::addBenchmark);
     return collection;
   }
 
@@ -0,0 +1,163 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.benchmarks.androidapi;
+
+import com.android.tools.r8.TestDiagnosticMessagesImpl;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.androidapi.AndroidApiLevelHashingDatabaseImpl;
+import com.android.tools.r8.benchmarks.BenchmarkBase;
+import com.android.tools.r8.benchmarks.BenchmarkConfig;
+import com.android.tools.r8.benchmarks.BenchmarkDependency;
+import com.android.tools.r8.benchmarks.BenchmarkMethod;
+import com.android.tools.r8.benchmarks.BenchmarkTarget;
+import com.android.tools.r8.graph.DexItemFactory;
+import com.android.tools.r8.graph.DexReference;
+import com.android.tools.r8.references.ClassReference;
+import com.android.tools.r8.references.Reference;
+import com.android.tools.r8.utils.InternalOptions;
+import com.android.tools.r8.utils.ZipUtils;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+/** Benchmark of looking up the api level of all classes and members in android.jar. */
+@RunWith(Parameterized.class)
+public class AndroidApiDatabaseLookupBenchmark extends BenchmarkBase {
+
+  private static final BenchmarkDependency androidJar = BenchmarkDependency.getAndroidJar30();
+
+  @Parameters(name = "{0}")
+  public static List<Object[]> data() {
+    return parametersFromConfigs(configs());
+  }
+
+  public AndroidApiDatabaseLookupBenchmark(BenchmarkConfig config, TestParameters parameters) {
+    super(config, parameters);
+  }
+
+  /** Static method to add benchmarks to the benchmark collection. */
+  public static List<BenchmarkConfig> configs() {
+    return ImmutableList.<BenchmarkConfig>builder()
+        .add(
+            BenchmarkConfig.builder()
+                .setName("AndroidApiDatabaseLookup")
+                .setTarget(BenchmarkTarget.D8)
+                .measureRunTime()
+                .setMethod(benchmarkLookup())
+                .setFromRevision(12266)
+                .measureWarmup()
+                .addDependency(androidJar)
+                .build())
+        .build();
+  }
+
+  public static BenchmarkMethod benchmarkLookup() {
+    return environment ->
+        runner(environment.getConfig())
+            .setWarmupIterations(1)
+            .setBenchmarkIterations(10)
+            .reportResultSum()
+            .run(
+                results -> {
+                  DexItemFactory factory = new DexItemFactory();
+                  List<DexReference> references =
+                      readReferences(
+                          androidJar.getRoot(environment).resolve("android.jar"), factory);
+                  TestDiagnosticMessagesImpl diagnostics = new TestDiagnosticMessagesImpl();
+                  // The database caches the result of each lookup, so use a new database to
+                  // measure the lookups in the underlying data.
+                  long start = System.nanoTime();
+                  AndroidApiLevelHashingDatabaseImpl database =
+                      new AndroidApiLevelHashingDatabaseImpl(
+                          ImmutableList.of(), new InternalOptions(), diagnostics);
+                  int found = 0;
+                  for (DexReference reference : references) {
+                    if (reference.apply(
+                            database::getTypeApiLevel,
+                            database::getFieldApiLevel,
+                            database::getMethodApiLevel)
+                        != null) {
+                      found++;
+                    }
+                  }
+                  long end = System.nanoTime();
+                  // Add a simple check to ensure that we do not, in case of a missing database,
+                  // record an optimal benchmark result.
+                  if (found < references.size() / 2) {
+                    throw new RuntimeException(
+                        "Unexpected lookup of " + found + " out of " + references.size());
+                  }
+                  diagnostics.assertNoMessages();
+                  results.addRuntimeResult(end - start);
+                });
+  }
+
+  private static List<DexReference> readReferences(Path androidJar, DexItemFactory factory)
+      throws IOException {
+    List<DexReference> references = new ArrayList<>();
+    ZipUtils.iter(
+        androidJar,
+        (entry, input) -> {
+          if (!entry.getName().endsWith(".class")) {
+            return;
+          }
+          new ClassReader(input)
+              .accept(
+                  new ClassVisitor(InternalOptions.ASM_VERSION) {
+
+                    private ClassReference holder;
+
+                    @Override
+                    public void visit(
+                        int version,
+                        int access,
+                        String name,
+                        String signature,
+                        String superName,
+                        String[] interfaces) {
+                      holder = Reference.classFromBinaryName(name);
+                      references.add(factory.createType(holder.getDescriptor()));
+                    }
+
+                    @Override
+                    public FieldVisitor visitField(
+                        int access,
+                        String name,
+                        String descriptor,
+                        String signature,
+                        Object value) {
+                      references.add(
+                          factory.createField(
+                              Reference.field(
+                                  holder, name, Reference.typeFromDescriptor(descriptor))));
+                      return null;
+                    }
+
+                    @Override
+                    public MethodVisitor visitMethod(
+                        int access,
+                        String name,
+                        String descriptor,
+                        String signature,
+                        String[] exceptions) {
+                      references.add(
+                          factory.createMethod(
+                              Reference.methodFromDescriptor(holder, name, descriptor)));
+                      return null;
+                    }
+                  },
+                  ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        });
+    return references;
+  }
+}
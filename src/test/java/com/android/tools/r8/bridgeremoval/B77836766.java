@@ -182,13 +182,13 @@ public class B77836766 extends TestBase {
                 DexCode code = fooFromCls2InAbsCls.getMethod().getCode().asDexCode();
                 checkInstructions(
                     code, ImmutableList.of(DexInvokeVirtual.class, DexReturnVoid.class));
-                DexInvokeVirtual invoke = (DexInvokeVirtual) code.instructions[0];
+                DexInvokeVirtual invoke = (DexInvokeVirtual) code.getInstructions()[0];
                 assertEquals(absSubject.getDexProgramClass().type, invoke.getMethod().holder);
 
                 code = fooFromCls1InAbsCls.getMethod().getCode().asDexCode();
                 checkInstructions(
                     code, ImmutableList.of(DexInvokeVirtual.class, DexReturnVoid.class));
-                invoke = (DexInvokeVirtual) code.instructions[0];
+                invoke = (DexInvokeVirtual) code.getInstructions()[0];
                 assertEquals(absSubject.getDexProgramClass().type, invoke.getMethod().holder);
               }
             })
@@ -308,13 +308,13 @@ public class B77836766 extends TestBase {
                 DexCode code = barInCls2.getMethod().getCode().asDexCode();
                 checkInstructions(
                     code, ImmutableList.of(DexInvokeVirtual.class, DexReturnVoid.class));
-                DexInvokeVirtual invoke = (DexInvokeVirtual) code.instructions[0];
+                DexInvokeVirtual invoke = (DexInvokeVirtual) code.getInstructions()[0];
                 assertEquals(baseSubject.getDexProgramClass().type, invoke.getMethod().holder);
 
                 code = fooInBase.getMethod().getCode().asDexCode();
                 checkInstructions(
                     code, ImmutableList.of(DexInvokeVirtual.class, DexReturnVoid.class));
-                invoke = (DexInvokeVirtual) code.instructions[0];
+                invoke = (DexInvokeVirtual) code.getInstructions()[0];
                 assertEquals(baseSubject.getDexProgramClass().type, invoke.getMethod().holder);
               }
             })
@@ -411,7 +411,7 @@ public class B77836766 extends TestBase {
                 DexCode code = barInSub.getMethod().getCode().asDexCode();
                 checkInstructions(
                     code, ImmutableList.of(DexInvokeVirtual.class, DexReturnVoid.class));
-                DexInvokeVirtual invoke = (DexInvokeVirtual) code.instructions[0];
+                DexInvokeVirtual invoke = (DexInvokeVirtual) code.getInstructions()[0];
                 assertEquals(baseSubject.getDexProgramClass().type, invoke.getMethod().holder);
               }
             })
@@ -498,7 +498,7 @@ public class B77836766 extends TestBase {
                 DexCode code = barInSub.getMethod().getCode().asDexCode();
                 checkInstructions(
                     code, ImmutableList.of(DexInvokeVirtual.class, DexReturnVoid.class));
-                DexInvokeVirtual invoke = (DexInvokeVirtual) code.instructions[0];
+                DexInvokeVirtual invoke = (DexInvokeVirtual) code.getInstructions()[0];
                 assertEquals(baseSubject.getDexProgramClass().type, invoke.getMethod().holder);
               }
             })
@@ -32,6 +32,10 @@ public abstract class CfClassGenerator extends CodeGenerationBase {
 
   public abstract Class<?> getImplementation();
 
+  protected byte[] getImplementationClassBytes() throws IOException {
+    return ToolHelper.getClassAsBytes(getImplementation());
+  }
+
   public String generateClass() throws IOException {
     return formatRawOutput(generateRawOutput());
   }
@@ -66,7 +70,7 @@ public abstract class CfClassGenerator extends CodeGenerationBase {
     Box<DexProgramClass> result = new Box<>();
     JarClassFileReader<DexProgramClass> reader =
         new JarClassFileReader<>(new JarApplicationReader(options), result::set, ClassKind.PROGRAM);
-    reader.read(Origin.unknown(), ToolHelper.getClassAsBytes(getImplementation()));
+    reader.read(Origin.unknown(), getImplementationClassBytes());
     return result.get();
   }
 
@@ -52,12 +52,12 @@ public class AtomicFieldUpdaterTest extends CompatProguardSmaliTestBase {
     assertTrue(method.isPresent());
 
     DexCode code = method.getMethod().getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstClass);
-    assertTrue(code.instructions[1] instanceof DexConstString);
-    DexConstString constString = (DexConstString) code.instructions[1];
+    assertTrue(code.getInstructions()[0] instanceof DexConstClass);
+    assertTrue(code.getInstructions()[1] instanceof DexConstString);
+    DexConstString constString = (DexConstString) code.getInstructions()[1];
     assertNotEquals("foo", constString.getString().toString());
-    assertTrue(code.instructions[2] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[3] instanceof DexReturnVoid);
+    assertTrue(code.getInstructions()[2] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[3] instanceof DexReturnVoid);
   }
 
   @Test
@@ -88,12 +88,12 @@ public class AtomicFieldUpdaterTest extends CompatProguardSmaliTestBase {
     assertTrue(method.isPresent());
 
     DexCode code = method.getMethod().getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstClass);
-    assertTrue(code.instructions[1] instanceof DexConstString);
-    DexConstString constString = (DexConstString) code.instructions[1];
+    assertTrue(code.getInstructions()[0] instanceof DexConstClass);
+    assertTrue(code.getInstructions()[1] instanceof DexConstString);
+    DexConstString constString = (DexConstString) code.getInstructions()[1];
     assertNotEquals("foo", constString.getString().toString());
-    assertTrue(code.instructions[2] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[3] instanceof DexReturnVoid);
+    assertTrue(code.getInstructions()[2] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[3] instanceof DexReturnVoid);
   }
 
   @Test
@@ -125,11 +125,11 @@ public class AtomicFieldUpdaterTest extends CompatProguardSmaliTestBase {
     assertTrue(method.isPresent());
 
     DexCode code = method.getMethod().getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstClass);
-    assertTrue(code.instructions[1] instanceof DexConstString);
-    assertNotEquals("foo", code.instructions[1].asConstString().getString().toString());
-    assertTrue(code.instructions[2] instanceof DexConstClass);
-    assertTrue(code.instructions[3] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[4] instanceof DexReturnVoid);
+    assertTrue(code.getInstructions()[0] instanceof DexConstClass);
+    assertTrue(code.getInstructions()[1] instanceof DexConstString);
+    assertNotEquals("foo", code.getInstructions()[1].asConstString().getString().toString());
+    assertTrue(code.getInstructions()[2] instanceof DexConstClass);
+    assertTrue(code.getInstructions()[3] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[4] instanceof DexReturnVoid);
   }
 }
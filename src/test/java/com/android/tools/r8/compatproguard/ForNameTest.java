@@ -52,11 +52,11 @@ public class ForNameTest extends CompatProguardSmaliTestBase {
     assertTrue(method.isPresent());
 
     DexCode code = method.getMethod().getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstString);
-    DexConstString constString = (DexConstString) code.instructions[0];
+    assertTrue(code.getInstructions()[0] instanceof DexConstString);
+    DexConstString constString = (DexConstString) code.getInstructions()[0];
     assertNotEquals(BOO, constString.getString().toString());
-    assertTrue(code.instructions[1] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[2] instanceof DexReturnVoid);
+    assertTrue(code.getInstructions()[1] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[2] instanceof DexReturnVoid);
   }
 
   @Test
@@ -88,11 +88,11 @@ public class ForNameTest extends CompatProguardSmaliTestBase {
     assertTrue(method.isPresent());
 
     DexCode code = method.getMethod().getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstString);
-    DexConstString constString = (DexConstString) code.instructions[0];
+    assertTrue(code.getInstructions()[0] instanceof DexConstString);
+    DexConstString constString = (DexConstString) code.getInstructions()[0];
     assertEquals(BOO, constString.getString().toString());
-    assertTrue(code.instructions[1] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[2] instanceof DexReturnVoid);
+    assertTrue(code.getInstructions()[1] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[2] instanceof DexReturnVoid);
   }
 
 }
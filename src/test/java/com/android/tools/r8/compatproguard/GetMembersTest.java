@@ -55,12 +55,12 @@ public class GetMembersTest extends CompatProguardSmaliTestBase {
     assertTrue(method.isPresent());
 
     DexCode code = method.getMethod().getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstClass);
-    assertTrue(code.instructions[1] instanceof DexConstString);
-    DexConstString constString = (DexConstString) code.instructions[1];
+    assertTrue(code.getInstructions()[0] instanceof DexConstClass);
+    assertTrue(code.getInstructions()[1] instanceof DexConstString);
+    DexConstString constString = (DexConstString) code.getInstructions()[1];
     assertNotEquals("foo", constString.getString().toString());
-    assertTrue(code.instructions[2] instanceof DexInvokeVirtual);
-    assertTrue(code.instructions[3] instanceof DexReturnVoid);
+    assertTrue(code.getInstructions()[2] instanceof DexInvokeVirtual);
+    assertTrue(code.getInstructions()[3] instanceof DexReturnVoid);
   }
 
   @Test
@@ -97,26 +97,26 @@ public class GetMembersTest extends CompatProguardSmaliTestBase {
     DexCode code = method.getMethod().getCode().asDexCode();
 
     // Accept either array construction style (differs based on minSdkVersion).
-    if (code.instructions[1] instanceof DexFilledNewArray) {
-      assertTrue(code.instructions[0] instanceof DexConstClass);
-      assertTrue(code.instructions[1] instanceof DexFilledNewArray);
-      assertTrue(code.instructions[2] instanceof DexMoveResultObject);
-      assertTrue(code.instructions[3] instanceof DexConstClass);
-      assertTrue(code.instructions[4] instanceof DexConstString);
-      assertNotEquals("foo", code.instructions[4].asConstString().getString().toString());
-      assertTrue(code.instructions[5] instanceof DexInvokeVirtual);
-      assertTrue(code.instructions[6] instanceof DexReturnVoid);
+    if (code.getInstructions()[1] instanceof DexFilledNewArray) {
+      assertTrue(code.getInstructions()[0] instanceof DexConstClass);
+      assertTrue(code.getInstructions()[1] instanceof DexFilledNewArray);
+      assertTrue(code.getInstructions()[2] instanceof DexMoveResultObject);
+      assertTrue(code.getInstructions()[3] instanceof DexConstClass);
+      assertTrue(code.getInstructions()[4] instanceof DexConstString);
+      assertNotEquals("foo", code.getInstructions()[4].asConstString().getString().toString());
+      assertTrue(code.getInstructions()[5] instanceof DexInvokeVirtual);
+      assertTrue(code.getInstructions()[6] instanceof DexReturnVoid);
     } else {
-      assertTrue(code.instructions[0] instanceof DexConst4);
-      assertTrue(code.instructions[1] instanceof DexNewArray);
-      assertTrue(code.instructions[2] instanceof DexConst4);
-      assertTrue(code.instructions[3] instanceof DexConstClass);
-      assertTrue(code.instructions[4] instanceof DexAputObject);
-      assertTrue(code.instructions[5] instanceof DexConstClass);
-      assertTrue(code.instructions[6] instanceof DexConstString);
-      assertNotEquals("foo", code.instructions[6].asConstString().getString().toString());
-      assertTrue(code.instructions[7] instanceof DexInvokeVirtual);
-      assertTrue(code.instructions[8] instanceof DexReturnVoid);
+      assertTrue(code.getInstructions()[0] instanceof DexConst4);
+      assertTrue(code.getInstructions()[1] instanceof DexNewArray);
+      assertTrue(code.getInstructions()[2] instanceof DexConst4);
+      assertTrue(code.getInstructions()[3] instanceof DexConstClass);
+      assertTrue(code.getInstructions()[4] instanceof DexAputObject);
+      assertTrue(code.getInstructions()[5] instanceof DexConstClass);
+      assertTrue(code.getInstructions()[6] instanceof DexConstString);
+      assertNotEquals("foo", code.getInstructions()[6].asConstString().getString().toString());
+      assertTrue(code.getInstructions()[7] instanceof DexInvokeVirtual);
+      assertTrue(code.getInstructions()[8] instanceof DexReturnVoid);
     }
   }
 
@@ -112,7 +112,7 @@ public class SmaliDebugTest extends DebugTestBase {
             CLASS,
             new MethodSignature(methodName, "int", new String[] {"int"}));
     DexIfEqz cond = null;
-    for (DexInstruction instruction : info.getMethod().getCode().asDexCode().instructions) {
+    for (DexInstruction instruction : info.getMethod().getCode().asDexCode().getInstructions()) {
       if (instruction.getOpcode() == DexIfEqz.OPCODE) {
         cond = (DexIfEqz) instruction;
         break;
@@ -31,7 +31,7 @@ public class CodeGeneratorTestRunner extends DebugInfoTestBase {
 
     DebugInfoInspector inspector = inspectMethod(d8App, clazz, "int", "intAddition", "int", "int",
         "int");
-    DexInstruction[] instructions = inspector.getMethod().getCode().asDexCode().instructions;
+    DexInstruction[] instructions = inspector.getMethod().getCode().asDexCode().getInstructions();
     assertTrue(instructions[0] instanceof DexAddInt2Addr);
     assertTrue(instructions[1] instanceof DexAddInt2Addr);
     assertTrue(instructions[2] instanceof DexAddInt);
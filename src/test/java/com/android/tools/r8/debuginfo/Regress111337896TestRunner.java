@@ -51,7 +51,7 @@ public class Regress111337896TestRunner extends DebugInfoTestBase {
     info.checkStartLine(12);
     assertEquals(1, info.checkLineExists(18));
     int nopsFound = 0;
-    for (DexInstruction instruction : info.getMethod().getCode().asDexCode().instructions) {
+    for (DexInstruction instruction : info.getMethod().getCode().asDexCode().getInstructions()) {
       if (instruction instanceof DexNop) {
         nopsFound++;
       }
@@ -103,7 +103,7 @@ public class Regress111337896TestRunner extends DebugInfoTestBase {
     info.checkStartLine(11);
     assertEquals(1, info.checkLineExists(13));
     int nopsFound = 0;
-    for (DexInstruction instruction : info.getMethod().getCode().asDexCode().instructions) {
+    for (DexInstruction instruction : info.getMethod().getCode().asDexCode().getInstructions()) {
       if (instruction instanceof DexNop) {
         nopsFound++;
       }
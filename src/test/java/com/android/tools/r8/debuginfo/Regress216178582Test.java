@@ -68,7 +68,7 @@ public class Regress216178582Test extends TestBase {
                       new DexDebugEntryBuilder(method, inspector.getFactory()).build();
                   Iterator<DexDebugEntry> it = entries.iterator();
                   int pc = 0;
-                  for (DexInstruction instruction : code.instructions) {
+                  for (DexInstruction instruction : code.getInstructions()) {
                     if (instruction.canThrow()) {
                       DexDebugEntry next = it.next();
                       assertEquals(
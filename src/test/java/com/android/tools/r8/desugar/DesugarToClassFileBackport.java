@@ -68,7 +68,7 @@ public class DesugarToClassFileBackport extends TestBase {
       assertTrue(code.getInstructions().stream().noneMatch(this::isCfLAdd));
     } else {
       DexCode code = methodSubject.getProgramMethod().getDefinition().getCode().asDexCode();
-      assertTrue(Arrays.stream(code.instructions).noneMatch(this::isDexAddLong));
+      assertTrue(Arrays.stream(code.getInstructions()).noneMatch(this::isDexAddLong));
     }
     assertTrue(methodSubject.streamInstructions().anyMatch(this::boxedDoubleIsFiniteInvoke));
   }
@@ -81,7 +81,7 @@ public class DesugarToClassFileBackport extends TestBase {
       assertTrue(code.getInstructions().stream().anyMatch(this::isCfLAdd));
     } else {
       DexCode code = methodSubject.getProgramMethod().getDefinition().getCode().asDexCode();
-      assertTrue(Arrays.stream(code.instructions).anyMatch(this::isDexAddLong));
+      assertTrue(Arrays.stream(code.getInstructions()).anyMatch(this::isDexAddLong));
     }
     assertTrue(methodSubject.streamInstructions().noneMatch(this::boxedDoubleIsFiniteInvoke));
   }
@@ -0,0 +1,166 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.desugar.constantdynamic;
+
+import static com.android.tools.r8.DiagnosticsMatcher.diagnosticMessage;
+import static com.android.tools.r8.DiagnosticsMatcher.diagnosticType;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.objectweb.asm.Opcodes.H_INVOKESTATIC;
+
+import com.android.tools.r8.DiagnosticsLevel;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.TestRuntime.CfVm;
+import com.android.tools.r8.cf.CfVersion;
+import com.android.tools.r8.errors.ConstantDynamicDesugarDiagnostic;
+import com.android.tools.r8.errors.UnsupportedConstDynamicDiagnostic;
+import com.android.tools.r8.errors.UnsupportedFeatureDiagnostic;
+import com.android.tools.r8.graph.CfCode;
+import com.android.tools.r8.ir.desugar.CfInstructionKind;
+import com.android.tools.r8.origin.Origin;
+import com.android.tools.r8.utils.AndroidApp;
+import com.android.tools.r8.utils.codeinspector.CodeInspector;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.objectweb.asm.ConstantDynamic;
+import org.objectweb.asm.Handle;
+
+/**
+ * Tests that a method where const-dynamic is the only instruction that may need desugaring is
+ * desugared, although the instruction kinds of the method are recorded when the method is read.
+ */
+@RunWith(Parameterized.class)
+public class ConstantDynamicOnlyMethodTest extends TestBase {
+
+  @Parameter() public TestParameters parameters;
+
+  @Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withDexRuntimes().withAllApiLevels().build();
+  }
+
+  @Test
+  public void testInstructionKinds() throws Exception {
+    CodeInspector inspector =
+        new CodeInspector(
+            AndroidApp.builder()
+                .addClassProgramData(getTransformedA(), Origin.unknown())
+                .build());
+    CfCode code =
+        inspector
+            .clazz(A.class)
+            .uniqueMethodWithOriginalName("f")
+            .getMethod()
+            .getCode()
+            .asCfCode();
+    assertEquals(
+        CfInstructionKind.CONST_DYNAMIC.asSet() | CfInstructionKind.OTHER.asSet(),
+        code.getInstructionKinds());
+  }
+
+  @Test
+  public void testConstantDynamicDesugaring() throws Exception {
+    testForD8(parameters.getBackend())
+        .addProgramClassFileData(getTransformedA())
+        .setMinApi(parameters.getApiLevel())
+        .compile()
+        .assertNoMessages()
+        .run(parameters.getRuntime(), A.class)
+        .assertSuccessWithOutputLines("true");
+  }
+
+  @Test
+  public void testUnrepresentableInstructionRemover() throws Exception {
+    // The bootstrap method is provided by the runtime, so the const-dynamic desugaring leaves the
+    // instruction to the unrepresentable instruction remover.
+    testForD8(parameters.getBackend())
+        .addProgramClassFileData(getTransformedB())
+        .setMinApi(parameters.getApiLevel())
+        .setDiagnosticsLevelModifier(
+            (level, diagnostic) ->
+                (diagnostic instanceof UnsupportedFeatureDiagnostic
+                        || diagnostic instanceof ConstantDynamicDesugarDiagnostic)
+                    ? DiagnosticsLevel.WARNING
+                    : level)
+        .compileWithExpectedDiagnostics(
+            diagnostics ->
+                diagnostics.assertWarningsMatch(
+                    diagnosticType(UnsupportedConstDynamicDiagnostic.class),
+                    allOf(
+                        diagnosticType(ConstantDynamicDesugarDiagnostic.class),
+                        diagnosticMessage(
+                            containsString(
+                                "Unsupported dynamic constant (runtime provided bootstrap"
+                                    + " method)")))))
+        .run(parameters.getRuntime(), B.class)
+        .assertFailureWithErrorThatThrows(RuntimeException.class)
+        .assertFailureWithErrorThatMatches(containsString("const-dynamic"));
+  }
+
+  private byte[] getTransformedA() throws IOException {
+    return transformer(A.class)
+        .setVersion(CfVersion.V11)
+        .transformConstStringToConstantDynamic(
+            "condy", A.class, "myConstant", false, "constantName", Object.class)
+        .transform();
+  }
+
+  private byte[] getTransformedB() throws IOException {
+    return transformer(B.class)
+        .setMinVersion(CfVm.JDK11)
+        .transformLdcInsnInMethod(
+            "f",
+            (value, continuation) -> {
+              assertEquals("replaced by dynamic null constant", value);
+              continuation.visitLdcInsn(
+                  new ConstantDynamic(
+                      "dynamicnull",
+                      "Ljava/lang/String;",
+                      new Handle(
+                          H_INVOKESTATIC,
+                          "java/lang/invoke/ConstantBootstraps",
+                          "nullConstant",
+                          "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;"
+                              + "Ljava/lang/Class;)Ljava/lang/Object;",
+                          false)));
+            })
+        .transform();
+  }
+
+  public static class A {
+
+    // The body of this method is only a const-dynamic and a return.
+    public static Object f() {
+      return "condy"; // Will be transformed to Constant_DYNAMIC.
+    }
+
+    public static void main(String[] args) {
+      System.out.println(f() != null);
+    }
+
+    private static Object myConstant(MethodHandles.Lookup lookup, String name, Class<?> type) {
+      return new Object();
+    }
+  }
+
+  public static class B {
+
+    // The body of this method is only a const-dynamic and a return.
+    public static String f() {
+      return "replaced by dynamic null constant";
+    }
+
+    public static void main(String[] args) {
+      System.out.println(f());
+    }
+  }
+}
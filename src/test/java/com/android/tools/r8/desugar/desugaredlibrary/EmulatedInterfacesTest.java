@@ -100,7 +100,7 @@ public class EmulatedInterfacesTest extends DesugaredLibraryTestBase {
     for (DexEncodedMethod method : collectionDispatch.methods()) {
       int numCheckCast =
           (int)
-              Stream.of(method.getCode().asDexCode().instructions)
+              Stream.of(method.getCode().asDexCode().getInstructions())
                   .filter(DexInstruction::isCheckCast)
                   .count();
       if (method.qualifiedName().contains("spliterator")) {
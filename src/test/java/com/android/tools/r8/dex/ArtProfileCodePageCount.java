@@ -0,0 +1,171 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.dex;
+
+import com.android.tools.r8.graph.ApplicationReaderMap;
+import com.android.tools.r8.graph.ClassKind;
+import com.android.tools.r8.graph.DexCode;
+import com.android.tools.r8.graph.DexEncodedMethod;
+import com.android.tools.r8.graph.DexProgramClass;
+import com.android.tools.r8.origin.PathOrigin;
+import com.android.tools.r8.utils.FileUtils;
+import com.android.tools.r8.utils.InternalOptions;
+import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reports the number of distinct pages that hold the code items of the methods in a human-readable
+ * ART profile.
+ *
+ * <p>Running this on the output of a compilation with and without {@code
+ * -Dcom.android.tools.r8.artprofile.layout=true} shows the effect of the ART profile layout.
+ *
+ * <pre>
+ *   java -cp r8tests.jar:r8.jar com.android.tools.r8.dex.ArtProfileCodePageCount \
+ *       profile.txt classes*.dex
+ * </pre>
+ */
+public class ArtProfileCodePageCount {
+
+  private static final int PAGE_SIZE = 4096;
+
+  public static class CodeItem {
+
+    private final String method;
+    private final int offset;
+    private int end;
+
+    private CodeItem(String method, int offset) {
+      this.method = method;
+      this.offset = offset;
+    }
+
+    /** Returns the method in smali notation, which is also the notation of ART profiles. */
+    public String getMethod() {
+      return method;
+    }
+
+    public int getOffset() {
+      return offset;
+    }
+
+    // The end of a code item is approximated by the start of the next code item, thus it includes
+    // the alignment padding after the code item.
+    public int getEnd() {
+      return end;
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      throw new RuntimeException(
+          "Usage: ArtProfileCodePageCount <human-readable-art-profile> <dex-file>+");
+    }
+    Set<String> profileMethods = readProfileMethods(Paths.get(args[0]));
+    for (String file : Arrays.asList(args).subList(1, args.length)) {
+      Path path = Paths.get(file);
+      List<CodeItem> codeItems = readCodeItems(path);
+      IntSet pages = new IntOpenHashSet();
+      IntSet touchedPages = new IntOpenHashSet();
+      int profileMethodCount = 0;
+      for (CodeItem codeItem : codeItems) {
+        boolean isProfileMethod = profileMethods.contains(codeItem.getMethod());
+        if (isProfileMethod) {
+          profileMethodCount++;
+        }
+        for (int page = codeItem.getOffset() / PAGE_SIZE;
+            page <= (codeItem.getEnd() - 1) / PAGE_SIZE;
+            page++) {
+          pages.add(page);
+          if (isProfileMethod) {
+            touchedPages.add(page);
+          }
+        }
+      }
+      System.out.println(
+          path
+              + ": "
+              + profileMethodCount
+              + " profile methods with code in "
+              + touchedPages.size()
+              + " of "
+              + pages.size()
+              + " code pages");
+    }
+  }
+
+  private static Set<String> readProfileMethods(Path profile) throws IOException {
+    Set<String> profileMethods = new HashSet<>();
+    for (String line : FileUtils.readAllLines(profile)) {
+      line = line.trim();
+      int descriptorStart = 0;
+      while (descriptorStart < line.length() && "HSP".indexOf(line.charAt(descriptorStart)) >= 0) {
+        descriptorStart++;
+      }
+      String descriptor = line.substring(descriptorStart);
+      if (descriptor.contains("->")) {
+        profileMethods.add(descriptor);
+      }
+    }
+    return profileMethods;
+  }
+
+  /** Returns the code items of the given dex file in the order they are written. */
+  public static List<CodeItem> readCodeItems(Path file) throws IOException {
+    InternalOptions options = new InternalOptions();
+    DexParser<DexProgramClass> dexParser =
+        new DexParser<>(
+            new DexReader(new PathOrigin(file), Files.readAllBytes(file)),
+            ClassKind.PROGRAM,
+            options);
+    dexParser.populateIndexTables();
+    List<DexProgramClass> classes = new ArrayList<>();
+    dexParser.addClassDefsTo(classes::add, ApplicationReaderMap.getInstance(options));
+
+    Reference2IntMap<DexCode> codeOffsets = new Reference2IntOpenHashMap<>();
+    for (Int2ReferenceMap.Entry<DexCode> entry :
+        dexParser.getCodeItemsForTesting().int2ReferenceEntrySet()) {
+      codeOffsets.put(entry.getValue(), entry.getIntKey());
+    }
+    List<CodeItem> codeItems = new ArrayList<>();
+    for (DexProgramClass clazz : classes) {
+      for (DexEncodedMethod method : clazz.methods()) {
+        if (method.hasCode()) {
+          codeItems.add(
+              new CodeItem(
+                  method.getReference().toSmaliString(),
+                  codeOffsets.getInt(method.getCode().asDexCode())));
+        }
+      }
+    }
+    codeItems.sort(Comparator.comparingInt(CodeItem::getOffset));
+
+    DexSection codeSection =
+        Arrays.stream(DexParser.parseMapFrom(file))
+            .filter(section -> section.type == Constants.TYPE_CODE_ITEM)
+            .findFirst()
+            .get();
+    for (int i = 0; i < codeItems.size(); i++) {
+      codeItems.get(i).end =
+          i + 1 < codeItems.size()
+              ? codeItems.get(i + 1).getOffset()
+              : codeSection.offset + codeSection.size();
+    }
+    return codeItems;
+  }
+}
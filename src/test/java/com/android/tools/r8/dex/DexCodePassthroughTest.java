@@ -0,0 +1,195 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.dex;
+
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.D8TestCompileResult;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.utils.codeinspector.CodeInspector;
+import com.android.tools.r8.utils.codeinspector.InstructionSubject;
+import com.android.tools.r8.utils.codeinspector.MethodSubject;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Tests that dex code that D8 passes through without decoding it is written as if it had been
+ * decoded, when the indices of the referenced items change in the output.
+ */
+@RunWith(Parameterized.class)
+public class DexCodePassthroughTest extends TestBase {
+
+  private static final String[] EXPECTED_OUTPUT = {
+    "zString", "Main", "42", "three", "hundred", "6", "3", "7", "a", "1234567890123"
+  };
+
+  // The number of strings that sort before the strings of Main, such that the const-string
+  // instructions of Main need const-string/jumbo in the output.
+  private static final int NUMBER_OF_LOW_STRINGS = 70000;
+  private static final int STRINGS_PER_CLASS = 35000;
+
+  @Parameter() public TestParameters parameters;
+
+  @Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withDexRuntimes().withAllApiLevels().build();
+  }
+
+  private Path compileToDex(Class<?>... classes) throws Exception {
+    return testForD8(parameters.getBackend())
+        .addProgramClasses(classes)
+        .setMinApi(parameters.getApiLevel())
+        .compile()
+        .writeToZip();
+  }
+
+  private D8TestCompileResult compileDexInputs(
+      boolean decodeEagerly, List<byte[]> classFileInputs, Path... dexInputs) throws Exception {
+    return testForD8(parameters.getBackend())
+        .addProgramFiles(dexInputs)
+        .addProgramClassFileData(classFileInputs)
+        .addOptionsModification(
+            options -> options.testing.decodePassthroughDexCodeEagerly = decodeEagerly)
+        .setMinApi(parameters.getApiLevel())
+        .compile();
+  }
+
+  @Test
+  public void testRawCopyWithChangedIndices() throws Exception {
+    // Merging the two dex files changes the indices of the strings, types, fields and methods that
+    // are referenced from the code of Main.
+    Path mainDex = compileToDex(Main.class);
+    Path otherDex = compileToDex(AOther.class);
+    List<byte[]> noClassFiles = Collections.emptyList();
+    D8TestCompileResult undecoded = compileDexInputs(false, noClassFiles, mainDex, otherDex);
+    D8TestCompileResult decoded = compileDexInputs(true, noClassFiles, mainDex, otherDex);
+    assertProgramsEqual(decoded.writeToZip(), undecoded.writeToZip());
+    undecoded
+        .inspect(this::inspectSwitchesAndArrayData)
+        .run(parameters.getRuntime(), Main.class)
+        .assertSuccessWithOutputLines(EXPECTED_OUTPUT);
+  }
+
+  @Test
+  public void testJumboStringPromotion() throws Exception {
+    Path mainDex = compileToDex(Main.class);
+    List<byte[]> classesWithManyStrings = getClassesWithManyStrings();
+    D8TestCompileResult undecoded = compileDexInputs(false, classesWithManyStrings, mainDex);
+    D8TestCompileResult decoded = compileDexInputs(true, classesWithManyStrings, mainDex);
+    assertProgramsEqual(decoded.writeToZip(), undecoded.writeToZip());
+    undecoded
+        .inspect(
+            inspector -> {
+              MethodSubject mainMethod = inspector.clazz(Main.class).mainMethod();
+              assertTrue(
+                  mainMethod.streamInstructions().anyMatch(InstructionSubject::isJumboString));
+            })
+        .run(parameters.getRuntime(), Main.class)
+        .assertSuccessWithOutputLines(EXPECTED_OUTPUT);
+  }
+
+  private void inspectSwitchesAndArrayData(CodeInspector inspector) {
+    MethodSubject mainMethod = inspector.clazz(Main.class).mainMethod();
+    assertTrue(mainMethod.streamInstructions().anyMatch(InstructionSubject::isPackedSwitch));
+    assertTrue(mainMethod.streamInstructions().anyMatch(InstructionSubject::isSparseSwitch));
+  }
+
+  // Returns classes with annotations that contain strings that sort before the strings of Main.
+  private static List<byte[]> getClassesWithManyStrings() {
+    List<byte[]> classes = new ArrayList<>();
+    for (int i = 0; i * STRINGS_PER_CLASS < NUMBER_OF_LOW_STRINGS; i++) {
+      ClassWriter writer = new ClassWriter(0);
+      writer.visit(
+          Opcodes.V1_8, Opcodes.ACC_PUBLIC, "foo/Strings" + i, null, "java/lang/Object", null);
+      AnnotationVisitor annotation = writer.visitAnnotation("Lfoo/StringsAnnotation;", true);
+      AnnotationVisitor array = annotation.visitArray("value");
+      for (int j = 0; j < STRINGS_PER_CLASS; j++) {
+        array.visit(null, String.format("a%06d", i * STRINGS_PER_CLASS + j));
+      }
+      array.visitEnd();
+      annotation.visitEnd();
+      writer.visitEnd();
+      classes.add(writer.toByteArray());
+    }
+    return classes;
+  }
+
+  static class AOther {
+
+    static String aField = "aString";
+
+    public static void aMethod() {
+      System.out.println(aField);
+    }
+  }
+
+  static class Main {
+
+    static int field = 42;
+
+    static String packedSwitch(int i) {
+      switch (i) {
+        case 1:
+          return "one";
+        case 2:
+          return "two";
+        case 3:
+          return "three";
+        case 4:
+          return "four";
+        case 5:
+          return "five";
+        default:
+          return "other";
+      }
+    }
+
+    static String sparseSwitch(int i) {
+      switch (i) {
+        case 1:
+          return "one";
+        case 100:
+          return "hundred";
+        case 10000:
+          return "ten thousand";
+        case 1000000:
+          return "million";
+        case 100000000:
+          return "hundred million";
+        default:
+          return "other";
+      }
+    }
+
+    public static void main(String[] args) {
+      System.out.println("zString");
+      System.out.println(Main.class.getSimpleName());
+      System.out.println(field);
+      System.out.println(packedSwitch(3));
+      System.out.println(sparseSwitch(100));
+      int[] ints = {1, 2, 3};
+      System.out.println(ints[0] + ints[1] + ints[2]);
+      byte[] bytes = {1, 2, 3};
+      System.out.println(bytes.length);
+      short[] shorts = {7, 8, 9};
+      System.out.println(shorts[0]);
+      char[] chars = {'a', 'b', 'c'};
+      System.out.println(chars[0]);
+      long[] longs = {1234567890123L, 2L};
+      System.out.println(longs[0]);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.dex;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import com.android.tools.r8.CompilationMode;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests that the code items and debug info items of a single dex file are written identically when
+ * they are encoded concurrently by several threads and when they are encoded by a single thread.
+ */
+@RunWith(Parameterized.class)
+public class FileWriterThreadCountTest extends TestBase {
+
+  @Parameter(0)
+  public CompilationMode mode;
+
+  @Parameter(1)
+  public TestParameters parameters;
+
+  @Parameters(name = "{1}, mode: {0}")
+  public static List<Object[]> data() {
+    return buildParameters(CompilationMode.values(), getTestParameters().withNoneRuntime().build());
+  }
+
+  @Test
+  public void test() throws Exception {
+    assertArrayEquals(compileWithThreadCount(1), compileWithThreadCount(4));
+  }
+
+  private byte[] compileWithThreadCount(int threadCount) throws Exception {
+    return Files.readAllBytes(
+        testForD8(Backend.DEX)
+            .addInnerClasses(getClass())
+            .addOptionsModification(options -> options.threadCount = threadCount)
+            .setMode(mode)
+            .setMinApi(apiLevelWithDefaultInterfaceMethodsSupport())
+            .compile()
+            .writeToDirectory()
+            .resolve("classes.dex"));
+  }
+
+  // The methods below have code items of different sizes, with and without try-catch handlers and
+  // switch payloads, and with debug info in debug mode.
+
+  public interface Greeter {
+
+    String greet(String name);
+
+    default Greeter twice() {
+      return name -> greet(greet(name));
+    }
+  }
+
+  public static class Main {
+
+    public static void main(String[] args) {
+      Greeter greeter = name -> "Hello, " + name;
+      System.out.println(greeter.twice().greet(args.length > 0 ? args[0] : "world"));
+      System.out.println(parse(args.length > 1 ? args[1] : "42"));
+      System.out.println(describe(args.length));
+      System.out.println(sum(new int[] {1, 2, 3, 4, 5}));
+    }
+
+    static int parse(String value) {
+      try {
+        return Integer.parseInt(value);
+      } catch (NumberFormatException e) {
+        return -1;
+      } finally {
+        System.out.println("parsed " + value);
+      }
+    }
+
+    static String describe(int value) {
+      switch (value) {
+        case 0:
+          return "zero";
+        case 1:
+          return "one";
+        case 2:
+          return "two";
+        case 10:
+          return "ten";
+        case 100:
+          return "hundred";
+        default:
+          return "many";
+      }
+    }
+
+    static long sum(int[] values) {
+      long result = 0;
+      for (int value : values) {
+        result += value;
+      }
+      return result;
+    }
+  }
+}
@@ -44,7 +44,7 @@ public class JumboStringProcessing extends TestBase {
     DexString string = factory.createString("turn into jumbo");
     DexInstruction[] instructions = buildInstructions(string, false);
     DexCode code = jumboStringProcess(factory, string, instructions);
-    DexInstruction[] rewrittenInstructions = code.instructions;
+    DexInstruction[] rewrittenInstructions = code.getInstructions();
     assert rewrittenInstructions[1] instanceof DexIfEq;
     DexIfEq condition = (DexIfEq) rewrittenInstructions[1];
     assert condition.getOffset() + condition.CCCC == rewrittenInstructions[3].getOffset();
@@ -60,7 +60,7 @@ public class JumboStringProcessing extends TestBase {
     DexString string = factory.createString("turn into jumbo");
     DexInstruction[] instructions = buildInstructions(string, true);
     DexCode code = jumboStringProcess(factory, string, instructions);
-    DexInstruction[] rewrittenInstructions = code.instructions;
+    DexInstruction[] rewrittenInstructions = code.getInstructions();
     assert rewrittenInstructions[1] instanceof DexIfEqz;
     DexIfEqz condition = (DexIfEqz) rewrittenInstructions[1];
     assert condition.getOffset() + condition.BBBB == rewrittenInstructions[3].getOffset();
@@ -135,14 +135,14 @@ public class JumboStringProcessing extends TestBase {
             "getDataBinder",
             ImmutableList.of(
                 "android.databinding.DataBindingComponent", "android.view.View", "int"));
-    DexInstruction[] instructions = method.getDefinition().getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getDefinition().getCode().asDexCode().getInstructions();
     assertEquals(0, countJumboStrings(instructions));
     assertEquals(1, countSimpleNops(instructions));
 
     DexItemFactory factory = inspector.getFactory();
     DexString string = factory.createString("view must have a tag");
     DexCode code = jumboStringProcess(factory, string, instructions);
-    DexInstruction[] rewrittenInstructions = code.instructions;
+    DexInstruction[] rewrittenInstructions = code.getInstructions();
     assertEquals(289, countJumboStrings(rewrittenInstructions));
     assertEquals(0, countSimpleNops(rewrittenInstructions));
   }
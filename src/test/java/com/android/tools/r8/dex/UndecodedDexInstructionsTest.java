@@ -0,0 +1,109 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.dex;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.dex.code.DexInstruction;
+import com.android.tools.r8.dex.code.UndecodedDexInstructions;
+import org.junit.Test;
+
+/** Tests that the sizes of undecoded instructions agree with the decoded instructions. */
+public class UndecodedDexInstructionsTest {
+
+  private static final short CONST_4_V0_0 = 0x0012;
+  private static final short RETURN_VOID = 0x000e;
+  private static final short NOP = 0x0000;
+
+  private static UndecodedDexInstructions createAndCheck(short[] units, int payloadSize) {
+    UndecodedDexInstructions undecoded = UndecodedDexInstructions.create(units, null);
+    assertNotNull(undecoded);
+    DexInstruction[] decoded = undecoded.decode();
+    assertEquals(units.length, undecoded.getCodeSize());
+    assertEquals(decoded.length, undecoded.getInstructionCount());
+    DexInstruction lastExecutable = null;
+    for (DexInstruction instruction : decoded) {
+      if (!instruction.isPayload()) {
+        lastExecutable = instruction;
+      }
+    }
+    assertNotNull(lastExecutable);
+    assertEquals(lastExecutable.getOffset(), undecoded.getLastExecutableInstructionOffset());
+    DexInstruction payload = decoded[decoded.length - 1];
+    assertTrue(payload.isPayload());
+    assertEquals(payloadSize, payload.getSize());
+    assertEquals(units.length, payload.getOffset() + payload.getSize());
+    return undecoded;
+  }
+
+  @Test
+  public void testPackedSwitchPayload() {
+    short[] units = {
+      CONST_4_V0_0,
+      0x002b, 5, 0, // packed-switch v0, +5
+      RETURN_VOID,
+      NOP, // Alignment of the payload.
+      0x0100, 2, 0, 0, 3, 0, 3, 0 // packed-switch-payload, size 2, first key 0.
+    };
+    UndecodedDexInstructions undecoded = createAndCheck(units, 8);
+    assertEquals(5, undecoded.getInstructionCount());
+    assertEquals(5, undecoded.getLastExecutableInstructionOffset());
+  }
+
+  @Test
+  public void testSparseSwitchPayload() {
+    short[] units = {
+      CONST_4_V0_0,
+      0x002c, 5, 0, // sparse-switch v0, +5
+      RETURN_VOID,
+      NOP, // Alignment of the payload.
+      0x0200, 3, 1, 0, 100, 0, 0, 1, 3, 0, 3, 0, 3, 0 // sparse-switch-payload, size 3.
+    };
+    createAndCheck(units, 14);
+  }
+
+  private static short[] fillArrayData(int elementWidth, int elementCount, int dataUnits) {
+    short[] units = new short[10 + dataUnits];
+    units[0] = CONST_4_V0_0;
+    units[1] = 0x0026; // fill-array-data v0, +5
+    units[2] = 5;
+    units[3] = 0;
+    units[4] = RETURN_VOID;
+    units[5] = NOP; // Alignment of the payload.
+    units[6] = 0x0300; // fill-array-data-payload
+    units[7] = (short) elementWidth;
+    units[8] = (short) elementCount;
+    units[9] = (short) (elementCount >> 16);
+    return units;
+  }
+
+  @Test
+  public void testFillArrayDataPayloads() {
+    // The data of the payload is padded to a whole number of code units.
+    createAndCheck(fillArrayData(1, 3, 2), 6);
+    createAndCheck(fillArrayData(1, 4, 2), 6);
+    createAndCheck(fillArrayData(2, 3, 3), 7);
+    createAndCheck(fillArrayData(4, 3, 6), 10);
+    createAndCheck(fillArrayData(8, 1, 4), 8);
+    createAndCheck(fillArrayData(4, 0, 0), 4);
+  }
+
+  @Test
+  public void testTruncatedPayloads() {
+    // The packed-switch-payload claims two more targets than the code contains.
+    short[] units = {
+      CONST_4_V0_0,
+      0x002b, 5, 0, // packed-switch v0, +5
+      RETURN_VOID,
+      NOP, // Alignment of the payload.
+      0x0100, 4, 0, 0, 3, 0, 3, 0 // packed-switch-payload, size 4, first key 0.
+    };
+    assertNull(UndecodedDexInstructions.create(units, null));
+    // The fill-array-data-payload claims more elements than the code contains.
+    assertNull(UndecodedDexInstructions.create(fillArrayData(4, 0x10000, 6), null));
+  }
+}
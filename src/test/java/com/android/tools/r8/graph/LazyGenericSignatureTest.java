@@ -0,0 +1,71 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.Diagnostic;
+import com.android.tools.r8.DiagnosticsHandler;
+import com.android.tools.r8.graph.GenericSignature.FieldTypeSignature;
+import com.android.tools.r8.origin.Origin;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class LazyGenericSignatureTest {
+
+  private final DexItemFactory factory = new DexItemFactory();
+  private final List<Diagnostic> warnings = new ArrayList<>();
+  private final LazyGenericSignature.ParsingContext context =
+      new LazyGenericSignature.ParsingContext(
+          Origin.unknown(),
+          factory,
+          new DiagnosticsHandler() {
+            @Override
+            public void warning(Diagnostic warning) {
+              warnings.add(warning);
+            }
+          });
+
+  private DexEncodedField createField(String signature) {
+    DexEncodedField field =
+        DexEncodedField.builder()
+            .setField(
+                factory.createField(
+                    factory.createType("LFoo;"), factory.createType("Ljava/util/List;"), "f"))
+            .setAccessFlags(FieldAccessFlags.fromCfAccessFlags(0))
+            .disableAndroidApiLevelCheck()
+            .build();
+    field.setLazyGenericSignature(new LazyGenericSignature("f", signature, context));
+    return field;
+  }
+
+  @Test
+  public void testParsedOnFirstAccess() {
+    DexEncodedField field = createField("Ljava/util/List<Ljava/lang/String;>;");
+    FieldTypeSignature signature = field.getGenericSignature();
+    assertTrue(signature.hasSignature());
+    assertEquals("Ljava/util/List<Ljava/lang/String;>;", signature.toString());
+    assertSame(signature, field.getGenericSignature());
+  }
+
+  @Test
+  public void testInvalidSignatureReportedOnAccess() {
+    DexEncodedField field = createField("Ljava/util/List<");
+    assertTrue(warnings.isEmpty());
+    assertTrue(field.getGenericSignature().hasNoSignature());
+    assertEquals(1, warnings.size());
+  }
+
+  @Test
+  public void testClearDiscardsLazySignature() {
+    DexEncodedField field = createField("Ljava/util/List<");
+    field.clearGenericSignature();
+    assertTrue(field.getGenericSignature().hasNoSignature());
+    assertTrue(warnings.isEmpty());
+  }
+}
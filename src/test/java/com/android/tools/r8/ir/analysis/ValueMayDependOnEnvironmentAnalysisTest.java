@@ -0,0 +1,84 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.ir.analysis;
+
+import static org.junit.Assert.assertEquals;
+
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.ir.code.IRCode;
+import com.android.tools.r8.ir.code.Instruction;
+import com.android.tools.r8.ir.code.Value;
+import com.google.common.collect.ImmutableList;
+import java.util.function.Consumer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class ValueMayDependOnEnvironmentAnalysisTest extends AnalysisTestBase {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withAllRuntimesAndApiLevels().build();
+  }
+
+  public ValueMayDependOnEnvironmentAnalysisTest(TestParameters parameters) throws Exception {
+    super(parameters, TestClass.class.getTypeName(), TestClass.class);
+  }
+
+  @Test
+  public void testEscape() throws Exception {
+    buildAndCheckIR("escape", checkAnalysisResult(true));
+  }
+
+  @Test
+  public void testEscapeAfterBranch() throws Exception {
+    // The blocks of the branch do not change the state of the array, but the array escapes in the
+    // block that follows the branch.
+    buildAndCheckIR("escapeAfterBranch", checkAnalysisResult(true));
+  }
+
+  @Test
+  public void testNoEscapeAfterBranch() throws Exception {
+    buildAndCheckIR("noEscapeAfterBranch", checkAnalysisResult(false));
+  }
+
+  private Consumer<IRCode> checkAnalysisResult(boolean expectedResult) {
+    return code -> {
+      Value array = getMatchingInstruction(code, Instruction::isNewArrayEmpty).outValue();
+      assertEquals(
+          expectedResult,
+          new ValueMayDependOnEnvironmentAnalysis(appView, code)
+              .anyValueMayDependOnEnvironment(ImmutableList.of(array)));
+    };
+  }
+
+  static class TestClass {
+
+    static Object[] field;
+
+    static void escape() {
+      Object[] array = new Object[1];
+      store(array);
+    }
+
+    static int escapeAfterBranch(boolean b) {
+      Object[] array = new Object[1];
+      int i = b ? 1 : 2;
+      store(array);
+      return i;
+    }
+
+    static int noEscapeAfterBranch(boolean b) {
+      Object[] array = new Object[1];
+      int i = b ? 1 : 2;
+      return i + array.length;
+    }
+
+    static void store(Object[] array) {
+      field = array;
+    }
+  }
+}
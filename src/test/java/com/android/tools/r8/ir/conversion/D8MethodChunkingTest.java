@@ -0,0 +1,305 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+package com.android.tools.r8.ir.conversion;
+
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+
+import com.android.tools.r8.D8TestCompileResult;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.transformers.ClassFileTransformer.MethodPredicate;
+import com.android.tools.r8.utils.BooleanUtils;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests that D8 produces the same output when the methods of a large class are processed in chunks
+ * by several threads as when they are processed by a single thread. With invoke-special to the
+ * class itself the class is not processed in chunks, since desugaring adds bridges to the class.
+ */
+@RunWith(Parameterized.class)
+public class D8MethodChunkingTest extends TestBase {
+
+  @Parameter(0)
+  public boolean invokeSpecial;
+
+  @Parameter(1)
+  public TestParameters parameters;
+
+  @Parameters(name = "{1}, invoke-special: {0}")
+  public static List<Object[]> data() {
+    return buildParameters(
+        BooleanUtils.values(), getTestParameters().withAllRuntimesAndApiLevels().build());
+  }
+
+  @Test
+  public void test() throws Exception {
+    D8TestCompileResult unchunked = compileWithThreadCount(1);
+    D8TestCompileResult chunked = compileWithThreadCount(4);
+    assertProgramsEqual(unchunked.writeToZip(), chunked.writeToZip());
+    chunked
+        .run(parameters.getRuntime(), Main.class)
+        .assertSuccessWithOutputLines("291", "45");
+  }
+
+  private D8TestCompileResult compileWithThreadCount(int threadCount) throws Exception {
+    return testForD8(parameters.getBackend())
+        .addProgramClasses(I.class, Main.class)
+        .applyIf(
+            invokeSpecial,
+            testBuilder -> testBuilder.addProgramClassFileData(getTransformedA()),
+            testBuilder -> testBuilder.addProgramClasses(A.class))
+        .addOptionsModification(options -> options.threadCount = threadCount)
+        .setMinApi(parameters.getApiLevel())
+        .compile();
+  }
+
+  private byte[] getTransformedA() throws IOException {
+    String binaryName = binaryName(A.class);
+    return transformer(A.class)
+        .transformMethodInsnInMethod(
+            MethodPredicate.all(),
+            (opcode, owner, name, descriptor, isInterface, continuation) ->
+                continuation.visitMethodInsn(
+                    opcode == INVOKEVIRTUAL && owner.equals(binaryName) && name.startsWith("print")
+                        ? INVOKESPECIAL
+                        : opcode,
+                    owner,
+                    name,
+                    descriptor,
+                    isInterface))
+        .transform();
+  }
+
+  public interface I {
+
+    int get();
+  }
+
+  // A class with more methods than fit in a single chunk. When transformed, the invoke-special
+  // instructions to methods of the class itself add bridges to the class during desugaring. The
+  // lambda bodies are methods of the class that are targeted from the synthesized lambda classes.
+  public static class A {
+
+    int count = 0;
+
+    public void print() {
+      count += 1;
+    }
+
+    public void print2() {
+      count += 2;
+    }
+
+    public int m0() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 0;
+    }
+
+    public int m1() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 1;
+    }
+
+    public int m2() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 2;
+    }
+
+    public int m3() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 3;
+    }
+
+    public int m4() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 4;
+    }
+
+    public int m5() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 5;
+    }
+
+    public int m6() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 6;
+    }
+
+    public int m7() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 7;
+    }
+
+    public int m8() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 8;
+    }
+
+    public int m9() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 9;
+    }
+
+    public int m10() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 10;
+    }
+
+    public int m11() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 11;
+    }
+
+    public int m12() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 12;
+    }
+
+    public int m13() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 13;
+    }
+
+    public int m14() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 14;
+    }
+
+    public int m15() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 15;
+    }
+
+    public int m16() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 16;
+    }
+
+    public int m17() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 17;
+    }
+
+    public int m18() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 18;
+    }
+
+    public int m19() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 19;
+    }
+
+    public int m20() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 20;
+    }
+
+    public int m21() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 21;
+    }
+
+    public int m22() {
+      print(); // Rewritten to invoke-special A.print() when transformed
+      return 22;
+    }
+
+    public int m23() {
+      print2(); // Rewritten to invoke-special A.print2() when transformed
+      return 23;
+    }
+
+    public I l0() {
+      return () -> {
+        print(); // Rewritten to invoke-special A.print() when transformed
+        return 0;
+      };
+    }
+
+    public I l1() {
+      return () -> {
+        print2(); // Rewritten to invoke-special A.print2() when transformed
+        return 1;
+      };
+    }
+
+    public I l2() {
+      return () -> {
+        print(); // Rewritten to invoke-special A.print() when transformed
+        return 2;
+      };
+    }
+
+    public I l3() {
+      return () -> {
+        print2(); // Rewritten to invoke-special A.print2() when transformed
+        return 3;
+      };
+    }
+
+    public I l4() {
+      return () -> {
+        print(); // Rewritten to invoke-special A.print() when transformed
+        return 4;
+      };
+    }
+
+    public I l5() {
+      return () -> {
+        print2(); // Rewritten to invoke-special A.print2() when transformed
+        return 5;
+      };
+    }
+
+    public int sum() {
+      return m0()
+          + m1()
+          + m2()
+          + m3()
+          + m4()
+          + m5()
+          + m6()
+          + m7()
+          + m8()
+          + m9()
+          + m10()
+          + m11()
+          + m12()
+          + m13()
+          + m14()
+          + m15()
+          + m16()
+          + m17()
+          + m18()
+          + m19()
+          + m20()
+          + m21()
+          + m22()
+          + m23()
+          + l0().get()
+          + l1().get()
+          + l2().get()
+          + l3().get()
+          + l4().get()
+          + l5().get();
+    }
+  }
+
+  public static class Main {
+
+    public static void main(String[] args) {
+      A a = new A();
+      System.out.println(a.sum());
+      System.out.println(a.count);
+    }
+  }
+}
@@ -58,7 +58,7 @@ public class RemoveCheckCastAfterClassInlining extends TestBase {
 
     DexCode code = method.getCode().asDexCode();
     int numberOfConstStringInstructions = 0;
-    for (DexInstruction instruction : code.instructions) {
+    for (DexInstruction instruction : code.getInstructions()) {
       // Make sure that we do not load a const-string and then subsequently use a check-cast
       // instruction to check if it is actually a string.
       assertFalse(instruction.isCheckCast());
@@ -0,0 +1,69 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.ir.optimize.info;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.utils.OptionalBool;
+import org.junit.Test;
+
+public class MutableMethodOptimizationInfoFlagsTest {
+
+  @Test
+  public void testDefault() {
+    MutableMethodOptimizationInfo info = new MutableMethodOptimizationInfo();
+    assertTrue(info.isDefault());
+    assertFalse(info.forceInline());
+    assertFalse(info.isMultiCallerMethod());
+    assertFalse(info.isConvertCheckNotNull());
+    assertEquals(OptionalBool.unknown(), info.isReturnValueUsed());
+  }
+
+  @Test
+  public void testInlinePreference() {
+    MutableMethodOptimizationInfo info = new MutableMethodOptimizationInfo();
+    info.setMultiCallerMethod();
+    assertTrue(info.isMultiCallerMethod());
+    assertFalse(info.forceInline());
+    assertFalse(info.isDefault());
+    info.unsetForceInline();
+    assertTrue(info.isDefault());
+
+    info.markForceInline();
+    info.setMultiCallerMethod();
+    assertTrue(info.forceInline());
+    assertFalse(info.isMultiCallerMethod());
+    info.unsetForceInline();
+    assertFalse(info.forceInline());
+    assertTrue(info.isDefault());
+  }
+
+  @Test
+  public void testReturnValueUsed() {
+    MutableMethodOptimizationInfo info = new MutableMethodOptimizationInfo();
+    info.setIsReturnValueUsed(OptionalBool.FALSE);
+    assertEquals(OptionalBool.FALSE, info.isReturnValueUsed());
+    info.setIsReturnValueUsed(OptionalBool.TRUE);
+    assertEquals(OptionalBool.TRUE, info.isReturnValueUsed());
+    info.setIsReturnValueUsed(OptionalBool.unknown());
+    assertEquals(OptionalBool.unknown(), info.isReturnValueUsed());
+    assertTrue(info.isDefault());
+  }
+
+  @Test
+  public void testMutableCopy() {
+    MutableMethodOptimizationInfo info = new MutableMethodOptimizationInfo();
+    info.setConvertCheckNotNull();
+    info.setIsReturnValueUsed(OptionalBool.FALSE);
+    info.markForceInline();
+    MutableMethodOptimizationInfo copy = info.mutableCopy();
+    assertTrue(copy.isConvertCheckNotNull());
+    assertEquals(OptionalBool.FALSE, copy.isReturnValueUsed());
+    assertTrue(copy.forceInline());
+    assertFalse(copy.isDefault());
+  }
+}
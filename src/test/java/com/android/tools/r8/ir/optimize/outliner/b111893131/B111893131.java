@@ -95,7 +95,7 @@ public class B111893131 extends TestBase {
       Code code = encodedMethod.getCode();
       assertTrue(code.isDexCode());
       DexCode dexCode = code.asDexCode();
-      verifyAbsenceOfStringBuilderAppend(dexCode.instructions);
+      verifyAbsenceOfStringBuilderAppend(dexCode.getInstructions());
     });
   }
 
@@ -0,0 +1,135 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.jar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.CompilationMode;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestCompileResult;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.utils.ThrowingFunction;
+import com.android.tools.r8.utils.ZipUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests that the classes are written in the same order and with the same content when they are
+ * serialized concurrently by several threads and when they are serialized by a single thread.
+ */
+@RunWith(Parameterized.class)
+public class CfApplicationWriterThreadCountTest extends TestBase {
+
+  @Parameter(0)
+  public CompilationMode mode;
+
+  @Parameter(1)
+  public TestParameters parameters;
+
+  @Parameters(name = "{1}, mode: {0}")
+  public static List<Object[]> data() {
+    return buildParameters(CompilationMode.values(), getTestParameters().withNoneRuntime().build());
+  }
+
+  @Test
+  public void testD8() throws Exception {
+    test(
+        threadCount ->
+            testForD8(Backend.CF)
+                .addInnerClasses(getClass())
+                .addOptionsModification(options -> options.threadCount = threadCount)
+                .setMode(mode)
+                .compile());
+  }
+
+  @Test
+  public void testR8() throws Exception {
+    test(
+        threadCount ->
+            testForR8(Backend.CF)
+                .addInnerClasses(getClass())
+                .addKeepAllClassesRule()
+                .addOptionsModification(options -> options.threadCount = threadCount)
+                .setMode(mode)
+                .compile());
+  }
+
+  private void test(
+      ThrowingFunction<Integer, TestCompileResult<?, ?>, Exception> compileWithThreadCount)
+      throws Exception {
+    Path singleThreadedOutput = compileWithThreadCount.apply(1).writeToZip();
+    Path multiThreadedOutput = compileWithThreadCount.apply(4).writeToZip();
+
+    // The output has more classes than the number of classes that are scheduled ahead of the next
+    // class to be written.
+    List<String> entries = getEntries(singleThreadedOutput);
+    assertTrue(entries.size() > 16);
+    assertEquals(entries, getEntries(multiThreadedOutput));
+    assertArrayEquals(
+        Files.readAllBytes(singleThreadedOutput), Files.readAllBytes(multiThreadedOutput));
+  }
+
+  private static List<String> getEntries(Path zip) throws Exception {
+    List<String> entries = new ArrayList<>();
+    ZipUtils.iter(zip, (entry, input) -> entries.add(entry.getName()));
+    return entries;
+  }
+
+  public static class Main {
+
+    public static void main(String[] args) {
+      System.out.println("Hello, world!");
+    }
+  }
+
+  static class C0 {}
+
+  static class C1 {}
+
+  static class C2 {}
+
+  static class C3 {}
+
+  static class C4 {}
+
+  static class C5 {}
+
+  static class C6 {}
+
+  static class C7 {}
+
+  static class C8 {}
+
+  static class C9 {}
+
+  static class C10 {}
+
+  static class C11 {}
+
+  static class C12 {}
+
+  static class C13 {}
+
+  static class C14 {}
+
+  static class C15 {}
+
+  static class C16 {}
+
+  static class C17 {}
+
+  static class C18 {}
+
+  static class C19 {}
+}
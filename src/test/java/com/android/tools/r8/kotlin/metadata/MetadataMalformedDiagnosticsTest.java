@@ -0,0 +1,125 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.kotlin.metadata;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import com.android.tools.r8.Diagnostic;
+import com.android.tools.r8.KotlinTestBase;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestDiagnosticMessages;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.transformers.ClassTransformer;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.objectweb.asm.AnnotationVisitor;
+
+/**
+ * Tests that the diagnostics for classes with malformed kotlin.Metadata are reported in the order
+ * of the classes, both when the metadata is read by a single thread and by several threads.
+ */
+@RunWith(Parameterized.class)
+public class MetadataMalformedDiagnosticsTest extends TestBase {
+
+  @Parameter(0)
+  public TestParameters parameters;
+
+  @Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withNoneRuntime().build();
+  }
+
+  @Test
+  public void test() throws Exception {
+    TestDiagnosticMessages diagnostics = compileWithThreadCount(1);
+    List<String> expectedInfos =
+        ImmutableList.of(
+            getExpectedInfo(A.class),
+            getExpectedInfo(B.class),
+            getExpectedInfo(C.class),
+            getExpectedInfo(D.class),
+            getExpectedInfo(E.class));
+    assertEquals(expectedInfos, getMetadataInfos(diagnostics));
+
+    // The unknown metadata version warning is only reported once.
+    List<String> warnings =
+        diagnostics.getWarnings().stream()
+            .map(Diagnostic::getDiagnosticMessage)
+            .filter(message -> message.contains("kotlin metadata"))
+            .collect(Collectors.toList());
+    assertEquals(1, warnings.size());
+    assertThat(warnings.get(0), containsString("An error occurred when parsing kotlin metadata"));
+
+    assertEquals(expectedInfos, getMetadataInfos(compileWithThreadCount(4)));
+  }
+
+  private TestDiagnosticMessages compileWithThreadCount(int threadCount) throws Exception {
+    return testForR8(Backend.DEX)
+        .addProgramClassFileData(
+            withMalformedKotlinMetadata(A.class),
+            withMalformedKotlinMetadata(B.class),
+            withMalformedKotlinMetadata(C.class),
+            withMalformedKotlinMetadata(D.class),
+            withMalformedKotlinMetadata(E.class))
+        .addKeepAllClassesRule()
+        .addKeepRuntimeVisibleAnnotations()
+        .addDontWarn("kotlin.Metadata")
+        .addOptionsModification(options -> options.threadCount = threadCount)
+        .allowDiagnosticMessages()
+        .setMinApi(parameters.getApiLevel())
+        .compile()
+        .getDiagnosticMessages();
+  }
+
+  private static List<String> getMetadataInfos(TestDiagnosticMessages diagnostics) {
+    return diagnostics.getInfos().stream()
+        .map(Diagnostic::getDiagnosticMessage)
+        .filter(message -> message.contains("kotlin.Metadata"))
+        .map(message -> message.substring(0, message.indexOf(':')))
+        .collect(Collectors.toList());
+  }
+
+  private static String getExpectedInfo(Class<?> clazz) {
+    return "Class " + clazz.getTypeName() + " has malformed kotlin.Metadata";
+  }
+
+  private static byte[] withMalformedKotlinMetadata(Class<?> clazz) throws IOException {
+    return transformer(clazz)
+        .addClassTransformer(
+            new ClassTransformer() {
+              @Override
+              public void visitEnd() {
+                // The kotlin.Metadata annotation has a metadata version that cannot be read.
+                AnnotationVisitor annotationVisitor =
+                    super.visitAnnotation(KotlinTestBase.METADATA_DESCRIPTOR, true);
+                annotationVisitor.visit("k", 1);
+                annotationVisitor.visit("mv", new int[] {99, 0, 0});
+                annotationVisitor.visitEnd();
+                super.visitEnd();
+              }
+            })
+        .transform();
+  }
+
+  static class A {}
+
+  static class B {}
+
+  static class C {}
+
+  static class D {}
+
+  static class E {}
+}
@@ -18,6 +18,7 @@ import com.android.tools.r8.dex.code.DexConstClass;
 import com.android.tools.r8.dex.code.DexConstString;
 import com.android.tools.r8.dex.code.DexFilledNewArray;
 import com.android.tools.r8.dex.code.DexInvokeDirect;
+import com.android.tools.r8.dex.code.DexInstruction;
 import com.android.tools.r8.dex.code.DexInvokeStatic;
 import com.android.tools.r8.dex.code.DexInvokeVirtual;
 import com.android.tools.r8.dex.code.DexIputObject;
@@ -70,7 +71,7 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
         code,
         ImmutableList.of(
             DexInvokeDirect.class, DexConstString.class, DexIputObject.class, DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[1];
+    DexConstString constString = (DexConstString) code.getInstructions()[1];
     assertEquals(BOO, constString.getString().toString());
   }
 
@@ -109,9 +110,9 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexIputObject.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[2];
+    DexConstString constString = (DexConstString) code.getInstructions()[2];
     assertEquals(BOO, constString.getString().toString());
-    constString = (DexConstString) code.instructions[4];
+    constString = (DexConstString) code.getInstructions()[4];
     assertEquals(BOO, constString.getString().toString());
   }
 
@@ -152,9 +153,9 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexIputObject.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[2];
+    DexConstString constString = (DexConstString) code.getInstructions()[2];
     assertEquals(BOO, constString.getString().toString());
-    constString = (DexConstString) code.instructions[4];
+    constString = (DexConstString) code.getInstructions()[4];
     assertNotEquals(BOO, constString.getString().toString());
   }
 
@@ -184,7 +185,7 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
     DexCode code = method.getCode().asDexCode();
     checkInstructions(
         code, ImmutableList.of(DexConstString.class, DexSputObject.class, DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[0];
+    DexConstString constString = (DexConstString) code.getInstructions()[0];
     assertEquals(BOO, constString.getString().toString());
   }
 
@@ -221,9 +222,9 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexSputObject.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[1];
+    DexConstString constString = (DexConstString) code.getInstructions()[1];
     assertEquals(BOO, constString.getString().toString());
-    constString = (DexConstString) code.instructions[3];
+    constString = (DexConstString) code.getInstructions()[3];
     assertEquals(BOO, constString.getString().toString());
   }
 
@@ -262,9 +263,9 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexSputObject.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[1];
+    DexConstString constString = (DexConstString) code.getInstructions()[1];
     assertEquals(BOO, constString.getString().toString());
-    constString = (DexConstString) code.instructions[3];
+    constString = (DexConstString) code.getInstructions()[3];
     assertNotEquals(BOO, constString.getString().toString());
   }
 
@@ -404,8 +405,8 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexInvokeStatic.class,
             DexReturnVoid.class));
-    String s1 = ((DexConstString) code.instructions[1]).getString().toString();
-    String s2 = ((DexConstString) code.instructions[2]).getString().toString();
+    String s1 = ((DexConstString) code.getInstructions()[1]).getString().toString();
+    String s2 = ((DexConstString) code.getInstructions()[2]).getString().toString();
     assertTrue(BOO.equals(s1) || BOO.equals(s2));
     assertTrue("Mixed/form.Boo".equals(s1) || "Mixed/form.Boo".equals(s2));
   }
@@ -450,9 +451,9 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexInvokeStatic.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[2];
+    DexConstString constString = (DexConstString) code.getInstructions()[2];
     assertEquals(BOO, constString.getString().toString());
-    constString = (DexConstString) code.instructions[4];
+    constString = (DexConstString) code.getInstructions()[4];
     assertEquals(BOO, constString.getString().toString());
   }
 
@@ -498,9 +499,9 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexInvokeStatic.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[2];
+    DexConstString constString = (DexConstString) code.getInstructions()[2];
     assertEquals(BOO, constString.getString().toString());
-    constString = (DexConstString) code.instructions[4];
+    constString = (DexConstString) code.getInstructions()[4];
     assertNotEquals(BOO, constString.getString().toString());
   }
 
@@ -550,7 +551,7 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexInvokeStatic.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[2];
+    DexConstString constString = (DexConstString) code.getInstructions()[2];
     assertEquals("foo", constString.getString().toString());
   }
 
@@ -600,7 +601,7 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
             DexConstString.class,
             DexInvokeStatic.class,
             DexReturnVoid.class));
-    DexConstString constString = (DexConstString) code.instructions[2];
+    DexConstString constString = (DexConstString) code.getInstructions()[2];
     assertNotEquals("foo", constString.getString().toString());
   }
 
@@ -651,7 +652,7 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
 
     DexCode code = method.getCode().asDexCode();
     // Accept either array construction style (differs based on minSdkVersion).
-    if (code.instructions[2].getClass() == DexFilledNewArray.class) {
+    if (code.getInstructions()[2].getClass() == DexFilledNewArray.class) {
       checkInstructions(
           code,
           ImmutableList.of(
@@ -676,7 +677,8 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
               DexInvokeStatic.class,
               DexReturnVoid.class));
     }
-    DexConstString constString = (DexConstString) code.instructions[code.instructions.length - 3];
+    DexInstruction[] instructions = code.getInstructions();
+    DexConstString constString = (DexConstString) instructions[instructions.length - 3];
     assertEquals("foo", constString.getString().toString());
   }
 
@@ -727,7 +729,7 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
 
     DexCode code = method.getCode().asDexCode();
     // Accept either array construction style (differs based on minSdkVersion).
-    if (code.instructions[2].getClass() == DexFilledNewArray.class) {
+    if (code.getInstructions()[2].getClass() == DexFilledNewArray.class) {
       checkInstructions(
           code,
           ImmutableList.of(
@@ -752,7 +754,8 @@ public class IdentifierNameStringMarkerTest extends SmaliTestBase {
               DexInvokeStatic.class,
               DexReturnVoid.class));
     }
-    DexConstString constString = (DexConstString) code.instructions[code.instructions.length - 3];
+    DexInstruction[] instructions = code.getInstructions();
+    DexConstString constString = (DexConstString) instructions[instructions.length - 3];
     assertNotEquals("foo", constString.getString().toString());
   }
 
@@ -0,0 +1,127 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.optimize.argumentpropagation;
+
+import static com.android.tools.r8.utils.codeinspector.Matchers.isAbsent;
+import static com.android.tools.r8.utils.codeinspector.Matchers.isPresent;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import com.android.tools.r8.NeverInline;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.utils.BooleanUtils;
+import com.android.tools.r8.utils.codeinspector.ClassSubject;
+import com.android.tools.r8.utils.codeinspector.MethodSubject;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class StaticMethodWithConstantArgumentThroughCallCycleTest extends TestBase {
+
+  @Parameter(0)
+  public boolean concurrentFlowPropagation;
+
+  @Parameter(1)
+  public TestParameters parameters;
+
+  @Parameters(name = "{1}, concurrent flow propagation: {0}")
+  public static List<Object[]> parameters() {
+    return buildParameters(
+        BooleanUtils.values(), getTestParameters().withAllRuntimesAndApiLevels().build());
+  }
+
+  @Test
+  public void test() throws Exception {
+    testForR8(parameters.getBackend())
+        .addInnerClasses(getClass())
+        .addKeepMainRule(Main.class)
+        .addOptionsModification(
+            options ->
+                options
+                    .callSiteOptimizationOptions()
+                    .setMinComponentSizeForConcurrentFlowPropagation(
+                        concurrentFlowPropagation ? 0 : Integer.MAX_VALUE))
+        .enableInliningAnnotations()
+        // TODO(b/173398086): uniqueMethodWithName() does not work with argument removal.
+        .addDontObfuscate()
+        .setMinApi(parameters.getApiLevel())
+        .compile()
+        .inspect(
+            inspector -> {
+              ClassSubject mainClassSubject = inspector.clazz(Main.class);
+              assertThat(mainClassSubject, isPresent());
+
+              // The constant argument flows around the cycle test1() -> test2() -> test1() and
+              // into test3(), thus the argument has been removed from all three methods.
+              for (int i = 1; i <= 3; i++) {
+                MethodSubject testMethodSubject =
+                    mainClassSubject.uniqueMethodWithOriginalName("test" + i);
+                assertThat(testMethodSubject, isPresent());
+                assertEquals(0, testMethodSubject.getProgramMethod().getParameters().size());
+              }
+
+              assertThat(mainClassSubject.uniqueMethodWithOriginalName("dead"), isAbsent());
+            })
+        .run(parameters.getRuntime(), Main.class)
+        .assertSuccessWithOutputLines(
+            "Hello from test1()",
+            "Hello from test2()",
+            "Hello from test1()",
+            "Hello from test2()",
+            "Hello from test3()",
+            "Hello from test3()");
+  }
+
+  static class Main {
+
+    static int count = 0;
+
+    public static void main(String[] args) {
+      test1(42);
+    }
+
+    @NeverInline
+    static void test1(int x) {
+      if (x == 42) {
+        System.out.println("Hello from test1()");
+      } else {
+        dead();
+      }
+      test2(x);
+    }
+
+    @NeverInline
+    static void test2(int x) {
+      if (x == 42) {
+        System.out.println("Hello from test2()");
+      } else {
+        dead();
+      }
+      if (++count < 2) {
+        test1(x);
+      }
+      test3(x);
+    }
+
+    @NeverInline
+    static void test3(int x) {
+      if (x == 42) {
+        System.out.println("Hello from test3()");
+      } else {
+        dead();
+      }
+    }
+
+    @NeverInline
+    static void dead() {
+      System.out.println("Unreachable");
+    }
+  }
+}
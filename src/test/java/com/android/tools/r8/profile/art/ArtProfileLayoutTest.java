@@ -0,0 +1,153 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.profile.art;
+
+import static org.junit.Assert.assertEquals;
+
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.dex.ArtProfileCodePageCount;
+import com.android.tools.r8.dex.ArtProfileCodePageCount.CodeItem;
+import com.android.tools.r8.origin.Origin;
+import com.android.tools.r8.references.MethodReference;
+import com.android.tools.r8.utils.AndroidApiLevel;
+import com.android.tools.r8.utils.BooleanUtils;
+import com.android.tools.r8.utils.MethodReferenceUtils;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Tests that the code items of the methods in an ART profile are written first in the dex file
+ * when the ART profile layout is enabled, ordered by their flags.
+ */
+@RunWith(Parameterized.class)
+public class ArtProfileLayoutTest extends TestBase {
+
+  @Parameter(0)
+  public boolean enableCallGraphAffinityLayout;
+
+  @Parameter(1)
+  public TestParameters parameters;
+
+  @Parameters(name = "{1}, call graph affinity: {0}")
+  public static List<Object[]> data() {
+    return buildParameters(BooleanUtils.values(), getTestParameters().withNoneRuntime().build());
+  }
+
+  @Test
+  public void test() throws Exception {
+    Path dexFile =
+        testForD8(Backend.DEX)
+            .addInnerClasses(getClass())
+            .addArtProfileForRewriting(
+                new ArtProfileProviderForTesting(), new ArtProfileConsumerForTesting())
+            .addOptionsModification(
+                options ->
+                    options
+                        .getArtProfileOptions()
+                        .setEnableLayoutOptimizations(true)
+                        .setEnableCallGraphAffinityLayout(enableCallGraphAffinityLayout))
+            .release()
+            .setMinApi(AndroidApiLevel.LATEST)
+            .compile()
+            .writeToDirectory()
+            .resolve("classes.dex");
+    List<String> codeLayout =
+        ArtProfileCodePageCount.readCodeItems(dexFile).stream()
+            .map(CodeItem::getMethod)
+            .collect(Collectors.toList());
+
+    // The startup method is first, then the hot methods, and then the post-startup method. With
+    // call graph affinity the hot method hot1() is followed by its callee hot3().
+    List<String> expectedProfileLayout =
+        ImmutableList.of(
+            toSmaliString("startup"),
+            toSmaliString("hot1"),
+            toSmaliString(enableCallGraphAffinityLayout ? "hot3" : "hot2"),
+            toSmaliString(enableCallGraphAffinityLayout ? "hot2" : "hot3"),
+            toSmaliString("postStartup"));
+    assertEquals(expectedProfileLayout, codeLayout.subList(0, expectedProfileLayout.size()));
+  }
+
+  private static MethodReference methodReference(String name) {
+    return MethodReferenceUtils.methodFromMethod(Main.class, name);
+  }
+
+  private static String toSmaliString(String name) {
+    return MethodReferenceUtils.toSmaliString(methodReference(name));
+  }
+
+  static class ArtProfileProviderForTesting implements ArtProfileProvider {
+
+    @Override
+    public void getArtProfile(ArtProfileBuilder profileBuilder) {
+      addMethodRule(profileBuilder, "postStartup", builder -> builder.setIsPostStartup(true));
+      addMethodRule(profileBuilder, "hot1", builder -> builder.setIsHot(true));
+      addMethodRule(profileBuilder, "hot2", builder -> builder.setIsHot(true));
+      addMethodRule(profileBuilder, "hot3", builder -> builder.setIsHot(true));
+      addMethodRule(profileBuilder, "startup", builder -> builder.setIsStartup(true));
+    }
+
+    private static void addMethodRule(
+        ArtProfileBuilder profileBuilder,
+        String name,
+        Consumer<ArtProfileMethodRuleInfoBuilder> methodRuleInfoBuilderConsumer) {
+      profileBuilder.addMethodRule(
+          methodRuleBuilder ->
+              methodRuleBuilder
+                  .setMethodReference(methodReference(name))
+                  .setMethodRuleInfo(methodRuleInfoBuilderConsumer));
+    }
+
+    @Override
+    public Origin getOrigin() {
+      return Origin.unknown();
+    }
+  }
+
+  static class Main {
+
+    public static void main(String[] args) {
+      notInProfile();
+      postStartup();
+      hot1();
+      hot2();
+      startup();
+    }
+
+    static void notInProfile() {
+      System.out.println("notInProfile");
+    }
+
+    static void postStartup() {
+      System.out.println("postStartup");
+    }
+
+    static void hot1() {
+      System.out.println("hot1");
+      hot3();
+    }
+
+    static void hot2() {
+      System.out.println("hot2");
+    }
+
+    static void hot3() {
+      System.out.println("hot3");
+    }
+
+    static void startup() {
+      System.out.println("startup");
+    }
+  }
+}
@@ -0,0 +1,136 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.profile.art;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.graph.DexItemFactory;
+import com.android.tools.r8.graph.DexMethod;
+import com.android.tools.r8.graph.DexType;
+import com.android.tools.r8.graph.PrunedItems;
+import com.android.tools.r8.utils.InternalOptions;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class ArtProfileTransformTest extends TestBase {
+
+  @Parameter(0)
+  public TestParameters parameters;
+
+  @Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withNoneRuntime().build();
+  }
+
+  private final InternalOptions options = new InternalOptions();
+  private final DexItemFactory dexItemFactory = options.dexItemFactory();
+  private final DexType a = dexItemFactory.createType("LA;");
+  private final DexType b = dexItemFactory.createType("LB;");
+  private final DexMethod aMethod =
+      dexItemFactory.createMethod(a, dexItemFactory.createProto(dexItemFactory.voidType), "m");
+  private final DexMethod bMethod =
+      dexItemFactory.createMethod(b, dexItemFactory.createProto(dexItemFactory.voidType), "m");
+
+  private static List<ArtProfileRule> getRules(ArtProfile artProfile) {
+    List<ArtProfileRule> rules = new ArrayList<>();
+    artProfile.forEachRule(rules::add, rules::add);
+    return rules;
+  }
+
+  private static void addMethodRule(
+      ArtProfile.Builder builder,
+      DexMethod method,
+      boolean isHot,
+      boolean isStartup,
+      boolean isPostStartup) {
+    builder.addMethodRule(
+        methodRuleBuilder ->
+            methodRuleBuilder
+                .setMethodReference(method.asMethodReference())
+                .setMethodRuleInfo(
+                    methodRuleInfoBuilder ->
+                        methodRuleInfoBuilder
+                            .setIsHot(isHot)
+                            .setIsStartup(isStartup)
+                            .setIsPostStartup(isPostStartup)));
+  }
+
+  private static void addClassRule(ArtProfile.Builder builder, DexType type) {
+    builder.addClassRule(
+        classRuleBuilder -> classRuleBuilder.setClassReference(type.asClassReference()));
+  }
+
+  private static PrunedItems noPrunedItems() {
+    return PrunedItems.builder().build();
+  }
+
+  @Test
+  public void testDeduplicateMergesFlags() {
+    ArtProfile.Builder builder = ArtProfile.builder(null, options);
+    addClassRule(builder, a);
+    addMethodRule(builder, aMethod, true, false, false);
+    addClassRule(builder, a);
+    addMethodRule(builder, aMethod, false, true, false);
+    addMethodRule(builder, bMethod, false, false, true);
+    ArtProfile artProfile = builder.build();
+
+    // The input profile retains the duplicate rules.
+    assertEquals(5, getRules(artProfile).size());
+
+    // The duplicate rules are merged when the profile is rewritten, keeping the first occurrence of
+    // each reference and the union of the flags.
+    List<ArtProfileRule> rules = getRules(artProfile.withoutPrunedItems(noPrunedItems()));
+    assertEquals(3, rules.size());
+    assertSame(a, rules.get(0).asClassRule().getType());
+
+    ArtProfileMethodRule aMethodRule = rules.get(1).asMethodRule();
+    assertSame(aMethod, aMethodRule.getMethod());
+    assertTrue(aMethodRule.getMethodRuleInfo().isHot());
+    assertTrue(aMethodRule.getMethodRuleInfo().isStartup());
+    assertFalse(aMethodRule.getMethodRuleInfo().isPostStartup());
+
+    ArtProfileMethodRule bMethodRule = rules.get(2).asMethodRule();
+    assertSame(bMethod, bMethodRule.getMethod());
+    assertFalse(bMethodRule.getMethodRuleInfo().isHot());
+    assertFalse(bMethodRule.getMethodRuleInfo().isStartup());
+    assertTrue(bMethodRule.getMethodRuleInfo().isPostStartup());
+  }
+
+  @Test
+  public void testTransformReusesUnaffectedRules() {
+    ArtProfile.Builder builder = ArtProfile.builder(null, options);
+    addClassRule(builder, a);
+    addMethodRule(builder, aMethod, true, true, false);
+    addClassRule(builder, b);
+    addMethodRule(builder, bMethod, true, false, false);
+    ArtProfile artProfile = builder.build().withoutPrunedItems(noPrunedItems());
+    List<ArtProfileRule> rules = getRules(artProfile);
+
+    // A deduplicated profile is reused when no rules are affected.
+    assertSame(artProfile, artProfile.withoutPrunedItems(noPrunedItems()));
+
+    // When some rules are affected the profile is rewritten, but the unaffected rules are reused.
+    ArtProfile rewrittenArtProfile =
+        artProfile.withoutPrunedItems(PrunedItems.builder().addRemovedClass(b).build());
+    assertNotSame(artProfile, rewrittenArtProfile);
+    List<ArtProfileRule> rewrittenRules = getRules(rewrittenArtProfile);
+    assertEquals(2, rewrittenRules.size());
+    assertSame(rules.get(0), rewrittenRules.get(0));
+    assertSame(rules.get(1), rewrittenRules.get(1));
+  }
+}
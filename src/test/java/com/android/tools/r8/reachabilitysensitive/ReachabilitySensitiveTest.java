@@ -145,9 +145,9 @@ public class ReachabilitySensitiveTest extends TestBase {
   private void checkAnnotatedCode(DexCode code) {
     // All live at the same time: receiver, i, j, k, System.out.
     assertEquals(5, code.registerSize);
-    DexInstruction first = code.instructions[0];
-    DexInstruction second = code.instructions[1];
-    DexInstruction third = code.instructions[2];
+    DexInstruction first = code.getInstructions()[0];
+    DexInstruction second = code.getInstructions()[1];
+    DexInstruction third = code.getInstructions()[2];
     // None of the local declarations overwrite other locals.
     assertTrue(first instanceof DexConst4);
     assertTrue(second instanceof DexAddIntLit8);
@@ -213,7 +213,7 @@ public class B111250398 extends TestBase {
   }
 
   private long countIget(DexCode code, DexField field) {
-    return Arrays.stream(code.instructions)
+    return Arrays.stream(code.getInstructions())
         .filter(instruction -> instruction instanceof DexIget)
         .map(instruction -> (DexIget) instruction)
         .filter(get -> get.getField() == field)
@@ -221,7 +221,7 @@ public class B111250398 extends TestBase {
   }
 
   private long countSget(DexCode code, DexField field) {
-    return Arrays.stream(code.instructions)
+    return Arrays.stream(code.getInstructions())
         .filter(instruction -> instruction instanceof DexSget)
         .map(instruction -> (DexSget) instruction)
         .filter(get -> get.getField() == field)
@@ -229,7 +229,7 @@ public class B111250398 extends TestBase {
   }
 
   private long countIgetObject(MethodSubject method, FieldSubject field) {
-    return Arrays.stream(method.getMethod().getCode().asDexCode().instructions)
+    return Arrays.stream(method.getMethod().getCode().asDexCode().getInstructions())
         .filter(instruction -> instruction instanceof DexIgetObject)
         .map(instruction -> (DexIgetObject) instruction)
         .filter(get -> get.getField() == field.getField().getReference())
@@ -114,10 +114,10 @@ public class B113326860 {
     MethodSubject method = clazz.method("void", "<clinit>", ImmutableList.of());
     assertThat(method, isPresent());
     assertFalse(
-        Arrays.stream(method.getMethod().getCode().asDexCode().instructions)
+        Arrays.stream(method.getMethod().getCode().asDexCode().getInstructions())
             .anyMatch(i -> i instanceof DexSputBoolean || i instanceof DexSput));
     assertTrue(
-        Arrays.stream(method.getMethod().getCode().asDexCode().instructions)
+        Arrays.stream(method.getMethod().getCode().asDexCode().getInstructions())
             .anyMatch(i -> i instanceof DexSputObject));
   }
 
@@ -131,7 +131,7 @@ public class B113326860 {
     MethodSubject method = clazz.method("void", "<clinit>", ImmutableList.of());
     assertThat(method, isPresent());
     assertTrue(
-        Arrays.stream(method.getMethod().getCode().asDexCode().instructions)
+        Arrays.stream(method.getMethod().getCode().asDexCode().getInstructions())
             .anyMatch(i -> i instanceof DexSputBoolean));
   }
 
@@ -145,7 +145,7 @@ public class B113326860 {
     MethodSubject method = clazz.method("void", "<clinit>", ImmutableList.of());
     assertThat(method, isPresent());
     assertTrue(
-        Arrays.stream(method.getMethod().getCode().asDexCode().instructions)
+        Arrays.stream(method.getMethod().getCode().asDexCode().getInstructions())
             .anyMatch(i -> i instanceof DexSputBoolean));
   }
 
@@ -157,7 +157,7 @@ public class B113326860 {
     MethodSubject method = clazz.method("void", "<clinit>", ImmutableList.of());
     assertThat(method, isPresent());
     // Leave the const 42 and the assignment in there!
-    assertTrue(Arrays.stream(method.getMethod().getCode().asDexCode().instructions)
+    assertTrue(Arrays.stream(method.getMethod().getCode().asDexCode().getInstructions())
         .anyMatch(i -> i instanceof SingleConstant && (((SingleConstant) i).decodedValue() == 42)));
   }
 }
@@ -58,7 +58,7 @@ public class B115552239 {
       throws IOException, CompilationFailedException, ExecutionException {
     MethodSubject method = compileTestClassAndGetMethod(AndroidApiLevel.L.getLevel());
     boolean previousWasCmp = false;
-    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().getInstructions();
     assertTrue(Arrays.stream(instructions).anyMatch(i -> i instanceof DexCmpgFloat));
     for (DexInstruction instruction : instructions) {
       if (instruction instanceof DexCmpgFloat) {
@@ -76,7 +76,7 @@ public class B115552239 {
       throws IOException, CompilationFailedException, ExecutionException {
     MethodSubject method = compileTestClassAndGetMethod(AndroidApiLevel.M.getLevel());
     boolean previousWasCmp = false;
-    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().getInstructions();
     assertTrue(Arrays.stream(instructions).anyMatch(i -> i instanceof DexCmpgFloat));
     for (DexInstruction instruction : instructions) {
       if (instruction instanceof DexCmpgFloat) {
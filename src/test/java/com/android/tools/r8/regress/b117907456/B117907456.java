@@ -42,7 +42,7 @@ public class B117907456 extends TestBase {
   public void testNopDupInsertionForDalvikTracingBug()
       throws IOException, CompilationFailedException, ExecutionException {
     MethodSubject method = getMethodSubject(AndroidApiLevel.K);
-    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().getInstructions();
     DexInstruction lastInstruction = instructions[instructions.length - 1];
     assertFalse(lastInstruction instanceof DexThrow);
     assertTrue(isGoto(lastInstruction));
@@ -52,7 +52,7 @@ public class B117907456 extends TestBase {
   public void testNoNopDupInsertionForDalvikTracingBug()
       throws IOException, CompilationFailedException, ExecutionException {
     MethodSubject method = getMethodSubject(AndroidApiLevel.L);
-    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().getInstructions();
     DexInstruction lastInstruction = instructions[instructions.length - 1];
     assertTrue(lastInstruction instanceof DexThrow);
   }
@@ -55,7 +55,7 @@ public class Regress142682636Runner extends TestBase {
 
   private void checkNoMoveWide(MethodSubject m) {
     assertTrue(
-        Arrays.stream(m.getMethod().getCode().asDexCode().instructions)
+        Arrays.stream(m.getMethod().getCode().asDexCode().getInstructions())
             .noneMatch(i -> i instanceof DexMoveWide));
   }
 
@@ -72,7 +72,7 @@ public class B68378480 {
       throws IOException, CompilationFailedException, ExecutionException {
     DexCode code = compileClassesGetSubClassInit(AndroidApiLevel.L_MR1.getLevel());
     assertTrue(code.registerSize > code.incomingRegisterSize);
-    assertTrue(Arrays.stream(code.instructions).anyMatch((i) -> i instanceof SingleConstant));
+    assertTrue(Arrays.stream(code.getInstructions()).anyMatch((i) -> i instanceof SingleConstant));
   }
 
   @Test
@@ -80,6 +80,6 @@ public class B68378480 {
       throws IOException, CompilationFailedException, ExecutionException {
     DexCode code = compileClassesGetSubClassInit(AndroidApiLevel.M.getLevel());
     assertEquals(code.registerSize, code.incomingRegisterSize);
-    assertTrue(Arrays.stream(code.instructions).noneMatch((i) -> i instanceof SingleConstant));
+    assertTrue(Arrays.stream(code.getInstructions()).noneMatch((i) -> i instanceof SingleConstant));
   }
 }
@@ -418,9 +418,9 @@ public class B77496850 extends TestBase {
         factory.createString("isNaN"),
         factory.booleanDescriptor,
         new DexString[]{factory.doubleDescriptor});
-    for (int i = 0; i < code.instructions.length; i++) {
-      if (code.instructions[i] instanceof DexInvokeStatic) {
-        DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[i];
+    for (int i = 0; i < code.getInstructions().length; i++) {
+      if (code.getInstructions()[i] instanceof DexInvokeStatic) {
+        DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[i];
         if (invoke.getMethod() == doubleIsNaN) {
           count++;
         }
@@ -42,7 +42,7 @@ public class B80262475 extends TestBase {
   public void testLongToIntOverlap()
       throws IOException, CompilationFailedException, ExecutionException {
     MethodSubject method = getMethodSubject(AndroidApiLevel.L);
-    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().instructions;
+    DexInstruction[] instructions = method.getMethod().getCode().asDexCode().getInstructions();
     for (DexInstruction instruction : instructions) {
       assertFalse(overlappingLongToIntInputAndOutput(instruction));
     }
@@ -0,0 +1,96 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.relocator;
+
+import static com.android.tools.r8.utils.codeinspector.Matchers.isPresent;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.android.tools.r8.CompilationFailedException;
+import com.android.tools.r8.TestBase;
+import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.TestParametersCollection;
+import com.android.tools.r8.ToolHelper;
+import com.android.tools.r8.references.FieldReference;
+import com.android.tools.r8.references.Reference;
+import com.android.tools.r8.utils.codeinspector.ClassSubject;
+import com.android.tools.r8.utils.codeinspector.CodeInspector;
+import com.android.tools.r8.utils.codeinspector.FoundClassSubject;
+import com.android.tools.r8.utils.codeinspector.FoundFieldSubject;
+import com.android.tools.r8.utils.codeinspector.FoundMethodSubject;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class RelocatorStreamingTest extends TestBase {
+
+  @Parameters(name = "{0}")
+  public static TestParametersCollection data() {
+    return getTestParameters().withNoneRuntime().build();
+  }
+
+  public RelocatorStreamingTest(TestParameters parameters) {
+    parameters.assertNoneRuntime();
+  }
+
+  @Test
+  public void testSameClassesAsNonStreaming() throws Exception {
+    Map<String, String> mapping = new LinkedHashMap<>();
+    mapping.put("com.android.tools.r8", "foo.bar.baz");
+    Path output = runRelocator(ToolHelper.R8_WITH_DEPS_JAR, mapping, false);
+    Path streamingOutput = runRelocator(ToolHelper.R8_WITH_DEPS_JAR, mapping, true);
+    CodeInspector inspector = new CodeInspector(output);
+    CodeInspector streamingInspector = new CodeInspector(streamingOutput);
+    assertEquals(inspector.allClasses().size(), streamingInspector.allClasses().size());
+    for (FoundClassSubject clazz : inspector.allClasses()) {
+      ClassSubject streamingClass = streamingInspector.clazz(clazz.getFinalName());
+      assertThat(streamingClass, isPresent());
+      assertEquals(clazz.getFinalSignatureAttribute(), streamingClass.getFinalSignatureAttribute());
+      for (FoundMethodSubject method : clazz.allMethods()) {
+        assertThat(streamingClass.method(method.asMethodReference()), isPresent());
+      }
+      for (FoundFieldSubject field : clazz.allFields()) {
+        FieldReference reference = field.getFinalReference();
+        assertThat(
+            streamingClass.field(reference.getFieldType().getTypeName(), reference.getFieldName()),
+            isPresent());
+      }
+    }
+  }
+
+  @Test
+  public void testAmbiguousMapping() throws Exception {
+    Map<String, String> mapping = new LinkedHashMap<>();
+    mapping.put("com.android", "foo.bar.baz");
+    mapping.put("com.android.tools.r8", "qux");
+    CompilationFailedException exception =
+        assertThrows(
+            CompilationFailedException.class,
+            () -> runRelocator(ToolHelper.R8_WITH_DEPS_JAR, mapping, true));
+    assertThat(
+        exception.getCause().getMessage(),
+        containsString("can be relocated by multiple mappings."));
+  }
+
+  private Path runRelocator(Path input, Map<String, String> mapping, boolean streaming)
+      throws Exception {
+    Path output = temp.newFolder().toPath().resolve("output.jar");
+    RelocatorCommand.Builder builder =
+        RelocatorCommand.builder().addProgramFiles(input).setOutputPath(output);
+    mapping.forEach(
+        (key, value) ->
+            builder.addPackageMapping(
+                Reference.packageFromString(key), Reference.packageFromString(value)));
+    Relocator.runForTesting(builder.build(), options -> options.streamingRelocation = streaming);
+    return output;
+  }
+}
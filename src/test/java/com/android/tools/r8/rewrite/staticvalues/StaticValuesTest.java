@@ -173,7 +173,7 @@ public class StaticValuesTest extends SmaliTestBase {
     CodeInspector inspector = new CodeInspector(processedApplication);
     MethodSubject clinit = inspector.clazz("Test").clinit();
     // Nothing changed in the class initializer.
-    assertEquals(5, clinit.getMethod().getCode().asDexCode().instructions.length);
+    assertEquals(5, clinit.getMethod().getCode().asDexCode().getInstructions().length);
 
     String result = runArt(processedApplication);
 
@@ -393,8 +393,8 @@ public class StaticValuesTest extends SmaliTestBase {
     assertEquals(("5"), value.asDexValueString().getValue().toString());
 
     DexCode code = inspector.clazz("Test").clinit().getMethod().getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexSgetBoolean);
-    assertTrue(code.instructions[1] instanceof DexIfEqz);
+    assertTrue(code.getInstructions()[0] instanceof DexSgetBoolean);
+    assertTrue(code.getInstructions()[1] instanceof DexIfEqz);
 
     String result = runArt(processedApplication);
 
@@ -542,7 +542,7 @@ public class StaticValuesTest extends SmaliTestBase {
     CodeInspector inspector = new CodeInspector(processedApplication);
     MethodSubject clinit = inspector.clazz("Test").clinit();
     // Nothing changed in the class initializer.
-    assertEquals(3, clinit.getMethod().getCode().asDexCode().instructions.length);
+    assertEquals(3, clinit.getMethod().getCode().asDexCode().getInstructions().length);
 
     String result = runArt(processedApplication);
 
@@ -87,12 +87,12 @@ public class SwitchRewritingTest extends SmaliTestBase {
     DexCode code = method.getCode().asDexCode();
 
     if (key == 0) {
-      assertEquals(5, code.instructions.length);
-      assertTrue(code.instructions[0] instanceof DexIfEqz);
+      assertEquals(5, code.getInstructions().length);
+      assertTrue(code.getInstructions()[0] instanceof DexIfEqz);
     } else {
-      assertEquals(6, code.instructions.length);
-      assertTrue(some16BitConst(code.instructions[0]));
-      assertTrue(code.instructions[1] instanceof DexIfEq);
+      assertEquals(6, code.getInstructions().length);
+      assertTrue(some16BitConst(code.getInstructions()[0]));
+      assertTrue(code.getInstructions()[1] instanceof DexIfEq);
     }
   }
 
@@ -158,13 +158,13 @@ public class SwitchRewritingTest extends SmaliTestBase {
     DexEncodedMethod method = getMethod(processedApplication, signature);
     DexCode code = method.getCode().asDexCode();
     if (keyStep <= 2) {
-      assertTrue(code.instructions[0] instanceof DexPackedSwitch);
+      assertTrue(code.getInstructions()[0] instanceof DexPackedSwitch);
     } else {
       if (additionalLastKey != null && additionalLastKey == Integer.MAX_VALUE) {
-        assertTrue(code.instructions[0] instanceof DexConst);
-        assertTrue(code.instructions[1] instanceof DexIfEq);
+        assertTrue(code.getInstructions()[0] instanceof DexConst);
+        assertTrue(code.getInstructions()[1] instanceof DexIfEq);
       } else {
-        assertTrue(code.instructions[0] instanceof DexSparseSwitch);
+        assertTrue(code.getInstructions()[0] instanceof DexSparseSwitch);
       }
     }
   }
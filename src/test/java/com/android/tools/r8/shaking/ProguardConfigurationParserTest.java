@@ -17,6 +17,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import com.android.tools.r8.Diagnostic;
 import com.android.tools.r8.TestBase;
 import com.android.tools.r8.TestParameters;
 import com.android.tools.r8.TestParametersCollection;
@@ -28,6 +29,7 @@ import com.android.tools.r8.graph.DexItemFactory;
 import com.android.tools.r8.graph.DexType;
 import com.android.tools.r8.graph.FieldAccessFlags;
 import com.android.tools.r8.graph.MethodAccessFlags;
+import com.android.tools.r8.origin.Origin;
 import com.android.tools.r8.position.Position;
 import com.android.tools.r8.position.TextRange;
 import com.android.tools.r8.shaking.ProguardClassNameList.SingleClassNameList;
@@ -2478,6 +2480,53 @@ public class ProguardConfigurationParserTest extends TestBase {
     assertEquals("SRC", config.getRenameSourceFileAttribute());
   }
 
+  @Test
+  public void parseSameFileIncludedTwice() throws Exception {
+    Path includeFile = writeTextToTempFile("-keep class A", "-renamesourcefileattribute SRC");
+    Path proguardConfig =
+        writeTextToTempFile("-include " + includeFile.toAbsolutePath(), "-keep class B");
+    ProguardConfigurationSource secondProguardConfig =
+        new ProguardConfigurationSourceStrings(
+            ImmutableList.of("@" + includeFile.toAbsolutePath(), "-keep class C"),
+            Paths.get(""),
+            Origin.unknown()) {
+          @Override
+          public String get() {
+            // The included file has already been read when parsing the first configuration, thus
+            // the second include does not read it again.
+            assertTrue(includeFile.toFile().delete());
+            return super.get();
+          }
+        };
+    ProguardConfigurationParser parser =
+        new ProguardConfigurationParser(
+            new DexItemFactory(),
+            reporter,
+            ProguardConfigurationParserOptions.builder().setEnablePrintParseTimes(true).build());
+    parser.parse(
+        ImmutableList.of(
+            new ProguardConfigurationSourceFile(proguardConfig), secondProguardConfig));
+
+    // The second include succeeds although the included file has been deleted, and the rule from
+    // the included file is only added once.
+    ProguardConfiguration config = parser.getConfig();
+    assertEquals("SRC", config.getRenameSourceFileAttribute());
+    assertEquals(
+        ImmutableList.of("A", "B", "C"),
+        config.getRules().stream()
+            .map(rule -> rule.getClassNames().toString())
+            .collect(Collectors.toList()));
+
+    // The parse time is reported for each configuration, including the files that it includes.
+    assertEquals(0, handler.warnings.size());
+    assertEquals(0, handler.errors.size());
+    assertEquals(2, handler.infos.size());
+    for (Diagnostic info : handler.infos) {
+      assertThat(info.getDiagnosticMessage(), containsString("Parsed configuration in "));
+    }
+    assertSame(Origin.unknown(), handler.infos.get(1).getOrigin());
+  }
+
   private void testFlagWithFilenames(
       String flag,
       List<String> values,
@@ -62,10 +62,10 @@ public class BinopLiteralTest extends SmaliTestBase {
             "    return p0"
         );
         DexCode code = method.getCode().asDexCode();
-        assertEquals(2, code.instructions.length);
-        assertTrue(code.instructions[0] instanceof DexFormat22b);
-        assertEquals(lit8Value, ((DexFormat22b) code.instructions[0]).CC);
-        assertTrue(code.instructions[1] instanceof DexReturn);
+        assertEquals(2, code.getInstructions().length);
+        assertTrue(code.getInstructions()[0] instanceof DexFormat22b);
+        assertEquals(lit8Value, ((DexFormat22b) code.getInstructions()[0]).CC);
+        assertTrue(code.getInstructions()[1] instanceof DexReturn);
       }
     }
   }
@@ -87,10 +87,10 @@ public class BinopLiteralTest extends SmaliTestBase {
             "    return p0"
         );
         DexCode code = method.getCode().asDexCode();
-        assertEquals(2, code.instructions.length);
-        assertTrue(code.instructions[0] instanceof DexFormat22s);
-        assertEquals(lit16Value, ((DexFormat22s) code.instructions[0]).CCCC);
-        assertTrue(code.instructions[1] instanceof DexReturn);
+        assertEquals(2, code.getInstructions().length);
+        assertTrue(code.getInstructions()[0] instanceof DexFormat22s);
+        assertEquals(lit16Value, ((DexFormat22s) code.getInstructions()[0]).CCCC);
+        assertTrue(code.getInstructions()[1] instanceof DexReturn);
       }
     }
   }
@@ -110,10 +110,10 @@ public class BinopLiteralTest extends SmaliTestBase {
             "    return p0"
         );
         DexCode code = method.getCode().asDexCode();
-        assertEquals(3, code.instructions.length);
-        assertTrue(code.instructions[0] instanceof DexConst16);
-        assertEquals(lit16Value, ((DexConst16) code.instructions[0]).BBBB);
-        assertTrue(code.instructions[2] instanceof DexReturn);
+        assertEquals(3, code.getInstructions().length);
+        assertTrue(code.getInstructions()[0] instanceof DexConst16);
+        assertEquals(lit16Value, ((DexConst16) code.getInstructions()[0]).BBBB);
+        assertTrue(code.getInstructions()[2] instanceof DexReturn);
       }
     }
   }
@@ -130,18 +130,18 @@ public class ConstantFoldingTest extends SmaliTestBase {
     BinopTestData test = (BinopTestData) parameters;
     boolean wide = test.type.equals("long") || test.type.equals("double");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
+    assertEquals(2, code.getInstructions().length);
     if (wide) {
-      assertTrue(code.instructions[0] instanceof WideConstant);
+      assertTrue(code.getInstructions()[0] instanceof WideConstant);
       assertEquals(test.result.longValue(),
-          ((WideConstant) code.instructions[0]).decodedValue());
-      assertTrue(code.instructions[1] instanceof DexReturnWide);
+          ((WideConstant) code.getInstructions()[0]).decodedValue());
+      assertTrue(code.getInstructions()[1] instanceof DexReturnWide);
     } else {
-      assertTrue(code.instructions[0] instanceof SingleConstant);
+      assertTrue(code.getInstructions()[0] instanceof SingleConstant);
       assertEquals(
           test.result.longValue(),
-          (long) ((SingleConstant) code.instructions[0]).decodedValue());
-      assertTrue(code.instructions[1] instanceof DexReturn);
+          (long) ((SingleConstant) code.getInstructions()[0]).decodedValue());
+      assertTrue(code.getInstructions()[1] instanceof DexReturn);
     }
   }
 
@@ -223,11 +223,11 @@ public class ConstantFoldingTest extends SmaliTestBase {
         (method, parameters) -> {
           DexCode code = method.getCode().asDexCode();
           // Division by zero is not folded, but div-int/lit8 is used.
-          assertEquals(3, code.instructions.length);
-          assertTrue(code.instructions[0] instanceof DexConst4);
-          assertTrue(code.instructions[1] instanceof DexDivIntLit8);
-          assertEquals(0, ((DexDivIntLit8) code.instructions[1]).CC);
-          assertTrue(code.instructions[2] instanceof DexReturn);
+          assertEquals(3, code.getInstructions().length);
+          assertTrue(code.getInstructions()[0] instanceof DexConst4);
+          assertTrue(code.getInstructions()[1] instanceof DexDivIntLit8);
+          assertEquals(0, ((DexDivIntLit8) code.getInstructions()[1]).CC);
+          assertTrue(code.getInstructions()[2] instanceof DexReturn);
         },
         null);
   }
@@ -248,11 +248,11 @@ public class ConstantFoldingTest extends SmaliTestBase {
         (method, parameters) -> {
           DexCode code = method.getCode().asDexCode();
           // Division by zero is not folded, but rem-int/lit8 is used.
-          assertEquals(3, code.instructions.length);
-          assertTrue(code.instructions[0] instanceof DexConst4);
-          assertTrue(code.instructions[1] instanceof DexRemIntLit8);
-          assertEquals(0, ((DexRemIntLit8) code.instructions[1]).CC);
-          assertTrue(code.instructions[2] instanceof DexReturn);
+          assertEquals(3, code.getInstructions().length);
+          assertTrue(code.getInstructions()[0] instanceof DexConst4);
+          assertTrue(code.getInstructions()[1] instanceof DexRemIntLit8);
+          assertEquals(0, ((DexRemIntLit8) code.getInstructions()[1]).CC);
+          assertTrue(code.getInstructions()[2] instanceof DexReturn);
         },
         null);
   }
@@ -298,16 +298,18 @@ public class ConstantFoldingTest extends SmaliTestBase {
     UnopTestData test = (UnopTestData) parameters;
     boolean wide = test.type.equals("long") || test.type.equals("double");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
+    assertEquals(2, code.getInstructions().length);
     if (wide) {
-      assertTrue(code.instructions[0] instanceof WideConstant);
-      assertEquals(test.result.longValue(), ((WideConstant) code.instructions[0]).decodedValue());
-      assertTrue(code.instructions[1] instanceof DexReturnWide);
+      assertTrue(code.getInstructions()[0] instanceof WideConstant);
+      assertEquals(
+          test.result.longValue(), ((WideConstant) code.getInstructions()[0]).decodedValue());
+      assertTrue(code.getInstructions()[1] instanceof DexReturnWide);
     } else {
-      assertTrue(code.instructions[0] instanceof SingleConstant);
+      assertTrue(code.getInstructions()[0] instanceof SingleConstant);
       assertEquals(
-          test.result.longValue(), (long) ((SingleConstant) code.instructions[0]).decodedValue());
-      assertTrue(code.instructions[1] instanceof DexReturn);
+          test.result.longValue(),
+          (long) ((SingleConstant) code.getInstructions()[0]).decodedValue());
+      assertTrue(code.getInstructions()[1] instanceof DexReturn);
     }
   }
 
@@ -391,9 +393,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
     LogicalOperatorTestData test = (LogicalOperatorTestData) parameters;
     DexCode code = method.getCode().asDexCode();
     // Test that this just returns a constant.
-    assertEquals(2, code.instructions.length);
-    assertConstValue(test.expected, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(test.expected, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   private void addLogicalOperatorsFoldTests(SmaliBuilderWithCheckers testBuilder) {
@@ -474,9 +476,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
     ShiftTestData data = (ShiftTestData) parameters;
     DexCode code = method.getCode().asDexCode();
     // Test that this just returns a constant.
-    assertEquals(2, code.instructions.length);
-    assertConstValue(data.expected, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(data.expected, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   public void addShiftOperatorsFolding(SmaliBuilderWithCheckers testBuilder) {
@@ -558,9 +560,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
     ShiftWideTestData data = (ShiftWideTestData) parameters;
     DexCode code = method.getCode().asDexCode();
     // Test that this just returns a constant.
-    assertEquals(2, code.instructions.length);
-    assertConstValue(data.expected, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturnWide);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(data.expected, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturnWide);
   }
 
   public void addShiftOperatorsFoldingWide(SmaliBuilderWithCheckers testBuilder) {
@@ -596,9 +598,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
   private void notIntMethodChecker(DexEncodedMethod method, Object parameters) {
     Integer value = (Integer) parameters;
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertConstValue(~value, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(~value, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   private void addNotIntFoldTests(SmaliBuilderWithCheckers testBuilder) throws Exception {
@@ -618,9 +620,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
   private void notLongMethodChecker(DexEncodedMethod method, Object parameters) {
     Long value = (Long) parameters;
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertConstValue(~value, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturnWide);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(~value, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturnWide);
   }
 
 
@@ -648,9 +650,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
   private void negIntMethodChecker(DexEncodedMethod method, Object parameters) {
     Integer value = (Integer) parameters;
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertConstValue(-value, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(-value, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   private void addNegIntFoldTests(SmaliBuilderWithCheckers testBuilder) throws Exception {
@@ -671,9 +673,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
   private void negLongMethodChecker(DexEncodedMethod method, Object parameters) {
     Long value = (Long) parameters;
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertConstValue(-value, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturnWide);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(-value, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturnWide);
   }
 
   private void addNegLongFoldTests(SmaliBuilderWithCheckers testBuilder) throws Exception {
@@ -746,9 +748,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
   private void cmpFloatMethodChecker(DexEncodedMethod method, Object parameters) {
     FloatTestData test = (FloatTestData) parameters;
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertConstValue(test.expected ? 1: 0, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(test.expected ? 1: 0, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   private void addCmpFloatFoldTests(SmaliBuilderWithCheckers testBuilder) throws Exception {
@@ -854,9 +856,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
   private void cmpDoubleMethodChecker(DexEncodedMethod method, Object parameters) {
     DoubleTestData test = (DoubleTestData) parameters;
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertConstValue(test.expected ? 1: 0, code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(test.expected ? 1: 0, code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
 
@@ -918,9 +920,9 @@ public class ConstantFoldingTest extends SmaliTestBase {
   private void cmpLongMethodChecker(DexEncodedMethod method, Object parameters) {
     long[] values = (long[]) (parameters);
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertConstValue(Long.compare(values[0], values[1]), code.instructions[0]);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertConstValue(Long.compare(values[0], values[1]), code.getInstructions()[0]);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   private void addCmpLongFold(SmaliBuilderWithCheckers testBuilder) throws Exception {
@@ -54,10 +54,10 @@ public class IfSimplificationTest extends SmaliTestBase {
         "  const v0, 1",
         "  goto :label_1");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexConst4);
-    assertEquals(0, ((DexConst4) code.instructions[0]).B);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexConst4);
+    assertEquals(0, ((DexConst4) code.getInstructions()[0]).B);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   @Test
@@ -74,10 +74,10 @@ public class IfSimplificationTest extends SmaliTestBase {
         "  const v0, 1",
         "  goto :label_1");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexConst4);
-    assertEquals(2, ((DexConst4) code.instructions[0]).B);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexConst4);
+    assertEquals(2, ((DexConst4) code.getInstructions()[0]).B);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   @Test
@@ -98,10 +98,10 @@ public class IfSimplificationTest extends SmaliTestBase {
         "  const v0, 2",
         "  goto :label_1");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexConst4);
-    assertEquals(0, ((DexConst4) code.instructions[0]).B);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexConst4);
+    assertEquals(0, ((DexConst4) code.getInstructions()[0]).B);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   @Test
@@ -122,10 +122,10 @@ public class IfSimplificationTest extends SmaliTestBase {
         "  const p0, 0",
         "  goto :label_2");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexConst4);
-    assertEquals(0, ((DexConst4) code.instructions[0]).B);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexConst4);
+    assertEquals(0, ((DexConst4) code.getInstructions()[0]).B);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   @Test
@@ -153,10 +153,10 @@ public class IfSimplificationTest extends SmaliTestBase {
         "  const p0, 0",
         "  goto :label_2");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexConst4);
-    assertEquals(0, ((DexConst4) code.instructions[0]).B);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexConst4);
+    assertEquals(0, ((DexConst4) code.getInstructions()[0]).B);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   @Test
@@ -180,8 +180,8 @@ public class IfSimplificationTest extends SmaliTestBase {
         ":return",
         "  return v0");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(12, code.instructions.length);
-    assertTrue(code.instructions[11] instanceof DexReturn);
+    assertEquals(12, code.getInstructions().length);
+    assertTrue(code.getInstructions()[11] instanceof DexReturn);
   }
 
   @Test
@@ -198,10 +198,10 @@ public class IfSimplificationTest extends SmaliTestBase {
         "  const v0, 1",
         "  goto :label_2");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexConst4);
-    assertEquals(0, ((DexConst4) code.instructions[0]).B);
-    assertTrue(code.instructions[1] instanceof DexReturn);
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexConst4);
+    assertEquals(0, ((DexConst4) code.getInstructions()[0]).B);
+    assertTrue(code.getInstructions()[1] instanceof DexReturn);
   }
 
   @Test
@@ -256,11 +256,11 @@ public class IfSimplificationTest extends SmaliTestBase {
             "  const v0, 1",
             "  goto :label_1");
         DexCode code = method.getCode().asDexCode();
-        assertEquals(2, code.instructions.length);
-        assertTrue(code.instructions[0] instanceof DexConst4);
+        assertEquals(2, code.getInstructions().length);
+        assertTrue(code.getInstructions()[0] instanceof DexConst4);
         int expected = test.results[type.ordinal()] ? 1 : 0;
-        assertEquals(expected, ((DexConst4) code.instructions[0]).B);
-        assertTrue(code.instructions[1] instanceof DexReturn);
+        assertEquals(expected, ((DexConst4) code.getInstructions()[0]).B);
+        assertTrue(code.getInstructions()[1] instanceof DexReturn);
       }
     }
   }
@@ -286,9 +286,9 @@ public class IfSimplificationTest extends SmaliTestBase {
         "  const v0, 1",
         "  goto :label_1");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(5, code.instructions.length);
-    assertTrue(expected.isInstance(code.instructions[0]));
-    assertTrue(code.instructions[4] instanceof DexReturn);
+    assertEquals(5, code.getInstructions().length);
+    assertTrue(expected.isInstance(code.getInstructions()[0]));
+    assertTrue(code.getInstructions()[4] instanceof DexReturn);
   }
 
   @Test
@@ -398,11 +398,11 @@ public class IfSimplificationTest extends SmaliTestBase {
             "          move-result-object  v0",
             "          goto                :label_7");
     DexCode code = method.getCode().asDexCode();
-    assertEquals(3, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexInvokeVirtual);
-    assertTrue(code.instructions[1] instanceof DexConst4);
-    assertEquals(0, ((DexConst4) code.instructions[1]).B);
-    assertTrue(code.instructions[2] instanceof DexReturnObject);
+    assertEquals(3, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexInvokeVirtual);
+    assertTrue(code.getInstructions()[1] instanceof DexConst4);
+    assertEquals(0, ((DexConst4) code.getInstructions()[1]).B);
+    assertTrue(code.getInstructions()[2] instanceof DexReturnObject);
   }
 
   @Test
@@ -452,6 +452,6 @@ public class IfSimplificationTest extends SmaliTestBase {
     // TODO(sgjesse): Maybe this test is too fragile, as it leaves quite a lot of code, so the
     // expectation might need changing with other optimizations.
     // TODO(zerny): Consider optimizing the fallthrough branch of conditionals to not be return.
-    assertEquals(26, code.instructions.length);
+    assertEquals(26, code.getInstructions().length);
   }
 }
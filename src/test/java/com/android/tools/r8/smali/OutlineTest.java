@@ -158,9 +158,9 @@ public class OutlineTest extends SmaliTestBase {
       DexEncodedMethod method = getMethod(processedApplication, signature);
 
       DexCode code = method.getCode().asDexCode();
-      assertTrue(code.instructions[0] instanceof DexConstString);
-      assertTrue(code.instructions[1] instanceof DexInvokeStatic);
-      DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[1];
+      assertTrue(code.getInstructions()[0] instanceof DexConstString);
+      assertTrue(code.getInstructions()[1] instanceof DexInvokeStatic);
+      DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[1];
       assertTrue(isOutlineMethodName(invoke.getMethod()));
 
       // Run code and check result.
@@ -230,10 +230,10 @@ public class OutlineTest extends SmaliTestBase {
       // Up to 4 const instructions before the invoke of the outline.
       int firstOutlineInvoke = Math.min(i, 4);
       for (int j = 0; j < firstOutlineInvoke; j++) {
-        assertTrue(code.instructions[j] instanceof DexConstString);
+        assertTrue(code.getInstructions()[j] instanceof DexConstString);
       }
-      assertTrue(code.instructions[firstOutlineInvoke] instanceof DexInvokeStatic);
-      DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[firstOutlineInvoke];
+      assertTrue(code.getInstructions()[firstOutlineInvoke] instanceof DexInvokeStatic);
+      DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[firstOutlineInvoke];
       assertTrue(isOutlineMethodName(invoke.getMethod()));
 
       // Run code and check result.
@@ -287,9 +287,9 @@ public class OutlineTest extends SmaliTestBase {
     DexEncodedMethod method = getMethod(processedApplication, signature);
 
     DexCode code = method.getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstString);
-    assertTrue(code.instructions[1] instanceof DexInvokeStatic);
-    DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[1];
+    assertTrue(code.getInstructions()[0] instanceof DexConstString);
+    assertTrue(code.getInstructions()[1] instanceof DexInvokeStatic);
+    DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[1];
     assertTrue(isOutlineMethodName(invoke.getMethod()));
 
     // Run code and check result.
@@ -349,10 +349,10 @@ public class OutlineTest extends SmaliTestBase {
     DexEncodedMethod method = getMethod(processedApplication, signature);
 
     DexCode code = method.getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexConstString);
-    assertTrue(code.instructions[1] instanceof DexConstString);
-    assertTrue(code.instructions[2] instanceof DexInvokeStatic);
-    DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[2];
+    assertTrue(code.getInstructions()[0] instanceof DexConstString);
+    assertTrue(code.getInstructions()[1] instanceof DexConstString);
+    assertTrue(code.getInstructions()[2] instanceof DexInvokeStatic);
+    DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[2];
     assertTrue(isOutlineMethodName(invoke.getMethod()));
 
     // Run code and check result.
@@ -414,16 +414,16 @@ public class OutlineTest extends SmaliTestBase {
       DexEncodedMethod method = getMethod(processedApplication, signature);
 
       DexCode code = method.getCode().asDexCode();
-      assertTrue(code.instructions[0] instanceof DexConstWide);
+      assertTrue(code.getInstructions()[0] instanceof DexConstWide);
       if (i < 3) {
-        assertTrue(code.instructions[1] instanceof DexInvokeStatic);
-        DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[1];
+        assertTrue(code.getInstructions()[1] instanceof DexInvokeStatic);
+        DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[1];
         assertTrue(isOutlineMethodName(invoke.getMethod()));
       } else {
-        assertTrue(code.instructions[1] instanceof DexInvokeVirtual);
-        assertTrue(code.instructions[2] instanceof DexInvokeVirtual);
-        assertTrue(code.instructions[3] instanceof DexInvokeStatic);
-        DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[3];
+        assertTrue(code.getInstructions()[1] instanceof DexInvokeVirtual);
+        assertTrue(code.getInstructions()[2] instanceof DexInvokeVirtual);
+        assertTrue(code.getInstructions()[3] instanceof DexInvokeStatic);
+        DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[3];
         assertTrue(isOutlineMethodName(invoke.getMethod()));
       }
 
@@ -491,16 +491,16 @@ public class OutlineTest extends SmaliTestBase {
       DexEncodedMethod method = getMethod(processedApplication, signature);
 
       DexCode code = method.getCode().asDexCode();
-      assertTrue(code.instructions[0] instanceof DexConstWideHigh16);
+      assertTrue(code.getInstructions()[0] instanceof DexConstWideHigh16);
       if (i < 3) {
-        assertTrue(code.instructions[1] instanceof DexInvokeStatic);
-        DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[1];
+        assertTrue(code.getInstructions()[1] instanceof DexInvokeStatic);
+        DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[1];
         assertTrue(isOutlineMethodName(invoke.getMethod()));
       } else {
-        assertTrue(code.instructions[1] instanceof DexInvokeVirtual);
-        assertTrue(code.instructions[2] instanceof DexInvokeVirtual);
-        assertTrue(code.instructions[3] instanceof DexInvokeStatic);
-        DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[3];
+        assertTrue(code.getInstructions()[1] instanceof DexInvokeVirtual);
+        assertTrue(code.getInstructions()[2] instanceof DexInvokeVirtual);
+        assertTrue(code.getInstructions()[3] instanceof DexInvokeStatic);
+        DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[3];
         assertTrue(isOutlineMethodName(invoke.getMethod()));
       }
 
@@ -564,22 +564,22 @@ public class OutlineTest extends SmaliTestBase {
       DexCode mainCode = mainMethod.getCode().asDexCode();
 
       if (i == 2 || i == 3) {
-        assert mainCode.instructions.length == 10;
+        assert mainCode.getInstructions().length == 10;
       } else if (i == 4) {
-        assert mainCode.instructions.length == 9;
+        assert mainCode.getInstructions().length == 9;
       } else {
         assert i == 5;
-        assert mainCode.instructions.length == 7;
+        assert mainCode.getInstructions().length == 7;
       }
       if (i == 2) {
-        DexInvokeStatic invoke = (DexInvokeStatic) mainCode.instructions[4];
+        DexInvokeStatic invoke = (DexInvokeStatic) mainCode.getInstructions()[4];
         assertTrue(isOutlineMethodName(invoke.getMethod()));
       } else if (i == 3) {
-        DexInvokeStatic invoke = (DexInvokeStatic) mainCode.instructions[1];
+        DexInvokeStatic invoke = (DexInvokeStatic) mainCode.getInstructions()[1];
         assertTrue(isOutlineMethodName(invoke.getMethod()));
       } else {
         assert i == 4 || i == 5;
-        DexInvokeStatic invoke = (DexInvokeStatic) mainCode.instructions[2];
+        DexInvokeStatic invoke = (DexInvokeStatic) mainCode.getInstructions()[2];
         assertTrue(isOutlineMethodName(invoke.getMethod()));
       }
 
@@ -660,15 +660,15 @@ public class OutlineTest extends SmaliTestBase {
     assertEquals(3, getNumberOfProgramClasses(processedApplication));
 
     DexCode code1 = getMethod(processedApplication, signature1).getCode().asDexCode();
-    assertEquals(4, code1.instructions.length);
-    assertTrue(code1.instructions[1] instanceof DexInvokeStatic);
-    DexInvokeStatic invoke1 = (DexInvokeStatic) code1.instructions[1];
+    assertEquals(4, code1.getInstructions().length);
+    assertTrue(code1.getInstructions()[1] instanceof DexInvokeStatic);
+    DexInvokeStatic invoke1 = (DexInvokeStatic) code1.getInstructions()[1];
     assertTrue(isOutlineMethodName(invoke1.getMethod()));
 
     DexCode code2 = getMethod(processedApplication, signature2).getCode().asDexCode();
-    assertEquals(5, code2.instructions.length);
-    assertTrue(code2.instructions[2] instanceof DexInvokeStatic);
-    DexInvokeStatic invoke2 = (DexInvokeStatic) code2.instructions[2];
+    assertEquals(5, code2.getInstructions().length);
+    assertTrue(code2.getInstructions()[2] instanceof DexInvokeStatic);
+    DexInvokeStatic invoke2 = (DexInvokeStatic) code2.getInstructions()[2];
     assertTrue(isOutlineMethodName(invoke1.getMethod()));
 
     // Run code and check result.
@@ -739,7 +739,7 @@ public class OutlineTest extends SmaliTestBase {
         default:
           outlineInstructionIndex = 2;
       }
-      DexInstruction instruction = code.instructions[outlineInstructionIndex];
+      DexInstruction instruction = code.getInstructions()[outlineInstructionIndex];
       if (instruction instanceof DexInvokeStatic) {
         DexInvokeStatic invoke = (DexInvokeStatic) instruction;
         assertTrue(isOutlineMethodName(invoke.getMethod()));
@@ -792,8 +792,8 @@ public class OutlineTest extends SmaliTestBase {
 
     DexCode code = getMethod(processedApplication, signature1).getCode().asDexCode();
     DexInvokeStatic invoke;
-    assertTrue(code.instructions[0] instanceof DexInvokeStatic);
-    invoke = (DexInvokeStatic) code.instructions[0];
+    assertTrue(code.getInstructions()[0] instanceof DexInvokeStatic);
+    invoke = (DexInvokeStatic) code.getInstructions()[0];
     assertTrue(isOutlineMethodName(invoke.getMethod()));
 
     // Run code and check result.
@@ -871,7 +871,7 @@ public class OutlineTest extends SmaliTestBase {
     // Collect the return types of the outlines for the body of method1 and method2.
     List<DexType> r = new ArrayList<>();
     for (DexEncodedMethod directMethod : outlineMethods) {
-      if (directMethod.getCode().asDexCode().instructions[0] instanceof DexInvokeVirtual) {
+      if (directMethod.getCode().asDexCode().getInstructions()[0] instanceof DexInvokeVirtual) {
         r.add(directMethod.getReference().proto.returnType);
       }
     }
@@ -1018,11 +1018,11 @@ public class OutlineTest extends SmaliTestBase {
     DexEncodedMethod method = getMethod(processedApplication, signature);
     // The calls to set, set and getTimeInMillis was outlined.
     DexCode code = method.getCode().asDexCode();
-    assertEquals(3, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[1] instanceof DexMoveResultWide);
-    assertTrue(code.instructions[2] instanceof DexReturnWide);
-    DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[0];
+    assertEquals(3, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[1] instanceof DexMoveResultWide);
+    assertTrue(code.getInstructions()[2] instanceof DexReturnWide);
+    DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[0];
     assertEquals(firstOutlineMethodName(), invoke.getMethod().qualifiedName());
 
     // Run the code and expect a parsable long.
@@ -1135,10 +1135,10 @@ public class OutlineTest extends SmaliTestBase {
     // Return the processed method for inspection.
     DexEncodedMethod method = getMethod(processedApplication, signature);
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[1] instanceof DexReturnObject);
-    DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[0];
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[1] instanceof DexReturnObject);
+    DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[0];
     assertEquals(firstOutlineMethodName(), invoke.getMethod().qualifiedName());
 
     // Run code and check result.
@@ -1211,17 +1211,17 @@ public class OutlineTest extends SmaliTestBase {
     // Return the processed method for inspection.
     DexEncodedMethod method1 = getMethod(processedApplication, signature1);
     DexCode code1 = method1.getCode().asDexCode();
-    assertEquals(3, code1.instructions.length);
-    assertTrue(code1.instructions[0] instanceof DexInvokeStatic);
-    assertTrue(code1.instructions[1] instanceof DexMoveResult);
-    assertTrue(code1.instructions[2] instanceof DexReturn);
-    DexInvokeStatic invoke1 = (DexInvokeStatic) code1.instructions[0];
+    assertEquals(3, code1.getInstructions().length);
+    assertTrue(code1.getInstructions()[0] instanceof DexInvokeStatic);
+    assertTrue(code1.getInstructions()[1] instanceof DexMoveResult);
+    assertTrue(code1.getInstructions()[2] instanceof DexReturn);
+    DexInvokeStatic invoke1 = (DexInvokeStatic) code1.getInstructions()[0];
     assertTrue(isOutlineMethodName(invoke1.getMethod()));
 
     DexEncodedMethod method2 = getMethod(processedApplication, signature2);
     DexCode code2 = method2.getCode().asDexCode();
-    assertTrue(code2.instructions[0] instanceof DexInvokeStatic);
-    DexInvokeStatic invoke2 = (DexInvokeStatic) code2.instructions[0];
+    assertTrue(code2.getInstructions()[0] instanceof DexInvokeStatic);
+    DexInvokeStatic invoke2 = (DexInvokeStatic) code2.getInstructions()[0];
     assertEquals(invoke1.getMethod().qualifiedName(), invoke2.getMethod().qualifiedName());
 
     // Run code and check result.
@@ -1289,15 +1289,15 @@ public class OutlineTest extends SmaliTestBase {
     // Return the processed method for inspection.
     DexEncodedMethod method = getMethod(processedApplication, signature);
     DexCode code = method.getCode().asDexCode();
-    assertEquals(7, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexDivInt);
-    assertTrue(code.instructions[1] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[2] instanceof DexMoveResult);
-    assertTrue(code.instructions[3] instanceof DexDivInt2Addr);
-    assertTrue(code.instructions[4] instanceof DexGoto);
-    assertTrue(code.instructions[5] instanceof DexConst4);
-    assertTrue(code.instructions[6] instanceof DexReturn);
-    DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[1];
+    assertEquals(7, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexDivInt);
+    assertTrue(code.getInstructions()[1] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[2] instanceof DexMoveResult);
+    assertTrue(code.getInstructions()[3] instanceof DexDivInt2Addr);
+    assertTrue(code.getInstructions()[4] instanceof DexGoto);
+    assertTrue(code.getInstructions()[5] instanceof DexConst4);
+    assertTrue(code.getInstructions()[6] instanceof DexReturn);
+    DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[1];
     assertTrue(isOutlineMethodName(invoke.getMethod()));
 
     // Run code and check result.
@@ -1343,11 +1343,11 @@ public class OutlineTest extends SmaliTestBase {
     // Return the processed method for inspection.
     DexEncodedMethod method = getMethod(processedApplication, signature);
     DexCode code = method.getCode().asDexCode();
-    assertEquals(3, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[1] instanceof DexMoveResultObject);
-    assertTrue(code.instructions[2] instanceof DexReturnObject);
-    DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[0];
+    assertEquals(3, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[1] instanceof DexMoveResultObject);
+    assertTrue(code.getInstructions()[2] instanceof DexReturnObject);
+    DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[0];
     assertEquals(firstOutlineMethodName(), invoke.getMethod().qualifiedName());
 
     // Run code and check result.
@@ -1402,10 +1402,10 @@ public class OutlineTest extends SmaliTestBase {
     // Return the processed method for inspection.
     DexEncodedMethod method = getMethod(processedApplication, signature);
     DexCode code = method.getCode().asDexCode();
-    assertEquals(2, code.instructions.length);
-    assertTrue(code.instructions[0] instanceof DexInvokeStatic);
-    assertTrue(code.instructions[1] instanceof DexReturnVoid);
-    DexInvokeStatic invoke = (DexInvokeStatic) code.instructions[0];
+    assertEquals(2, code.getInstructions().length);
+    assertTrue(code.getInstructions()[0] instanceof DexInvokeStatic);
+    assertTrue(code.getInstructions()[1] instanceof DexReturnVoid);
+    DexInvokeStatic invoke = (DexInvokeStatic) code.getInstructions()[0];
     assertEquals(firstOutlineMethodName(), invoke.getMethod().qualifiedName());
 
     // Run code and check result.
@@ -1640,7 +1640,7 @@ public class OutlineTest extends SmaliTestBase {
   private void assertHasOutlineInvoke(DexEncodedMethod method) {
     assertTrue(
         Arrays
-            .stream(method.getCode().asDexCode().instructions)
+            .stream(method.getCode().asDexCode().getInstructions())
             .anyMatch(OutlineTest::isOutlineInvoke));
   }
 
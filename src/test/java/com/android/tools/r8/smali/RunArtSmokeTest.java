@@ -42,10 +42,10 @@ public class RunArtSmokeTest extends SmaliTestBase {
     assertNotNull(main);
 
     DexCode code = main.getCode().asDexCode();
-    assertTrue(code.instructions[0] instanceof DexSgetObject);
-    assertTrue(code.instructions[1] instanceof DexConstString);
-    assertTrue(code.instructions[2] instanceof DexInvokeVirtual);
-    assertTrue(code.instructions[3] instanceof DexReturnVoid);
+    assertTrue(code.getInstructions()[0] instanceof DexSgetObject);
+    assertTrue(code.getInstructions()[1] instanceof DexConstString);
+    assertTrue(code.getInstructions()[2] instanceof DexInvokeVirtual);
+    assertTrue(code.getInstructions()[3] instanceof DexReturnVoid);
 
     // Run the generated code in Art.
     String result = runArt(processedApplication);
@@ -0,0 +1,42 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.startup;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * The InstrumentationServerImpl that is injected when bitmap instrumentation is enabled. The
+ * generated class is renamed to InstrumentationServerImpl.
+ */
+public class BitmapInstrumentationServerImpl extends InstrumentationServer {
+
+  private static final BitmapInstrumentationServerImpl INSTANCE =
+      new BitmapInstrumentationServerImpl();
+
+  // Set by the instrumentation to the number of indices assigned by the instrumentation.
+  private static int size;
+
+  // The instrumentation sets executed[index] to 1 when the startup item with the given index is
+  // executed.
+  public static final byte[] executed = new byte[size];
+
+  private BitmapInstrumentationServerImpl() {}
+
+  public static BitmapInstrumentationServerImpl getInstance() {
+    return BitmapInstrumentationServerImpl.INSTANCE;
+  }
+
+  @Override
+  public void writeToFile(File file) throws IOException {
+    FileOutputStream stream = new FileOutputStream(file);
+    try {
+      stream.write(executed);
+    } finally {
+      stream.close();
+    }
+  }
+}
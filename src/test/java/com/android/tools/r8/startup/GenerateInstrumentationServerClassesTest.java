@@ -52,7 +52,8 @@ public class GenerateInstrumentationServerClassesTest extends TestBase {
   private static List<CfClassGenerator> getClassGenerators() {
     return ImmutableList.of(
         new InstrumentationServerClassGenerator(InstrumentationServer.class),
-        new InstrumentationServerClassGenerator(InstrumentationServerImpl.class));
+        new InstrumentationServerClassGenerator(InstrumentationServerImpl.class),
+        new BitmapInstrumentationServerClassGenerator());
   }
 
   private static class InstrumentationServerClassGenerator extends CfClassGenerator {
@@ -79,4 +80,20 @@ public class GenerateInstrumentationServerClassesTest extends TestBase {
       return 2022;
     }
   }
+
+  private static class BitmapInstrumentationServerClassGenerator
+      extends InstrumentationServerClassGenerator {
+
+    BitmapInstrumentationServerClassGenerator() {
+      super(BitmapInstrumentationServerImpl.class);
+    }
+
+    @Override
+    protected byte[] getImplementationClassBytes() throws IOException {
+      // The generated class replaces the default InstrumentationServerImpl.
+      return transformer(BitmapInstrumentationServerImpl.class)
+          .setClassDescriptor(descriptor(InstrumentationServerImpl.class))
+          .transform();
+    }
+  }
 }
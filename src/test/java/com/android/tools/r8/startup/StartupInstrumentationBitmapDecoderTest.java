@@ -0,0 +1,51 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.android.tools.r8.experimental.startup.instrumentation.StartupInstrumentationBitmapDecoder;
+import com.android.tools.r8.utils.FileUtils;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StartupInstrumentationBitmapDecoderTest {
+
+  @Rule public TemporaryFolder temp = new TemporaryFolder();
+
+  private static final List<String> INDEX =
+      ImmutableList.of("LA;", "LA;->m()V", "LB;", "LB;-><clinit>()V", "LB;->n(I)I");
+
+  @Test
+  public void testDecode() {
+    assertEquals(
+        ImmutableList.of("LA;", "LB;", "LB;->n(I)I"),
+        StartupInstrumentationBitmapDecoder.decode(INDEX, new byte[] {1, 0, 1, 0, 1}));
+  }
+
+  @Test
+  public void testDecodeFiles() throws Exception {
+    Path index = temp.newFile("index.txt").toPath();
+    Path executed = temp.newFile("executed.bin").toPath();
+    FileUtils.writeTextFile(index, INDEX);
+    Files.write(executed, new byte[] {0, 1, 0, 1, 0});
+    assertEquals(
+        ImmutableList.of("LA;->m()V", "LB;-><clinit>()V"),
+        StartupInstrumentationBitmapDecoder.decode(index, executed));
+  }
+
+  @Test
+  public void testLengthMismatch() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> StartupInstrumentationBitmapDecoder.decode(INDEX, new byte[] {1, 1}));
+  }
+}
@@ -5,10 +5,12 @@
 package com.android.tools.r8.startup;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeFalse;
 
 import com.android.tools.r8.NeverInline;
 import com.android.tools.r8.TestBase;
 import com.android.tools.r8.TestParameters;
+import com.android.tools.r8.experimental.startup.instrumentation.StartupInstrumentationBitmapDecoder;
 import com.android.tools.r8.profile.art.ArtProfileBuilderUtils.SyntheticToSyntheticContextGeneralization;
 import com.android.tools.r8.references.Reference;
 import com.android.tools.r8.startup.profile.ExternalStartupClass;
@@ -16,6 +18,7 @@ import com.android.tools.r8.startup.profile.ExternalStartupItem;
 import com.android.tools.r8.startup.profile.ExternalStartupMethod;
 import com.android.tools.r8.startup.utils.StartupTestingUtils;
 import com.android.tools.r8.utils.BooleanUtils;
+import com.android.tools.r8.utils.FileUtils;
 import com.android.tools.r8.utils.MethodReferenceUtils;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -48,6 +51,10 @@ public class StartupInstrumentationTest extends TestBase {
 
   @Test
   public void test() throws Exception {
+    assertEquals(getExpectedStartupList(), runWithTextInstrumentation());
+  }
+
+  private Set<ExternalStartupItem> runWithTextInstrumentation() throws Exception {
     Path out = temp.newFolder().toPath().resolve("out.txt").toAbsolutePath();
     Set<ExternalStartupItem> startupList = new LinkedHashSet<>();
     SyntheticToSyntheticContextGeneralization syntheticGeneralization =
@@ -74,6 +81,37 @@ public class StartupInstrumentationTest extends TestBase {
                 StartupTestingUtils.readStartupListFromFile(
                     out, startupList::add, syntheticGeneralization))
         .assertSuccessWithOutputLines(getExpectedOutput());
+    return startupList;
+  }
+
+  @Test
+  public void testBitmap() throws Exception {
+    // Bitmap instrumentation does not support logcat.
+    assumeFalse(logcat);
+    Path index = temp.newFolder().toPath().resolve("index.txt").toAbsolutePath();
+    Path executed = temp.newFolder().toPath().resolve("executed.bin").toAbsolutePath();
+    testForD8(parameters.getBackend())
+        .addInnerClasses(getClass())
+        .apply(StartupTestingUtils.enableStartupInstrumentationForOriginalAppUsingFile(parameters))
+        .addOptionsModification(
+            options ->
+                options
+                    .getStartupInstrumentationOptions()
+                    .setStartupInstrumentationBitmapIndex(index))
+        .release()
+        .setMinApi(parameters.getApiLevel())
+        .compile()
+        .run(parameters.getRuntime(), Main.class, Boolean.toString(logcat), executed.toString())
+        .assertSuccessWithOutputLines(getExpectedOutput());
+
+    // The decoded startup profile contains the same startup items as the text startup profile,
+    // although in the order of the index instead of the order of execution.
+    Path decoded = temp.newFolder().toPath().resolve("decoded.txt");
+    FileUtils.writeTextFile(decoded, StartupInstrumentationBitmapDecoder.decode(index, executed));
+    Set<ExternalStartupItem> startupList = new LinkedHashSet<>();
+    StartupTestingUtils.readStartupListFromFile(
+        decoded, startupList::add, SyntheticToSyntheticContextGeneralization.createForD8());
+    assertEquals(runWithTextInstrumentation(), startupList);
     assertEquals(getExpectedStartupList(), startupList);
   }
 
@@ -0,0 +1,175 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.ByteDataView;
+import com.android.tools.r8.DataEntryResource;
+import com.android.tools.r8.origin.Origin;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveBuilderTest {
+
+  private static final String API_DATABASE = "resources/new_api_database.ser";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static byte[] content(String name) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      builder.append(name).append(i);
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static ByteDataView view(String name) {
+    // Place the content at an offset to check that the view is respected.
+    byte[] content = content(name);
+    byte[] buffer = new byte[content.length + 6];
+    System.arraycopy(content, 0, buffer, 3, content.length);
+    return new ByteDataView(buffer, 3, content.length);
+  }
+
+  @Test
+  public void testEntries() throws IOException {
+    Path archive = temporaryFolder.getRoot().toPath().resolve("output.zip");
+    KeepingDiagnosticHandler handler = new KeepingDiagnosticHandler();
+    ArchiveBuilder builder = new ArchiveBuilder(archive);
+    builder.open();
+    builder.addFile(
+        API_DATABASE,
+        DataEntryResource.fromBytes(content(API_DATABASE), API_DATABASE, Origin.unknown()),
+        handler);
+    builder.addIndexedClassFile(1, "classes2.dex", view("classes2.dex"), handler);
+    builder.addFile("b/B.class", view("b/B.class"), handler);
+    builder.addDirectory("b", handler);
+    builder.addFile("a/A.class", view("a/A.class"), handler);
+    builder.addFile("empty.txt", ByteDataView.of(new byte[0]), handler);
+    builder.addIndexedClassFile(0, "classes.dex", view("classes.dex"), handler);
+    builder.close(handler);
+    assertTrue(handler.infos.isEmpty());
+    assertTrue(handler.warnings.isEmpty());
+    assertTrue(handler.errors.isEmpty());
+
+    List<String> expectedNames =
+        ImmutableList.of(
+            API_DATABASE,
+            "classes.dex",
+            "classes2.dex",
+            "a/A.class",
+            "b/",
+            "b/B.class",
+            "empty.txt");
+    List<String> names = new ArrayList<>();
+    try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+      for (ZipEntry entry : Collections.list(zipFile.entries())) {
+        names.add(entry.getName());
+        assertEquals(0, entry.getTime());
+        if (entry.isDirectory()) {
+          assertEquals(0, entry.getSize());
+          continue;
+        }
+        assertEquals(
+            entry.getName().equals(API_DATABASE) ? ZipEntry.STORED : ZipEntry.DEFLATED,
+            entry.getMethod());
+        byte[] expected =
+            entry.getName().equals("empty.txt") ? new byte[0] : content(entry.getName());
+        try (InputStream input = zipFile.getInputStream(entry)) {
+          assertArrayEquals(expected, ByteStreams.toByteArray(input));
+        }
+      }
+    }
+    assertEquals(expectedNames, names);
+
+    // The api database is stored uncompressed, such that it can be mapped from the archive.
+    long offset = ZipUtils.getOffsetOfResourceInZip(archive.toFile(), API_DATABASE);
+    byte[] bytes = Files.readAllBytes(archive);
+    byte[] expected = content(API_DATABASE);
+    assertArrayEquals(
+        expected, Arrays.copyOfRange(bytes, (int) offset, (int) offset + expected.length));
+  }
+
+  @Test
+  public void testDuplicateEntry() throws IOException {
+    Path archive = temporaryFolder.getRoot().toPath().resolve("output.zip");
+    KeepingDiagnosticHandler handler = new KeepingDiagnosticHandler();
+    ArchiveBuilder builder = new ArchiveBuilder(archive);
+    builder.open();
+    builder.addIndexedClassFile(0, "classes.dex", view("classes.dex"), handler);
+    builder.addFile("classes.dex", view("other"), handler);
+    builder.close(handler);
+    assertEquals(1, handler.warnings.size());
+    assertTrue(handler.errors.isEmpty());
+    try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+      assertEquals(1, zipFile.size());
+      try (InputStream input = zipFile.getInputStream(zipFile.getEntry("classes.dex"))) {
+        assertArrayEquals(content("classes.dex"), ByteStreams.toByteArray(input));
+      }
+    }
+  }
+
+  @Test
+  public void testZip64() throws IOException {
+    Path archive = temporaryFolder.getRoot().toPath().resolve("output.zip");
+    KeepingDiagnosticHandler handler = new KeepingDiagnosticHandler();
+    ArchiveBuilder builder = new ArchiveBuilder(archive);
+    builder.open();
+    int count = 0x10000 + 10;
+    for (int i = 0; i < count; i++) {
+      builder.addFile("p/C" + i + ".class", ByteDataView.of(new byte[] {(byte) i}), handler);
+    }
+    builder.close(handler);
+    assertTrue(handler.errors.isEmpty());
+    try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+      assertEquals(count, zipFile.size());
+    }
+    int read = 0;
+    try (ZipInputStream input = new ZipInputStream(Files.newInputStream(archive))) {
+      for (ZipEntry entry = input.getNextEntry(); entry != null; entry = input.getNextEntry()) {
+        byte[] bytes = ByteStreams.toByteArray(input);
+        assertEquals(1, bytes.length);
+        assertFalse(entry.isDirectory());
+        read++;
+      }
+    }
+    assertEquals(count, read);
+  }
+
+  @Test
+  public void testEmptyArchive() throws IOException {
+    Path archive = temporaryFolder.getRoot().toPath().resolve("output.zip");
+    KeepingDiagnosticHandler handler = new KeepingDiagnosticHandler();
+    ArchiveBuilder builder = new ArchiveBuilder(archive);
+    builder.open();
+    builder.close(handler);
+    try (ZipInputStream input = new ZipInputStream(Files.newInputStream(archive))) {
+      assertNull(input.getNextEntry());
+    }
+    try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+      assertEquals(0, zipFile.size());
+    }
+  }
+}
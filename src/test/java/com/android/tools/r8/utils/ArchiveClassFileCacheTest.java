@@ -0,0 +1,242 @@
+// Copyright (c) 2022, the R8 project authors. Please see the AUTHORS file
+// for details. All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+package com.android.tools.r8.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.android.tools.r8.ResourceException;
+import com.android.tools.r8.utils.ArchiveClassFileCache.CachedArchive;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+public class ArchiveClassFileCacheTest {
+
+  private static final String DESCRIPTOR = "Lfoo/Bar;";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private void writeJar(Path jar, byte[] contents) throws IOException {
+    try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(jar))) {
+      output.putNextEntry(new ZipEntry("foo/Bar.class"));
+      output.write(contents);
+      output.closeEntry();
+    }
+  }
+
+  private byte[] read(InternalArchiveClassFileProvider provider) throws ResourceException {
+    return provider.getProgramResource(DESCRIPTOR).getBytes();
+  }
+
+  @Test
+  public void testReuseBetweenProviders() throws IOException, ResourceException {
+    Path jar = temporaryFolder.getRoot().toPath().resolve("library.jar");
+    writeJar(jar, new byte[] {1, 2, 3});
+    ArchiveClassFileCache cache = new ArchiveClassFileCache();
+
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, cache)) {
+      assertEquals(ImmutableSet.of(DESCRIPTOR), provider.getClassDescriptors());
+      assertArrayEquals(new byte[] {1, 2, 3}, read(provider));
+    }
+    CachedArchive cachedArchive = cache.getCachedArchive(jar);
+    assertTrue(cachedArchive.hasClassFile(DESCRIPTOR));
+
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, cache)) {
+      assertSame(cachedArchive, cache.getCachedArchive(jar));
+      assertEquals(ImmutableSet.of(DESCRIPTOR), provider.getClassDescriptors());
+      assertArrayEquals(new byte[] {1, 2, 3}, read(provider));
+    }
+  }
+
+  @Test
+  public void testInvalidationOnChange() throws IOException, ResourceException {
+    Path jar = temporaryFolder.getRoot().toPath().resolve("library.jar");
+    writeJar(jar, new byte[] {1, 2, 3});
+    ArchiveClassFileCache cache = new ArchiveClassFileCache();
+
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, cache)) {
+      assertArrayEquals(new byte[] {1, 2, 3}, read(provider));
+    }
+    CachedArchive cachedArchive = cache.getCachedArchive(jar);
+
+    FileTime lastModifiedTime = Files.getLastModifiedTime(jar);
+    writeJar(jar, new byte[] {4, 5, 6, 7});
+    Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModifiedTime.toMillis() + 1000));
+
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, cache)) {
+      assertNotSame(cachedArchive, cache.getCachedArchive(jar));
+      assertArrayEquals(new byte[] {4, 5, 6, 7}, read(provider));
+    }
+  }
+
+  @Test
+  public void testEvictionOfLeastRecentlyUsedArchive() throws IOException, ResourceException {
+    Path first = temporaryFolder.getRoot().toPath().resolve("first.jar");
+    Path second = temporaryFolder.getRoot().toPath().resolve("second.jar");
+    Path third = temporaryFolder.getRoot().toPath().resolve("third.jar");
+    writeJar(first, new byte[] {1, 2, 3});
+    writeJar(second, new byte[] {4, 5, 6});
+    writeJar(third, new byte[] {7, 8, 9});
+    ArchiveClassFileCache cache = new ArchiveClassFileCache(2, Long.MAX_VALUE);
+
+    CachedArchive firstArchive = cache.getCachedArchive(first);
+    CachedArchive secondArchive = cache.getCachedArchive(second);
+    assertSame(firstArchive, cache.getCachedArchive(first));
+
+    // The second archive is now the least recently used and is evicted by the third.
+    cache.getCachedArchive(third);
+    assertSame(firstArchive, cache.getCachedArchive(first));
+    assertNotSame(secondArchive, cache.getCachedArchive(second));
+  }
+
+  @Test
+  public void testClassFilesAreNotRetainedBeyondLimit() throws IOException, ResourceException {
+    Path jar = temporaryFolder.getRoot().toPath().resolve("library.jar");
+    writeJar(jar, new byte[] {1, 2, 3});
+    ArchiveClassFileCache cache = new ArchiveClassFileCache(1, 2);
+
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, cache)) {
+      assertArrayEquals(new byte[] {1, 2, 3}, read(provider));
+    }
+    CachedArchive cachedArchive = cache.getCachedArchive(jar);
+    assertFalse(cachedArchive.hasClassFile(DESCRIPTOR));
+    assertEquals(ImmutableSet.of(DESCRIPTOR), cachedArchive.getDescriptors());
+  }
+
+  @Test
+  public void testNoCache() throws IOException, ResourceException {
+    Path jar = temporaryFolder.getRoot().toPath().resolve("library.jar");
+    writeJar(jar, new byte[] {1, 2, 3});
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, (ArchiveClassFileCache) null)) {
+      assertArrayEquals(new byte[] {1, 2, 3}, read(provider));
+      assertFalse(provider.getClassDescriptors().isEmpty());
+    }
+  }
+
+  private static byte[] createClassFile(String marker) {
+    ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    if (marker != null) {
+      writer.newConst(marker);
+    }
+    writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "foo/Bar", null, "java/lang/Object", null);
+    writer.visitSource("Bar.java", null);
+    MethodVisitor method =
+        writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "foo", "()I", null, null);
+    method.visitCode();
+    Label label = new Label();
+    method.visitLabel(label);
+    method.visitLineNumber(42, label);
+    method.visitLdcInsn(42);
+    method.visitInsn(Opcodes.IRETURN);
+    method.visitMaxs(0, 0);
+    method.visitEnd();
+    writer.visitEnd();
+    return writer.toByteArray();
+  }
+
+  private static void assertCompacted(byte[] compacted) {
+    boolean[] seenMethod = {false};
+    new ClassReader(compacted)
+        .accept(
+            new ClassVisitor(Opcodes.ASM9) {
+              @Override
+              public void visitSource(String source, String debug) {
+                throw new AssertionError("Unexpected source file");
+              }
+
+              @Override
+              public MethodVisitor visitMethod(
+                  int access, String name, String descriptor, String signature, String[] ex) {
+                assertEquals("foo", name);
+                assertEquals("()I", descriptor);
+                seenMethod[0] = true;
+                return new MethodVisitor(Opcodes.ASM9) {
+                  @Override
+                  public void visitCode() {
+                    throw new AssertionError("Unexpected code");
+                  }
+                };
+              }
+            },
+            0);
+    assertTrue(seenMethod[0]);
+  }
+
+  @Test
+  public void testCompactClassFile() {
+    byte[] bytes = createClassFile(null);
+    byte[] compacted = ArchiveClassFileCache.compactClassFile(bytes);
+    assertTrue(compacted.length < bytes.length);
+    assertCompacted(compacted);
+  }
+
+  @Test
+  public void testCompactionInCache() throws IOException, ResourceException {
+    Path jar = temporaryFolder.getRoot().toPath().resolve("library.jar");
+    byte[] bytes = createClassFile(null);
+    writeJar(jar, bytes);
+    byte[] compacted = ArchiveClassFileCache.compactClassFile(bytes);
+    // The limit only fits the compacted class file, thus the class file is retained because it is
+    // compacted before it is stored.
+    ArchiveClassFileCache cache = new ArchiveClassFileCache(1, compacted.length);
+
+    byte[] cached;
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, cache)) {
+      cached = read(provider);
+    }
+    assertArrayEquals(compacted, cached);
+    assertCompacted(cached);
+    assertTrue(cache.getCachedArchive(jar).hasClassFile(DESCRIPTOR));
+
+    // Subsequent compilations share the compacted class file.
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, cache)) {
+      assertSame(cached, read(provider));
+    }
+
+    // Without the cache the class file is read as is.
+    try (InternalArchiveClassFileProvider provider =
+        new InternalArchiveClassFileProvider(jar, (ArchiveClassFileCache) null)) {
+      assertArrayEquals(bytes, read(provider));
+    }
+  }
+
+  @Test
+  public void testCompactClassFileWithMarker() {
+    byte[] bytes = createClassFile("~~R8{}");
+    assertSame(bytes, ArchiveClassFileCache.compactClassFile(bytes));
+  }
+
+  @Test
+  public void testCompactInvalidClassFile() {
+    byte[] bytes = new byte[] {1, 2, 3};
+    assertSame(bytes, ArchiveClassFileCache.compactClassFile(bytes));
+  }
+}
@@ -31,25 +31,25 @@ class DexInstructionIterator implements InstructionIterator {
 
   @Override
   public boolean hasNext() {
-    return index < code.instructions.length;
+    return index < code.getInstructions().length;
   }
 
   @Override
   public InstructionSubject next() {
-    if (index == code.instructions.length) {
+    if (index == code.getInstructions().length) {
       throw new NoSuchElementException();
     }
-    if (code.instructions[index].isIntSwitch()) {
+    if (code.getInstructions()[index].isIntSwitch()) {
       ensureSwitchPayloadResolver();
     }
     return codeInspector.createInstructionSubject(
-        code.instructions[index++], methodSubject, switchPayloadResolver);
+        code.getInstructions()[index++], methodSubject, switchPayloadResolver);
   }
 
   private void ensureSwitchPayloadResolver() {
     if (switchPayloadResolver == null) {
       switchPayloadResolver = new SwitchPayloadResolver();
-      for (DexInstruction instruction : code.instructions) {
+      for (DexInstruction instruction : code.getInstructions()) {
         if (instruction.isIntSwitch()) {
           switchPayloadResolver.addPayloadUser(instruction);
         }
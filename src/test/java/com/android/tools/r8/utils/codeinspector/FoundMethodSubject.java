@@ -327,7 +327,7 @@ public class FoundMethodSubject extends MethodSubject {
     DexDebugPositionState state =
         new DexDebugPositionState(info.startLine, getMethod().getReference());
     Iterator<DexDebugEvent> iterator = Arrays.asList(info.events).iterator();
-    for (DexInstruction insn : code.instructions) {
+    for (DexInstruction insn : code.getInstructions()) {
       int offset = insn.getOffset();
       while (state.getCurrentPc() < offset && iterator.hasNext()) {
         iterator.next().accept(state);